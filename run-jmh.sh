@@ -0,0 +1,5 @@
+#!/bin/sh
+
+# Runs JMH benchmarks (src/jmh/java); arguments are passed to JMH,
+# for example: ./run-jmh.sh CsvReadBenchmark -p shape=WIDE -prof gc
+mvn -q -Pbenchmark test-compile exec:exec -Djmh.args="${*:--prof gc}"
@@ -0,0 +1,102 @@
+package perf.jmh;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+import perf.BogusOutputStream;
+
+/**
+ * Benchmarks for writing rows with values in the order of schema columns,
+ * compared to fully reversed order, in which case all values but the last one
+ * written must be buffered until the end of the row: both for POJOs
+ * ({@link CsvDatasets.Record}) written using schema with reversed columns,
+ * and for rows of {@link CsvDatasets#WIDE_COLUMNS} numbers written using
+ * {@link CsvGenerator#writeColumn(int)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ColumnOrderBenchmark
+{
+    @Param({ "false", "true" })
+    public boolean reversed;
+
+    @Param({ "2000" })
+    public int rows;
+
+    protected CsvDatasets.Record[] _records;
+
+    protected ObjectWriter _writer;
+
+    protected CsvFactory _factory;
+
+    protected CsvSchema _wideSchema;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        CsvMapper mapper = new CsvMapper();
+        CsvDatasets.Dataset data = CsvDatasets.create(mapper, CsvDatasets.Shape.NARROW_NUMERIC, rows, false);
+        ObjectReader r = mapper.readerFor(CsvDatasets.Record.class).with(data.schema);
+        _records = r.<CsvDatasets.Record>readValues(data.doc).readAll()
+                .toArray(new CsvDatasets.Record[0]);
+        CsvSchema schema = data.schema;
+        if (reversed) {
+            String[] names = new String[schema.size()];
+            for (int i = 0; i < names.length; ++i) {
+                names[i] = schema.columnName(names.length - 1 - i);
+            }
+            schema = schema.sortedBy(names);
+        }
+        _writer = mapper.writerFor(CsvDatasets.Record.class).with(schema);
+
+        _factory = mapper.getFactory();
+        CsvSchema.Builder builder = CsvSchema.builder();
+        for (int i = 0; i < CsvDatasets.WIDE_COLUMNS; ++i) {
+            builder.addColumn("c"+i);
+        }
+        _wideSchema = builder.build();
+    }
+
+    @Benchmark
+    public int writePojos() throws IOException
+    {
+        BogusOutputStream out = new BogusOutputStream();
+        SequenceWriter w = _writer.writeValues(out);
+        for (CsvDatasets.Record record : _records) {
+            w.write(record);
+        }
+        w.close();
+        return out.length();
+    }
+
+    @Benchmark
+    public int writeWideColumns() throws IOException
+    {
+        BogusOutputStream out = new BogusOutputStream();
+        CsvGenerator g = _factory.createGenerator(out);
+        g.setSchema(_wideSchema);
+        final int columns = CsvDatasets.WIDE_COLUMNS;
+        for (int row = 0, end = Math.max(1, rows / 10); row < end; ++row) {
+            g.writeStartObject();
+            for (int i = 0; i < columns; ++i) {
+                int col = reversed ? (columns - 1 - i) : i;
+                g.writeColumn(col);
+                g.writeNumber(row + col);
+            }
+            g.writeEndObject();
+        }
+        g.close();
+        return out.length();
+    }
+}
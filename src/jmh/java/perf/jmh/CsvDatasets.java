@@ -0,0 +1,200 @@
+package perf.jmh;
+
+import java.io.IOException;
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Generator for deterministic data sets used by benchmarks: same shape, row
+ * count and header setting always produce identical content.
+ */
+public final class CsvDatasets
+{
+    /**
+     * Shapes of data sets to generate, chosen to exercise different code paths
+     * of decoder and encoder.
+     */
+    public enum Shape {
+        /**
+         * Five columns of short numeric values
+         */
+        NARROW_NUMERIC,
+
+        /**
+         * {@link CsvDatasets#WIDE_COLUMNS} columns of short values
+         */
+        WIDE,
+
+        /**
+         * Plain ASCII text values that need no quoting
+         */
+        PLAIN_TEXT,
+
+        /**
+         * Text values that contain separators and quotes, and thereby
+         * need to be quoted (with doubled quotes)
+         */
+        QUOTE_HEAVY,
+
+        /**
+         * Quoted text values that contain linefeeds
+         */
+        MULTI_LINE,
+
+        /**
+         * Text values that contain quotes and backslashes, written using
+         * backslash as the escape character
+         */
+        ESCAPED,
+
+        /**
+         * Text values that contain non-ASCII characters, encoded as
+         * multi-byte UTF-8 sequences
+         */
+        NON_ASCII;
+    }
+
+    /**
+     * POJO type that data sets of all shapes except for {@link Shape#WIDE} map to.
+     */
+    @JsonPropertyOrder({ "id", "count", "value", "name", "desc" })
+    public static class Record {
+        public int id;
+        public long count;
+        public double value;
+        public String name;
+        public String desc;
+    }
+
+    /**
+     * Data set: rows as Maps, and as encoded document
+     */
+    public static class Dataset {
+        public final Shape shape;
+
+        /**
+         * Schema to use for reading and writing the data set: includes
+         * header setting and escape character (if any)
+         */
+        public final CsvSchema schema;
+
+        public final List<Map<String,Object>> rows;
+
+        /**
+         * Data set encoded as UTF-8 CSV
+         */
+        public final byte[] doc;
+
+        Dataset(Shape shape, CsvSchema schema, List<Map<String,Object>> rows, byte[] doc) {
+            this.shape = shape;
+            this.schema = schema;
+            this.rows = rows;
+            this.doc = doc;
+        }
+    }
+
+    public final static int WIDE_COLUMNS = 500;
+
+    private final static long SEED = 0x0C5FL;
+
+    private final static String[] WORDS = {
+        "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel",
+        "india", "juliet", "kilo", "lima", "mike", "november", "oscar", "papa"
+    };
+
+    private final static String[] NON_ASCII_WORDS = {
+        "Äpfel", "Übergröße", "naïve", "café", "señor", "Ελλάδα", "Россия", "日本語",
+        "中文", "€uro", "Zürich", "smörgåsbord", "façade", "crème", "Kraków", "Ærø"
+    };
+
+    private CsvDatasets() { }
+
+    /**
+     * Method for generating a data set.
+     *
+     * @param rowCount Number of data rows to generate; for {@link Shape#WIDE}
+     *    only a tenth of this is generated, to keep size of document comparable
+     * @param header Whether document starts with the header line (and schema
+     *    is configured to use it)
+     */
+    public static Dataset create(CsvMapper mapper, Shape shape, int rowCount, boolean header)
+        throws IOException
+    {
+        final Random rnd = new Random(SEED);
+        CsvSchema schema;
+        List<Map<String,Object>> rows = new ArrayList<Map<String,Object>>();
+
+        if (shape == Shape.WIDE) {
+            CsvSchema.Builder builder = CsvSchema.builder();
+            for (int i = 0; i < WIDE_COLUMNS; ++i) {
+                builder.addColumn("c"+i);
+            }
+            schema = builder.build();
+            for (int i = 0, end = Math.max(1, rowCount / 10); i < end; ++i) {
+                Map<String,Object> row = new LinkedHashMap<String,Object>();
+                for (int col = 0; col < WIDE_COLUMNS; ++col) {
+                    row.put("c"+col, ((col & 1) == 0) ? (Object) rnd.nextInt(1000)
+                            : WORDS[rnd.nextInt(WORDS.length)]);
+                }
+                rows.add(row);
+            }
+        } else {
+            schema = mapper.schemaFor(Record.class);
+            if (shape == Shape.ESCAPED) {
+                schema = schema.withEscapeChar('\\');
+            }
+            for (int i = 0; i < rowCount; ++i) {
+                Map<String,Object> row = new LinkedHashMap<String,Object>();
+                row.put("id", i);
+                row.put("count", rnd.nextLong() >>> 20);
+                row.put("value", rnd.nextInt(1000000) / 64.0);
+                row.put("name", _text(shape, rnd, 1));
+                row.put("desc", _text(shape, rnd, 4));
+                rows.add(row);
+            }
+        }
+        schema = schema.withUseHeader(header);
+        byte[] doc = mapper.writer(schema).writeValueAsBytes(rows);
+        return new Dataset(shape, schema, Collections.unmodifiableList(rows), doc);
+    }
+
+    private static String _text(Shape shape, Random rnd, int words)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; ++i) {
+            if (i > 0) {
+                switch (shape) {
+                case QUOTE_HEAVY:
+                    sb.append(", ");
+                    break;
+                case MULTI_LINE:
+                    sb.append('\n');
+                    break;
+                default:
+                    sb.append(' ');
+                }
+            }
+            final String word = WORDS[rnd.nextInt(WORDS.length)];
+            switch (shape) {
+            case NARROW_NUMERIC:
+                sb.append(rnd.nextInt(100000));
+                break;
+            case QUOTE_HEAVY:
+                sb.append('"').append(word).append('"');
+                break;
+            case ESCAPED:
+                sb.append("\\").append(word).append("\"");
+                break;
+            case NON_ASCII:
+                sb.append(NON_ASCII_WORDS[rnd.nextInt(NON_ASCII_WORDS.length)]);
+                break;
+            default:
+                sb.append(word);
+            }
+        }
+        return sb.toString();
+    }
+}
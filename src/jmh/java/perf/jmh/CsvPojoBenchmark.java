@@ -0,0 +1,79 @@
+package perf.jmh;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+import perf.BogusOutputStream;
+
+/**
+ * Benchmarks for data-binding rows from and to POJOs ({@link CsvDatasets.Record});
+ * all shapes except for {@link CsvDatasets.Shape#WIDE}, which does not map to POJOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CsvPojoBenchmark
+{
+    @Param({ "NARROW_NUMERIC", "PLAIN_TEXT", "QUOTE_HEAVY", "MULTI_LINE",
+        "ESCAPED", "NON_ASCII" })
+    public CsvDatasets.Shape shape;
+
+    @Param({ "false", "true" })
+    public boolean header;
+
+    @Param({ "2000" })
+    public int rows;
+
+    protected CsvDatasets.Dataset _data;
+
+    protected CsvDatasets.Record[] _records;
+
+    protected ObjectReader _reader;
+
+    protected ObjectWriter _writer;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        CsvMapper mapper = new CsvMapper();
+        _data = CsvDatasets.create(mapper, shape, rows, header);
+        _reader = mapper.readerFor(CsvDatasets.Record.class).with(_data.schema);
+        _writer = mapper.writerFor(CsvDatasets.Record.class).with(_data.schema);
+        _records = _reader.<CsvDatasets.Record>readValues(_data.doc).readAll()
+                .toArray(new CsvDatasets.Record[0]);
+    }
+
+    @Benchmark
+    public void readPojos(Blackhole bh) throws IOException
+    {
+        MappingIterator<CsvDatasets.Record> it = _reader.readValues(_data.doc);
+        while (it.hasNextValue()) {
+            bh.consume(it.nextValue());
+        }
+        it.close();
+    }
+
+    @Benchmark
+    public int writePojos() throws IOException
+    {
+        BogusOutputStream out = new BogusOutputStream();
+        SequenceWriter w = _writer.writeValues(out);
+        for (CsvDatasets.Record record : _records) {
+            w.write(record);
+        }
+        w.close();
+        return out.length();
+    }
+}
@@ -0,0 +1,98 @@
+package perf.jmh;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Benchmarks for reading data sets of all {@link CsvDatasets.Shape}s: raw
+ * streaming using {@link CsvParser#nextToken}, and data-binding rows as
+ * {@link Map}s and {@code String[]}s using {@link MappingIterator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CsvReadBenchmark
+{
+    @Param({ "NARROW_NUMERIC", "WIDE", "PLAIN_TEXT", "QUOTE_HEAVY", "MULTI_LINE",
+        "ESCAPED", "NON_ASCII" })
+    public CsvDatasets.Shape shape;
+
+    @Param({ "false", "true" })
+    public boolean header;
+
+    @Param({ "2000" })
+    public int rows;
+
+    protected CsvFactory _factory;
+
+    protected CsvDatasets.Dataset _data;
+
+    protected ObjectReader _mapReader;
+
+    protected ObjectReader _arrayReader;
+
+    protected CsvSchema _arraySchema;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        CsvMapper mapper = new CsvMapper();
+        _factory = mapper.getFactory();
+        _data = CsvDatasets.create(mapper, shape, rows, header);
+        _mapReader = mapper.readerFor(Map.class).with(_data.schema);
+        // for arrays, no columns; header line (if any) skipped as a data row
+        _arrayReader = mapper.readerFor(String[].class);
+        _arraySchema = _data.schema.withoutColumns().withoutHeader().withSkipFirstDataRow(header);
+    }
+
+    @Benchmark
+    public int streamTokens() throws IOException
+    {
+        CsvParser p = _factory.createParser(_data.doc);
+        p.setSchema(_data.schema);
+        int total = 0;
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            if (t == JsonToken.VALUE_STRING) {
+                total += p.getTextLength();
+            }
+        }
+        p.close();
+        return total;
+    }
+
+    @Benchmark
+    public void readMaps(Blackhole bh) throws IOException
+    {
+        MappingIterator<Map<String,Object>> it = _mapReader.readValues(_data.doc);
+        while (it.hasNextValue()) {
+            bh.consume(it.nextValue());
+        }
+        it.close();
+    }
+
+    @Benchmark
+    public void readStringArrays(Blackhole bh) throws IOException
+    {
+        // as with untyped reading in general, need to construct parser explicitly
+        CsvParser p = _factory.createParser(_data.doc);
+        p.setSchema(_arraySchema);
+        MappingIterator<String[]> it = _arrayReader.readValues(p);
+        while (it.hasNextValue()) {
+            bh.consume(it.nextValue());
+        }
+        it.close();
+    }
+}
@@ -0,0 +1,49 @@
+package perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Benchmarks for constructing {@link CsvSchema}s for POJO types using
+ * {@link CsvMapper#schemaFor}: both for the first call for a type (introspection),
+ * and for later calls (which use the schema cache of mapper).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CsvSchemaBenchmark
+{
+    protected CsvMapper _cachingMapper;
+
+    protected CsvMapper _freshMapper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        _cachingMapper = new CsvMapper();
+        _cachingMapper.schemaFor(CsvDatasets.Record.class);
+    }
+
+    // New mapper for every call, so that schema is never cached; construction
+    // of mapper itself is not included in measurement
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        _freshMapper = new CsvMapper();
+    }
+
+    @Benchmark
+    public CsvSchema schemaForCached() {
+        return _cachingMapper.schemaFor(CsvDatasets.Record.class);
+    }
+
+    @Benchmark
+    public CsvSchema schemaForUncached() {
+        return _freshMapper.schemaFor(CsvDatasets.Record.class);
+    }
+}
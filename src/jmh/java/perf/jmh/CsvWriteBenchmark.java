@@ -0,0 +1,60 @@
+package perf.jmh;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+import perf.BogusOutputStream;
+
+/**
+ * Benchmarks for writing data sets of all {@link CsvDatasets.Shape}s
+ * from {@link Map}s, using {@link CsvGenerator} via data-binding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CsvWriteBenchmark
+{
+    @Param({ "NARROW_NUMERIC", "WIDE", "PLAIN_TEXT", "QUOTE_HEAVY", "MULTI_LINE",
+        "ESCAPED", "NON_ASCII" })
+    public CsvDatasets.Shape shape;
+
+    @Param({ "false", "true" })
+    public boolean header;
+
+    @Param({ "2000" })
+    public int rows;
+
+    protected CsvDatasets.Dataset _data;
+
+    protected ObjectWriter _writer;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        CsvMapper mapper = new CsvMapper();
+        _data = CsvDatasets.create(mapper, shape, rows, header);
+        _writer = mapper.writerFor(Map.class).with(_data.schema);
+    }
+
+    @Benchmark
+    public int writeMaps() throws IOException
+    {
+        BogusOutputStream out = new BogusOutputStream();
+        SequenceWriter w = _writer.writeValues(out);
+        for (Map<String,Object> row : _data.rows) {
+            w.write(row);
+        }
+        w.close();
+        return out.length();
+    }
+}
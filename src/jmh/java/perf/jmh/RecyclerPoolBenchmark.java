@@ -0,0 +1,107 @@
+package perf.jmh;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.BufferRecyclerPool;
+
+import perf.BogusOutputStream;
+
+/**
+ * Benchmarks for buffer recycling with default per-thread recyclers, compared to
+ * {@link BufferRecyclerPool.SharedPool}, when reading and writing small documents
+ * either on the benchmark thread itself, or on a new short-lived thread for each
+ * document (as with thread-per-task executors and virtual threads), in which case
+ * per-thread recyclers never get to reuse their buffers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RecyclerPoolBenchmark
+{
+    public enum Recycling {
+        THREAD_LOCAL, SHARED_POOL;
+    }
+
+    @Param({ "THREAD_LOCAL", "SHARED_POOL" })
+    public Recycling recycling;
+
+    @Param({ "20" })
+    public int rows;
+
+    protected CsvDatasets.Dataset _data;
+
+    protected CsvDatasets.Record[] _records;
+
+    protected ObjectReader _reader;
+
+    protected ObjectWriter _writer;
+
+    protected Runnable _task;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        CsvFactory f = new CsvFactory();
+        if (recycling == Recycling.SHARED_POOL) {
+            f.setBufferRecyclerPool(new BufferRecyclerPool.SharedPool());
+        }
+        CsvMapper mapper = new CsvMapper(f);
+        _data = CsvDatasets.create(mapper, CsvDatasets.Shape.PLAIN_TEXT, rows, true);
+        _reader = mapper.readerFor(CsvDatasets.Record.class).with(_data.schema);
+        _writer = mapper.writerFor(CsvDatasets.Record.class).with(_data.schema);
+        _records = _reader.<CsvDatasets.Record>readValues(_data.doc).readAll()
+                .toArray(new CsvDatasets.Record[0]);
+        _task = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    _roundTrip();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    @Benchmark
+    public int sameThread() throws IOException
+    {
+        return _roundTrip();
+    }
+
+    @Benchmark
+    public void threadPerTask() throws InterruptedException
+    {
+        Thread t = new Thread(_task);
+        t.start();
+        t.join();
+    }
+
+    protected int _roundTrip() throws IOException
+    {
+        int count = 0;
+        MappingIterator<CsvDatasets.Record> it = _reader.readValues(_data.doc);
+        while (it.hasNextValue()) {
+            count += it.nextValue().id;
+        }
+        it.close();
+        BogusOutputStream out = new BogusOutputStream();
+        SequenceWriter w = _writer.writeValues(out);
+        for (CsvDatasets.Record record : _records) {
+            w.write(record);
+        }
+        w.close();
+        return count + out.length();
+    }
+}
@@ -0,0 +1,78 @@
+package perf.jmh;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.impl.StructuralIndexer;
+
+/**
+ * Benchmarks for locating structural characters (separators and linefeeds
+ * outside quoted values) in data sets of all {@link CsvDatasets.Shape}s:
+ * byte-by-byte scan that tracks quoting state, compared to two-stage
+ * indexing using {@link StructuralIndexer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RowBoundaryBenchmark
+{
+    @Param({ "NARROW_NUMERIC", "WIDE", "PLAIN_TEXT", "QUOTE_HEAVY", "MULTI_LINE" })
+    public CsvDatasets.Shape shape;
+
+    @Param({ "2000" })
+    public int rows;
+
+    protected byte[] _doc;
+
+    protected StructuralIndexer _indexer;
+
+    protected int[] _offsets;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        _doc = CsvDatasets.create(new CsvMapper(), shape, rows, false).doc;
+        _indexer = new StructuralIndexer(',', '"');
+        _offsets = new int[1024];
+    }
+
+    @Benchmark
+    public int scanBytes()
+    {
+        final byte[] doc = _doc;
+        boolean inQuotes = false;
+        int total = 0;
+        for (int i = 0, end = doc.length; i < end; ++i) {
+            int c = doc[i];
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (!inQuotes && (c == ',' || c == '\n' || c == '\r')) {
+                total += i;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int scanIndexed()
+    {
+        final byte[] doc = _doc;
+        final int[] offsets = _offsets;
+        final StructuralIndexer indexer = _indexer;
+        indexer.reset(false);
+        int total = 0;
+        for (int ptr = 0, end = doc.length; ptr < end; ptr = indexer.getIndexedEnd()) {
+            int count = indexer.index(doc, ptr, end, offsets);
+            for (int i = 0; i < count; ++i) {
+                total += offsets[i];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,307 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.fasterxml.jackson.dataformat.csv.impl.CsvDecoder;
+import com.fasterxml.jackson.dataformat.csv.impl.NumberInput;
+import com.fasterxml.jackson.dataformat.csv.impl.TextBuffer;
+
+/**
+ * Reader for reading rows of CSV content into columnar {@link CsvColumnBatch}es,
+ * in which values of {@link CsvSchema.ColumnType#NUMBER}, {@link CsvSchema.ColumnType#INTEGER} and
+ * {@link CsvSchema.ColumnType#BOOLEAN} columns are stored in primitive arrays,
+ * and values of other columns are dictionary-encoded. Values are decoded
+ * directly from the parser's buffers, without constructing tokens, Strings
+ * (except for distinct values of String columns) or other per-value objects.
+ *<p>
+ * Instances are constructed using {@link CsvParser#batchReader()} (or convenience
+ * methods of {@link CsvFactory}), and use the parser's schema, which must define
+ * columns (either directly or by header line). Handling of missing and extra
+ * column values follows parser configuration
+ * ({@link CsvParser.Feature#FAIL_ON_MISSING_COLUMNS},
+ * {@link CsvParser.Feature#IGNORE_TRAILING_UNMAPPABLE},
+ * {@link CsvParser.Feature#ALLOW_TRAILING_COMMA}); values of missing columns
+ * are nulls, as are values that match the null value of schema, and empty
+ * (or "null") values of numeric and boolean columns.
+ *<p>
+ * Instances are not thread-safe.
+ *
+ * @since 2.9
+ */
+public class CsvBatchReader implements Closeable
+{
+    private final static int STATE_ROW_START = 0;
+    private final static int STATE_IN_ROW = 1;
+    private final static int STATE_END = 2;
+
+    protected final CsvParser _parser;
+
+    protected final CsvDecoder _reader;
+
+    protected final TextBuffer _textBuffer;
+
+    protected final CsvSchema _schema;
+
+    protected final int _columnCount;
+
+    /**
+     * Value that is to be exposed as null, if any
+     */
+    protected final String _nullValue;
+
+    protected final boolean _failOnMissingColumns;
+
+    protected final boolean _ignoreTrailingUnmappable;
+
+    protected final boolean _allowTrailingComma;
+
+    protected int _state;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    protected CsvBatchReader(CsvParser parser, boolean atEnd) throws IOException
+    {
+        _parser = parser;
+        _reader = parser._reader;
+        _textBuffer = parser._textBuffer;
+        _schema = parser.getSchema();
+        _columnCount = _schema.size();
+        if (_columnCount == 0) {
+            parser._reportCsvMappingError("Schema must define columns (directly or by header line) for reading batches");
+        }
+        _nullValue = _schema.getNullValueString();
+        _failOnMissingColumns = parser.isEnabled(CsvParser.Feature.FAIL_ON_MISSING_COLUMNS);
+        _ignoreTrailingUnmappable = parser.isEnabled(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE);
+        _allowTrailingComma = parser.isEnabled(CsvParser.Feature.ALLOW_TRAILING_COMMA);
+        _state = atEnd ? STATE_END : STATE_ROW_START;
+    }
+
+    /**
+     * Closes the underlying parser.
+     */
+    @Override
+    public void close() throws IOException {
+        _parser.close();
+    }
+
+    public CsvParser getParser() {
+        return _parser;
+    }
+
+    /**
+     * Accessor for the schema used: if header line was read, this is the schema
+     * constructed based on it.
+     */
+    public CsvSchema getSchema() {
+        return _schema;
+    }
+
+    /**
+     * Factory method for constructing a batch that can be filled by this reader.
+     *
+     * @param capacity Maximum number of rows to read into batch at a time
+     */
+    public CsvColumnBatch createBatch(int capacity) {
+        return new CsvColumnBatch(_schema, capacity);
+    }
+
+    /*
+    /**********************************************************************
+    /* Reading
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading up to {@link CsvColumnBatch#capacity()} rows into given
+     * batch, replacing its previous contents.
+     *
+     * @param batch Batch constructed using {@link #createBatch}
+     *
+     * @return Number of rows read; 0 if end of content was reached
+     */
+    public int readBatch(CsvColumnBatch batch) throws IOException
+    {
+        if (batch._schema != _schema) {
+            throw new IllegalArgumentException("Batch was not constructed by this reader");
+        }
+        batch.reset(batch._size);
+        final int capacity = batch._capacity;
+        int row = 0;
+        while ((row < capacity) && _nextRow()) {
+            _readRow(batch._vectors, row);
+            batch._size = ++row;
+        }
+        return row;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected boolean _nextRow() throws IOException
+    {
+        if (_state == STATE_IN_ROW) {
+            if (!_reader.startNewLine()) {
+                _state = STATE_END;
+                return false;
+            }
+        } else if ((_state == STATE_END) || !_reader.hasMoreInput()) {
+            _state = STATE_END;
+            return false;
+        }
+        _state = STATE_IN_ROW;
+        return true;
+    }
+
+    protected void _readRow(CsvColumnBatch.Vector[] vectors, int row) throws IOException
+    {
+        int col = 0;
+        for (final int count = _columnCount; col < count; ++col) {
+            final CsvColumnBatch.Vector v = vectors[col];
+            if (v == null) { // excluded by projection
+                if (!_reader.skipValue()) {
+                    break;
+                }
+            } else {
+                if (!_reader.nextValue()) {
+                    break;
+                }
+                _storeValue(v, row, col);
+            }
+        }
+        if (col < _columnCount) {
+            for (int i = col; i < _columnCount; ++i) {
+                if (vectors[i] != null) {
+                    vectors[i].setNull(row);
+                }
+            }
+            if (_failOnMissingColumns) {
+                _parser._reportCsvMappingError("Not enough column values: expected %d, found %d",
+                        _columnCount, col);
+            }
+            return;
+        }
+        if (_reader.nextValue()) {
+            _handleExtraColumns();
+        }
+    }
+
+    protected void _storeValue(CsvColumnBatch.Vector v, int row, int col) throws IOException
+    {
+        final TextBuffer tb = _textBuffer;
+        if ((_nullValue != null) && tb.contentsEqual(_nullValue)) {
+            v.setNull(row);
+            return;
+        }
+        if (v._initialType == CsvColumnBatch.VectorType.STRING) {
+            v.setString(row, tb.getTextBuffer(), tb.getTextOffset(), tb.size());
+            return;
+        }
+        tb.trim();
+        final int len = tb.size();
+        if ((len == 0) || ((len == 4) && tb.contentsEqual("null"))) {
+            v.setNull(row);
+            return;
+        }
+        final char[] buf = tb.getTextBuffer();
+        final int start = tb.getTextOffset();
+        if (v._initialType == CsvColumnBatch.VectorType.BOOLEAN) {
+            if ((len == 4) && _matches(buf, start, "true")) {
+                v.setBoolean(row, true);
+            } else if ((len == 5) && _matches(buf, start, "false")) {
+                v.setBoolean(row, false);
+            } else {
+                _reportInvalidValue(col, "boolean");
+            }
+            return;
+        }
+        _storeNumber(v, row, col, buf, start, start+len);
+    }
+
+    protected void _storeNumber(CsvColumnBatch.Vector v, int row, int col,
+            char[] buf, int start, final int end) throws IOException
+    {
+        int ptr = start;
+        boolean neg = false;
+        char c = buf[ptr];
+        if (c == '-') {
+            neg = true;
+            ++ptr;
+        } else if (c == '+') {
+            ++ptr;
+        }
+        final int digitStart = ptr;
+        // accumulate as negative, to cover Long.MIN_VALUE; 19 digits may
+        // overflow, but value is only used if verified to be in range
+        final int maxEnd = Math.min(end, digitStart + 19);
+        long value = 0L;
+        for (; ptr < maxEnd; ++ptr) {
+            c = buf[ptr];
+            if ((c > '9') || (c < '0')) {
+                break;
+            }
+            value = (value * 10) - (c - '0');
+        }
+        if (ptr == end) {
+            final int digits = end - digitStart;
+            if ((digits > 0) && ((digits < 19) || NumberInput.inLongRange(buf, digitStart, digits, neg))) {
+                v.setLong(row, neg ? value : -value);
+                return;
+            }
+        }
+        if (v._column.getType() == CsvSchema.ColumnType.INTEGER) {
+            _reportInvalidValue(col, "integer");
+        }
+        try {
+            v.setDouble(row, NumberInput.parseDouble(buf, start, end - start));
+        } catch (NumberFormatException e) {
+            _reportInvalidValue(col, "number");
+        }
+    }
+
+    /**
+     * Helper method called when there are more values than columns in schema:
+     * value of the first extra column is in text buffer.
+     */
+    protected void _handleExtraColumns() throws IOException
+    {
+        if (_ignoreTrailingUnmappable) {
+            while (_reader.skipValue()) { }
+            return;
+        }
+        _textBuffer.trim();
+        if (_allowTrailingComma && (_textBuffer.size() == 0)) {
+            if (!_reader.nextValue()) { // must be followed by end of record (or input)
+                return;
+            }
+        }
+        final String value = _textBuffer.contentsAsString();
+        // skip the rest to allow recovery
+        while (_reader.skipValue()) { }
+        _parser._reportCsvMappingError("Too many entries: expected at most %d (value #%d (%d chars) \"%s\")",
+                _columnCount, _columnCount, value.length(), value);
+    }
+
+    protected void _reportInvalidValue(int col, String type) throws IOException
+    {
+        _parser._reportParsingError(String.format("Value of column #%d (\"%s\") not a valid %s",
+                col, _textBuffer.contentsAsString(), type));
+    }
+
+    private static boolean _matches(char[] buf, int start, String literal)
+    {
+        for (int i = 0, len = literal.length(); i < len; ++i) {
+            if (Character.toLowerCase(buf[start+i]) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,55 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.dataformat.csv.impl.IndexedColumnName;
+
+/**
+ * Serializer modifier registered by {@link CsvMapper}: replaces names of POJO
+ * properties with {@link IndexedColumnName}s, which resolve the index of the
+ * matching column once per schema, so that {@link CsvGenerator} can write
+ * values of properties without looking up columns by name (even if properties
+ * are not written in the order of schema columns).
+ *<p>
+ * Only plain {@link BeanPropertyWriter}s are modified; sub-classes (custom or
+ * virtual properties) are left as is.
+ *
+ * @since 2.9
+ */
+public class CsvBeanSerializerModifier
+    extends BeanSerializerModifier
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    public final static CsvBeanSerializerModifier instance = new CsvBeanSerializerModifier();
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config,
+            BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties)
+    {
+        for (int i = 0, end = beanProperties.size(); i < end; ++i) {
+            BeanPropertyWriter prop = beanProperties.get(i);
+            if (prop.getClass() == BeanPropertyWriter.class) {
+                beanProperties.set(i, new IndexedPropertyWriter(prop));
+            }
+        }
+        return beanProperties;
+    }
+
+    /**
+     * Property writer that only differs from its base in the type of its name.
+     */
+    protected static class IndexedPropertyWriter extends BeanPropertyWriter
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected IndexedPropertyWriter(BeanPropertyWriter base) {
+            super(base, new IndexedColumnName(base.getName()));
+        }
+    }
+}
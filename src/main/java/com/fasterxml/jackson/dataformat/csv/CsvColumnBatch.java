@@ -0,0 +1,405 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.util.Arrays;
+
+/**
+ * Container for values of a batch of rows in columnar form, filled by
+ * {@link CsvBatchReader}: for each column of the schema (excluding ones
+ * excluded by projection), there is a {@link Vector} that contains values of
+ * the column as a primitive array, along with a bitmap of null values.
+ * Type of vector depends on the type of the column:
+ *<ul>
+ * <li>{@link CsvSchema.ColumnType#NUMBER}: {@link VectorType#INT} for a batch
+ *   in which all values fit in 32 bits; {@link VectorType#LONG} if all are integral;
+ *   and otherwise {@link VectorType#DOUBLE}. Values already read are widened as
+ *   needed, so type may differ between batches.
+ *  </li>
+ * <li>{@link CsvSchema.ColumnType#INTEGER}: same as <code>NUMBER</code>, except that
+ *   non-integral values are not accepted (so vector is never {@link VectorType#DOUBLE}).
+ *  </li>
+ * <li>{@link CsvSchema.ColumnType#BOOLEAN}: {@link VectorType#BOOLEAN}
+ *  </li>
+ * <li>Other types: {@link VectorType#STRING}, in which values are dictionary-encoded:
+ *   each distinct value of the batch is included in the dictionary just once, and
+ *   codes (indexes into dictionary) are stored for rows.
+ *  </li>
+ *</ul>
+ * Instances (and the arrays they contain) are reused for all batches read;
+ * no objects are constructed per value (except for distinct String values).
+ *
+ * @since 2.9
+ */
+public class CsvColumnBatch
+{
+    public enum VectorType {
+        INT, LONG, DOUBLE, BOOLEAN, STRING;
+    }
+
+    /**
+     * Values of a single column for rows of the batch.
+     */
+    public static class Vector
+    {
+        private final static String[] NO_STRINGS = new String[0];
+
+        protected final CsvSchema.Column _column;
+
+        /**
+         * Type of vector for columns of type
+         * {@link CsvSchema.ColumnType#NUMBER}, at the start of a batch
+         */
+        protected final VectorType _initialType;
+
+        protected VectorType _type;
+
+        protected int[] _ints;
+        protected long[] _longs;
+        protected double[] _doubles;
+        protected boolean[] _booleans;
+
+        /**
+         * Bitmap of rows that have null values, 64 rows per entry
+         */
+        protected final long[] _nulls;
+
+        // // // Dictionary encoding, for String values
+
+        protected String[] _dictionary = NO_STRINGS;
+
+        protected int _dictionarySize;
+
+        /**
+         * Open-addressing hash table for finding dictionary codes: contains
+         * code plus one for occupied slots, and zero for empty ones.
+         */
+        protected int[] _hashTable;
+
+        protected Vector(CsvSchema.Column column, int capacity)
+        {
+            _column = column;
+            switch (column.getType()) {
+            case NUMBER:
+            case INTEGER:
+                _initialType = VectorType.INT;
+                break;
+            case BOOLEAN:
+                _initialType = VectorType.BOOLEAN;
+                _booleans = new boolean[capacity];
+                break;
+            default:
+                _initialType = VectorType.STRING;
+                // codes stored in int array
+                _ints = new int[capacity];
+                _hashTable = new int[64];
+            }
+            _type = _initialType;
+            _nulls = new long[(capacity + 63) >> 6];
+        }
+
+        public CsvSchema.Column getColumn() { return _column; }
+
+        public VectorType getType() { return _type; }
+
+        /**
+         * Accessor for values of {@link VectorType#INT} vector, or dictionary
+         * codes of {@link VectorType#STRING} vector.
+         */
+        public int[] getInts() { return _ints; }
+
+        public long[] getLongs() { return _longs; }
+
+        public double[] getDoubles() { return _doubles; }
+
+        public boolean[] getBooleans() { return _booleans; }
+
+        /**
+         * Accessor for bitmap of null values: bit <code>(row &amp; 63)</code> of
+         * entry <code>(row &gt;&gt; 6)</code> is set for rows with null value.
+         */
+        public long[] getNulls() { return _nulls; }
+
+        /**
+         * Accessor for dictionary of distinct values of {@link VectorType#STRING}
+         * vector; only the first {@link #getDictionarySize()} entries are valid.
+         */
+        public String[] getDictionary() { return _dictionary; }
+
+        public int getDictionarySize() { return _dictionarySize; }
+
+        public boolean isNull(int row) {
+            return (_nulls[row >> 6] & (1L << row)) != 0L;
+        }
+
+        public int getInt(int row) { return _ints[row]; }
+
+        /**
+         * Accessor for numeric value of given row, widened as necessary
+         */
+        public long getLong(int row) {
+            return (_type == VectorType.INT) ? _ints[row] : _longs[row];
+        }
+
+        /**
+         * Accessor for numeric value of given row, widened as necessary
+         */
+        public double getDouble(int row) {
+            switch (_type) {
+            case INT:
+                return _ints[row];
+            case LONG:
+                return _longs[row];
+            default:
+                return _doubles[row];
+            }
+        }
+
+        public boolean getBoolean(int row) { return _booleans[row]; }
+
+        /**
+         * Accessor for value of given row of {@link VectorType#STRING} vector
+         *
+         * @return Value, or null for null values
+         */
+        public String getString(int row) {
+            return isNull(row) ? null : _dictionary[_ints[row]];
+        }
+
+        /*
+        /**********************************************************************
+        /* Mutators, used by CsvBatchReader
+        /**********************************************************************
+         */
+
+        protected void reset(int rowCount)
+        {
+            Arrays.fill(_nulls, 0, (rowCount + 63) >> 6, 0L);
+            if (_initialType == VectorType.STRING) {
+                if (_dictionarySize > 0) {
+                    Arrays.fill(_dictionary, 0, _dictionarySize, null);
+                    Arrays.fill(_hashTable, 0);
+                    _dictionarySize = 0;
+                }
+            } else if (_initialType == VectorType.INT) {
+                _type = VectorType.INT;
+            }
+        }
+
+        protected void setNull(int row)
+        {
+            _nulls[row >> 6] |= (1L << row);
+            switch (_type) {
+            case INT:
+            case STRING:
+                _ints()[row] = 0;
+                break;
+            case LONG:
+                _longs[row] = 0L;
+                break;
+            case DOUBLE:
+                _doubles[row] = 0.0;
+                break;
+            case BOOLEAN:
+                _booleans[row] = false;
+                break;
+            }
+        }
+
+        protected void setLong(int row, long value)
+        {
+            if (_type == VectorType.INT) {
+                if ((value >= Integer.MIN_VALUE) && (value <= Integer.MAX_VALUE)) {
+                    _ints()[row] = (int) value;
+                    return;
+                }
+                _widen(row, VectorType.LONG);
+            }
+            if (_type == VectorType.LONG) {
+                _longs[row] = value;
+            } else {
+                _doubles[row] = value;
+            }
+        }
+
+        protected void setDouble(int row, double value)
+        {
+            if (_type != VectorType.DOUBLE) {
+                _widen(row, VectorType.DOUBLE);
+            }
+            _doubles[row] = value;
+        }
+
+        protected void setBoolean(int row, boolean value) {
+            _booleans[row] = value;
+        }
+
+        protected void setString(int row, char[] buf, int start, int len)
+        {
+            int hash = 0;
+            for (int i = 0; i < len; ++i) {
+                hash = (hash * 31) + buf[start+i];
+            }
+            final int[] table = _hashTable;
+            final int mask = table.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (true) {
+                final int code = table[slot] - 1;
+                if (code < 0) {
+                    break;
+                }
+                if (_matches(_dictionary[code], buf, start, len)) {
+                    _ints[row] = code;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            final int code = _dictionarySize++;
+            if (code >= _dictionary.length) {
+                _dictionary = Arrays.copyOf(_dictionary, Math.max(16, code << 1));
+            }
+            _dictionary[code] = new String(buf, start, len);
+            table[slot] = code + 1;
+            _ints[row] = code;
+            // keep load factor at most 50%
+            if ((_dictionarySize << 1) > table.length) {
+                _rehash();
+            }
+        }
+
+        /*
+        /**********************************************************************
+        /* Internal methods
+        /**********************************************************************
+         */
+
+        private int[] _ints() {
+            if (_ints == null) {
+                _ints = new int[_nulls.length << 6];
+            }
+            return _ints;
+        }
+
+        /**
+         * Helper method for widening numeric values of rows before given one
+         * into type that can hold value of the row.
+         */
+        private void _widen(int row, VectorType newType)
+        {
+            final int capacity = _nulls.length << 6;
+            if (newType == VectorType.LONG) {
+                if (_longs == null) {
+                    _longs = new long[capacity];
+                }
+                for (int i = 0; i < row; ++i) {
+                    _longs[i] = _ints[i];
+                }
+            } else {
+                if (_doubles == null) {
+                    _doubles = new double[capacity];
+                }
+                if (_type == VectorType.INT) {
+                    for (int i = 0; i < row; ++i) {
+                        _doubles[i] = _ints[i];
+                    }
+                } else {
+                    for (int i = 0; i < row; ++i) {
+                        _doubles[i] = _longs[i];
+                    }
+                }
+            }
+            _type = newType;
+        }
+
+        private void _rehash()
+        {
+            final int[] table = new int[_hashTable.length << 1];
+            final int mask = table.length - 1;
+            for (int code = 0; code < _dictionarySize; ++code) {
+                final String str = _dictionary[code];
+                int hash = str.hashCode();
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = code + 1;
+            }
+            _hashTable = table;
+        }
+
+        private static boolean _matches(String str, char[] buf, int start, int len)
+        {
+            if (str.length() != len) {
+                return false;
+            }
+            for (int i = 0; i < len; ++i) {
+                if (str.charAt(i) != buf[start+i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    protected final CsvSchema _schema;
+
+    protected final int _capacity;
+
+    /**
+     * Vectors by column index; null for columns excluded by projection
+     */
+    protected final Vector[] _vectors;
+
+    protected int _size;
+
+    protected CsvColumnBatch(CsvSchema schema, int capacity)
+    {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Batch capacity must be positive, got "+capacity);
+        }
+        _schema = schema;
+        _capacity = capacity;
+        _vectors = new Vector[schema.size()];
+        for (int i = 0; i < _vectors.length; ++i) {
+            if (schema.isColumnIncluded(i)) {
+                _vectors[i] = new Vector(schema.column(i), capacity);
+            }
+        }
+    }
+
+    public CsvSchema getSchema() { return _schema; }
+
+    /**
+     * @return Maximum number of rows batch may contain
+     */
+    public int capacity() { return _capacity; }
+
+    /**
+     * @return Number of rows batch contains
+     */
+    public int size() { return _size; }
+
+    /**
+     * @return Vector for column with given index; null if column is excluded by projection
+     */
+    public Vector getVector(int index) {
+        return _vectors[index];
+    }
+
+    /**
+     * @return Vector for column with given name; null if there is no such column,
+     *    or if column is excluded by projection
+     */
+    public Vector getVector(String name) {
+        CsvSchema.Column column = _schema.column(name);
+        return (column == null) ? null : _vectors[column.getIndex()];
+    }
+
+    protected void reset(int rowCount)
+    {
+        for (Vector v : _vectors) {
+            if (v != null) {
+                v.reset(rowCount);
+            }
+        }
+        _size = 0;
+    }
+}
@@ -0,0 +1,292 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.dataformat.csv.impl.CsvEncoder;
+
+/**
+ * Writer for writing rows of CSV content from values held in columnar form:
+ * arrays of primitive values (or Strings) for each column, with optional
+ * bitmaps of null values. Arrays are bound to columns (by index) once, after
+ * which any range of rows can be written: values are passed directly to the
+ * underlying {@link CsvEncoder}, without per-value generator calls or schema
+ * lookups. Numbers are written directly into output buffer, and Strings are
+ * quoted and escaped as necessary, just as when using {@link CsvGenerator}.
+ *<p>
+ * Bitmaps of null values use the same layout as {@link CsvColumnBatch}: bit
+ * <code>(row &amp; 63)</code> of entry <code>(row &gt;&gt; 6)</code> is set for
+ * rows with null value; nulls are written using the null value of schema.
+ *<p>
+ * Instances are constructed using {@link CsvGenerator#columnBatchWriter()} (or
+ * convenience methods of {@link CsvFactory}); header line, if schema uses one,
+ * is written before the first row. Instances are not thread-safe.
+ *
+ * @since 2.9
+ */
+public class CsvColumnBatchWriter implements Closeable, Flushable
+{
+    private final static int TYPE_NONE = 0;
+    private final static int TYPE_INT = 1;
+    private final static int TYPE_LONG = 2;
+    private final static int TYPE_DOUBLE = 3;
+    private final static int TYPE_BOOLEAN = 4;
+    private final static int TYPE_STRING = 5;
+    private final static int TYPE_DICTIONARY = 6;
+
+    protected final CsvGenerator _generator;
+
+    protected final CsvEncoder _encoder;
+
+    protected final CsvSchema _schema;
+
+    /**
+     * Types of columns bound, by index; <code>TYPE_NONE</code> for
+     * columns not bound (written as nulls)
+     */
+    protected int[] _types;
+
+    /**
+     * Value arrays of columns bound, by index
+     */
+    protected Object[] _values;
+
+    /**
+     * Dictionaries for dictionary-encoded String columns, by index
+     */
+    protected String[][] _dictionaries;
+
+    /**
+     * Null bitmaps of columns bound, by index; null if column has no nulls
+     */
+    protected long[][] _nulls;
+
+    /**
+     * Number of columns to write for each row: either number of columns of
+     * schema, or, if schema has none, highest bound index plus one.
+     */
+    protected int _columnCount;
+
+    protected CsvColumnBatchWriter(CsvGenerator gen)
+    {
+        _generator = gen;
+        _encoder = gen._writer;
+        _schema = gen._schema;
+        _columnCount = _schema.size();
+        final int size = Math.max(_columnCount, 8);
+        _types = new int[size];
+        _values = new Object[size];
+        _dictionaries = new String[size][];
+        _nulls = new long[size][];
+    }
+
+    public CsvGenerator getGenerator() {
+        return _generator;
+    }
+
+    public CsvSchema getSchema() {
+        return _schema;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        _generator.flush();
+    }
+
+    /**
+     * Closes the underlying generator.
+     */
+    @Override
+    public void close() throws IOException {
+        _generator.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Binding of columns
+    /**********************************************************************
+     */
+
+    public CsvColumnBatchWriter setColumn(int index, int[] values, long[] nulls) {
+        return _set(index, TYPE_INT, values, null, nulls);
+    }
+
+    public CsvColumnBatchWriter setColumn(int index, long[] values, long[] nulls) {
+        return _set(index, TYPE_LONG, values, null, nulls);
+    }
+
+    public CsvColumnBatchWriter setColumn(int index, double[] values, long[] nulls) {
+        return _set(index, TYPE_DOUBLE, values, null, nulls);
+    }
+
+    public CsvColumnBatchWriter setColumn(int index, boolean[] values, long[] nulls) {
+        return _set(index, TYPE_BOOLEAN, values, null, nulls);
+    }
+
+    /**
+     * Method for binding String values for column: null entries are written as nulls.
+     */
+    public CsvColumnBatchWriter setColumn(int index, String[] values) {
+        return _set(index, TYPE_STRING, values, null, null);
+    }
+
+    /**
+     * Method for binding dictionary-encoded String values for column: values
+     * written are <code>dictionary[codes[row]]</code>.
+     */
+    public CsvColumnBatchWriter setColumn(int index, int[] codes, String[] dictionary, long[] nulls) {
+        return _set(index, TYPE_DICTIONARY, codes, dictionary, nulls);
+    }
+
+    /**
+     * Method for binding all columns to vectors of given batch (as read
+     * by {@link CsvBatchReader}); columns excluded by projection of the
+     * batch are written as nulls.
+     */
+    public CsvColumnBatchWriter setColumns(CsvColumnBatch batch)
+    {
+        for (int i = 0, len = batch.getSchema().size(); i < len; ++i) {
+            CsvColumnBatch.Vector v = batch.getVector(i);
+            if (v == null) {
+                clearColumn(i);
+                continue;
+            }
+            switch (v.getType()) {
+            case INT:
+                setColumn(i, v.getInts(), v.getNulls());
+                break;
+            case LONG:
+                setColumn(i, v.getLongs(), v.getNulls());
+                break;
+            case DOUBLE:
+                setColumn(i, v.getDoubles(), v.getNulls());
+                break;
+            case BOOLEAN:
+                setColumn(i, v.getBooleans(), v.getNulls());
+                break;
+            case STRING:
+                setColumn(i, v.getInts(), v.getDictionary(), v.getNulls());
+                break;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Method for unbinding column, so that nulls are written for it.
+     */
+    public CsvColumnBatchWriter clearColumn(int index) {
+        return _set(index, TYPE_NONE, null, null, null);
+    }
+
+    /*
+    /**********************************************************************
+    /* Writing
+    /**********************************************************************
+     */
+
+    /**
+     * Method for writing given range of rows, using values of columns bound.
+     *
+     * @param offset Index of the first row to write
+     * @param count Number of rows to write
+     */
+    public void writeRows(int offset, int count) throws IOException
+    {
+        if (_generator._handleFirstLine) {
+            _generator._handleFirstLine();
+        }
+        final CsvEncoder enc = _encoder;
+        final int[] types = _types;
+        final Object[] values = _values;
+        final long[][] nulls = _nulls;
+        final int columnCount = _columnCount;
+
+        for (int row = offset, end = offset + count; row < end; ++row) {
+            for (int col = 0; col < columnCount; ++col) {
+                final long[] n = nulls[col];
+                if ((n != null) && ((n[row >> 6] & (1L << row)) != 0L)) {
+                    enc.writeNull(col);
+                    continue;
+                }
+                switch (types[col]) {
+                case TYPE_INT:
+                    enc.write(col, ((int[]) values[col])[row]);
+                    break;
+                case TYPE_LONG:
+                    enc.write(col, ((long[]) values[col])[row]);
+                    break;
+                case TYPE_DOUBLE:
+                    enc.write(col, ((double[]) values[col])[row]);
+                    break;
+                case TYPE_BOOLEAN:
+                    enc.write(col, ((boolean[]) values[col])[row]);
+                    break;
+                case TYPE_STRING:
+                    {
+                        String str = ((String[]) values[col])[row];
+                        if (str == null) {
+                            enc.writeNull(col);
+                        } else {
+                            enc.write(col, str);
+                        }
+                    }
+                    break;
+                case TYPE_DICTIONARY:
+                    enc.write(col, _dictionaries[col][((int[]) values[col])[row]]);
+                    break;
+                default:
+                    enc.writeNull(col);
+                }
+            }
+            enc.endRow();
+        }
+    }
+
+    /**
+     * Convenience method for writing all rows of given batch: same as binding
+     * columns using {@link #setColumns(CsvColumnBatch)} and calling
+     * {@link #writeRows}.
+     */
+    public void writeBatch(CsvColumnBatch batch) throws IOException
+    {
+        setColumns(batch);
+        writeRows(0, batch.size());
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected CsvColumnBatchWriter _set(int index, int type, Object values,
+            String[] dictionary, long[] nulls)
+    {
+        final int schemaSize = _schema.size();
+        if ((index < 0) || ((schemaSize > 0) && (index >= schemaSize))) {
+            throw new IllegalArgumentException("Invalid column index "+index
+                    +((schemaSize > 0) ? " (schema has "+schemaSize+" columns)" : ""));
+        }
+        if ((type != TYPE_NONE) && (values == null)) {
+            throw new IllegalArgumentException("Null values for column #"+index);
+        }
+        if (index >= _types.length) {
+            int newSize = Math.max(index + 1, _types.length << 1);
+            _types = Arrays.copyOf(_types, newSize);
+            _values = Arrays.copyOf(_values, newSize);
+            _dictionaries = Arrays.copyOf(_dictionaries, newSize);
+            _nulls = Arrays.copyOf(_nulls, newSize);
+        }
+        _types[index] = type;
+        _values[index] = values;
+        _dictionaries[index] = dictionary;
+        _nulls[index] = nulls;
+        if (index >= _columnCount) {
+            _columnCount = index + 1;
+        }
+        return this;
+    }
+}
@@ -2,13 +2,25 @@ package com.fasterxml.jackson.dataformat.csv;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.format.InputAccessor;
 import com.fasterxml.jackson.core.format.MatchStrength;
 import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.dataformat.csv.impl.BufferRecyclerPool;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvIOContext;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvParserBootstrapper;
+import com.fasterxml.jackson.dataformat.csv.impl.FileRangeInputStream;
+import com.fasterxml.jackson.dataformat.csv.impl.InstancePool;
+import com.fasterxml.jackson.dataformat.csv.impl.MappedFileInputStream;
+import com.fasterxml.jackson.dataformat.csv.impl.RowBoundaryFinder;
+import com.fasterxml.jackson.dataformat.csv.impl.UTF8CsvDecoder;
+import com.fasterxml.jackson.dataformat.csv.impl.UTF8CsvEncoder;
 import com.fasterxml.jackson.dataformat.csv.impl.UTF8Reader;
 import com.fasterxml.jackson.dataformat.csv.impl.UTF8Writer;
 
@@ -38,6 +50,14 @@ public class CsvFactory extends JsonFactory
     protected final static char[] DEFAULT_LF = { '\n' };
 
     protected final static CsvSchema DEFAULT_SCHEMA = CsvSchema.emptySchema();
+
+    /**
+     * Maximum number of parser (and generator) instances of each kind retained
+     * in pools of a factory.
+     *
+     * @since 2.9
+     */
+    protected final static int MAX_POOLED_INSTANCES = 64;
     
     /*
     /**********************************************************************
@@ -51,6 +71,44 @@ public class CsvFactory extends JsonFactory
 
     protected int _csvGeneratorFeatures = DEFAULT_CSV_GENERATOR_FEATURE_FLAGS;
 
+    /**
+     * Pool from which parsers and generators acquire their buffer recyclers,
+     * if any; if null, per-thread recycler is used. Not serialized.
+     *
+     * @since 2.9
+     */
+    protected transient BufferRecyclerPool _recyclerPool;
+
+    /*
+    /**********************************************************************
+    /* Pooled instances (not copied or serialized)
+    /**********************************************************************
+     */
+
+    /**
+     * @since 2.9
+     */
+    protected final transient InstancePool<CsvParser> _byteParserPool
+        = new InstancePool<CsvParser>(MAX_POOLED_INSTANCES);
+
+    /**
+     * @since 2.9
+     */
+    protected final transient InstancePool<CsvParser> _charParserPool
+        = new InstancePool<CsvParser>(MAX_POOLED_INSTANCES);
+
+    /**
+     * @since 2.9
+     */
+    protected final transient InstancePool<CsvGenerator> _byteGeneratorPool
+        = new InstancePool<CsvGenerator>(MAX_POOLED_INSTANCES);
+
+    /**
+     * @since 2.9
+     */
+    protected final transient InstancePool<CsvGenerator> _charGeneratorPool
+        = new InstancePool<CsvGenerator>(MAX_POOLED_INSTANCES);
+
     /*
     protected char _cfgColumnSeparator = ',';
 
@@ -88,6 +146,7 @@ public class CsvFactory extends JsonFactory
         _csvParserFeatures = src._csvParserFeatures;
         _csvGeneratorFeatures = src._csvGeneratorFeatures;
         _schema = src._schema;
+        _recyclerPool = src._recyclerPool;
     }
     
     @Override
@@ -140,6 +199,10 @@ public class CsvFactory extends JsonFactory
     @Override
     public boolean canUseCharArrays() { return false; }
 
+    // Yes, non-blocking parsing of UTF-8 content supported (since 2.9)
+    @Override
+    public boolean canParseAsync() { return true; }
+
     /*
     /**********************************************************
     /* Format detection functionality
@@ -252,6 +315,39 @@ public class CsvFactory extends JsonFactory
     public final boolean isEnabled(CsvGenerator.Feature f) {
         return (_csvGeneratorFeatures & f.getMask()) != 0;
     }
+
+    /*
+    /**********************************************************
+    /* Configuration, buffer recycling (2.9)
+    /**********************************************************
+     */
+
+    /**
+     * Method for specifying pool from which parsers and generators constructed
+     * by this factory acquire their buffer recyclers (and to which recyclers are
+     * returned once parser or generator is closed). By default (null) per-thread
+     * recycler is used, which works well with a limited set of long-lived threads;
+     * but if parsers and generators are used from large numbers of short-lived
+     * threads (such as virtual threads), a shared pool like
+     * {@link BufferRecyclerPool.SharedPool} allows reuse of buffers across threads.
+     *<p>
+     * Note that parsers and generators acquired using {@link #acquireParser} and
+     * {@link #acquireGenerator} always use recyclers of their own, regardless
+     * of this setting.
+     *
+     * @since 2.9
+     */
+    public CsvFactory setBufferRecyclerPool(BufferRecyclerPool pool) {
+        _recyclerPool = pool;
+        return this;
+    }
+
+    /**
+     * @since 2.9
+     */
+    public BufferRecyclerPool getBufferRecyclerPool() {
+        return _recyclerPool;
+    }
     
     /*
     /**********************************************************
@@ -262,7 +358,31 @@ public class CsvFactory extends JsonFactory
     @Override
     public CsvParser createParser(File f) throws IOException {
         IOContext ctxt =  _createContext(f, true);
-        return _createParser(_decorate(new FileInputStream(f), ctxt), ctxt);
+        InputStream in;
+        if (isEnabled(CsvParser.Feature.USE_MAPPED_FILE_INPUT)) {
+            in = new MappedFileInputStream(f);
+        } else {
+            in = new FileInputStream(f);
+        }
+        return _createParser(_decorate(in, ctxt), ctxt);
+    }
+
+    /**
+     * Method for constructing parser for parsing contents of the file
+     * located at given {@link Path}; content is read using memory-mapping
+     * if {@link CsvParser.Feature#USE_MAPPED_FILE_INPUT} is enabled.
+     *
+     * @since 2.9
+     */
+    public CsvParser createParser(Path p) throws IOException {
+        IOContext ctxt =  _createContext(p, true);
+        InputStream in;
+        if (isEnabled(CsvParser.Feature.USE_MAPPED_FILE_INPUT)) {
+            in = new MappedFileInputStream(FileChannel.open(p, StandardOpenOption.READ), true);
+        } else {
+            in = Files.newInputStream(p);
+        }
+        return _createParser(_decorate(in, ctxt), ctxt);
     }
 
     @Override
@@ -308,6 +428,372 @@ public class CsvFactory extends JsonFactory
         return (CsvParser) super.createParser(data, offset, len);
     }
 
+    /*
+    /**********************************************************
+    /* Non-blocking parser factory methods (2.9)
+    /**********************************************************
+     */
+
+    /**
+     * Method for constructing a non-blocking parser, to which UTF-8 encoded
+     * content is fed using {@link NonBlockingCsvParser#feedInput}, instead
+     * of parser reading it from a source.
+     *
+     * @since 2.9
+     */
+    @Override
+    public CsvParser createNonBlockingByteArrayParser() throws IOException {
+        IOContext ctxt = _createContext(null, false);
+        return new NonBlockingCsvParser((CsvIOContext) ctxt,
+                _parserFeatures, _csvParserFeatures, _objectCodec);
+    }
+
+    /*
+    /**********************************************************
+    /* Extended parser factory methods, byte ranges (2.9)
+    /**********************************************************
+     */
+
+    /**
+     * Method for constructing a parser for reading rows that start within given
+     * byte range of a file: this is useful for processing "splits" of a large file
+     * independently, without coordination. Same as calling
+     * {@link #createParser(File, long, long, CsvSchema, boolean)} with
+     * <code>true</code> for <code>multiLineValues</code>.
+     *
+     * @since 2.9
+     */
+    public CsvParser createParser(File f, long start, long end, CsvSchema schema) throws IOException {
+        return createParser(f, start, end, schema, true);
+    }
+
+    /**
+     * Method for constructing a parser for reading rows that start within given
+     * byte range of a file. Parser skips forward to the first row that starts at or after
+     * <code>start</code> (unless <code>start</code> is 0), and reads past <code>end</code>
+     * only to complete the last row; if ranges of a file are processed using parsers
+     * constructed this way, each row is read exactly once.
+     * If schema uses header line, it is read from the beginning of the file.
+     *<p>
+     * Since content preceding <code>start</code> is not read, whether offset is
+     * within a quoted value (that may contain linefeeds) is determined heuristically;
+     * if quoted values are known not to contain linefeeds, this can be avoided.
+     * Content must be UTF-8 encoded, and byte offsets of locations reported by parser
+     * are relative to the start of file (but line numbers to the start of range).
+     *
+     * @param start Offset of the start of range (inclusive)
+     * @param end Offset of the end of range (exclusive)
+     * @param multiLineValues Whether quoted values may contain linefeeds
+     *
+     * @since 2.9
+     */
+    public CsvParser createParser(File f, long start, long end, CsvSchema schema,
+            boolean multiLineValues) throws IOException
+    {
+        FileChannel ch = new FileInputStream(f).getChannel();
+        try {
+            return _createRangeParser(ch, true, _createContext(f, true),
+                    start, end, schema, multiLineValues);
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        } catch (RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method for constructing a parser for reading rows that start within given
+     * byte range of content accessed using given channel; same as calling
+     * {@link #createParser(FileChannel, long, long, CsvSchema, boolean)} with
+     * <code>true</code> for <code>multiLineValues</code>.
+     *
+     * @since 2.9
+     */
+    public CsvParser createParser(FileChannel ch, long start, long end, CsvSchema schema) throws IOException {
+        return createParser(ch, start, end, schema, true);
+    }
+
+    /**
+     * Method for constructing a parser for reading rows that start within given
+     * byte range of content accessed using given channel: works like
+     * {@link #createParser(File, long, long, CsvSchema, boolean)}, except that
+     * channel is not closed by parser; and since only positional reads are used,
+     * channel may be shared by multiple parsers.
+     *
+     * @since 2.9
+     */
+    public CsvParser createParser(FileChannel ch, long start, long end, CsvSchema schema,
+            boolean multiLineValues) throws IOException
+    {
+        return _createRangeParser(ch, false, _createContext(ch, true),
+                start, end, schema, multiLineValues);
+    }
+
+    /*
+    /**********************************************************
+    /* Row cursor factory methods (2.9)
+    /**********************************************************
+     */
+
+    /**
+     * Method for constructing a {@link CsvRowCursor} for reading rows of
+     * content from given file using given schema; same as constructing a
+     * parser, assigning schema and calling {@link CsvParser#rowCursor()}.
+     *
+     * @since 2.9
+     */
+    public CsvRowCursor createRowCursor(File f, CsvSchema schema) throws IOException {
+        return _createRowCursor(createParser(f), schema);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public CsvRowCursor createRowCursor(InputStream in, CsvSchema schema) throws IOException {
+        return _createRowCursor(createParser(in), schema);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public CsvRowCursor createRowCursor(Reader r, CsvSchema schema) throws IOException {
+        return _createRowCursor(createParser(r), schema);
+    }
+
+    /**
+     * Method for constructing a {@link CsvBatchReader} for reading rows of
+     * content from given file into columnar batches, using given schema;
+     * same as constructing a parser, assigning schema and calling
+     * {@link CsvParser#batchReader()}.
+     *
+     * @since 2.9
+     */
+    public CsvBatchReader createBatchReader(File f, CsvSchema schema) throws IOException {
+        return _createBatchReader(createParser(f), schema);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public CsvBatchReader createBatchReader(InputStream in, CsvSchema schema) throws IOException {
+        return _createBatchReader(createParser(in), schema);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public CsvBatchReader createBatchReader(Reader r, CsvSchema schema) throws IOException {
+        return _createBatchReader(createParser(r), schema);
+    }
+
+    /**
+     * Method for constructing a {@link CsvColumnBatchWriter} for writing rows
+     * from columnar values to given stream (using UTF-8 encoding) with given
+     * schema; same as constructing a generator, assigning schema and calling
+     * {@link CsvGenerator#columnBatchWriter()}.
+     *
+     * @since 2.9
+     */
+    public CsvColumnBatchWriter createColumnBatchWriter(OutputStream out, CsvSchema schema) throws IOException {
+        return _createColumnBatchWriter(createGenerator(out, JsonEncoding.UTF8), schema);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public CsvColumnBatchWriter createColumnBatchWriter(Writer w, CsvSchema schema) throws IOException {
+        return _createColumnBatchWriter(createGenerator(w), schema);
+    }
+
+    /*
+    /**********************************************************
+    /* Pooled parsers, generators (2.9)
+    /**********************************************************
+     */
+
+    /**
+     * Method for getting a parser for reading UTF-8 encoded content from given
+     * stream, using given schema (or, if null, empty schema): either one
+     * released earlier using {@link #releaseParser}, reset to read new content,
+     * or, if none available, a newly constructed one.
+     * Pooled parsers retain their buffers, as well as schema resolved from the
+     * header line of content (reused if header line of new content is the same),
+     * so that setup cost is minimal for small documents.
+     *<p>
+     * Note that unlike with {@link #createParser(InputStream)}, content must be
+     * UTF-8 encoded (possible UTF-8 BOM is skipped). Pooled parsers may be used
+     * from any thread (but only by one thread at a time); pool itself is
+     * thread-safe.
+     *
+     * @since 2.9
+     */
+    public CsvParser acquireParser(InputStream in, CsvSchema schema) throws IOException
+    {
+        CsvParser p = _byteParserPool.acquire();
+        if (p == null) {
+            p = new CsvParser(_createPooledContext(), _parserFeatures, _csvParserFeatures,
+                    _objectCodec, null, null, 0, 0, false);
+        } else {
+            _resetPooled(p);
+        }
+        p.resetInput(_decorate(in, p._ioContext));
+        return _initPooled(p, schema);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public CsvParser acquireParser(byte[] data, CsvSchema schema) throws IOException {
+        return acquireParser(data, 0, data.length, schema);
+    }
+
+    /**
+     * Method for getting a parser for reading UTF-8 encoded content from given
+     * byte array; works similar to {@link #acquireParser(InputStream, CsvSchema)}.
+     *
+     * @since 2.9
+     */
+    public CsvParser acquireParser(byte[] data, int offset, int len, CsvSchema schema) throws IOException
+    {
+        if (_inputDecorator != null) {
+            CsvIOContext ctxt = _createPooledContext();
+            InputStream in = _inputDecorator.decorate(ctxt, data, offset, len);
+            if (in != null) {
+                return acquireParser(in, schema);
+            }
+        }
+        CsvParser p = _byteParserPool.acquire();
+        if (p == null) {
+            p = new CsvParser(_createPooledContext(), _parserFeatures, _csvParserFeatures,
+                    _objectCodec, null, null, 0, 0, false);
+        } else {
+            _resetPooled(p);
+        }
+        p.resetInput(data, offset, len);
+        return _initPooled(p, schema);
+    }
+
+    /**
+     * Method for getting a parser for reading content from given {@link Reader};
+     * works similar to {@link #acquireParser(InputStream, CsvSchema)}.
+     *
+     * @since 2.9
+     */
+    public CsvParser acquireParser(Reader r, CsvSchema schema) throws IOException
+    {
+        CsvParser p = _charParserPool.acquire();
+        if (p == null) {
+            p = new CsvParser(_createPooledContext(), _parserFeatures, _csvParserFeatures,
+                    _objectCodec, (Reader) null);
+        } else {
+            _resetPooled(p);
+        }
+        p.resetInput(_decorate(r, p._ioContext));
+        return _initPooled(p, schema);
+    }
+
+    /**
+     * Method for closing given parser (if not yet closed) and returning it to
+     * the pool for reuse, if it was acquired using one of
+     * <code>acquireParser</code> methods (other parsers are just closed).
+     * Parser may not be used by caller after the call; releasing it again
+     * has no effect.
+     *
+     * @since 2.9
+     */
+    public void releaseParser(CsvParser p) throws IOException
+    {
+        p.close();
+        // must not add same instance to pool twice
+        if (p._released) {
+            return;
+        }
+        if (p._ioContext.usesPrivateRecycler()) {
+            p._released = true;
+            if (p._reader instanceof UTF8CsvDecoder) {
+                _byteParserPool.release(p);
+            } else {
+                _charParserPool.release(p);
+            }
+        }
+    }
+
+    /**
+     * Method for getting a generator for writing UTF-8 encoded content to given
+     * stream using given schema (or, if null, default schema of this factory):
+     * either one released earlier using {@link #releaseGenerator}, reset to write
+     * new content, or, if none available, a newly constructed one.
+     * Pooled generators retain their buffers, so that setup cost is minimal
+     * for small documents.
+     *
+     * @since 2.9
+     */
+    public CsvGenerator acquireGenerator(OutputStream out, CsvSchema schema) throws IOException
+    {
+        CsvGenerator g = _byteGeneratorPool.acquire();
+        if (g == null) {
+            IOContext ctxt = _createPooledContext();
+            ctxt.setEncoding(JsonEncoding.UTF8);
+            g = new CsvGenerator(ctxt, _generatorFeatures, _csvGeneratorFeatures,
+                    _objectCodec, _decorate(out, ctxt), _schema);
+        } else {
+            _resetPooled(g);
+            g.resetOutput(_decorate(out, g._ioContext));
+        }
+        g.setSchema((schema == null) ? _schema : schema);
+        return g;
+    }
+
+    /**
+     * Method for getting a generator for writing content to given {@link Writer};
+     * works similar to {@link #acquireGenerator(OutputStream, CsvSchema)}.
+     *
+     * @since 2.9
+     */
+    public CsvGenerator acquireGenerator(Writer w, CsvSchema schema) throws IOException
+    {
+        CsvGenerator g = _charGeneratorPool.acquire();
+        if (g == null) {
+            IOContext ctxt = _createPooledContext();
+            g = new CsvGenerator(ctxt, _generatorFeatures, _csvGeneratorFeatures,
+                    _objectCodec, _decorate(w, ctxt), _schema);
+        } else {
+            _resetPooled(g);
+            g.resetOutput(_decorate(w, g._ioContext));
+        }
+        g.setSchema((schema == null) ? _schema : schema);
+        return g;
+    }
+
+    /**
+     * Method for closing given generator (if not yet closed), and returning it
+     * to the pool for reuse, if it was acquired using one of
+     * <code>acquireGenerator</code> methods (other generators are just closed).
+     * Generator may not be used by caller after the call; releasing it again
+     * has no effect.
+     *
+     * @since 2.9
+     */
+    public void releaseGenerator(CsvGenerator g) throws IOException
+    {
+        g.close();
+        // must not add same instance to pool twice
+        if (g._released) {
+            return;
+        }
+        if ((g._ioContext instanceof CsvIOContext)
+                && ((CsvIOContext) g._ioContext).usesPrivateRecycler()) {
+            g._released = true;
+            if (g._writer instanceof UTF8CsvEncoder) {
+                _byteGeneratorPool.release(g);
+            } else {
+                _charGeneratorPool.release(g);
+            }
+        }
+    }
+
     /*
     /**********************************************************
     /* Overridden generator factory methods, 2.1+
@@ -320,7 +806,7 @@ public class CsvFactory extends JsonFactory
         // false -> we won't manage the stream unless explicitly directed to
         IOContext ctxt = _createContext(out, false);
         ctxt.setEncoding(enc);
-        return _createGenerator(ctxt, _createWriter(_decorate(out, ctxt), JsonEncoding.UTF8, ctxt));
+        return _createUTF8Generator(_decorate(out, ctxt), ctxt);
     }
 
     /**
@@ -343,6 +829,9 @@ public class CsvFactory extends JsonFactory
         // Important: make sure that we always auto-close stream we create:
         IOContext ctxt = _createContext(out, false);
         ctxt.setEncoding(enc);
+        if (enc == JsonEncoding.UTF8) {
+            return _createUTF8Generator(_decorate(out, ctxt), ctxt);
+        }
         return _createGenerator(ctxt,
                 _createWriter(_decorate(out, ctxt), enc, ctxt));
     }
@@ -373,6 +862,158 @@ public class CsvFactory extends JsonFactory
                .constructParser(_parserFeatures, _csvParserFeatures);
     }
 
+    /**
+     * @since 2.9
+     */
+    protected CsvRowCursor _createRowCursor(CsvParser p, CsvSchema schema) throws IOException
+    {
+        try {
+            if (schema != null) {
+                p.setSchema(schema);
+            }
+            return p.rowCursor();
+        } catch (IOException e) {
+            p.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected CsvBatchReader _createBatchReader(CsvParser p, CsvSchema schema) throws IOException
+    {
+        try {
+            if (schema != null) {
+                p.setSchema(schema);
+            }
+            return p.batchReader();
+        } catch (IOException e) {
+            p.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected CsvColumnBatchWriter _createColumnBatchWriter(CsvGenerator g, CsvSchema schema)
+    {
+        if (schema != null) {
+            g.setSchema(schema);
+        }
+        return g.columnBatchWriter();
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected CsvParser _createRangeParser(FileChannel ch, boolean closeChannel, IOContext ctxt,
+            long start, long end, CsvSchema schema, boolean multiLineValues) throws IOException
+    {
+        final long size = ch.size();
+        final RowBoundaryFinder finder = new RowBoundaryFinder(schema,
+                isEnabled(JsonParser.Feature.ALLOW_YAML_COMMENTS));
+        if ((start > 0L) && !finder.canSplit()) {
+            throw new IllegalArgumentException(
+                    "Can not read a range of content with non-ASCII column separator, quote or escape character");
+        }
+        // Header line (and/or skipped first data row) must be read from the beginning
+        final long dataStart = _findDataStart(finder, ch, schema);
+        if (dataStart > 0L) {
+            schema = _resolveRangeSchema(ch, dataStart, schema);
+        }
+        // Start and end are resolved the same way, so that adjacent ranges match up
+        long rowStart = _resyncRowStart(finder, ch, start, dataStart, size, multiLineValues);
+        long rowEnd = Math.max(rowStart,
+                _resyncRowStart(finder, ch, end, dataStart, size, multiLineValues));
+        InputStream in;
+        if (isEnabled(CsvParser.Feature.USE_MAPPED_FILE_INPUT)) {
+            in = new MappedFileInputStream(ch, rowStart, rowEnd,
+                    MappedFileInputStream.DEFAULT_WINDOW_SIZE, closeChannel);
+        } else {
+            in = new FileRangeInputStream(ch, rowStart, rowEnd, closeChannel);
+        }
+        CsvParser p = _createUTF8RangeParser(in, ctxt, rowStart);
+        p.setSchema(schema);
+        return p;
+    }
+
+    /**
+     * Helper method for constructing a parser for reading UTF-8 encoded content
+     * of a byte range from given stream, when range starts at given offset of
+     * the whole content. No encoding detection is done (since range may start
+     * anywhere within content), and byte offsets of locations reported by parser
+     * are relative to the start of the whole content.
+     *
+     * @since 2.9
+     */
+    protected CsvParser _createUTF8RangeParser(InputStream in, IOContext ctxt, long offset)
+        throws IOException
+    {
+        in = _decorate(in, ctxt);
+        ctxt.setEncoding(JsonEncoding.UTF8);
+        CsvParser p = new CsvParser((CsvIOContext) ctxt, _parserFeatures, _csvParserFeatures,
+                _objectCodec, in, ctxt.allocReadIOBuffer(), 0, 0, true);
+        UTF8CsvDecoder decoder = (UTF8CsvDecoder) p._reader;
+        decoder.setInitialInputOffset(offset);
+        // BOM, if any, can only be at the start of content
+        if (offset == 0L) {
+            decoder.skipUTF8BOM();
+        }
+        return p;
+    }
+
+    /**
+     * Helper method for finding offset of the first data row of content,
+     * that is, one following header line (and skipped first data row), if any.
+     *
+     * @since 2.9
+     */
+    protected long _findDataStart(RowBoundaryFinder finder, FileChannel ch, CsvSchema schema)
+        throws IOException
+    {
+        final long size = ch.size();
+        long dataStart = 0L;
+        int skipped = (schema.usesHeader() ? 1 : 0) + (schema.skipsFirstDataRow() ? 1 : 0);
+        for (int i = 0; i < skipped; ++i) {
+            dataStart = finder.findRowStarts(ch, dataStart, size, new long[] { dataStart+1 })[0];
+        }
+        return dataStart;
+    }
+
+    /**
+     * Helper method for resolving schema to use for data rows, by reading header line
+     * (and skipping first data row) contained in content before given offset.
+     *
+     * @since 2.9
+     */
+    protected CsvSchema _resolveRangeSchema(FileChannel ch, long dataStart, CsvSchema schema)
+        throws IOException
+    {
+        CsvParser p = createParser(new FileRangeInputStream(ch, 0L, dataStart, false));
+        try {
+            p.setSchema(schema);
+            // header is processed when the first token is requested
+            p.nextToken();
+            return p.getSchema().withUseHeader(false).withSkipFirstDataRow(false);
+        } finally {
+            p.close();
+        }
+    }
+
+    private long _resyncRowStart(RowBoundaryFinder finder, FileChannel ch, long offset,
+            long dataStart, long size, boolean multiLineValues) throws IOException
+    {
+        if (offset <= dataStart) {
+            return dataStart;
+        }
+        if (offset >= size) {
+            return size;
+        }
+        return finder.resyncRowStart(ch, offset, size, multiLineValues);
+    }
+
     /**
      * Overridable factory method that actually instantiates desired parser.
      */
@@ -396,7 +1037,9 @@ public class CsvFactory extends JsonFactory
 
     @Override
     protected CsvGenerator _createUTF8Generator(OutputStream out, IOContext ctxt) throws IOException {
-        return _createGenerator(ctxt, new UTF8Writer(ctxt, out));
+        // UTF-8 encoded directly by generator, no need for Writer
+        return new CsvGenerator(ctxt, _generatorFeatures, _csvGeneratorFeatures,
+                _objectCodec, out, _schema);
     }
 
     @Override
@@ -449,6 +1092,56 @@ public class CsvFactory extends JsonFactory
 
     @Override
     protected IOContext _createContext(Object srcRef, boolean resourceManaged) {
+        if (_recyclerPool != null) {
+            return new CsvIOContext(_recyclerPool, srcRef, resourceManaged);
+        }
         return new CsvIOContext(_getBufferRecycler(), srcRef, resourceManaged);
     }
+
+    /**
+     * Factory method for constructing context for pooled parsers and generators:
+     * since these may be used from different threads, they can not use buffer
+     * recycler of the current thread, but use a private one instead.
+     *
+     * @since 2.9
+     */
+    protected CsvIOContext _createPooledContext() {
+        return new CsvIOContext(new BufferRecycler(), null, false, true);
+    }
+
+    /**
+     * Helper method for restoring configuration of pooled parser (which may have
+     * been changed by its previous user) to that of this factory.
+     *
+     * @since 2.9
+     */
+    protected void _resetPooled(CsvParser p)
+    {
+        p._released = false;
+        p.setCodec(_objectCodec);
+        p.overrideStdFeatures(_parserFeatures, -1);
+        p.overrideFormatFeatures(_csvParserFeatures, -1);
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected void _resetPooled(CsvGenerator g)
+    {
+        g._released = false;
+        g.setCodec(_objectCodec);
+        g.overrideStdFeatures(_generatorFeatures, -1);
+        g.overrideFormatFeatures(_csvGeneratorFeatures, -1);
+    }
+
+    private CsvParser _initPooled(CsvParser p, CsvSchema schema)
+    {
+        if (schema == null) {
+            schema = DEFAULT_SCHEMA;
+        }
+        if (p.getSchema() != schema) {
+            p.setSchema(schema);
+        }
+        return p;
+    }
 }
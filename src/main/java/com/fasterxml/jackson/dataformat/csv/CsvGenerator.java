@@ -7,10 +7,14 @@ import java.util.Arrays;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.core.json.DupDetector;
 import com.fasterxml.jackson.core.json.JsonWriteContext;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvEncoder;
+import com.fasterxml.jackson.dataformat.csv.impl.IndexedColumnName;
+import com.fasterxml.jackson.dataformat.csv.impl.NumberOutput;
+import com.fasterxml.jackson.dataformat.csv.impl.UTF8CsvEncoder;
 
 public class CsvGenerator extends GeneratorBase
 {
@@ -193,6 +197,15 @@ public class CsvGenerator extends GeneratorBase
      */
     protected JsonWriteContext _skipWithin;
 
+    /**
+     * Flag set when generator is released to the pool of {@link CsvFactory},
+     * and cleared when acquired again, to guard against releasing the same
+     * instance more than once.
+     *
+     * @since 2.9
+     */
+    protected boolean _released;
+
     /*
     /**********************************************************
     /* Life-cycle
@@ -212,6 +225,22 @@ public class CsvGenerator extends GeneratorBase
         _writer = new CsvEncoder(ctxt, csvFeatures, out, schema);
     }
 
+    /**
+     * Constructor used when writing UTF-8 encoded content directly to
+     * a byte target, without encoding it through a {@link Writer}.
+     *
+     * @since 2.9
+     */
+    public CsvGenerator(IOContext ctxt, int jsonFeatures, int csvFeatures,
+            ObjectCodec codec, OutputStream out, CsvSchema schema)
+    {
+        super(jsonFeatures, codec);
+        _ioContext = ctxt;
+        _formatFeatures = csvFeatures;
+        _schema = schema;
+        _writer = new UTF8CsvEncoder(ctxt, csvFeatures, out, schema);
+    }
+
     public CsvGenerator(IOContext ctxt, int jsonFeatures, int csvFeatures,
             ObjectCodec codec, CsvEncoder csvWriter)
     {
@@ -220,6 +249,68 @@ public class CsvGenerator extends GeneratorBase
         _formatFeatures = csvFeatures;
         _writer = csvWriter;
     }
+
+    /**
+     * Method for resetting this generator to write content to given {@link Writer},
+     * for generators that write characters (that is, ones not constructed for
+     * writing UTF-8 encoded bytes directly). Current output (if any) is closed
+     * as if {@link #close} was called; after that generator is in the same state
+     * as a newly constructed one (including writing of header line, if schema
+     * has one), except that it retains its configuration (features, codec,
+     * schema) and buffers.
+     *
+     * @since 2.9
+     */
+    public void resetOutput(Writer out) throws IOException
+    {
+        if (!_closed) {
+            close();
+        }
+        _writer.reset(out);
+        _resetState();
+    }
+
+    /**
+     * Method for resetting this generator to write UTF-8 encoded content to
+     * given {@link OutputStream}, for generators constructed for writing UTF-8
+     * encoded bytes. Works similar to {@link #resetOutput(Writer)}.
+     *
+     * @since 2.9
+     */
+    public void resetOutput(OutputStream out) throws IOException
+    {
+        if (!(_writer instanceof UTF8CsvEncoder)) {
+            throw new IllegalStateException("Can not reset generator that writes characters to write bytes");
+        }
+        if (!_closed) {
+            close();
+        }
+        ((UTF8CsvEncoder) _writer).reset(out);
+        _resetState();
+    }
+
+    /**
+     * Helper method called to reset output state when generator is reset
+     * to write new content.
+     *
+     * @since 2.9
+     */
+    protected void _resetState()
+    {
+        DupDetector dups = JsonGenerator.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(_features)
+                ? DupDetector.rootDetector(this) : null;
+        _writeContext = JsonWriteContext.createRootContext(dups);
+        _closed = false;
+        _handleFirstLine = true;
+        _nextColumnByName = -1;
+        _skipValue = false;
+        _skipWithin = null;
+        _arraySeparator = CsvSchema.NO_ARRAY_ELEMENT_SEPARATOR;
+        _arrayElements = 0;
+        if (_arrayContents != null) {
+            _arrayContents.setLength(0);
+        }
+    }
     
     /*                                                                                       
     /**********************************************************                              
@@ -348,9 +439,37 @@ public class CsvGenerator extends GeneratorBase
         if (_writeContext.writeFieldName(name.getValue()) == JsonWriteContext.STATUS_EXPECT_VALUE) {
             _reportError("Can not write a field name, expecting a value");
         }
+        // names of POJO properties may know their column index already (2.9)
+        if ((name instanceof IndexedColumnName) && (_schema != null)) {
+            int ix = ((IndexedColumnName) name).columnIndex(_schema);
+            if (ix >= 0) {
+                _writeColumnIndex(ix);
+                return;
+            }
+        }
         _writeFieldName(name.getValue());
     }
 
+    /**
+     * Alternative to {@link #writeFieldName(String)} for indicating column of the
+     * following value by its index in the current schema, instead of by its name;
+     * avoids lookup by name.
+     *
+     * @since 2.9
+     */
+    public final void writeColumn(int index) throws IOException
+    {
+        if ((_schema == null) || (index < 0) || (index >= _schema.size())) {
+            // not a low-level error, so:
+            _reportMappingError("Invalid column index "+index+": "+((_schema == null)
+                    ? "no CsvSchema" : "known columns: "+_schema.getColumnDesc()));
+        }
+        if (_writeContext.writeFieldName(_schema.columnName(index)) == JsonWriteContext.STATUS_EXPECT_VALUE) {
+            _reportError("Can not write a field name, expecting a value");
+        }
+        _writeColumnIndex(index);
+    }
+
     @Override
     public final void writeStringField(String fieldName, String value) throws IOException
     {
@@ -389,6 +508,17 @@ public class CsvGenerator extends GeneratorBase
         _nextColumnByName = col.getIndex();
     }
 
+    private final void _writeColumnIndex(int index)
+    {
+        if (_skipWithin != null) {
+            _skipValue = true;
+            _nextColumnByName = -1;
+            return;
+        }
+        _skipValue = false;
+        _nextColumnByName = index;
+    }
+
     /*
     /**********************************************************
     /* Extended API, configuration
@@ -444,6 +574,29 @@ public class CsvGenerator extends GeneratorBase
         _writer.close(_ioContext.isResourceManaged() || isEnabled(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
     }
 
+    /*
+    /**********************************************************
+    /* Columnar batch output (2.9)
+    /**********************************************************
+     */
+
+    /**
+     * Method for constructing a {@link CsvColumnBatchWriter} for writing rows
+     * from values held in columnar form, using schema of this generator.
+     * Writer may only be constructed at the start of a row (not in the middle
+     * of writing an Object or Array), and can be used along with
+     * regular write methods, as long as each completes the rows it writes.
+     *
+     * @since 2.9
+     */
+    public CsvColumnBatchWriter columnBatchWriter()
+    {
+        if (_writeContext.inObject() || (_writer.nextColumnIndex() != 0)) {
+            throw new IllegalStateException("Can only construct column batch writer at the start of a row");
+        }
+        return new CsvColumnBatchWriter(this);
+    }
+
     /*
     /**********************************************************
     /* Public API: structural output
@@ -802,7 +955,7 @@ public class CsvGenerator extends GeneratorBase
         _verifyValueWrite("write number");
         if (!_skipValue) {
             if (!_arraySeparator.isEmpty()) {
-                _addToArray(String.valueOf(v));
+                _addToArray(NumberOutput.toString(v));
             } else {
                 _writer.write(_columnIndex(), v);
             }
@@ -815,7 +968,7 @@ public class CsvGenerator extends GeneratorBase
         _verifyValueWrite("write number");
         if (!_skipValue) {
             if (!_arraySeparator.isEmpty()) {
-                _addToArray(String.valueOf(v));
+                _addToArray(NumberOutput.toString(v));
             } else {
                 _writer.write(_columnIndex(), v);
             }
@@ -1,12 +1,15 @@
 package com.fasterxml.jackson.dataformat.csv;
 
+import java.math.BigInteger;
 import java.util.Collection;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
 import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.fasterxml.jackson.dataformat.csv.impl.ClockCache;
 import com.fasterxml.jackson.dataformat.csv.impl.LRUMap;
 
 /**
@@ -20,15 +23,36 @@ public class CsvMapper extends ObjectMapper
     /**
      * Simple caching for schema instances, given that they are relatively expensive
      * to construct; this one is for "loose" (non-typed) schemas
+     *
+     * @deprecated Since 2.9 not used for caching: see {@link #_untypedSchemaCache}
      */
+    @Deprecated
     protected final LRUMap<JavaType,CsvSchema> _untypedSchemas;
 
     /**
      * Simple caching for schema instances, given that they are relatively expensive
      * to construct; this one is for typed schemas
+     *
+     * @deprecated Since 2.9 not used for caching: see {@link #_typedSchemaCache}
      */
+    @Deprecated
     protected final LRUMap<JavaType,CsvSchema> _typedSchemas;
 
+    /**
+     * Cache for "loose" (non-typed) schemas, which allows concurrent access
+     * without locking.
+     *
+     * @since 2.9
+     */
+    protected final ClockCache<JavaType,CsvSchema> _untypedSchemaCache;
+
+    /**
+     * Cache for typed schemas, which allows concurrent access without locking.
+     *
+     * @since 2.9
+     */
+    protected final ClockCache<JavaType,CsvSchema> _typedSchemaCache;
+
     /*
     /**********************************************************************
     /* Life-cycle
@@ -44,8 +68,16 @@ public class CsvMapper extends ObjectMapper
         super(f);
         // As per #11: default to alphabetic ordering
         enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY);
+        // Rows bound as String arrays can be read without iterating over tokens
+        SimpleModule module = new SimpleModule("CsvMapperDefaults");
+        module.addDeserializer(String[].class, CsvStringArrayDeserializer.instance);
+        // and POJO properties written without looking up columns by name
+        module.setSerializerModifier(CsvBeanSerializerModifier.instance);
+        registerModule(module);
         _untypedSchemas = new LRUMap<JavaType,CsvSchema>(8,32);
         _typedSchemas = new LRUMap<JavaType,CsvSchema>(8,32);
+        _untypedSchemaCache = new ClockCache<JavaType,CsvSchema>(8,32);
+        _typedSchemaCache = new ClockCache<JavaType,CsvSchema>(8,32);
     }
 
     /**
@@ -60,6 +92,8 @@ public class CsvMapper extends ObjectMapper
         super(src);
         _untypedSchemas = new LRUMap<JavaType,CsvSchema>(8,32);
         _typedSchemas = new LRUMap<JavaType,CsvSchema>(8,32);
+        _untypedSchemaCache = new ClockCache<JavaType,CsvSchema>(8,32);
+        _typedSchemaCache = new ClockCache<JavaType,CsvSchema>(8,32);
     }
 
     /**
@@ -106,6 +140,25 @@ public class CsvMapper extends ObjectMapper
         return this;
     }
 
+    /**
+     * Method for registering {@link CsvRow} as the implementation to use when
+     * binding rows as {@link java.util.Map}s (like with
+     * <code>readerFor(Map.class)</code>): rows are then bound as immutable
+     * Maps backed by the schema and an array of values, instead of
+     * {@link java.util.LinkedHashMap}s. Note that this only applies to
+     * <code>Map</code> types with String keys, and String (or untyped)
+     * values: other Maps (like <code>Map&lt;String,Integer&gt;</code>) are
+     * bound as usual.
+     *
+     * @since 2.9
+     */
+    public CsvMapper useCsvRowForMaps() {
+        SimpleModule module = new SimpleModule("CsvRowMaps");
+        module.setDeserializers(new CsvRowDeserializer.MapDeserializers());
+        registerModule(module);
+        return this;
+    }
+
     /*
     /**********************************************************************
     /* Additional typed accessors
@@ -266,15 +319,15 @@ public class CsvMapper extends ObjectMapper
      * just defined to be exposed as String tokens).
      */
     public CsvSchema schemaFor(JavaType pojoType) {
-        return _schemaFor(pojoType, _untypedSchemas, false);
+        return _schemaFor(pojoType, _untypedSchemaCache, false);
     }
 
     public final CsvSchema schemaFor(Class<?> pojoType) {
-        return _schemaFor(constructType(pojoType), _untypedSchemas, false);
+        return _schemaFor(constructType(pojoType), _untypedSchemaCache, false);
     }
 
     public final CsvSchema schemaFor(TypeReference<?> pojoTypeRef) {
-        return _schemaFor(constructType(pojoTypeRef.getType()), _untypedSchemas, false);
+        return _schemaFor(constructType(pojoTypeRef.getType()), _untypedSchemaCache, false);
     }
 
     /**
@@ -285,15 +338,26 @@ public class CsvMapper extends ObjectMapper
      * (especially for numeric types like java.lang.Integer).
      */
     public CsvSchema typedSchemaFor(JavaType pojoType) {
-        return _schemaFor(pojoType, _typedSchemas, true);
+        return _schemaFor(pojoType, _typedSchemaCache, true);
     }
 
     public final CsvSchema typedSchemaFor(Class<?> pojoType) {
-        return _schemaFor(constructType(pojoType), _typedSchemas, true);
+        return _schemaFor(constructType(pojoType), _typedSchemaCache, true);
     }
 
     public final CsvSchema typedSchemaFor(TypeReference<?> pojoTypeRef) {
-        return _schemaFor(constructType(pojoTypeRef.getType()), _typedSchemas, true);
+        return _schemaFor(constructType(pojoTypeRef.getType()), _typedSchemaCache, true);
+    }
+
+    /**
+     * Accessor for cache of schemas constructed by {@link #typedSchemaFor} methods
+     * (if <code>typed</code> is true) or {@link #schemaFor} methods (if false):
+     * mostly useful for diagnostics, using its hit, miss and eviction counts.
+     *
+     * @since 2.9
+     */
+    public ClockCache<JavaType,CsvSchema> getSchemaCache(boolean typed) {
+        return typed ? _typedSchemaCache : _untypedSchemaCache;
     }
 
     /*
@@ -302,23 +366,40 @@ public class CsvMapper extends ObjectMapper
     /**********************************************************************
      */
 
+    /**
+     * @deprecated Since 2.9: given map is no longer used for caching, instead
+     *   schema cache for typed or untyped schemas is used, as per <code>typed</code>
+     */
+    @Deprecated
     protected CsvSchema _schemaFor(JavaType pojoType, LRUMap<JavaType,CsvSchema> schemas,
             boolean typed)
     {
-        synchronized (schemas) {
-            CsvSchema s = schemas.get(pojoType);
-            if (s != null) {
-                return s;
+        return _schemaFor(pojoType, typed ? _typedSchemaCache : _untypedSchemaCache, typed);
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected CsvSchema _schemaFor(JavaType pojoType, ClockCache<JavaType,CsvSchema> schemas,
+            final boolean typed)
+    {
+        return schemas.findOrCreate(pojoType, new ClockCache.ValueCreator<JavaType,CsvSchema>() {
+            @Override
+            public CsvSchema createValue(JavaType type) {
+                return _buildSchema(type, typed);
             }
-        }
+        });
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected CsvSchema _buildSchema(JavaType pojoType, boolean typed)
+    {
         final AnnotationIntrospector intr = _deserializationConfig.getAnnotationIntrospector();
         CsvSchema.Builder builder = CsvSchema.builder();
         _addSchemaProperties(builder, intr, typed, pojoType, null);
-        CsvSchema result = builder.build();
-        synchronized (schemas) {
-            schemas.put(pojoType, result);
-        }
-        return result;
+        return builder.build();
     }
 
     protected boolean _nonPojoType(JavaType t)
@@ -415,7 +496,15 @@ public class CsvMapper extends ObjectMapper
             return CsvSchema.ColumnType.BOOLEAN;
         }
 
-        // all primitive types are good for NUMBER, since 'char', 'boolean' handled above
+        // integral types should not accept floating-point values (silently truncated)
+        if (propType == Integer.TYPE || propType == Integer.class
+                || propType == Long.TYPE || propType == Long.class
+                || propType == Short.TYPE || propType == Short.class
+                || propType == Byte.TYPE || propType == Byte.class
+                || propType == BigInteger.class) {
+            return CsvSchema.ColumnType.INTEGER;
+        }
+        // other primitive types are good for NUMBER, since 'char', 'boolean' handled above
         if (propType.isPrimitive()) {
             return CsvSchema.ColumnType.NUMBER;
         }
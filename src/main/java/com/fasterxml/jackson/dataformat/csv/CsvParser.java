@@ -3,6 +3,7 @@ package com.fasterxml.jackson.dataformat.csv;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.ParserMinimalBase;
@@ -11,7 +12,10 @@ import com.fasterxml.jackson.core.json.JsonReadContext;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvDecoder;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvIOContext;
+import com.fasterxml.jackson.dataformat.csv.impl.NonBlockingUTF8CsvDecoder;
+import com.fasterxml.jackson.dataformat.csv.impl.StringCanonicalizer;
 import com.fasterxml.jackson.dataformat.csv.impl.TextBuffer;
+import com.fasterxml.jackson.dataformat.csv.impl.UTF8CsvDecoder;
 
 /**
  * {@link JsonParser} implementation used to expose CSV documents
@@ -106,6 +110,42 @@ public class CsvParser
          * @since 2.9
          */
         INSERT_NULLS_FOR_MISSING_COLUMNS(false),
+
+        /**
+         * Feature that determines whether parsers constructed for reading {@link java.io.File}s
+         * (or {@link java.nio.file.Path}s, byte ranges of files) read content using
+         * memory-mapping (enabled), or regular file streams (disabled). Memory-mapping
+         * avoids system calls and intermediate buffering and is typically faster
+         * for big files, especially ones cached by operating system; but mapped
+         * files can not be explicitly unmapped, which may prevent deletion of files
+         * on some platforms (Windows) until mapping is garbage collected.
+         *<p>
+         * Note that since this feature only affects construction of parsers,
+         * it has to be enabled on {@link CsvFactory} (or {@link CsvMapper}),
+         * and not just for a single {@link com.fasterxml.jackson.databind.ObjectReader}.
+         *<p>
+         * Feature is disabled by default.
+         *
+         * @since 2.9
+         */
+        USE_MAPPED_FILE_INPUT(false),
+
+        /**
+         * Feature that determines whether String values of all columns are
+         * canonicalized, so that all occurrences of a value within a column share
+         * a single String instance (instead of a new String being constructed for
+         * each occurrence). This reduces memory usage when values of columns with
+         * small number of distinct values (like country codes) are retained, at the
+         * cost of a hash lookup per value. Canonicalization may also be enabled for
+         * individual columns, using
+         * {@link CsvSchema.Column#withValueCanonicalization(boolean)}.
+         * Effectiveness may be verified using {@link CsvParser#getValueCanonicalizer(int)}.
+         *<p>
+         * Feature is disabled by default.
+         *
+         * @since 2.9
+         */
+        CANONICALIZE_STRING_VALUES(false),
         ;
 
         final boolean _defaultState;
@@ -253,6 +293,46 @@ public class CsvParser
      */
     protected int _columnCount = 0;
 
+    /**
+     * Whether schema has columns for which values are to be canonicalized
+     *
+     * @since 2.9
+     */
+    protected boolean _schemaCanonicalizesValues;
+
+    /**
+     * Flag set when {@link #_schema} was resolved from the header line of
+     * content, so that schema it was resolved from needs to be restored
+     * when parser is reset to read new content.
+     *
+     * @since 2.9
+     */
+    protected boolean _schemaFromHeader;
+
+    /**
+     * Schema that was in use when the header line was most recently read;
+     * that is, schema from which {@link #_headerSchema} was resolved.
+     *
+     * @since 2.9
+     */
+    protected CsvSchema _headerSourceSchema;
+
+    /**
+     * Schema most recently resolved from the header line, retained so that it
+     * (along with {@link #_headerCanonicalizers}) can be reused if content read
+     * after reset has the same header.
+     *
+     * @since 2.9
+     */
+    protected CsvSchema _headerSchema;
+
+    /**
+     * Value canonicalizers used with {@link #_headerSchema}, if any.
+     *
+     * @since 2.9
+     */
+    protected StringCanonicalizer[] _headerCanonicalizers;
+
     /*
     /**********************************************************************
     /* State
@@ -273,10 +353,45 @@ public class CsvParser
     protected String _currentName;
 
     /**
-     * String value for the current column, if accessed.
+     * String value for the current column, if accessed (or, for values
+     * not contained in the text buffer, always).
      */
     protected String _currentValue;
 
+    /**
+     * Canonicalizers for values of columns, by column index; constructed
+     * lazily for columns for which canonicalization is enabled.
+     *
+     * @since 2.9
+     */
+    protected StringCanonicalizer[] _canonicalizers;
+
+    /**
+     * Canonicalizer to use for the current value (if contained in the text
+     * buffer), if any.
+     *
+     * @since 2.9
+     */
+    protected StringCanonicalizer _currentCanonicalizer;
+
+    /**
+     * Flag that indicates that value of the current column is contained
+     * in the text buffer (either copied, or as a slice of the input buffer);
+     * if so, {@link #_currentValue} is only constructed lazily, if and when
+     * String value is accessed.
+     *
+     * @since 2.9
+     */
+    protected boolean _currentValueInBuffer;
+
+    /**
+     * Number of values in the most recent row read using {@link #readRowValues()},
+     * used as the size of value array for the next row.
+     *
+     * @since 2.9
+     */
+    protected int _rowWidthHint;
+
     /**
      * Index of the column we are exposing
      */
@@ -316,6 +431,13 @@ public class CsvParser
     /**********************************************************************
      */
 
+    /**
+     * I/O context for this parser, used for buffer allocation.
+     *
+     * @since 2.9
+     */
+    protected final CsvIOContext _ioContext;
+
     /**
      * Thing that actually reads the CSV content
      */
@@ -329,6 +451,15 @@ public class CsvParser
 
     protected ByteArrayBuilder _byteArrayBuilder;
 
+    /**
+     * Flag set when parser is released to the pool of {@link CsvFactory},
+     * and cleared when acquired again, to guard against releasing the same
+     * instance more than once.
+     *
+     * @since 2.9
+     */
+    protected boolean _released;
+
     /*
     /**********************************************************************
     /* Life-cycle
@@ -339,6 +470,7 @@ public class CsvParser
             ObjectCodec codec, Reader reader)
     {
         super(stdFeatures);    
+        _ioContext = ctxt;
         _objectCodec = codec;
         _textBuffer =  ctxt.csvTextBuffer();
         DupDetector dups = JsonParser.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(stdFeatures)
@@ -349,6 +481,141 @@ public class CsvParser
                 stdFeatures, csvFeatures);
     }
 
+    /**
+     * Constructor used when reading UTF-8 encoded content directly from
+     * a byte source, without decoding it into characters first.
+     *
+     * @since 2.9
+     */
+    public CsvParser(CsvIOContext ctxt, int stdFeatures, int csvFeatures,
+            ObjectCodec codec, InputStream in,
+            byte[] inputBuffer, int start, int end, boolean bufferRecyclable)
+    {
+        super(stdFeatures);    
+        _ioContext = ctxt;
+        _objectCodec = codec;
+        _textBuffer =  ctxt.csvTextBuffer();
+        DupDetector dups = JsonParser.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(stdFeatures)
+                ? DupDetector.rootDetector(this) : null;
+        _formatFeatures = csvFeatures;
+        _parsingContext = JsonReadContext.createRootContext(dups);
+        _reader = new UTF8CsvDecoder(this, ctxt, in, inputBuffer, start, end, bufferRecyclable,
+                _schema, _textBuffer, stdFeatures, csvFeatures);
+    }
+
+    /**
+     * Constructor used by {@link NonBlockingCsvParser}, for which UTF-8 encoded
+     * content is fed by caller instead of being read from a source.
+     *
+     * @since 2.9
+     */
+    protected CsvParser(CsvIOContext ctxt, int stdFeatures, int csvFeatures,
+            ObjectCodec codec)
+    {
+        super(stdFeatures);
+        _ioContext = ctxt;
+        _objectCodec = codec;
+        _textBuffer =  ctxt.csvTextBuffer();
+        DupDetector dups = JsonParser.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(stdFeatures)
+                ? DupDetector.rootDetector(this) : null;
+        _formatFeatures = csvFeatures;
+        _parsingContext = JsonReadContext.createRootContext(dups);
+        _reader = new NonBlockingUTF8CsvDecoder(this, ctxt, _schema, _textBuffer,
+                stdFeatures, csvFeatures);
+    }
+
+    /**
+     * Method for resetting this parser to read content from given {@link Reader},
+     * for parsers that read characters (that is, ones not constructed for
+     * reading UTF-8 encoded bytes directly). Current input (if any) is closed
+     * as if {@link #close} was called; after that parser is in the same state
+     * as a newly constructed one, except that it retains its configuration
+     * (features, codec, schema) and buffers.
+     * If schema was resolved from the header line of previous content, the
+     * original schema is restored, but resolved schema is retained and reused
+     * if header line of new content is the same.
+     *
+     * @since 2.9
+     */
+    public void resetInput(Reader r) throws IOException
+    {
+        _reader.reset(r);
+        _resetState();
+    }
+
+    /**
+     * Method for resetting this parser to read UTF-8 encoded content from given
+     * {@link InputStream}, for parsers constructed for reading UTF-8 encoded bytes.
+     * Works similar to {@link #resetInput(Reader)}; note that no encoding
+     * detection is done, but possible UTF-8 BOM is skipped.
+     *
+     * @since 2.9
+     */
+    public void resetInput(InputStream in) throws IOException
+    {
+        _utf8Decoder().reset(in);
+        _resetState();
+    }
+
+    /**
+     * @since 2.9
+     */
+    public void resetInput(byte[] data) throws IOException {
+        resetInput(data, 0, data.length);
+    }
+
+    /**
+     * Method for resetting this parser to read UTF-8 encoded content from given
+     * byte array, for parsers constructed for reading UTF-8 encoded bytes.
+     * Works similar to {@link #resetInput(Reader)}; note that no encoding
+     * detection is done, but possible UTF-8 BOM is skipped.
+     *
+     * @since 2.9
+     */
+    public void resetInput(byte[] data, int offset, int len) throws IOException
+    {
+        _utf8Decoder().reset(data, offset, len);
+        _resetState();
+    }
+
+    private UTF8CsvDecoder _utf8Decoder()
+    {
+        if (!(_reader instanceof UTF8CsvDecoder)) {
+            throw new IllegalStateException("Can not reset parser that reads characters to read bytes");
+        }
+        return (UTF8CsvDecoder) _reader;
+    }
+
+    /**
+     * Helper method called to reset parsing state when parser is reset
+     * to read new content.
+     *
+     * @since 2.9
+     */
+    protected void _resetState()
+    {
+        if (_schemaFromHeader) {
+            // retain resolved schema in case next header is the same
+            _headerSchema = _schema;
+            _headerCanonicalizers = _canonicalizers;
+            setSchema(_headerSourceSchema);
+        }
+        DupDetector dups = JsonParser.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(_features)
+                ? DupDetector.rootDetector(this) : null;
+        _parsingContext = JsonReadContext.createRootContext(dups);
+        _currToken = null;
+        _lastClearedToken = null;
+        _state = STATE_DOC_START;
+        _currentName = null;
+        _currentValue = null;
+        _currentValueInBuffer = false;
+        _currentCanonicalizer = null;
+        _columnIndex = 0;
+        _binaryValue = null;
+        _arrayValue = null;
+        _arrayValueStart = 0;
+    }
+
     /*
     /**********************************************************
     /* Versioned                                                                             
@@ -389,12 +656,24 @@ public class CsvParser
             String str = _schema.getNullValueString();
             _nullValue = str;
         } else if (schema == null) {
-            schema = EMPTY_SCHEMA;
+            _schema = EMPTY_SCHEMA;
+            _nullValue = null;
         } else {
             super.setSchema(schema);
         }
         _columnCount = _schema.size();            
         _reader.setSchema(_schema);
+        boolean canonicalize = false;
+        for (CsvSchema.Column column : _schema._columns) {
+            if (column.usesValueCanonicalization()) {
+                canonicalize = true;
+                break;
+            }
+        }
+        _schemaCanonicalizesValues = canonicalize;
+        // column indexes may refer to different columns now
+        _canonicalizers = null;
+        _schemaFromHeader = false;
     }
 
     @Override
@@ -402,6 +681,11 @@ public class CsvParser
         return _reader.releaseBuffered(out);
     }
 
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException {
+        return _reader.releaseBuffered(out);
+    }
+
     @Override
     public boolean isClosed() { return _reader.isClosed(); }
 
@@ -414,6 +698,14 @@ public class CsvParser
     /**********************************************************                              
      */
 
+    @Override
+    public JsonParser overrideStdFeatures(int values, int mask) {
+        super.overrideStdFeatures(values, mask);
+        // decoder needs to know about some of these too
+        _reader.overrideStdFeatures(_features);
+        return this;
+    }
+
     @Override
     public int getFormatFeatures() {
         return _formatFeatures;
@@ -479,6 +771,25 @@ public class CsvParser
         return (_formatFeatures & f.getMask()) != 0;
     }
 
+    /**
+     * Accessor for canonicalizer used for values of column with given index,
+     * if canonicalization is enabled for the column (see
+     * {@link Feature#CANONICALIZE_STRING_VALUES}), and any values have been
+     * accessed as Strings. Canonicalizer keeps track of hits and misses, and
+     * may be used to verify effectiveness of canonicalization.
+     *
+     * @return Canonicalizer for the column, if any; null if none
+     *
+     * @since 2.9
+     */
+    public StringCanonicalizer getValueCanonicalizer(int columnIndex) {
+        final StringCanonicalizer[] cs = _canonicalizers;
+        if ((cs == null) || (columnIndex < 0) || (columnIndex >= cs.length)) {
+            return null;
+        }
+        return cs[columnIndex];
+    }
+
     /**
      * Accessor for getting active schema definition: it may be
      * "empty" (no column definitions), but will never be null
@@ -652,12 +963,12 @@ public class CsvParser
         if (_state == STATE_NAMED_VALUE) {
             _currToken = t = _handleNamedValue();
             if (t == JsonToken.VALUE_STRING) {
-                return _currentValue;
+                return _currentText();
             }
         } else if (_state == STATE_UNNAMED_VALUE) {
             _currToken = t = _handleUnnamedValue();
             if (t == JsonToken.VALUE_STRING) {
-                return _currentValue;
+                return _currentText();
             }
         } else {
             t = nextToken();
@@ -668,6 +979,116 @@ public class CsvParser
         return null;
     }
 
+    /**
+     * Overridden to allow skipping the rest of a row (logical Object or Array)
+     * without decoding values.
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException
+    {
+        if (((_currToken == JsonToken.START_OBJECT) && (_state == STATE_NEXT_ENTRY))
+                || ((_currToken == JsonToken.START_ARRAY) && (_state == STATE_UNNAMED_VALUE))) {
+            _skipUntilEndOfLine();
+            return this;
+        }
+        return super.skipChildren();
+    }
+
+    /*
+    /**********************************************************
+    /* Row-based access (2.9)
+    /**********************************************************
+     */
+
+    /**
+     * Method that may be called when the current token is {@link JsonToken#START_ARRAY}
+     * of a row exposed as an array (that is, when schema defines no columns), to read
+     * all values of the row as Strings directly, instead of exposing them as tokens.
+     * After the call, parser is positioned at {@link JsonToken#END_ARRAY} of the row.
+     * Values that match the null value of schema are returned as nulls.
+     *
+     * @return Values of the row; or null if parser is not positioned at start of
+     *   a row exposed as an array (in which case no content is read)
+     *
+     * @since 2.9
+     */
+    public String[] readRowValues() throws IOException
+    {
+        if ((_currToken != JsonToken.START_ARRAY) || (_state != STATE_UNNAMED_VALUE)
+                || (_columnIndex != 0)) {
+            return null;
+        }
+        // most rows have the same number of values as the previous one
+        String[] values = new String[_rowWidthHint];
+        int count = 0;
+        while (_reader.nextValue()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, Math.max(8, count << 1));
+            }
+            if ((_nullValue != null) && _textBuffer.contentsEqual(_nullValue)) {
+                values[count] = null;
+            } else {
+                values[count] = _bufferedText(_canonicalizer(count));
+            }
+            _columnIndex = ++count;
+        }
+        if (count != values.length) {
+            values = Arrays.copyOf(values, count);
+        }
+        _rowWidthHint = count;
+        _currentValue = null;
+        _currentValueInBuffer = false;
+        _parsingContext = _parsingContext.getParent();
+        _state = _reader.startNewLine() ? STATE_RECORD_START : STATE_DOC_END;
+        _currToken = JsonToken.END_ARRAY;
+        return values;
+    }
+
+    /**
+     * Method for constructing a {@link CsvRowCursor} for reading the remaining
+     * rows of content one row at a time, without going through tokens.
+     * Must be called either before reading any tokens (in which case header line,
+     * if any, is handled first, possibly changing schema), or at the start of
+     * a row (after reading all tokens of the previous row). Parser should not be
+     * used for reading tokens afterwards.
+     *
+     * @since 2.9
+     */
+    public CsvRowCursor rowCursor() throws IOException {
+        return new CsvRowCursor(this, _startRowAccess("row cursor"));
+    }
+
+    /**
+     * Method for constructing a {@link CsvBatchReader} for reading the remaining
+     * rows of content into columnar {@link CsvColumnBatch}es. Schema must define
+     * columns (either directly, or by header line): same restrictions apply as
+     * for {@link #rowCursor()}.
+     *
+     * @since 2.9
+     */
+    public CsvBatchReader batchReader() throws IOException {
+        return new CsvBatchReader(this, _startRowAccess("batch reader"));
+    }
+
+    /**
+     * Helper method called before handing off reading of rows to a row-based
+     * accessor: handles header line if that has not yet been done.
+     *
+     * @return True if end of content has been reached
+     *
+     * @since 2.9
+     */
+    protected boolean _startRowAccess(String desc) throws IOException
+    {
+        if (_state == STATE_DOC_START) {
+            _readLeadingLines();
+            _state = _reader.hasMoreInput() ? STATE_RECORD_START : STATE_DOC_END;
+        } else if ((_state != STATE_RECORD_START) && (_state != STATE_DOC_END)) {
+            throw new IllegalStateException("Can only construct "+desc+" at the start of a row");
+        }
+        return (_state == STATE_DOC_END);
+    }
+
     /*
     /**********************************************************
     /* Parsing, helper methods, regular
@@ -717,21 +1138,39 @@ public class CsvParser
 
         // either the schema is empty or reorder columns flag is set
         String name;
-        CsvSchema.Builder builder = _schema.rebuild().clearColumns();
+        final CsvSchema sourceSchema = _schema;
+        CsvSchema.Builder builder = null;
+        // If we have read the same header with the same schema before, can reuse result
+        CsvSchema prevSchema = (_headerSourceSchema == sourceSchema) ? _headerSchema : null;
+        int count = 0;
 
         while ((name = _reader.nextString()) != null) {
             // one more thing: always trim names, regardless of config settings
             name = name.trim();
 
-            // See if "old" schema defined type; if so, use that type...
-            CsvSchema.Column prev = _schema.column(name);
-            if (prev != null) {
-                builder.addColumn(name, prev.getType());
-            } else {
-                builder.addColumn(name);
+            if (prevSchema != null) {
+                if ((count < prevSchema.size()) && name.equals(prevSchema.columnName(count))) {
+                    ++count;
+                    continue;
+                }
+                builder = _headerBuilder(prevSchema, count);
+                prevSchema = null;
+            } else if (builder == null) {
+                builder = _schema.rebuild().clearColumns();
             }
+            _addHeaderColumn(builder, name);
         }
 
+        if ((prevSchema != null) && (count == prevSchema.size())) {
+            StringCanonicalizer[] canonicalizers = _headerCanonicalizers;
+            setSchema(prevSchema);
+            _canonicalizers = canonicalizers;
+            _schemaFromHeader = true;
+            return;
+        }
+        if (builder == null) {
+            builder = _headerBuilder(prevSchema, count);
+        }
         // Ok: did we get any  columns?
         CsvSchema newSchema = builder.build();
         int size = newSchema.size();
@@ -743,6 +1182,38 @@ public class CsvParser
         }
         // otherwise we will use what we got
         setSchema(builder.build());
+        _headerSourceSchema = sourceSchema;
+        _headerSchema = null;
+        _headerCanonicalizers = null;
+        _schemaFromHeader = true;
+    }
+
+    /**
+     * Helper method for constructing builder for schema resolved from header line,
+     * with columns for names already read (that is, first <code>count</code> column
+     * names of <code>prevSchema</code>), if any.
+     *
+     * @since 2.9
+     */
+    private CsvSchema.Builder _headerBuilder(CsvSchema prevSchema, int count)
+    {
+        CsvSchema.Builder builder = _schema.rebuild().clearColumns();
+        for (int i = 0; i < count; ++i) {
+            _addHeaderColumn(builder, prevSchema.columnName(i));
+        }
+        return builder;
+    }
+
+    private void _addHeaderColumn(CsvSchema.Builder builder, String name)
+    {
+        // See if "old" schema defined type; if so, use that type...
+        CsvSchema.Column prev = _schema.column(name);
+        if (prev != null) {
+            builder.addColumn(new CsvSchema.Column(builder.size(), name, prev.getType(),
+                    CsvSchema.NO_ARRAY_ELEMENT_SEPARATOR, prev.usesValueCanonicalization()));
+        } else {
+            builder.addColumn(name);
+        }
     }
 
     /**
@@ -751,19 +1222,8 @@ public class CsvParser
      */
     protected JsonToken _handleStartDoc() throws IOException
     {
-        // also, if comments enabled, may need to skip leading ones
-        _reader.skipLeadingComments();
-        // First things first: are we expecting header line? If so, read, process
-        if (_schema.usesHeader()) {
-            _readHeaderLine();
-            _reader.skipLeadingComments();
-        }
-        // and if we are to skip the first data line, skip it
-        if (_schema.skipsFirstDataRow()) {
-            _reader.skipLine();
-            _reader.skipLeadingComments();
-        }
-        
+        _readLeadingLines();
+
         /* Only one real complication, actually; empy documents (zero bytes).
          * Those have no entries. Should be easy enough to detect like so:
          */
@@ -787,6 +1247,28 @@ public class CsvParser
         return _handleRecordStart();
     }
 
+    /**
+     * Method called to handle lines preceding the first data row: header line
+     * (if schema uses one), skipped first data row, and comments (if allowed).
+     *
+     * @since 2.9
+     */
+    protected void _readLeadingLines() throws IOException
+    {
+        // also, if comments enabled, may need to skip leading ones
+        _reader.skipLeadingComments();
+        // First things first: are we expecting header line? If so, read, process
+        if (_schema.usesHeader()) {
+            _readHeaderLine();
+            _reader.skipLeadingComments();
+        }
+        // and if we are to skip the first data line, skip it
+        if (_schema.skipsFirstDataRow()) {
+            _reader.skipLine();
+            _reader.skipLeadingComments();
+        }
+    }
+
     protected JsonToken _handleRecordStart() throws IOException
     {
         _columnIndex = 0;
@@ -804,26 +1286,39 @@ public class CsvParser
     protected JsonToken _handleNextEntry() throws IOException
     {
         // NOTE: only called when we do have real Schema
-        String next;
+        boolean found;
 
         try {
-            next = _reader.nextString();
+            // Columns excluded by projection (if any) skipped without decoding
+            final boolean[] included = _schema._includedColumns;
+            if (included != null) {
+                while ((_columnIndex < _columnCount) && !included[_columnIndex]) {
+                    if (!_reader.skipValue()) { // end of record (or input)
+                        return _handleMissingColumns();
+                    }
+                    ++_columnIndex;
+                }
+            }
+            // Note: value only read into text buffer; String constructed if and when needed
+            found = _reader.nextValue();
         } catch (IOException e) {
             // 12-Oct-2015, tatu: Need to resync here as well...
             _state = STATE_SKIP_EXTRA_COLUMNS;
             throw e;
         }
 
-        if (next == null) { // end of record or input...
+        if (!found) { // end of record or input...
             // 16-Mar-2017, tatu: [dataformat-csv#137] Missing column(s)?
             if (_columnIndex < _columnCount) {
                 return _handleMissingColumns();
             }
             return _handleObjectRowEnd();
         }
-        _currentValue = next;
+        _currentValue = null;
+        _currentValueInBuffer = true;
+        _currentCanonicalizer = null;
         if (_columnIndex >= _columnCount) {
-            return _handleExtraColumn(next);
+            return _handleExtraColumn(_currentText());
         }
         _state = STATE_NAMED_VALUE;
         _currentName = _schema.columnName(_columnIndex);
@@ -836,15 +1331,37 @@ public class CsvParser
         //    but we also need to allow access past... sort of.
         if (_columnIndex < _columnCount) {
             CsvSchema.Column column = _schema.column(_columnIndex);
+            _currentCanonicalizer = _canonicalizer(_columnIndex);
             ++_columnIndex;
             if (column.isArray()) {
                 _startArray(column);
                 return JsonToken.START_ARRAY;
             }
+            _state = STATE_NEXT_ENTRY;
+            if (_nullValue != null) {
+                if (_textBuffer.contentsEqual(_nullValue)) {
+                    return JsonToken.VALUE_NULL;
+                }
+            }
+            // Type of column determines token to expose
+            switch (column.getType()) {
+            case NUMBER:
+                return _reader.numberToken(true);
+            case INTEGER:
+                return _reader.integerToken();
+            case NUMBER_OR_STRING:
+                return _reader.numberToken(false);
+            case BOOLEAN:
+                return _reader.booleanToken();
+            case STRING_OR_LITERAL:
+                return _reader.stringOrLiteralToken();
+            default:
+                return JsonToken.VALUE_STRING;
+            }
         }
         _state = STATE_NEXT_ENTRY;
         if (_nullValue != null) {
-            if (_nullValue.equals(_currentValue)) {
+            if (_textBuffer.contentsEqual(_nullValue)) {
                 return JsonToken.VALUE_NULL;
             }
         }
@@ -853,8 +1370,7 @@ public class CsvParser
 
     protected JsonToken _handleUnnamedValue() throws IOException
     {
-        String next = _reader.nextString();
-        if (next == null) { // end of record or input...
+        if (!_reader.nextValue()) { // end of record or input...
             _parsingContext = _parsingContext.getParent();
             if (!_reader.startNewLine()) { // end of whole thing...
                 _state = STATE_DOC_END;
@@ -865,10 +1381,12 @@ public class CsvParser
             return JsonToken.END_ARRAY;
         }
         // state remains the same
-        _currentValue = next;
+        _currentValue = null;
+        _currentValueInBuffer = true;
+        _currentCanonicalizer = _canonicalizer(_columnIndex);
         ++_columnIndex;
         if (_nullValue != null) {
-            if (_nullValue.equals(next)) {
+            if (_textBuffer.contentsEqual(_nullValue)) {
                 return JsonToken.VALUE_NULL;
             }
         }
@@ -909,6 +1427,7 @@ public class CsvParser
         if (isEnabled(Feature.TRIM_SPACES)) {
             _currentValue = _currentValue.trim();
         }
+        _currentValueInBuffer = false;
         if (_nullValue != null) {
             if (_nullValue.equals(_currentValue)) {
                 return JsonToken.VALUE_NULL;
@@ -988,17 +1507,22 @@ public class CsvParser
                     _columnCount, _columnIndex);
         }
         if (Feature.INSERT_NULLS_FOR_MISSING_COLUMNS.enabledIn(_formatFeatures)) {
-            _state = STATE_MISSING_VALUE;
-            _currentName = _schema.columnName(_columnIndex);
-            _currentValue = null;
-            return JsonToken.FIELD_NAME;
+            _columnIndex = _nextIncludedColumn(_columnIndex);
+            if (_columnIndex < _columnCount) {
+                _state = STATE_MISSING_VALUE;
+                _currentName = _schema.columnName(_columnIndex);
+                _currentValue = null;
+                _currentValueInBuffer = false;
+                return JsonToken.FIELD_NAME;
+            }
         }
         return _handleObjectRowEnd();
     }
 
     protected JsonToken _handleMissingName() throws IOException
     {
-        if (++_columnIndex < _columnCount) {
+        _columnIndex = _nextIncludedColumn(_columnIndex+1);
+        if (_columnIndex < _columnCount) {
             _state = STATE_MISSING_VALUE;
             _currentName = _schema.columnName(_columnIndex);
             // _currentValue already set to null earlier
@@ -1013,6 +1537,23 @@ public class CsvParser
         return JsonToken.VALUE_NULL;
     }
 
+    /**
+     * Helper method for finding index of the first column, starting at given
+     * index, that is included in column projection (if any).
+     *
+     * @since 2.9
+     */
+    protected final int _nextIncludedColumn(int index)
+    {
+        final boolean[] included = _schema._includedColumns;
+        if (included != null) {
+            while ((index < _columnCount) && !included[index]) {
+                ++index;
+            }
+        }
+        return index;
+    }
+
     /*
     /**********************************************************
     /* Parsing, helper methods: row end handling, recover
@@ -1038,14 +1579,16 @@ public class CsvParser
 
     protected final JsonToken _skipUntilEndOfLine() throws IOException
     {
-        while (_reader.nextString() != null) { }
+        // no need to decode values being skipped
+        while (_reader.skipValue()) { }
 
         // But once we hit the end of the logical line, get out
         // NOTE: seems like we should always be within Object, but let's be conservative
         // and check just in case
+        final boolean inArray = _parsingContext.inArray();
         _parsingContext = _parsingContext.getParent();
         _state = _reader.startNewLine() ? STATE_RECORD_START : STATE_DOC_END;
-        return (_currToken = _parsingContext.inArray()
+        return (_currToken = inArray
                 ? JsonToken.END_ARRAY : JsonToken.END_OBJECT);
     }
 
@@ -1056,13 +1599,13 @@ public class CsvParser
      */
     
     
-    // For now we do not store char[] representation...
     @Override
     public boolean hasTextCharacters() {
         if (_currToken == JsonToken.FIELD_NAME) {
             return false;
         }
-        return _textBuffer.hasTextAsCharacters();
+        // Only values in text buffer have (non-String) char[] representation
+        return _currentValueInBuffer && _textBuffer.hasTextAsCharacters();
     }
 
     @Override
@@ -1070,7 +1613,7 @@ public class CsvParser
         if (_currToken == JsonToken.FIELD_NAME) {
             return _currentName;
         }
-        return _currentValue;
+        return _currentText();
     }
 
     @Override
@@ -1078,7 +1621,11 @@ public class CsvParser
         if (_currToken == JsonToken.FIELD_NAME) {
             return _currentName.toCharArray();
         }
-        return _textBuffer.contentsAsArray();
+        if (_currentValueInBuffer) {
+            // NOTE: may be shared input buffer, so must use offset too
+            return _textBuffer.getTextBuffer();
+        }
+        return (_currentValue == null) ? null : _currentValue.toCharArray();
     }
 
     @Override
@@ -1086,16 +1633,25 @@ public class CsvParser
         if (_currToken == JsonToken.FIELD_NAME) {
             return _currentName.length();
         }
-        return _textBuffer.size();
+        if (_currentValueInBuffer) {
+            return _textBuffer.size();
+        }
+        return (_currentValue == null) ? 0 : _currentValue.length();
     }
 
     @Override
     public int getTextOffset() throws IOException {
+        if ((_currToken != JsonToken.FIELD_NAME) && _currentValueInBuffer) {
+            return _textBuffer.getTextOffset();
+        }
         return 0;
     }
 
     @Override // since 2.8
     public int getText(Writer w) throws IOException {
+        if ((_currToken != JsonToken.FIELD_NAME) && _currentValueInBuffer) {
+            return _textBuffer.contentsToWriter(w);
+        }
         String value = (_currToken == JsonToken.FIELD_NAME) ?
                 _currentName : _currentValue;
         if (value == null) {
@@ -1126,7 +1682,7 @@ public class CsvParser
                 _reportCsvMappingError("Current token (%s) not VALUE_STRING, can not access as binary", _currToken);
             }
             ByteArrayBuilder builder = _getByteArrayBuilder();
-            _decodeBase64(_currentValue, builder, variant);
+            _decodeBase64(_currentText(), builder, variant);
             _binaryValue = builder.toByteArray();
         }
         return _binaryValue;
@@ -1140,11 +1696,23 @@ public class CsvParser
 
     @Override
     public NumberType getNumberType() throws IOException {
+        if (_currToken == JsonToken.VALUE_NUMBER_INT) {
+            return _reader.getNumberType(true);
+        }
+        if (_currToken == JsonToken.VALUE_NUMBER_FLOAT) {
+            return _reader.getNumberType(false);
+        }
         return _reader.getNumberType();
     }
     
     @Override
     public Number getNumberValue() throws IOException {
+        if (_currToken == JsonToken.VALUE_NUMBER_INT) {
+            return _reader.getNumberValue(true);
+        }
+        if (_currToken == JsonToken.VALUE_NUMBER_FLOAT) {
+            return _reader.getNumberValue(false);
+        }
         return _reader.getNumberValue();
     }
 
@@ -1224,6 +1792,62 @@ public class CsvParser
     /**********************************************************************
      */
     
+    /**
+     * Accessor for String value of the current column, constructed
+     * lazily from the text buffer if needed.
+     *
+     * @since 2.9
+     */
+    protected final String _currentText()
+    {
+        if (_currentValueInBuffer && (_currentValue == null)) {
+            _currentValue = _bufferedText(_currentCanonicalizer);
+        }
+        return _currentValue;
+    }
+
+    /**
+     * Helper method for constructing String out of the contents of text buffer,
+     * using given canonicalizer (if any).
+     *
+     * @since 2.9
+     */
+    protected final String _bufferedText(StringCanonicalizer c)
+    {
+        final TextBuffer tb = _textBuffer;
+        if ((c != null) && (tb.size() <= StringCanonicalizer.MAX_VALUE_LENGTH)) {
+            return c.canonicalize(tb.getTextBuffer(), tb.getTextOffset(), tb.size());
+        }
+        return tb.contentsAsString();
+    }
+
+    /**
+     * Helper method for finding canonicalizer to use for values of column
+     * with given index, if canonicalization is enabled for column.
+     *
+     * @since 2.9
+     */
+    protected final StringCanonicalizer _canonicalizer(int index)
+    {
+        if (!Feature.CANONICALIZE_STRING_VALUES.enabledIn(_formatFeatures)) {
+            if (!_schemaCanonicalizesValues || (index >= _columnCount)
+                    || !_schema.column(index).usesValueCanonicalization()) {
+                return null;
+            }
+        }
+        StringCanonicalizer[] cs = _canonicalizers;
+        if (cs == null) {
+            _canonicalizers = cs = new StringCanonicalizer[Math.max(index+1, _columnCount)];
+        } else if (index >= cs.length) {
+            _canonicalizers = cs = Arrays.copyOf(cs, Math.max(index+1, cs.length << 1));
+        }
+        StringCanonicalizer c = cs[index];
+        if (c == null) {
+            cs[index] = c = new StringCanonicalizer();
+        }
+        return c;
+    }
+
     public ByteArrayBuilder _getByteArrayBuilder()
     {
         if (_byteArrayBuilder == null) {
@@ -1241,7 +1865,7 @@ public class CsvParser
                 _reader.getCurrentColumn());
         _state = STATE_IN_ARRAY;
         _arrayValueStart = 0;
-        _arrayValue = _currentValue;
+        _arrayValue = _currentText();
         String sep = column.getArrayElementSeparator();
         if (sep.isEmpty()) {
             sep = _schema.getArrayElementSeparator();
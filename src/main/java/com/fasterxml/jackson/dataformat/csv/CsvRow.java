@@ -0,0 +1,196 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.util.*;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * Immutable {@link java.util.Map} of column names to values of a single row,
+ * backed by the schema (shared by all rows) and an array of values, so that
+ * binding a row only requires construction of the row itself and the value array
+ * (in addition to values), and lookups by name use name index of the schema.
+ * Entries are in column order; columns for which there is no value (missing
+ * from row, or excluded by projection) are not included, and extra values
+ * (exposed using "any property" name of schema) are included after columns.
+ *<p>
+ * Binding is supported for rows of {@link CsvParser} directly, by using
+ * <code>CsvRow.class</code> as target type (for example, with
+ * <code>mapper.readerFor(CsvRow.class)</code>); or for any {@link java.util.Map}
+ * type, after calling {@link CsvMapper#useCsvRowForMaps()}.
+ *
+ * @since 2.9
+ */
+@JsonDeserialize(using = CsvRowDeserializer.class)
+public class CsvRow extends AbstractMap<String,String>
+{
+    /**
+     * Marker used for columns for which there is no value.
+     */
+    final static String MISSING = new String("");
+
+    protected final CsvSchema _schema;
+
+    /**
+     * Values by column index; {@link #MISSING} for columns that have no value
+     */
+    protected final String[] _values;
+
+    /**
+     * Values of properties that are not columns of schema, if any
+     */
+    protected final Map<String,String> _extra;
+
+    protected final int _size;
+
+    private transient Set<Map.Entry<String,String>> _entrySet;
+
+    protected CsvRow(CsvSchema schema, String[] values, Map<String,String> extra)
+    {
+        _schema = schema;
+        _values = values;
+        _extra = extra;
+        int size = (extra == null) ? 0 : extra.size();
+        for (String value : values) {
+            if (value != MISSING) {
+                ++size;
+            }
+        }
+        _size = size;
+    }
+
+    public CsvSchema getSchema() { return _schema; }
+
+    /**
+     * Accessor for the value of column with given index
+     *
+     * @return Value of the column; null if there is no value, or if value is null
+     */
+    public String get(int index) {
+        if ((index < 0) || (index >= _values.length)) {
+            return null;
+        }
+        String value = _values[index];
+        return (value == MISSING) ? null : value;
+    }
+
+    /**
+     * Accessor for checking whether row has a value (possibly null) for
+     * column with given index
+     */
+    public boolean hasValue(int index) {
+        return (index >= 0) && (index < _values.length) && (_values[index] != MISSING);
+    }
+
+    /*
+    /**********************************************************************
+    /* Map implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public int size() { return _size; }
+
+    @Override
+    public String get(Object key)
+    {
+        if (key instanceof String) {
+            CsvSchema.Column column = _schema.column((String) key);
+            if (column != null) {
+                return get(column.getIndex());
+            }
+            if (_extra != null) {
+                return _extra.get(key);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        if (key instanceof String) {
+            CsvSchema.Column column = _schema.column((String) key);
+            if (column != null) {
+                return hasValue(column.getIndex());
+            }
+            if (_extra != null) {
+                return _extra.containsKey(key);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Map.Entry<String,String>> entrySet()
+    {
+        Set<Map.Entry<String,String>> entries = _entrySet;
+        if (entries == null) {
+            _entrySet = entries = new AbstractSet<Map.Entry<String,String>>() {
+                @Override
+                public Iterator<Map.Entry<String,String>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return _size;
+                }
+            };
+        }
+        return entries;
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper types
+    /**********************************************************************
+     */
+
+    private final class EntryIterator implements Iterator<Map.Entry<String,String>>
+    {
+        private int _index = -1;
+
+        private Iterator<Map.Entry<String,String>> _extraIterator;
+
+        EntryIterator() {
+            _advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (_index < _values.length) {
+                return true;
+            }
+            return (_extraIterator != null) && _extraIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String,String> next()
+        {
+            if (_index < _values.length) {
+                Map.Entry<String,String> entry = new AbstractMap.SimpleImmutableEntry<String,String>(
+                        _schema.columnName(_index), _values[_index]);
+                _advance();
+                return entry;
+            }
+            if (_extraIterator == null) {
+                throw new NoSuchElementException();
+            }
+            return _extraIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void _advance()
+        {
+            final String[] values = _values;
+            while ((++_index < values.length) && (values[_index] == MISSING)) { }
+            if ((_index == values.length) && (_extra != null)) {
+                _extraIterator = Collections.unmodifiableMap(_extra).entrySet().iterator();
+            }
+        }
+    }
+}
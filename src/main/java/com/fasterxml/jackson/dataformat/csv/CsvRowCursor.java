@@ -0,0 +1,455 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.dataformat.csv.impl.CsvDecoder;
+import com.fasterxml.jackson.dataformat.csv.impl.NumberInput;
+import com.fasterxml.jackson.dataformat.csv.impl.StringCanonicalizer;
+import com.fasterxml.jackson.dataformat.csv.impl.TextBuffer;
+
+/**
+ * Low-level accessor for reading CSV content one row at a time, without
+ * exposing individual values as tokens: each call to {@link #advance} reads
+ * all values of the next row into buffers reused for all rows, from which
+ * they can be accessed by column index using typed accessors.
+ * Accessors other than {@link #getString} do not allocate objects (once
+ * buffers have grown to accommodate the longest row), so this is useful
+ * for high-volume processing that does not need data binding.
+ *<p>
+ * Instances are constructed using {@link CsvParser#rowCursor()} (or
+ * convenience methods of {@link CsvFactory}), and use the parser's
+ * configuration and schema: values are decoded (unquoted, unescaped and
+ * optionally trimmed) just like when reading tokens. Column names, if any, may
+ * be resolved to indexes using {@link #getSchema}. If schema defines projection
+ * (see {@link CsvSchema#withIncludedColumns}), values of excluded columns are
+ * skipped without decoding, and exposed as nulls.
+ *<p>
+ * Instances are not thread-safe.
+ *
+ * @since 2.9
+ */
+public class CsvRowCursor implements Closeable
+{
+    private final static int STATE_ROW_START = 0;
+    private final static int STATE_IN_ROW = 1;
+    private final static int STATE_END = 2;
+
+    /**
+     * Start offset used for columns whose values are not available (skipped
+     * due to projection)
+     */
+    private final static int NO_VALUE = -1;
+
+    protected final CsvParser _parser;
+
+    protected final CsvDecoder _reader;
+
+    protected final TextBuffer _textBuffer;
+
+    protected final CsvSchema _schema;
+
+    /**
+     * Columns to include, if schema defines projection; null if all
+     * columns are included.
+     */
+    protected final boolean[] _includedColumns;
+
+    /**
+     * Value that is to be exposed as null, if any
+     */
+    protected final char[] _nullValue;
+
+    protected int _state;
+
+    /**
+     * Contents of all values of the current row, concatenated
+     */
+    protected char[] _chars;
+
+    /**
+     * Start and end offsets of values of the current row within
+     * {@link #_chars}, two entries per column.
+     */
+    protected int[] _offsets;
+
+    /**
+     * Number of values in the current row
+     */
+    protected int _columnCount;
+
+    /**
+     * Reusable {@link CharSequence} views of values, by column index;
+     * constructed as needed.
+     */
+    protected Value[] _values;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    protected CsvRowCursor(CsvParser parser, boolean atEnd)
+    {
+        _parser = parser;
+        _reader = parser._reader;
+        _textBuffer = parser._textBuffer;
+        _schema = parser.getSchema();
+        _includedColumns = _schema._includedColumns;
+        _nullValue = _schema.getNullValue();
+        _state = atEnd ? STATE_END : STATE_ROW_START;
+        _chars = new char[500];
+        _offsets = new int[32];
+    }
+
+    /**
+     * Closes the underlying parser.
+     */
+    @Override
+    public void close() throws IOException {
+        _parser.close();
+    }
+
+    public CsvParser getParser() {
+        return _parser;
+    }
+
+    /**
+     * Accessor for the schema used: if header line was read, this is the schema
+     * constructed based on it, and may be used for resolving indexes of named
+     * columns.
+     */
+    public CsvSchema getSchema() {
+        return _schema;
+    }
+
+    /*
+    /**********************************************************************
+    /* Iteration
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading the next row of content; values of the previous row
+     * (and {@link CharSequence}s returned by {@link #getCharSequence}) are
+     * no longer valid after call.
+     *
+     * @return True if a row was read; false if end of content was reached
+     */
+    public boolean advance() throws IOException
+    {
+        if (_state == STATE_IN_ROW) {
+            // only now skip linefeed, as it may require blocking for more input
+            if (!_reader.startNewLine()) {
+                return _handleEnd();
+            }
+        } else if ((_state == STATE_END) || !_reader.hasMoreInput()) {
+            return _handleEnd();
+        }
+        _state = STATE_IN_ROW;
+        _readRow();
+        return true;
+    }
+
+    /**
+     * @return Number of values in the current row
+     */
+    public int columnCount() {
+        return _columnCount;
+    }
+
+    /*
+    /**********************************************************************
+    /* Value access
+    /**********************************************************************
+     */
+
+    /**
+     * Method for checking whether value of given column is null: that is,
+     * column is missing from the current row, excluded by projection, or
+     * value matches null value of schema (see {@link CsvSchema#withNullValue}).
+     */
+    public boolean isNull(int index)
+    {
+        if (index >= _columnCount) {
+            return true;
+        }
+        final int start = _offsets[index << 1];
+        if (start == NO_VALUE) {
+            return true;
+        }
+        final char[] nvl = _nullValue;
+        if (nvl == null) {
+            return false;
+        }
+        final int len = _offsets[(index << 1) + 1] - start;
+        if (len != nvl.length) {
+            return false;
+        }
+        final char[] chars = _chars;
+        for (int i = 0; i < len; ++i) {
+            if (chars[start+i] != nvl[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Accessor for the value of given column as a {@link CharSequence}, which is
+     * only valid until the next call to {@link #advance}: same instance is reused
+     * for the column in all rows.
+     *
+     * @return Value of the column; null if column is missing or excluded by
+     *   projection (but not for values matching null value of schema)
+     */
+    public CharSequence getCharSequence(int index)
+    {
+        if (_noValue(index)) {
+            return null;
+        }
+        Value[] values = _values;
+        if (values == null) {
+            _values = values = new Value[Math.max(_columnCount, 8)];
+        } else if (index >= values.length) {
+            _values = values = Arrays.copyOf(values, Math.max(index + 1, values.length << 1));
+        }
+        Value v = values[index];
+        if (v == null) {
+            values[index] = v = new Value(index);
+        }
+        return v;
+    }
+
+    /**
+     * Accessor for the value of given column as a {@link String}; unlike other
+     * accessors, constructs a new instance (unless value canonicalization
+     * is enabled for the column, see {@link CsvParser.Feature#CANONICALIZE_STRING_VALUES}).
+     *
+     * @return Value of the column; null if column is missing or excluded by
+     *   projection (but not for values matching null value of schema)
+     */
+    public String getString(int index)
+    {
+        if (_noValue(index)) {
+            return null;
+        }
+        final int start = _offsets[index << 1];
+        final int len = _offsets[(index << 1) + 1] - start;
+        final StringCanonicalizer c = _parser._canonicalizer(index);
+        if (c != null) {
+            return c.canonicalize(_chars, start, len);
+        }
+        return new String(_chars, start, len);
+    }
+
+    /**
+     * Accessor for the value of given column as a 32-bit int; leading and
+     * trailing white space is ignored.
+     * An exception is thrown if value is not a valid integral number
+     * that fits in int, or is not available.
+     */
+    public int getInt(int index) throws IOException
+    {
+        long l = _parseLong(index);
+        if ((l < Integer.MIN_VALUE) || (l > Integer.MAX_VALUE)) {
+            _parser._reportParsingError(String.format("Numeric value (%s) of column #%d out of range of int",
+                    getString(index).trim(), index));
+        }
+        return (int) l;
+    }
+
+    /**
+     * Accessor for the value of given column as a 64-bit long; leading and
+     * trailing white space is ignored.
+     * An exception is thrown if value is not a valid integral number
+     * that fits in long, or is not available.
+     */
+    public long getLong(int index) throws IOException {
+        return _parseLong(index);
+    }
+
+    /**
+     * Accessor for the value of given column as a double; leading and
+     * trailing white space is ignored. Value may use any notation accepted by
+     * {@link Double#parseDouble}.
+     * An exception is thrown if value is not a valid number, or is not available.
+     */
+    public double getDouble(int index) throws IOException
+    {
+        final int start = _trimmedStart(index);
+        final int end = _trimmedEnd(index, start);
+        try {
+            return NumberInput.parseDouble(_chars, start, end - start);
+        } catch (NumberFormatException e) {
+            _reportInvalidNumber(index, start, end, "double");
+            return 0.0;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected boolean _handleEnd()
+    {
+        _state = STATE_END;
+        _columnCount = 0;
+        return false;
+    }
+
+    protected void _readRow() throws IOException
+    {
+        final boolean[] included = _includedColumns;
+        int[] offsets = _offsets;
+        int count = 0;
+        int ptr = 0;
+
+        while (true) {
+            if ((count << 1) >= offsets.length) {
+                _offsets = offsets = Arrays.copyOf(offsets, offsets.length << 1);
+            }
+            if ((included != null) && ((count >= included.length) || !included[count])) {
+                if (!_reader.skipValue()) {
+                    break;
+                }
+                offsets[count << 1] = NO_VALUE;
+            } else {
+                if (!_reader.nextValue()) {
+                    break;
+                }
+                final int len = _textBuffer.size();
+                if ((ptr + len) > _chars.length) {
+                    _chars = Arrays.copyOf(_chars, Math.max(ptr + len, _chars.length << 1));
+                }
+                offsets[count << 1] = ptr;
+                ptr += _textBuffer.contentsToArray(_chars, ptr);
+                offsets[(count << 1) + 1] = ptr;
+            }
+            ++count;
+        }
+        _columnCount = count;
+    }
+
+    protected final boolean _noValue(int index) {
+        return (index >= _columnCount) || (_offsets[index << 1] == NO_VALUE);
+    }
+
+    /**
+     * Helper method for finding start of the value of given column, skipping
+     * leading white space; or reporting an error if value is not available.
+     */
+    protected int _trimmedStart(int index) throws IOException
+    {
+        if (_noValue(index)) {
+            _parser._reportParsingError(String.format("No value for column #%d (row has %d columns)",
+                    index, _columnCount));
+        }
+        int start = _offsets[index << 1];
+        final int end = _offsets[(index << 1) + 1];
+        while ((start < end) && (_chars[start] <= ' ')) {
+            ++start;
+        }
+        return start;
+    }
+
+    protected int _trimmedEnd(int index, int start)
+    {
+        int end = _offsets[(index << 1) + 1];
+        while ((end > start) && (_chars[end-1] <= ' ')) {
+            --end;
+        }
+        return end;
+    }
+
+    protected long _parseLong(int index) throws IOException
+    {
+        final char[] chars = _chars;
+        int start = _trimmedStart(index);
+        final int end = _trimmedEnd(index, start);
+        final int origStart = start;
+        boolean neg = false;
+        if (start < end) {
+            char c = chars[start];
+            if (c == '-') {
+                neg = true;
+                ++start;
+            } else if (c == '+') {
+                ++start;
+            }
+        }
+        final int len = end - start;
+        if (len == 0) {
+            _reportInvalidNumber(index, origStart, end, "long");
+        }
+        for (int i = start; i < end; ++i) {
+            char c = chars[i];
+            if ((c > '9') || (c < '0')) {
+                _reportInvalidNumber(index, origStart, end, "long");
+            }
+        }
+        long l;
+        if (len <= 9) {
+            l = NumberInput.parseInt(chars, start, len);
+        } else if (len <= 18) {
+            l = NumberInput.parseLong(chars, start, len);
+        } else {
+            if (!NumberInput.inLongRange(chars, start, len, neg)) {
+                _parser._reportParsingError(String.format("Numeric value (%s) of column #%d out of range of long",
+                        new String(chars, origStart, end - origStart), index));
+            }
+            // exactly 19 digits: last one added separately to avoid overflow
+            final int last = end - 1;
+            l = NumberInput.parseLong(chars, last - 18, 18) * 10L;
+            int digit = chars[last] - '0';
+            return neg ? (-l - digit) : (l + digit);
+        }
+        return neg ? -l : l;
+    }
+
+    protected void _reportInvalidNumber(int index, int start, int end, String type) throws IOException
+    {
+        _parser._reportParsingError(String.format("Value of column #%d (\"%s\") not a valid %s",
+                index, new String(_chars, start, end - start), type));
+    }
+
+    /**
+     * Reusable {@link CharSequence} view of the value of a column of the
+     * current row.
+     */
+    protected final class Value implements CharSequence
+    {
+        private final int _index;
+
+        Value(int index) {
+            _index = index;
+        }
+
+        @Override
+        public int length() {
+            return _offsets[(_index << 1) + 1] - _offsets[_index << 1];
+        }
+
+        @Override
+        public char charAt(int i) {
+            if ((i < 0) || (i >= length())) {
+                throw new IndexOutOfBoundsException("Index "+i+" out of bounds for length "+length());
+            }
+            return _chars[_offsets[_index << 1] + i];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(_chars, _offsets[_index << 1], length());
+        }
+    }
+}
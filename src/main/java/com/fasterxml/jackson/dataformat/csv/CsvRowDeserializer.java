@@ -0,0 +1,120 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.FormatSchema;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleDeserializers;
+import com.fasterxml.jackson.databind.type.MapType;
+
+/**
+ * Deserializer used for binding rows as {@link CsvRow}s: column names are
+ * resolved to indexes using schema of the parser, expecting columns to be
+ * exposed in schema order.
+ *
+ * @since 2.9
+ */
+public class CsvRowDeserializer extends StdDeserializer<CsvRow>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final static CsvSchema EMPTY_SCHEMA = CsvSchema.emptySchema();
+
+    public CsvRowDeserializer() {
+        super(CsvRow.class);
+    }
+
+    @Override
+    public boolean isCachable() { return true; }
+
+    @Override
+    public CsvRow deserialize(JsonParser p, DeserializationContext ctxt) throws IOException
+    {
+        JsonToken t = p.getCurrentToken();
+        if (t == JsonToken.START_OBJECT) {
+            t = p.nextToken();
+        } else if ((t != JsonToken.FIELD_NAME) && (t != JsonToken.END_OBJECT)) {
+            return (CsvRow) ctxt.handleUnexpectedToken(CsvRow.class, p);
+        }
+        final FormatSchema fs = p.getSchema();
+        final CsvSchema schema = (fs instanceof CsvSchema) ? (CsvSchema) fs : EMPTY_SCHEMA;
+        final String[] values = new String[schema.size()];
+        Arrays.fill(values, CsvRow.MISSING);
+        Map<String,String> extra = null;
+        int nextIndex = 0;
+
+        for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+            final String name = p.getCurrentName();
+            final String value = _readValue(p, ctxt);
+            // names should be in schema order, so usually found without lookup
+            final CsvSchema.Column column = schema.column(name, nextIndex);
+            if (column != null) {
+                nextIndex = column.getIndex();
+                values[nextIndex++] = value;
+            } else {
+                if (extra == null) {
+                    extra = new LinkedHashMap<String,String>();
+                }
+                extra.put(name, value);
+            }
+        }
+        if (t != JsonToken.END_OBJECT) {
+            return (CsvRow) ctxt.handleUnexpectedToken(CsvRow.class, p);
+        }
+        return new CsvRow(schema, values, extra);
+    }
+
+    protected String _readValue(JsonParser p, DeserializationContext ctxt) throws IOException
+    {
+        JsonToken t = p.nextToken();
+        if (t == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if ((t != null) && t.isScalarValue()) {
+            return p.getText();
+        }
+        // arrays (or anything else) handled as they would be for other Maps
+        return ctxt.readValue(p, String.class);
+    }
+
+    /**
+     * {@link com.fasterxml.jackson.databind.deser.Deserializers} registered by
+     * {@link CsvMapper#useCsvRowForMaps()}: uses {@link CsvRowDeserializer} for
+     * {@link Map} types that {@link CsvRow} can be assigned to, as long as keys
+     * and values are Strings (or untyped), and no custom key or value
+     * handling is configured; other Maps are handled as usual.
+     */
+    public static class MapDeserializers extends SimpleDeserializers
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public JsonDeserializer<?> findMapDeserializer(MapType type,
+                DeserializationConfig config, BeanDescription beanDesc,
+                KeyDeserializer keyDeserializer, TypeDeserializer elementTypeDeserializer,
+                JsonDeserializer<?> elementDeserializer)
+            throws JsonMappingException
+        {
+            if (type.getRawClass().isAssignableFrom(CsvRow.class)
+                    && (keyDeserializer == null) && (elementTypeDeserializer == null)
+                    && (elementDeserializer == null)
+                    && _isStringOrUntyped(type.getKeyType())
+                    && _isStringOrUntyped(type.getContentType())) {
+                return new CsvRowDeserializer();
+            }
+            return super.findMapDeserializer(type, config, beanDesc,
+                    keyDeserializer, elementTypeDeserializer, elementDeserializer);
+        }
+
+        private static boolean _isStringOrUntyped(JavaType type) {
+            return type.hasRawClass(String.class) || type.hasRawClass(Object.class);
+        }
+    }
+}
@@ -51,6 +51,10 @@ import com.fasterxml.jackson.core.FormatSchema;
  *   the header row (if header row handling enabled): if true, they must be and
  *   an exception if thrown if order differs: if false, no verification is performed.
  *  </li>
+ * <li>includedColumns (names and/or indexes) [default: none, all columns included]
+ *   (added in Jackson 2.9): optional projection that limits columns parser exposes:
+ *   values of columns not included are skipped without decoding them.
+ *  </li>
  * </ul>
  *<p>
  * Note that schemas without any columns are legal, but if no columns
@@ -209,6 +213,15 @@ public class CsvSchema
          */
         NUMBER,
 
+        /**
+         * Value should be an integral number; otherwise same as {@link #NUMBER},
+         * except that floating-point numbers are exposed as Strings as well
+         * (which may cause data-binding exception for integral types).
+         *
+         * @since 2.9
+         */
+        INTEGER,
+
         /**
          * Value is taken to be a number (if it matches valid JSON number
          * formatting rules), literal (null, true or false) or String,
@@ -264,6 +277,14 @@ public class CsvSchema
          */
         private final String _arrayElementSeparator;
 
+        /**
+         * Whether values of this column are to be canonicalized by parser,
+         * so that all occurrences of a value share a single String instance.
+         *
+         * @since 2.9
+         */
+        private final boolean _canonicalizeValues;
+
         /**
          * Link to the next column within schema, if one exists;
          * null for the last column.
@@ -289,11 +310,21 @@ public class CsvSchema
         }
 
         public Column(int index, String name, ColumnType type, String arrayElementSep)
+        {
+            this(index, name, type, arrayElementSep, false);
+        }
+
+        /**
+         * @since 2.9
+         */
+        public Column(int index, String name, ColumnType type, String arrayElementSep,
+                boolean canonicalizeValues)
         {
             _index = index;
             _name = name;
             _type = type;
             _arrayElementSeparator = _validArrayElementSeparator(arrayElementSep);
+            _canonicalizeValues = canonicalizeValues;
             _next = null;
         }
 
@@ -307,6 +338,7 @@ public class CsvSchema
             _name = src._name;
             _type = src._type;
             _arrayElementSeparator = src._arrayElementSeparator;
+            _canonicalizeValues = src._canonicalizeValues;
             _next = next;
         }
         
@@ -314,14 +346,14 @@ public class CsvSchema
             if (_name == newName) {
                 return this;
             }
-            return new Column(_index, newName, _type, _arrayElementSeparator);
+            return new Column(_index, newName, _type, _arrayElementSeparator, _canonicalizeValues);
         }
 
         public Column withType(ColumnType newType) {
             if (newType == _type) {
                 return this;
             }
-            return new Column(_index, _name, newType, _arrayElementSeparator);
+            return new Column(_index, _name, newType, _arrayElementSeparator, _canonicalizeValues);
         }
 
         /**
@@ -337,7 +369,23 @@ public class CsvSchema
             if (_arrayElementSeparator.equals(sep)) {
                 return this;
             }
-            return new Column(_index, _name, _type, sep);
+            return new Column(_index, _name, _type, sep, _canonicalizeValues);
+        }
+
+        /**
+         * Method for constructing column that is otherwise same as this one,
+         * but for which parser either canonicalizes values (so that all
+         * occurrences of a value share a single String instance), or not.
+         * Canonicalization is useful for columns that have only a small number
+         * of distinct values, when values are retained.
+         *
+         * @since 2.9
+         */
+        public Column withValueCanonicalization(boolean state) {
+            if (_canonicalizeValues == state) {
+                return this;
+            }
+            return new Column(_index, _name, _type, _arrayElementSeparator, state);
         }
 
         public Column withNext(Column next) {
@@ -383,6 +431,11 @@ public class CsvSchema
          */
         public String getArrayElementSeparator() { return _arrayElementSeparator; }
 
+        /**
+         * @since 2.9
+         */
+        public boolean usesValueCanonicalization() { return _canonicalizeValues; }
+
         public boolean isArray() {
             return (_type == ColumnType.ARRAY);
         }
@@ -432,6 +485,16 @@ public class CsvSchema
          */
         protected char[] _nullValue = DEFAULT_NULL_VALUE;
 
+        /**
+         * @since 2.9
+         */
+        protected String[] _includedColumnNames;
+
+        /**
+         * @since 2.9
+         */
+        protected int[] _includedColumnIndexes;
+
         public Builder() { }
 
         /**
@@ -451,6 +514,8 @@ public class CsvSchema
             _lineSeparator = src._lineSeparator;
             _nullValue = src._nullValue;
             _anyPropertyName = src._anyPropertyName;
+            _includedColumnNames = src._includedColumnNames;
+            _includedColumnIndexes = src._includedColumnIndexes;
         }
 
         /**
@@ -597,6 +662,19 @@ public class CsvSchema
             return this;
         }
 
+        /**
+         * Method for enabling or disabling canonicalization of values
+         * of column with given index: see
+         * {@link Column#withValueCanonicalization(boolean)} for details.
+         *
+         * @since 2.9
+         */
+        public Builder setValueCanonicalization(int index, boolean state) {
+            _checkIndex(index);
+            _columns.set(index, _columns.get(index).withValueCanonicalization(state));
+            return this;
+        }
+
         public Builder setAnyPropertyName(String name) {
             _anyPropertyName = name;
             return this;
@@ -607,6 +685,44 @@ public class CsvSchema
             return this;
         }
 
+        /**
+         * Method for defining projection of columns to include, by name:
+         * if defined, parser only exposes values of included columns, and skips
+         * others without decoding them. Projection by name is also applied to
+         * columns read from the header line.
+         * Passing <code>null</code> removes name-based projection.
+         *
+         * @since 2.9
+         */
+        public Builder setIncludedColumns(String... names) {
+            _includedColumnNames = (names == null) ? null : names.clone();
+            return this;
+        }
+
+        /**
+         * Method for defining projection of columns to include, by (0-based) index;
+         * columns included either by name or by index are exposed by parser.
+         * Passing <code>null</code> removes index-based projection.
+         *
+         * @since 2.9
+         */
+        public Builder setIncludedColumnIndexes(int... indexes) {
+            _includedColumnIndexes = (indexes == null) ? null : indexes.clone();
+            return this;
+        }
+
+        /**
+         * Method for removing column projection, if any, so that all columns
+         * are included.
+         *
+         * @since 2.9
+         */
+        public Builder clearIncludedColumns() {
+            _includedColumnNames = null;
+            _includedColumnIndexes = null;
+            return this;
+        }
+
         public int size() {
             return _columns.size();
         }
@@ -811,7 +927,8 @@ public class CsvSchema
             return new CsvSchema(cols, _encodingFeatures,
                     _columnSeparator, _quoteChar, _escapeChar,
                     _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _anyPropertyName);
+                    _nullValue, _anyPropertyName,
+                    _includedColumnNames, _includedColumnIndexes);
         }
 
         protected void _checkIndex(int index) {
@@ -872,6 +989,31 @@ public class CsvSchema
      */
     protected final String _anyPropertyName;
 
+    /**
+     * Names of columns to include, if projection by name has been
+     * defined; <code>null</code> if not.
+     *
+     * @since 2.9
+     */
+    protected final String[] _includedColumnNames;
+
+    /**
+     * Indexes of columns to include, if projection by index has been
+     * defined; <code>null</code> if not.
+     *
+     * @since 2.9
+     */
+    protected final int[] _includedColumnIndexes;
+
+    /**
+     * Projection resolved against columns of this schema: for each column,
+     * whether it is to be included or not. <code>null</code> if no projection
+     * is defined (that is, all columns are included).
+     *
+     * @since 2.9
+     */
+    protected final boolean[] _includedColumns;
+
     /**
      * @deprecated use {@link #CsvSchema(Column[], int, char, int, int, char[], String, char[], String)} instead
      */
@@ -892,6 +1034,19 @@ public class CsvSchema
             char columnSeparator, int quoteChar, int escapeChar,
             char[] lineSeparator, String arrayElementSeparator,
             char[] nullValue, String anyPropertyName)
+    {
+        this(columns, features, columnSeparator, quoteChar, escapeChar, lineSeparator,
+                arrayElementSeparator, nullValue, anyPropertyName, null, null);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public CsvSchema(Column[] columns, int features,
+            char columnSeparator, int quoteChar, int escapeChar,
+            char[] lineSeparator, String arrayElementSeparator,
+            char[] nullValue, String anyPropertyName,
+            String[] includedColumnNames, int[] includedColumnIndexes)
     {
         if (columns == null) {
             columns = NO_COLUMNS;
@@ -907,6 +1062,8 @@ public class CsvSchema
         _lineSeparator = lineSeparator;
         _nullValue = nullValue;
         _anyPropertyName = anyPropertyName;
+        _includedColumnNames = includedColumnNames;
+        _includedColumnIndexes = includedColumnIndexes;
 
         // and then we may need to create a mapping
         if (_columns.length == 0) {
@@ -917,6 +1074,7 @@ public class CsvSchema
                 _columnsByName.put(c.getName(), c);
             }
         }
+        _includedColumns = _resolveProjection();
     }
 
     /**
@@ -927,7 +1085,8 @@ public class CsvSchema
             char columnSeparator, int quoteChar, int escapeChar,
             char[] lineSeparator, String arrayElementSeparator,
             char[] nullValue,
-            Map<String,Column> columnsByName, String anyPropertyName)
+            Map<String,Column> columnsByName, String anyPropertyName,
+            String[] includedColumnNames, int[] includedColumnIndexes)
     {
         _columns = columns;
         _features = features;
@@ -939,7 +1098,10 @@ public class CsvSchema
         _nullValue = nullValue;
         _columnsByName = columnsByName;
         _anyPropertyName = anyPropertyName;
-    }    
+        _includedColumnNames = includedColumnNames;
+        _includedColumnIndexes = includedColumnIndexes;
+        _includedColumns = _resolveProjection();
+    }
 
     /**
      * Copy constructor used for creating variants using
@@ -956,6 +1118,8 @@ public class CsvSchema
         _arrayElementSeparator = base._arrayElementSeparator;
         _nullValue = base._nullValue;
         _anyPropertyName = base._anyPropertyName;
+        _includedColumnNames = base._includedColumnNames;
+        _includedColumnIndexes = base._includedColumnIndexes;
 
         // and then we may need to create a mapping
         if (_columns.length == 0) {
@@ -966,6 +1130,7 @@ public class CsvSchema
                 _columnsByName.put(c.getName(), c);
             }
         }
+        _includedColumns = _resolveProjection();
     }
     
     /**
@@ -984,6 +1149,9 @@ public class CsvSchema
         _nullValue = base._nullValue;
         _anyPropertyName = base._anyPropertyName;
         _columnsByName = base._columnsByName;
+        _includedColumnNames = base._includedColumnNames;
+        _includedColumnIndexes = base._includedColumnIndexes;
+        _includedColumns = base._includedColumns;
     }
 
     /**
@@ -1003,6 +1171,35 @@ public class CsvSchema
         return result;
     }
 
+    /**
+     * Helper method for resolving column projection (if any) against columns
+     * of this schema; called after columns and name mapping have been assigned.
+     */
+    private boolean[] _resolveProjection()
+    {
+        if ((_includedColumnNames == null) && (_includedColumnIndexes == null)) {
+            return null;
+        }
+        boolean[] result = new boolean[_columns.length];
+        if (_includedColumnNames != null) {
+            for (String name : _includedColumnNames) {
+                Column col = _columnsByName.get(name);
+                // sanity check, in case name mapping is out of sync with columns
+                if ((col != null) && (col.getIndex() < result.length)) {
+                    result[col.getIndex()] = true;
+                }
+            }
+        }
+        if (_includedColumnIndexes != null) {
+            for (int index : _includedColumnIndexes) {
+                if ((index >= 0) && (index < result.length)) {
+                    result[index] = true;
+                }
+            }
+        }
+        return result;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -1132,35 +1329,40 @@ public class CsvSchema
         return (_columnSeparator == sep) ? this :
             new CsvSchema(_columns, _features,
                     sep, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _columnsByName, _anyPropertyName);
+                    _nullValue, _columnsByName, _anyPropertyName,
+                    _includedColumnNames, _includedColumnIndexes);
     }
 
     public CsvSchema withQuoteChar(char c) {
         return (_quoteChar == c) ? this :
             new CsvSchema(_columns, _features,
                     _columnSeparator, c, _escapeChar, _lineSeparator,_arrayElementSeparator,
-                    _nullValue, _columnsByName, _anyPropertyName);
+                    _nullValue, _columnsByName, _anyPropertyName,
+                    _includedColumnNames, _includedColumnIndexes);
     }
 
     public CsvSchema withoutQuoteChar() {
         return (_quoteChar == -1) ? this :
             new CsvSchema(_columns, _features,
                     _columnSeparator, -1, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _columnsByName, _anyPropertyName);
+                    _nullValue, _columnsByName, _anyPropertyName,
+                    _includedColumnNames, _includedColumnIndexes);
     }
 
     public CsvSchema withEscapeChar(char c) {
         return (_escapeChar == c) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, c, _lineSeparator, _arrayElementSeparator,
-                        _nullValue, _columnsByName, _anyPropertyName);
+                        _nullValue, _columnsByName, _anyPropertyName,
+                        _includedColumnNames, _includedColumnIndexes);
     }
 
     public CsvSchema withoutEscapeChar() {
         return (_escapeChar == -1) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, -1, _lineSeparator, _arrayElementSeparator,
-                        _nullValue, _columnsByName, _anyPropertyName);
+                        _nullValue, _columnsByName, _anyPropertyName,
+                        _includedColumnNames, _includedColumnIndexes);
     }
 
     /**
@@ -1179,7 +1381,8 @@ public class CsvSchema
         String sep = separator == null ? "" : separator;
         return (_arrayElementSeparator.equals(sep)) ? this : new CsvSchema(_columns, _features,
             _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, separator,
-            _nullValue, _columnsByName, _anyPropertyName);
+            _nullValue, _columnsByName, _anyPropertyName,
+            _includedColumnNames, _includedColumnIndexes);
     }
 
 
@@ -1190,13 +1393,15 @@ public class CsvSchema
         return (_arrayElementSeparator.isEmpty()) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, "",
-                        _nullValue, _columnsByName, _anyPropertyName);
+                        _nullValue, _columnsByName, _anyPropertyName,
+                        _includedColumnNames, _includedColumnIndexes);
     }
     
     public CsvSchema withLineSeparator(String sep) {
         return new CsvSchema(_columns, _features,
                 _columnSeparator, _quoteChar, _escapeChar, sep.toCharArray(),
-                _arrayElementSeparator, _nullValue, _columnsByName, _anyPropertyName);
+                _arrayElementSeparator, _nullValue, _columnsByName, _anyPropertyName,
+                _includedColumnNames, _includedColumnIndexes);
     }
 
     /**
@@ -1207,13 +1412,15 @@ public class CsvSchema
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator,
                 _arrayElementSeparator,
                 (nvl == null) ? null : nvl.toCharArray(),
-                _columnsByName, _anyPropertyName);
+                _columnsByName, _anyPropertyName,
+                _includedColumnNames, _includedColumnIndexes);
     }
 
     public CsvSchema withoutColumns() {
         return new CsvSchema(NO_COLUMNS, _features,
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                _nullValue, _columnsByName, _anyPropertyName);
+                _nullValue, Collections.<String,Column>emptyMap(), _anyPropertyName,
+                _includedColumnNames, _includedColumnIndexes);
     }
 
     /**
@@ -1249,7 +1456,50 @@ public class CsvSchema
     public CsvSchema withAnyPropertyName(String name) {
         return new CsvSchema(_columns, _features,
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                _nullValue, _columnsByName, name);
+                _nullValue, _columnsByName, name,
+                _includedColumnNames, _includedColumnIndexes);
+    }
+
+    /**
+     * Mutant factory method for constructing a schema that only includes
+     * columns with given names: values of other columns are skipped by parser
+     * without decoding them, and no tokens are exposed for them.
+     * Any index-based projection is retained.
+     *
+     * @since 2.9
+     */
+    public CsvSchema withIncludedColumns(String... names) {
+        return new CsvSchema(_columns, _features,
+                _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
+                _nullValue, _columnsByName, _anyPropertyName,
+                (names == null) ? null : names.clone(), _includedColumnIndexes);
+    }
+
+    /**
+     * Mutant factory method for constructing a schema that only includes
+     * columns with given (0-based) indexes, similar to {@link #withIncludedColumns(String...)}.
+     * Any name-based projection is retained.
+     *
+     * @since 2.9
+     */
+    public CsvSchema withIncludedColumnIndexes(int... indexes) {
+        return new CsvSchema(_columns, _features,
+                _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
+                _nullValue, _columnsByName, _anyPropertyName,
+                _includedColumnNames, (indexes == null) ? null : indexes.clone());
+    }
+
+    /**
+     * @since 2.9
+     */
+    public CsvSchema withoutColumnProjection() {
+        if (_includedColumns == null) {
+            return this;
+        }
+        return new CsvSchema(_columns, _features,
+                _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
+                _nullValue, _columnsByName, _anyPropertyName,
+                null, null);
     }
     
     /**
@@ -1387,6 +1637,24 @@ public class CsvSchema
      */
     public String getAnyPropertyName() { return _anyPropertyName; }
 
+    /**
+     * Accessor for checking whether this schema defines a column projection
+     * (see {@link #withIncludedColumns(String...)}).
+     *
+     * @since 2.9
+     */
+    public boolean hasColumnProjection() { return _includedColumns != null; }
+
+    /**
+     * Accessor for checking whether column with given index is included
+     * in projection; always true if no projection is defined.
+     *
+     * @since 2.9
+     */
+    public boolean isColumnIncluded(int index) {
+        return (_includedColumns == null) || _includedColumns[index];
+    }
+
     /*
     /**********************************************************************
     /* Public API, extended; column access
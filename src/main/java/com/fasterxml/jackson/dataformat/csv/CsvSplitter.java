@@ -0,0 +1,450 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.impl.FileRangeInputStream;
+import com.fasterxml.jackson.dataformat.csv.impl.RowBoundaryFinder;
+
+/**
+ * Helper object that can be used for splitting a single (large) CSV file into
+ * byte ranges, each starting and ending at a row boundary, so that ranges
+ * can be parsed independently, and usually concurrently.
+ * If schema uses a header line (or skips first data row), this is handled once
+ * by splitter, and all {@link Split}s are given resolved schema.
+ *<p>
+ * Some limitations: content must be UTF-8 (or other ASCII-compatible) encoded,
+ * column separator, quote and escape characters must be 7-bit ASCII (otherwise
+ * only a single split is produced), and quote characters must only be used for
+ * quoting values, as per RFC-4180. If no escape character is used and comments
+ * are not allowed, location of row boundaries is determined by counting
+ * quote characters of ranges, concurrently if an {@link ExecutorService} is given;
+ * otherwise a sequential scan over content is needed.
+ *
+ * @since 2.9
+ */
+public class CsvSplitter
+{
+    /**
+     * Value class that contains information about a single range of content
+     * to parse.
+     */
+    public static class Split
+    {
+        protected final int _index;
+
+        protected final long _start, _end;
+
+        protected final CsvSchema _schema;
+
+        public Split(int index, long start, long end, CsvSchema schema) {
+            _index = index;
+            _start = start;
+            _end = end;
+            _schema = schema;
+        }
+
+        /**
+         * Index of the split within list of splits for content.
+         */
+        public int getIndex() { return _index; }
+
+        /**
+         * Offset of the first byte of the split (inclusive)
+         */
+        public long getStart() { return _start; }
+
+        /**
+         * Offset after the last byte of the split (exclusive)
+         */
+        public long getEnd() { return _end; }
+
+        public long getLength() { return _end - _start; }
+
+        /**
+         * Schema to use for parsing contents of the split: header line (if any)
+         * has been resolved so no header handling is needed.
+         */
+        public CsvSchema getSchema() { return _schema; }
+
+        @Override
+        public String toString() {
+            return "[Split #"+_index+": "+_start+"-"+_end+"]";
+        }
+    }
+
+    /**
+     * Callback interface used with
+     * {@link CsvSplitter#readValues(ObjectReader, List, ExecutorService, ValueHandler)}
+     * for handling values as they are read, without collecting them.
+     */
+    public interface ValueHandler<T>
+    {
+        /**
+         * Method called for each value read, in order, for a split; called
+         * from the thread that reads the split.
+         */
+        public void handleValue(Split split, T value) throws IOException;
+    }
+
+    protected final CsvMapper _mapper;
+
+    protected final File _file;
+
+    protected final CsvSchema _schema;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public CsvSplitter(CsvMapper mapper, File file, CsvSchema schema)
+    {
+        _mapper = mapper;
+        _file = file;
+        _schema = schema;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, splitting
+    /**********************************************************************
+     */
+
+    /**
+     * Method for splitting content into at most <code>count</code> ranges, of roughly
+     * equal size, using calling thread for scanning.
+     */
+    public List<Split> split(int count) throws IOException {
+        return split(count, null);
+    }
+
+    /**
+     * Method for splitting content into at most <code>count</code> ranges, of roughly
+     * equal size, using given executor (if not null) for scanning content of ranges
+     * concurrently, where possible.
+     *<p>
+     * Note that fewer splits than requested are returned if some of ranges would
+     * be empty (for example, when a single row is longer than range), or if content
+     * can not be split at all.
+     */
+    public List<Split> split(int count, ExecutorService executor) throws IOException
+    {
+        if (count < 1) {
+            throw new IllegalArgumentException("Invalid split count ("+count+"): must be at least 1");
+        }
+        final boolean allowComments = _mapper.getFactory().isEnabled(JsonParser.Feature.ALLOW_YAML_COMMENTS);
+        final RowBoundaryFinder finder = new RowBoundaryFinder(_schema, allowComments);
+        FileInputStream in = new FileInputStream(_file);
+        try {
+            final FileChannel ch = in.getChannel();
+            final long size = ch.size();
+
+            // First things first: need to skip header line, first data row?
+            CsvSchema schema = _schema;
+            final long dataStart = _mapper.getFactory()._findDataStart(finder, ch, _schema);
+            if (dataStart > 0L) {
+                schema = _mapper.getFactory()._resolveRangeSchema(ch, dataStart, _schema);
+            }
+            long[] starts;
+            if ((count == 1) || !finder.canSplit() || (dataStart >= size)) {
+                starts = new long[0];
+            } else {
+                final long chunk = (size - dataStart) / count;
+                long[] targets = new long[count-1];
+                for (int i = 0; i < targets.length; ++i) {
+                    targets[i] = dataStart + chunk * (i+1);
+                }
+                if (finder.canCountQuotes()) {
+                    starts = _findRowStarts(finder, ch, dataStart, size, targets, executor);
+                } else {
+                    starts = finder.findRowStarts(ch, dataStart, size, targets);
+                }
+            }
+            List<Split> result = new ArrayList<Split>(starts.length + 1);
+            long prev = dataStart;
+            for (long start : starts) {
+                if (start > prev) {
+                    result.add(new Split(result.size(), prev, start, schema));
+                    prev = start;
+                }
+            }
+            if (size > prev) {
+                result.add(new Split(result.size(), prev, size, schema));
+            }
+            return result;
+        } finally {
+            in.close();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, reading
+    /**********************************************************************
+     */
+
+    /**
+     * Factory method for constructing a parser for reading contents of given split,
+     * with schema of the split assigned. Content is read as UTF-8 (without encoding
+     * detection), and byte offsets of locations reported by parser are relative
+     * to the start of file (but line numbers to the start of split).
+     */
+    public CsvParser createParser(Split split) throws IOException
+    {
+        final CsvFactory f = _mapper.getFactory();
+        CsvParser p = f._createUTF8RangeParser(_rangeStream(split),
+                f._createContext(_file, true), split.getStart());
+        p.setSchema(split.getSchema());
+        return p;
+    }
+
+    /**
+     * Method for reading contents of given split using given reader (which is
+     * configured to use schema of the split), using parser constructed by
+     * {@link #createParser(Split)}. Parser and format features of the reader
+     * are applied to the parser, and if {@link CsvParser.Feature#WRAP_AS_ARRAY}
+     * is enabled, rows are read as a sequence of values (same as with
+     * {@link ObjectReader#readValues(File)}).
+     */
+    public <T> MappingIterator<T> readValues(ObjectReader reader, Split split) throws IOException
+    {
+        reader = reader.with(split.getSchema());
+        CsvParser p = createParser(split);
+        // since parser is not constructed by reader, need to configure it similarly
+        reader.getConfig().initialize(p);
+        if (p.isEnabled(CsvParser.Feature.WRAP_AS_ARRAY)) {
+            // and skip root-level array, as would be done for reader-constructed parser
+            if (p.nextToken() != null) {
+                p.clearCurrentToken();
+            }
+        }
+        return reader.readValues(p);
+    }
+
+    /**
+     * Method for reading contents of all given splits concurrently, using given executor,
+     * and passing values to given handler as they are read (without collecting them).
+     * Values of each split are passed in order, but values of different splits are
+     * passed concurrently from threads of the executor, so handler needs to be
+     * thread-safe. If no executor is given, splits are read sequentially using calling thread.
+     * Method returns once all splits have been read; if reading of any split fails,
+     * reading of other splits is cancelled and the failure rethrown.
+     *
+     * @return Number of values read
+     */
+    public <T> long readValues(final ObjectReader reader, List<Split> splits,
+            ExecutorService executor, final ValueHandler<? super T> handler)
+        throws IOException
+    {
+        long total = 0L;
+        if (executor == null) {
+            for (Split split : splits) {
+                total += this.<T>_readAll(reader, split, handler);
+            }
+            return total;
+        }
+        final CompletionService<Long> completion = new ExecutorCompletionService<Long>(executor);
+        final List<Future<Long>> futures = new ArrayList<Future<Long>>(splits.size());
+        boolean success = false;
+        try {
+            for (final Split split : splits) {
+                futures.add(completion.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws IOException {
+                        return CsvSplitter.this.<T>_readAll(reader, split, handler);
+                    }
+                }));
+            }
+            // wait in order of completion, to find out about failures as soon as possible
+            for (int i = 0, end = futures.size(); i < end; ++i) {
+                total += _get(_take(completion));
+            }
+            success = true;
+            return total;
+        } finally {
+            if (!success) {
+                for (Future<?> f : futures) {
+                    f.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method for reading contents of all given splits concurrently, using given executor,
+     * and combining values into a single {@link List}. If no executor is given,
+     * splits are read sequentially using calling thread.
+     * Note that all values are kept in memory; for large content,
+     * {@link #readValues(ObjectReader, List, ExecutorService, ValueHandler)} may be
+     * used instead.
+     *
+     * @param ordered Whether values are to be returned in the same order as they
+     *    appear in content (true); or in order in which reading of splits completes (false),
+     *    in which case values of each split are still in order but splits may be reordered
+     */
+    public <T> List<T> readAllValues(final ObjectReader reader, List<Split> splits,
+            ExecutorService executor, boolean ordered)
+        throws IOException
+    {
+        if (splits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (executor == null) {
+            List<T> result = new ArrayList<T>();
+            for (Split split : splits) {
+                result.addAll(this.<T>_readAll(reader, split));
+            }
+            return result;
+        }
+        final CompletionService<List<T>> completion = ordered ? null
+                : new ExecutorCompletionService<List<T>>(executor);
+        final List<Future<List<T>>> futures = new ArrayList<Future<List<T>>>(splits.size());
+        boolean success = false;
+        try {
+            for (final Split split : splits) {
+                Callable<List<T>> task = new Callable<List<T>>() {
+                    @Override
+                    public List<T> call() throws IOException {
+                        return CsvSplitter.this.<T>_readAll(reader, split);
+                    }
+                };
+                futures.add((completion == null) ? executor.submit(task) : completion.submit(task));
+            }
+            List<T> result = new ArrayList<T>();
+            for (int i = 0, end = futures.size(); i < end; ++i) {
+                Future<List<T>> f = (completion == null) ? futures.get(i) : _take(completion);
+                result.addAll(_get(f));
+            }
+            success = true;
+            return result;
+        } finally {
+            if (!success) {
+                for (Future<?> f : futures) {
+                    f.cancel(true);
+                }
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected InputStream _rangeStream(Split split) throws IOException {
+        return new FileRangeInputStream(_file, split.getStart(), split.getEnd());
+    }
+
+    protected <T> List<T> _readAll(ObjectReader reader, Split split) throws IOException
+    {
+        MappingIterator<T> it = readValues(reader, split);
+        try {
+            return it.readAll();
+        } finally {
+            it.close();
+        }
+    }
+
+    protected <T> long _readAll(ObjectReader reader, Split split, ValueHandler<? super T> handler)
+        throws IOException
+    {
+        MappingIterator<T> it = readValues(reader, split);
+        long count = 0L;
+        try {
+            while (it.hasNextValue()) {
+                handler.handleValue(split, it.nextValue());
+                ++count;
+            }
+        } finally {
+            it.close();
+        }
+        return count;
+    }
+
+    /**
+     * Helper method for finding row starts using two-phase approach: first
+     * counting quote characters for ranges between targets (concurrently if
+     * executor is given), then scanning from targets to the next row start.
+     */
+    protected long[] _findRowStarts(final RowBoundaryFinder finder, final FileChannel ch,
+            long start, long end, long[] targets, ExecutorService executor)
+        throws IOException
+    {
+        final int count = targets.length;
+        final long[] quotes = new long[count];
+        if (executor == null) {
+            long prev = start;
+            for (int i = 0; i < count; ++i) {
+                quotes[i] = finder.countQuotes(ch, prev, targets[i]);
+                prev = targets[i];
+            }
+        } else {
+            List<Future<Long>> futures = new ArrayList<Future<Long>>(count);
+            long prev = start;
+            for (int i = 0; i < count; ++i) {
+                final long rangeStart = prev;
+                final long rangeEnd = targets[i];
+                futures.add(executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws IOException {
+                        return finder.countQuotes(ch, rangeStart, rangeEnd);
+                    }
+                }));
+                prev = rangeEnd;
+            }
+            for (int i = 0; i < count; ++i) {
+                quotes[i] = _get(futures.get(i));
+            }
+        }
+        // with counts, parity at target offsets is known; and usually the next linefeed is close
+        final long[] result = new long[count];
+        long total = 0L;
+        for (int i = 0; i < count; ++i) {
+            total += quotes[i];
+            result[i] = finder.findRowStart(ch, targets[i], (total & 1L) != 0L, end);
+        }
+        return result;
+    }
+
+    private static <T> Future<T> _take(CompletionService<T> completion) throws IOException
+    {
+        try {
+            return completion.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for split to be read");
+        }
+    }
+
+    private static <T> T _get(Future<T> f) throws IOException
+    {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for split to be processed");
+        } catch (ExecutionException e) {
+            Throwable t = e.getCause();
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new IOException(t);
+        }
+    }
+}
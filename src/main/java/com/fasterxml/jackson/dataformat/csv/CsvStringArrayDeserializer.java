@@ -0,0 +1,103 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringArrayDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+/**
+ * Deserializer for <code>String[]</code> registered by {@link CsvMapper}: when
+ * binding rows exposed as arrays (that is, with no schema columns), reads all
+ * values of the row directly using {@link CsvParser#readRowValues()} instead of
+ * iterating over tokens. Other content (including values from other parsers)
+ * is handled by the standard {@link StringArrayDeserializer}, as is everything
+ * for properties with custom configuration for elements or null values.
+ *
+ * @since 2.9
+ */
+public class CsvStringArrayDeserializer
+    extends StdDeserializer<String[]>
+    implements ContextualDeserializer
+{
+    private static final long serialVersionUID = 1L;
+
+    public final static CsvStringArrayDeserializer instance = new CsvStringArrayDeserializer();
+
+    protected final StringArrayDeserializer _delegate;
+
+    public CsvStringArrayDeserializer() {
+        this(StringArrayDeserializer.instance);
+    }
+
+    protected CsvStringArrayDeserializer(StringArrayDeserializer delegate) {
+        super(String[].class);
+        _delegate = delegate;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt,
+            BeanProperty property) throws JsonMappingException
+    {
+        JsonDeserializer<?> deser = _delegate.createContextual(ctxt, property);
+        // fast path can only be used if elements are handled in the default way
+        JsonDeserializer<?> elemDeser = findConvertingContentDeserializer(ctxt, property, null);
+        if (elemDeser == null) {
+            elemDeser = ctxt.findContextualValueDeserializer(ctxt.constructType(String.class), property);
+        }
+        final Nulls nulls = findContentNullStyle(ctxt, property);
+        if (!isDefaultDeserializer(elemDeser)
+                || ((nulls != null) && (nulls != Nulls.DEFAULT))
+                || !(deser instanceof StringArrayDeserializer)) {
+            return deser;
+        }
+        if (deser == _delegate) {
+            return this;
+        }
+        return new CsvStringArrayDeserializer((StringArrayDeserializer) deser);
+    }
+
+    @Override
+    public Boolean supportsUpdate(DeserializationConfig config) {
+        return _delegate.supportsUpdate(config);
+    }
+
+    @Override
+    public Object getEmptyValue(DeserializationContext ctxt) throws JsonMappingException {
+        return _delegate.getEmptyValue(ctxt);
+    }
+
+    @Override
+    public String[] deserialize(JsonParser p, DeserializationContext ctxt) throws IOException
+    {
+        if (p instanceof CsvParser) {
+            String[] values = ((CsvParser) p).readRowValues();
+            if (values != null) {
+                return values;
+            }
+        }
+        return _delegate.deserialize(p, ctxt);
+    }
+
+    @Override
+    public String[] deserialize(JsonParser p, DeserializationContext ctxt,
+            String[] intoValue) throws IOException
+    {
+        return _delegate.deserialize(p, ctxt, intoValue);
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt,
+            TypeDeserializer typeDeserializer) throws IOException
+    {
+        return _delegate.deserializeWithType(p, ctxt, typeDeserializer);
+    }
+}
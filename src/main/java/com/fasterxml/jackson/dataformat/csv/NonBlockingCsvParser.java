@@ -0,0 +1,105 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.async.NonBlockingInputFeeder;
+import com.fasterxml.jackson.dataformat.csv.impl.CsvIOContext;
+import com.fasterxml.jackson.dataformat.csv.impl.NonBlockingUTF8CsvDecoder;
+
+/**
+ * Non-blocking {@link CsvParser} implementation, to which UTF-8 encoded content
+ * is fed in chunks by caller (using {@link #feedInput}), and which returns
+ * {@link JsonToken#NOT_AVAILABLE} when it needs more content to proceed.
+ *<p>
+ * Note that content is decoded a row at a time: tokens of a row only become
+ * available once the whole row (including its linefeed) has been fed, or
+ * end of input has been indicated using {@link #endOfInput()}.
+ *
+ * @since 2.9
+ */
+public class NonBlockingCsvParser
+    extends CsvParser
+    implements ByteArrayFeeder
+{
+    protected final NonBlockingUTF8CsvDecoder _feeder;
+
+    public NonBlockingCsvParser(CsvIOContext ctxt, int stdFeatures, int csvFeatures,
+            ObjectCodec codec)
+    {
+        super(ctxt, stdFeatures, csvFeatures, codec);
+        _feeder = (NonBlockingUTF8CsvDecoder) _reader;
+    }
+
+    /*
+    /**********************************************************************
+    /* Capability, config overrides
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean canParseAsync() { return true; }
+
+    @Override
+    public NonBlockingInputFeeder getNonBlockingInputFeeder() {
+        return this;
+    }
+
+    /*
+    /**********************************************************************
+    /* ByteArrayFeeder implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean needMoreInput() {
+        // either all content consumed, or not enough buffered for the next row
+        return _feeder.needMoreInput()
+                || ((_currToken == JsonToken.NOT_AVAILABLE) && !_feeder.isEndOfInputFed());
+    }
+
+    @Override
+    public void feedInput(byte[] buf, int start, int end) throws IOException {
+        _feeder.feedInput(buf, start, end);
+    }
+
+    @Override
+    public void endOfInput() {
+        _feeder.endOfInput();
+    }
+
+    /*
+    /**********************************************************************
+    /* Overridden methods
+    /**********************************************************************
+     */
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        if (_state == STATE_DOC_START) {
+            int rows = 1;
+            if (_schema.usesHeader()) {
+                ++rows;
+            }
+            if (_schema.skipsFirstDataRow()) {
+                ++rows;
+            }
+            if (!_feeder.isStartAvailable(rows)) {
+                _binaryValue = null;
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+        } else if ((_state == STATE_RECORD_START) && _feeder.isNewLineDeferred()) {
+            if (!_feeder.isRowAvailable()) {
+                _binaryValue = null;
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            if (!_feeder.completeNewLine()) {
+                _state = STATE_DOC_END;
+            }
+        }
+        return super.nextToken();
+    }
+}
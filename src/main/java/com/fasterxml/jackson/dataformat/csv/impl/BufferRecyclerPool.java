@@ -0,0 +1,87 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+/**
+ * Interface for pools of {@link BufferRecycler}s that parsers and generators
+ * constructed by {@link com.fasterxml.jackson.dataformat.csv.CsvFactory}
+ * use for buffer allocation, if one is configured using
+ * {@link com.fasterxml.jackson.dataformat.csv.CsvFactory#setBufferRecyclerPool}:
+ * a recycler is acquired for each parser or generator (when first needed), and
+ * released back to the pool, along with buffers, when parser or generator is closed.
+ *<p>
+ * If no pool is configured, default per-thread recycler is used instead; this
+ * works well when parsers and generators are used by a limited number of
+ * long-lived threads, but not with large numbers of short-lived threads
+ * (like virtual threads), in which case buffers are effectively never reused.
+ *
+ * @since 2.9
+ */
+public interface BufferRecyclerPool
+{
+    /**
+     * Method called to get a recycler for exclusive use by a parser or generator,
+     * until it is released using {@link #releaseBufferRecycler}.
+     */
+    public BufferRecycler acquireBufferRecycler();
+
+    /**
+     * Method called when recycler acquired using {@link #acquireBufferRecycler}
+     * is no longer used by caller.
+     */
+    public void releaseBufferRecycler(BufferRecycler recycler);
+
+    /**
+     * Pool implementation that shares recyclers between all threads, retaining
+     * up to given maximum number of recyclers (more may be handed out, but those
+     * are dropped when released to a full pool). Pool is thread-safe and lock-free.
+     */
+    public static class SharedPool implements BufferRecyclerPool
+    {
+        public final static int DEFAULT_MAX_SIZE = 256;
+
+        protected final InstancePool<BufferRecycler> _recyclers;
+
+        public SharedPool() {
+            this(DEFAULT_MAX_SIZE);
+        }
+
+        public SharedPool(int maxSize) {
+            _recyclers = new InstancePool<BufferRecycler>(maxSize);
+        }
+
+        @Override
+        public BufferRecycler acquireBufferRecycler()
+        {
+            BufferRecycler recycler = _recyclers.acquire();
+            return (recycler == null) ? new BufferRecycler() : recycler;
+        }
+
+        @Override
+        public void releaseBufferRecycler(BufferRecycler recycler) {
+            _recyclers.release(recycler);
+        }
+
+        /**
+         * @return Number of recyclers currently retained in the pool
+         */
+        public int size() {
+            return _recyclers.size();
+        }
+    }
+
+    /**
+     * Pool implementation that does not retain anything, but constructs a new
+     * recycler for each parser and generator; mostly useful for testing.
+     */
+    public static class NonRecyclingPool implements BufferRecyclerPool
+    {
+        @Override
+        public BufferRecycler acquireBufferRecycler() {
+            return new BufferRecycler();
+        }
+
+        @Override
+        public void releaseBufferRecycler(BufferRecycler recycler) { }
+    }
+}
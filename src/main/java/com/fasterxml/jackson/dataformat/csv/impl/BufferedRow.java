@@ -0,0 +1,184 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Helper class used by {@link CsvEncoder} for holding values of a row written
+ * out of column order, until output can proceed in expected order. Values are
+ * stored in parallel arrays indexed by column (type tags; bits of numbers and
+ * booleans; Strings), reused from row to row, so that buffering does not
+ * allocate anything once arrays are large enough for all columns.
+ *
+ * @since 2.9
+ */
+public final class BufferedRow
+{
+    private final static byte TYPE_NONE = 0;
+    private final static byte TYPE_TEXT = 1;
+    private final static byte TYPE_RAW = 2;
+    private final static byte TYPE_INT = 3;
+    private final static byte TYPE_LONG = 4;
+    private final static byte TYPE_FLOAT = 5;
+    private final static byte TYPE_DOUBLE = 6;
+    private final static byte TYPE_BOOLEAN = 7;
+    private final static byte TYPE_NULL = 8;
+
+    private byte[] _types;
+
+    private long[] _bits;
+
+    private String[] _text;
+
+    /**
+     * Index of the last buffered value; -1 if none
+     */
+    private int _last = -1;
+
+    public BufferedRow(int columnCount)
+    {
+        columnCount = Math.max(columnCount, 4);
+        _types = new byte[columnCount];
+        _bits = new long[columnCount];
+        _text = new String[columnCount];
+    }
+
+    /*
+    /**********************************************************
+    /* Buffering
+    /**********************************************************
+     */
+
+    public void buffer(int index, String v) {
+        _text[_slot(index, TYPE_TEXT)] = v;
+    }
+
+    public void bufferRaw(int index, String v) {
+        _text[_slot(index, TYPE_RAW)] = v;
+    }
+
+    public void buffer(int index, int v) {
+        _bits[_slot(index, TYPE_INT)] = v;
+    }
+
+    public void buffer(int index, long v) {
+        _bits[_slot(index, TYPE_LONG)] = v;
+    }
+
+    public void buffer(int index, float v) {
+        _bits[_slot(index, TYPE_FLOAT)] = Float.floatToRawIntBits(v);
+    }
+
+    public void buffer(int index, double v) {
+        _bits[_slot(index, TYPE_DOUBLE)] = Double.doubleToRawLongBits(v);
+    }
+
+    public void buffer(int index, boolean v) {
+        _bits[_slot(index, TYPE_BOOLEAN)] = v ? 1L : 0L;
+    }
+
+    public void bufferNull(int index) {
+        _slot(index, TYPE_NULL);
+    }
+
+    /*
+    /**********************************************************
+    /* Access
+    /**********************************************************
+     */
+
+    /**
+     * @return Index of the last buffered value, if any; -1 if none
+     */
+    public int lastIndex() {
+        return _last;
+    }
+
+    /**
+     * Method called by encoder when it has reached given column: if a value was
+     * buffered for it, appends it using encoder and clears it.
+     *
+     * @return True if a value was written; false if none was buffered
+     */
+    public boolean write(int index, CsvEncoder w) throws IOException
+    {
+        final byte type = _types[index];
+        if (type == TYPE_NONE) {
+            return false;
+        }
+        _types[index] = TYPE_NONE;
+        switch (type) {
+        case TYPE_TEXT:
+            w.appendValue(_text[index]);
+            _text[index] = null;
+            break;
+        case TYPE_RAW:
+            w.appendRawValue(_text[index]);
+            _text[index] = null;
+            break;
+        case TYPE_INT:
+            w.appendValue((int) _bits[index]);
+            break;
+        case TYPE_LONG:
+            w.appendValue(_bits[index]);
+            break;
+        case TYPE_FLOAT:
+            w.appendValue(Float.intBitsToFloat((int) _bits[index]));
+            break;
+        case TYPE_DOUBLE:
+            w.appendValue(Double.longBitsToDouble(_bits[index]));
+            break;
+        case TYPE_BOOLEAN:
+            w.appendValue(_bits[index] != 0L);
+            break;
+        default: // TYPE_NULL
+            w.appendNull();
+        }
+        return true;
+    }
+
+    /**
+     * Method called once all buffered values have been written, to allow
+     * buffering for the next row.
+     */
+    public void endRow() {
+        _last = -1;
+    }
+
+    /**
+     * Method for discarding all buffered values, written or not.
+     */
+    public void clear()
+    {
+        if (_last >= 0) {
+            Arrays.fill(_types, 0, _last+1, TYPE_NONE);
+            Arrays.fill(_text, 0, _last+1, null);
+            _last = -1;
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    private int _slot(int index, byte type)
+    {
+        if (index >= _types.length) {
+            int newLen = Math.max(index+1, _types.length + (_types.length >> 1));
+            _types = Arrays.copyOf(_types, newLen);
+            _bits = Arrays.copyOf(_bits, newLen);
+            _text = Arrays.copyOf(_text, newLen);
+        }
+        if (index > _last) {
+            _last = index;
+        }
+        // overwriting text with something else? make sure not to retain it
+        if ((type != TYPE_TEXT) && (type != TYPE_RAW)) {
+            _text[index] = null;
+        }
+        _types[index] = type;
+        return index;
+    }
+}
@@ -5,7 +5,11 @@ import java.io.IOException;
 /**
  * Helper class used for holding values for a while until output
  * can proceed in expected order.
+ *
+ * @deprecated Since 2.9 no longer used by {@link CsvEncoder}, which
+ *   uses {@link BufferedRow} instead
  */
+@Deprecated
 public abstract class BufferedValue
 {
     protected BufferedValue() { }
@@ -0,0 +1,244 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded thread-safe cache for lookup values that are expensive to construct,
+ * used instead of synchronized {@link LRUMap} where lookups may be done concurrently
+ * from many threads. Lookups of existing values are lock-free; values are
+ * constructed at most once per key, even if multiple threads ask for the same
+ * key concurrently (others wait for the result); and when maximum size is
+ * exceeded, entries not accessed recently are evicted using "clock" (second
+ * chance) algorithm, an approximation of LRU.
+ *<p>
+ * Hit, miss and eviction counts are tracked for diagnostics; hit count is
+ * approximate when the same entries are accessed concurrently.
+ *<p>
+ * Cache is serializable so that its owner may be, but contents are not
+ * serialized: a deserialized cache is empty.
+ *
+ * @since 2.9
+ */
+public final class ClockCache<K,V>
+    implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Interface for constructing values for keys not (yet) in cache.
+     */
+    public interface ValueCreator<K,V> {
+        public V createValue(K key);
+    }
+
+    private final static class Entry<K,V>
+    {
+        final K key;
+
+        volatile V value;
+
+        /**
+         * "Reference bit" of the clock algorithm: set when accessed,
+         * cleared when passed over by eviction
+         */
+        volatile boolean accessed;
+
+        // not atomically updated, only needs to be approximate
+        int hits;
+
+        Entry(K k) {
+            key = k;
+        }
+    }
+
+    private final transient ConcurrentHashMap<K,Entry<K,V>> _entries;
+
+    /**
+     * Entries in order of insertion; head is the "clock hand" from which
+     * eviction proceeds
+     */
+    private final transient ConcurrentLinkedQueue<Entry<K,V>> _clock = new ConcurrentLinkedQueue<Entry<K,V>>();
+
+    private final transient AtomicInteger _size = new AtomicInteger();
+
+    private final int _maxEntries;
+
+    private final transient AtomicLong _misses = new AtomicLong();
+
+    private final transient AtomicLong _evictions = new AtomicLong();
+
+    /**
+     * Hits to entries that have been evicted or cleared
+     */
+    private final transient AtomicLong _pastHits = new AtomicLong();
+
+    public ClockCache(int initialEntries, int maxEntries)
+    {
+        _entries = new ConcurrentHashMap<K,Entry<K,V>>(initialEntries, 0.8f, 4);
+        _maxEntries = maxEntries;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for finding value for given key, if one has been constructed.
+     * Does not block nor count as a hit or miss.
+     */
+    public V get(K key)
+    {
+        Entry<K,V> entry = _entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.accessed) {
+            entry.accessed = true;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Method for finding value for given key, or if none exists, constructing
+     * it using given creator. If another thread is constructing value for the
+     * same key, will wait for it to complete. If creator throws an exception,
+     * nothing is cached, and exception is passed as is.
+     */
+    public V findOrCreate(K key, ValueCreator<K,V> creator)
+    {
+        Entry<K,V> entry = _entries.get(key);
+        if (entry != null) {
+            V value = entry.value;
+            if (value != null) {
+                ++entry.hits;
+                if (!entry.accessed) {
+                    entry.accessed = true;
+                }
+                return value;
+            }
+        } else {
+            Entry<K,V> newEntry = new Entry<K,V>(key);
+            entry = _entries.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+                _clock.offer(newEntry);
+                if (_size.incrementAndGet() > _maxEntries) {
+                    _evictOne();
+                }
+            }
+        }
+        synchronized (entry) {
+            V value = entry.value;
+            if (value != null) { // constructed by another thread while we waited
+                ++entry.hits;
+                return value;
+            }
+            _misses.incrementAndGet();
+            boolean ok = false;
+            try {
+                value = creator.createValue(key);
+                entry.value = value;
+                ok = true;
+            } finally {
+                if (!ok && _entries.remove(key, entry)) {
+                    _size.decrementAndGet();
+                }
+            }
+            return value;
+        }
+    }
+
+    public void clear()
+    {
+        for (Entry<K,V> entry : _entries.values()) {
+            _pastHits.addAndGet(entry.hits);
+        }
+        _entries.clear();
+        _clock.clear();
+        _size.set(0);
+    }
+
+    public int size() {
+        return _size.get();
+    }
+
+    public int maxSize() {
+        return _maxEntries;
+    }
+
+    /**
+     * @return Number of lookups that found a value (approximate)
+     */
+    public long hitCount()
+    {
+        long count = _pastHits.get();
+        for (Entry<K,V> entry : _entries.values()) {
+            count += entry.hits;
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of lookups for which value had to be constructed
+     */
+    public long missCount() {
+        return _misses.get();
+    }
+
+    /**
+     * @return Number of entries evicted due to cache being full
+     */
+    public long evictionCount() {
+        return _evictions.get();
+    }
+
+    protected Object readResolve() {
+        return new ClockCache<K,V>(16, _maxEntries);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[ClockCache: size %d/%d, %d hits, %d misses, %d evictions]",
+                size(), _maxEntries, hitCount(), missCount(), evictionCount());
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private void _evictOne()
+    {
+        // Entries accessed since previous sweep get a second chance; but
+        // limit number of rounds in case of heavy concurrent access
+        for (int i = 0, end = 2 * _maxEntries + 1; i < end; ++i) {
+            Entry<K,V> entry = _clock.poll();
+            if (entry == null) {
+                return;
+            }
+            // removed already (construction failed, or cache cleared)?
+            if (_entries.get(entry.key) != entry) {
+                continue;
+            }
+            // still being constructed, or recently accessed?
+            if (entry.accessed || (entry.value == null)) {
+                entry.accessed = false;
+                _clock.offer(entry);
+                continue;
+            }
+            if (_entries.remove(entry.key, entry)) {
+                _size.decrementAndGet();
+                _evictions.incrementAndGet();
+                _pastHits.addAndGet(entry.hits);
+                return;
+            }
+        }
+    }
+}
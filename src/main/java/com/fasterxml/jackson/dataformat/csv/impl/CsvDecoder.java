@@ -64,6 +64,25 @@ public class CsvDecoder
      */
     protected boolean _trimSpaces;
 
+    /**
+     * Whether {@link JsonParser.Feature#ALLOW_YAML_COMMENTS} is enabled.
+     *
+     * @since 2.9
+     */
+    protected boolean _allowYamlComments;
+
+    /**
+     * Whether current schema allows comments.
+     *
+     * @since 2.9
+     */
+    protected boolean _schemaAllowsComments;
+
+    /**
+     * Whether comment lines are to be skipped: true if either feature
+     * {@link JsonParser.Feature#ALLOW_YAML_COMMENTS} is enabled, or schema
+     * allows comments.
+     */
     protected boolean _allowComments;
     
     /**
@@ -189,8 +208,14 @@ public class CsvDecoder
     final static BigDecimal BD_MIN_LONG = new BigDecimal(Long.MIN_VALUE);
     final static BigDecimal BD_MAX_LONG = new BigDecimal(Long.MAX_VALUE);
 
-    final static BigDecimal BD_MIN_INT = new BigDecimal(Long.MIN_VALUE);
-    final static BigDecimal BD_MAX_INT = new BigDecimal(Long.MAX_VALUE);
+    final static BigDecimal BD_MIN_INT = new BigDecimal(Integer.MIN_VALUE);
+    final static BigDecimal BD_MAX_INT = new BigDecimal(Integer.MAX_VALUE);
+
+    final static BigInteger BI_MIN_INT = BigInteger.valueOf(Integer.MIN_VALUE);
+    final static BigInteger BI_MAX_INT = BigInteger.valueOf(Integer.MAX_VALUE);
+
+    final static BigInteger BI_MIN_LONG = BigInteger.valueOf(Long.MIN_VALUE);
+    final static BigInteger BI_MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
 
     final static long MIN_INT_L = Integer.MIN_VALUE;
     final static long MAX_INT_L = Integer.MAX_VALUE;
@@ -257,15 +282,28 @@ public class CsvDecoder
     public CsvDecoder(CsvParser owner, IOContext ctxt, Reader r, CsvSchema schema, TextBuffer textBuffer,
             int stdFeatures, int csvFeatures)
 //            boolean autoCloseInput, boolean trimSpaces)
+    {
+        this(owner, ctxt, r, ctxt.allocTokenBuffer(), schema, textBuffer, stdFeatures, csvFeatures);
+    }
+
+    /**
+     * Constructor used by sub-classes that do not read from a {@link Reader},
+     * and thereby need no <code>char[]</code> input buffer.
+     *
+     * @since 2.9
+     */
+    protected CsvDecoder(CsvParser owner, IOContext ctxt, Reader r, char[] inputBuffer,
+            CsvSchema schema, TextBuffer textBuffer,
+            int stdFeatures, int csvFeatures)
     {
         _owner = owner;
         _ioContext = ctxt;
         _inputSource = r;
         _textBuffer = textBuffer;
         _autoCloseInput =  JsonParser.Feature.AUTO_CLOSE_SOURCE.enabledIn(stdFeatures);
-        _allowComments = JsonParser.Feature.ALLOW_YAML_COMMENTS.enabledIn(stdFeatures);
+        _allowYamlComments = JsonParser.Feature.ALLOW_YAML_COMMENTS.enabledIn(stdFeatures);
         _trimSpaces = CsvParser.Feature.TRIM_SPACES.enabledIn(csvFeatures);
-        _inputBuffer = ctxt.allocTokenBuffer();
+        _inputBuffer = inputBuffer;
         _bufferRecyclable = true; // since we allocated it
         _inputSource = r;
         _tokenInputRow = -1;
@@ -273,12 +311,52 @@ public class CsvDecoder
         setSchema(schema);
     }
 
+    /**
+     * Method for resetting decoder to read content from given {@link Reader},
+     * with the same configuration; current input (if any) is closed first.
+     * Input buffer is re-allocated using the I/O context (which typically
+     * gives back the buffer released on close), and all input state, including
+     * location information, is reset as if decoder was newly constructed.
+     *
+     * @since 2.9
+     */
+    public void reset(Reader r) throws IOException
+    {
+        close();
+        _inputSource = r;
+        _inputBuffer = _ioContext.allocTokenBuffer();
+        _bufferRecyclable = true;
+        _resetInput(0, 0);
+    }
+
+    /**
+     * Helper method for resetting input state (but not input source or buffer)
+     * when decoder is reset to read new input.
+     *
+     * @since 2.9
+     */
+    protected void _resetInput(int start, int end)
+    {
+        _closed = false;
+        _inputPtr = start;
+        _inputEnd = end;
+        _pendingLF = 0;
+        _currInputProcessed = -start;
+        _currInputRow = 1;
+        _currInputRowStart = start;
+        _tokenInputTotal = 0L;
+        _tokenInputRow = -1;
+        _tokenInputCol = -1;
+        _numTypesValid = NR_UNKNOWN;
+    }
+
     public void setSchema(CsvSchema schema)
     {
         _separatorChar = schema.getColumnSeparator();
         _quoteChar = schema.getQuoteChar();
         _escapeChar = schema.getEscapeChar();
-        _allowComments = _allowComments | schema.allowsComments();
+        _schemaAllowsComments = schema.allowsComments();
+        _allowComments = _allowYamlComments || _schemaAllowsComments;
         int max = Math.max(_separatorChar, _quoteChar);
         max = Math.max(max, _escapeChar);
         max = Math.max(max, '\r');
@@ -286,6 +364,18 @@ public class CsvDecoder
         _maxSpecialChar = max;
     }
 
+    /**
+     * Method called when standard parser features of the owner parser are
+     * changed (for example when a pooled parser is reused).
+     *
+     * @since 2.9
+     */
+    public void overrideStdFeatures(int stdFeatures) {
+        _autoCloseInput = JsonParser.Feature.AUTO_CLOSE_SOURCE.enabledIn(stdFeatures);
+        _allowYamlComments = JsonParser.Feature.ALLOW_YAML_COMMENTS.enabledIn(stdFeatures);
+        _allowComments = _allowYamlComments || _schemaAllowsComments;
+    }
+
     /**
      * @since 2.7
      */
@@ -293,6 +383,18 @@ public class CsvDecoder
         _trimSpaces = CsvParser.Feature.TRIM_SPACES.enabledIn(csvFeatures);
     }
 
+    /**
+     * Method that may be called before any content has been decoded, to indicate
+     * that input does not start from the beginning of the document but from given
+     * offset within it, so that offsets of reported locations are relative to the
+     * whole document (line numbers are still relative to the start of input).
+     *
+     * @since 2.9
+     */
+    public void setInitialInputOffset(long offset) {
+        _currInputProcessed += offset;
+    }
+
     /*
     /**********************************************************************
     /* JsonParser implementations passed-through by CsvParser
@@ -331,6 +433,16 @@ public class CsvDecoder
         return count;
     }
 
+    /**
+     * Method for releasing buffered content into given byte stream;
+     * only implemented by byte-based decoders, others return -1.
+     *
+     * @since 2.9
+     */
+    public int releaseBuffered(OutputStream out) throws IOException {
+        return -1;
+    }
+
     public JsonReadContext childArrayContext(JsonReadContext context)
     {
         int col = _inputPtr - _currInputRowStart + 1; // 1-based
@@ -399,6 +511,10 @@ public class CsvDecoder
             _inputBuffer = null;
             _ioContext.releaseTokenBuffer(buf);
         }
+        // and if recycler came from a pool, return it as well (since 2.9)
+        if (_ioContext instanceof CsvIOContext) {
+            ((CsvIOContext) _ioContext).releaseBufferRecycler();
+        }
     }
 
     protected void _closeInput() throws IOException
@@ -420,7 +536,7 @@ public class CsvDecoder
         }
     }
     
-    protected final boolean loadMore() throws IOException
+    protected boolean loadMore() throws IOException
     {
         _currInputProcessed += _inputEnd;
         _currInputRowStart -= _inputEnd;
@@ -507,8 +623,10 @@ public class CsvDecoder
         if (_allowComments) {
             if ((_inputPtr < _inputEnd) || loadMore()) {
                 if (_inputBuffer[_inputPtr] == '#') {
-                    _skipCommentLines();
-                    --_inputPtr;
+                    // push last read character back, unless at end-of-input
+                    if (_skipCommentLines() >= 0) {
+                        --_inputPtr;
+                    }
                 }
             }
         }
@@ -567,14 +685,32 @@ public class CsvDecoder
      *  of input
      */
     public String nextString() throws IOException
+    {
+        if (nextValue()) {
+            return _textBuffer.contentsAsString();
+        }
+        return null;
+    }
+
+    /**
+     * Method called to parse the next column value into the text buffer,
+     * without constructing a {@link String}: caller may then access it
+     * using {@link #getText()} or numeric accessors.
+     * 
+     * @return True if a column value was found; false to indicate end of line
+     *  of input
+     *
+     * @since 2.9
+     */
+    public boolean nextValue() throws IOException
     {
         _numTypesValid = NR_UNKNOWN;
         
         if (_pendingLF > 0) { // either pendingLF, or closed
-            if (_inputSource != null) { // if closed, we just need to return null
+            if (_inputSource != null) { // if closed, we just need to return false
                 _handleLF();
             }
-            return null; // end of line without new value
+            return false; // end of line without new value
         }
         int i;
 
@@ -589,112 +725,431 @@ public class CsvDecoder
         _tokenInputCol = _inputPtr - _currInputRowStart - 1;
 
         if (i < 0) { // EOF at this point signifies empty value
-            return "";
+            _textBuffer.resetWithEmpty();
+            return true;
         }
 
         if (i == INT_CR || i == INT_LF) { // end-of-line means end of record; but also need to handle LF later on
             _pendingLF = i;
-            return "";
+            _textBuffer.resetWithEmpty();
+            return true;
         }
         // two modes: quoted, unquoted
         if (i == _quoteChar) { // offline quoted case (longer)
-            return _nextQuotedString();
+            _nextQuotedString();
+            return true;
         }
         if (i == _separatorChar) {
-            _textBuffer.resetWithString("");
-            return "";
+            _textBuffer.resetWithEmpty();
+            return true;
         }
-        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
-        outBuf[0] = (char) i;
-        int outPtr = 1;
-
         if (i == _escapeChar) {
+            char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
             // Reset the escaped character
             outBuf[0] = _unescape();
-            return _nextUnquotedString(outBuf, outPtr);
-        }
-
-        int ptr = _inputPtr;
-        if (ptr >= _inputEnd) {
-            if (!loadMore()) { // ok to have end-of-input but...
-                return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
-            }
-            ptr = _inputPtr;
-        }
-        final int end;
-        
-        {
-            int max = Math.min(_inputEnd - ptr, outBuf.length - outPtr);
-            end = ptr + max;
+            _nextUnquotedString(outBuf, 1);
+            return true;
         }
 
         // handle unquoted case locally if it can be handled without
-        // crossing buffer boundary...
-        char[] inputBuffer = _inputBuffer;
+        // crossing buffer boundary: if so, can just expose slice of
+        // the input buffer, without copying
+        final char[] inputBuffer = _inputBuffer;
+        final int start = _inputPtr - 1;
+        final int end = _inputEnd;
+        int ptr = _inputPtr;
 
         while (ptr < end) {
+            // skip plain characters, multiple at a time
+            ptr = SpecialCharScanner.find(inputBuffer, ptr, end, _separatorChar, _escapeChar);
+            if (ptr >= end) {
+                break;
+            }
             char c = inputBuffer[ptr++];
             if (c <= _maxSpecialChar) {
                 if (c == _separatorChar) { // end of value, yay!
                     _inputPtr = ptr;
-                    return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
+                    _resetWithShared(start, ptr-1);
+                    return true;
                 }
                 if (c == '\r' || c == '\n') {
                     _pendingLF = c;
                     _inputPtr = ptr;
-                    return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
+                    _resetWithShared(start, ptr-1);
+                    return true;
                 }
                 if (c == _escapeChar) {
                     --ptr;
                     break;
                 }
             }
-            outBuf[outPtr++] = c;
         }
-        // ok, either input or output across buffer boundary, offline
+        // ok, either escape or end of input buffer: copy what we have, handle offline
         _inputPtr = ptr;
-        return _nextUnquotedString(outBuf, outPtr);
+        _textBuffer.resetWithShared(inputBuffer, start, ptr-start);
+        _nextUnquotedString(_textBuffer.getCurrentSegment(), _textBuffer.getCurrentSegmentSize());
+        return true;
     }
 
+    /**
+     * Method called to skip the next column value, without decoding, unescaping
+     * or copying its contents: used for columns excluded from the projection
+     * (see {@link CsvSchema#withIncludedColumns}), as well as for skipping the
+     * rest of a row. Contents of the text buffer are not modified.
+     *
+     * @return True if a column value was found (and skipped); false to indicate
+     *  end of line or input
+     *
+     * @since 2.9
+     */
+    public boolean skipValue() throws IOException
+    {
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (_inputSource != null) { // if closed, we just need to return false
+                _handleLF();
+            }
+            return false; // end of line without new value
+        }
+        int i = _trimSpaces ? _skipLeadingSpace() : _nextChar();
+        if (i < 0) { // EOF at this point signifies empty value
+            return true;
+        }
+        if (i == INT_CR || i == INT_LF) {
+            _pendingLF = i;
+            return true;
+        }
+        if (i == _quoteChar) {
+            _skipQuotedValue();
+        } else if (i != _separatorChar) {
+            if (i == _escapeChar) {
+                _unescape();
+            }
+            _skipUnquotedValue();
+        }
+        return true;
+    }
+
+    /**
+     * Method called to parse the next column value, and expose it either
+     * as a String, or as one of literals "null", "true" or "false", if
+     * it matches.
+     *
+     * @return Token for value if more found; null to indicate end of line
+     *  of input
+     */
     public JsonToken nextStringOrLiteral() throws IOException
     {
-        _numTypesValid = NR_UNKNOWN;
-        // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
+        if (!nextValue()) {
             return null;
         }
-        return JsonToken.VALUE_STRING;
+        return stringOrLiteralToken();
     }
 
+    /**
+     * Method called to parse the next column value, expected to be a number;
+     * empty value is exposed as null, and non-numeric values as Strings.
+     *
+     * @return Token for value if more found; null to indicate end of line
+     *  of input
+     */
     public JsonToken nextNumber() throws IOException
     {
-        _numTypesValid = NR_UNKNOWN;
-        // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
+        if (!nextValue()) {
             return null;
         }
-        return JsonToken.VALUE_STRING;
+        return numberToken(true);
     }
+
+    /**
+     * Method called to parse the next column value, exposed as a number
+     * if it looks like one; otherwise as a String.
+     *
+     * @return Token for value if more found; null to indicate end of line
+     *  of input
+     */
     public JsonToken nextNumberOrString() throws IOException
     {
-        _numTypesValid = NR_UNKNOWN;
-        // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
+        if (!nextValue()) {
             return null;
         }
-        return JsonToken.VALUE_STRING;
+        return numberToken(false);
     }
-    
+
+    /*
+    /**********************************************************************
+    /* Typed access to the current value
+    /**********************************************************************
+     */
+
+    /**
+     * Method for determining which token current value (contained in the
+     * text buffer) represents, when expecting a String or literal value:
+     * "null", "true" and "false" are recognized, ignoring surrounding white space.
+     * Contents of the text buffer are only trimmed if value is a literal;
+     * Strings are exposed as is.
+     *
+     * @since 2.9
+     */
+    public JsonToken stringOrLiteralToken()
+    {
+        final char[] buf = _textBuffer.getTextBuffer();
+        final int start = _trimmedStart(buf);
+        final int end = _trimmedEnd(buf, start);
+        JsonToken t = _literalToken(buf, start, end, false);
+        if (t == null) {
+            return JsonToken.VALUE_STRING;
+        }
+        _textBuffer.trim();
+        return t;
+    }
+
+    /**
+     * Method for determining which token current value (contained in the
+     * text buffer) represents, when expecting a numeric value: if value,
+     * ignoring surrounding white space, is a valid number, either
+     * {@link JsonToken#VALUE_NUMBER_INT} or {@link JsonToken#VALUE_NUMBER_FLOAT}
+     * is returned. Literals "null", "true" and "false" are recognized as well;
+     * anything else is exposed as {@link JsonToken#VALUE_STRING}.
+     * Contents of the text buffer are only trimmed if value is not a String.
+     *
+     * @param emptyAsNull Whether empty value is to be exposed as
+     *   {@link JsonToken#VALUE_NULL} (true) or String (false)
+     *
+     * @since 2.9
+     */
+    public JsonToken numberToken(boolean emptyAsNull)
+    {
+        return _numberOrLiteralToken(emptyAsNull, false);
+    }
+
+    /**
+     * Method for determining which token current value (contained in the
+     * text buffer) represents, when expecting an integral value: similar to
+     * {@link #numberToken(boolean)} (with empty value exposed as null), except
+     * that floating-point numbers are exposed as {@link JsonToken#VALUE_STRING}
+     * as well.
+     *
+     * @since 2.9
+     */
+    public JsonToken integerToken()
+    {
+        return _numberOrLiteralToken(true, true);
+    }
+
+    private JsonToken _numberOrLiteralToken(boolean emptyAsNull, boolean integral)
+    {
+        final char[] buf = _textBuffer.getTextBuffer();
+        final int start = _trimmedStart(buf);
+        final int end = _trimmedEnd(buf, start);
+        JsonToken t;
+        if (start == end) {
+            if (!emptyAsNull) {
+                return JsonToken.VALUE_STRING;
+            }
+            t = JsonToken.VALUE_NULL;
+        } else {
+            t = _numberToken(buf, start, end);
+            if (integral && (t == JsonToken.VALUE_NUMBER_FLOAT)) {
+                return JsonToken.VALUE_STRING;
+            }
+            if (t == null) {
+                t = _literalToken(buf, start, end, false);
+                if (t == null) {
+                    return JsonToken.VALUE_STRING;
+                }
+            }
+        }
+        _textBuffer.trim();
+        return t;
+    }
+
+    /**
+     * Method for determining which token current value (contained in the
+     * text buffer) represents, when expecting a boolean value: ignoring
+     * surrounding white space, "true" and "false" are recognized
+     * (case-insensitive), as well as "null"; and empty value is exposed as null.
+     * Anything else is exposed as {@link JsonToken#VALUE_STRING}, without
+     * trimming.
+     *
+     * @since 2.9
+     */
+    public JsonToken booleanToken()
+    {
+        final char[] buf = _textBuffer.getTextBuffer();
+        final int start = _trimmedStart(buf);
+        final int end = _trimmedEnd(buf, start);
+        JsonToken t = (start == end) ? JsonToken.VALUE_NULL
+                : _literalToken(buf, start, end, true);
+        if (t == null) {
+            return JsonToken.VALUE_STRING;
+        }
+        _textBuffer.trim();
+        return t;
+    }
+
+    /**
+     * @return Offset of the first non-white-space character of the current
+     *   value in given buffer (obtained from text buffer); or end offset of
+     *   the value if there is none
+     */
+    private int _trimmedStart(char[] buf)
+    {
+        int ptr = _textBuffer.getTextOffset();
+        final int end = ptr + _textBuffer.size();
+        while (ptr < end && buf[ptr] <= ' ') {
+            ++ptr;
+        }
+        return ptr;
+    }
+
+    /**
+     * @return Offset following the last non-white-space character of the
+     *   current value in given buffer, but no less than <code>start</code>
+     */
+    private int _trimmedEnd(char[] buf, int start)
+    {
+        int end = _textBuffer.getTextOffset() + _textBuffer.size();
+        while (end > start && buf[end-1] <= ' ') {
+            --end;
+        }
+        return end;
+    }
+
+    /**
+     * Helper method for checking whether given content is a valid number
+     * according to JSON number grammar (no leading plus sign or zeroes, and
+     * digits required on both sides of decimal point);
+     * and if so, whether it is an integral or floating-point number.
+     *
+     * @return Matching numeric token, if content is a valid number; null if not
+     */
+    protected static JsonToken _numberToken(char[] buf, int ptr, final int end)
+    {
+        char c = buf[ptr];
+        if (c == '-') {
+            if (++ptr == end) {
+                return null;
+            }
+            c = buf[ptr];
+        }
+        // integral part: either just zero, or starts with non-zero digit
+        if (c == '0') {
+            ++ptr;
+        } else if (c >= '1' && c <= '9') {
+            while (++ptr < end) {
+                c = buf[ptr];
+                if (c > '9' || c < '0') {
+                    break;
+                }
+            }
+        } else {
+            return null;
+        }
+        if (ptr == end) {
+            return JsonToken.VALUE_NUMBER_INT;
+        }
+        c = buf[ptr];
+        if (c == '.') {
+            final int fractStart = ++ptr;
+            for (; ptr < end; ++ptr) {
+                c = buf[ptr];
+                if (c > '9' || c < '0') {
+                    break;
+                }
+            }
+            if (ptr == fractStart) {
+                return null;
+            }
+            if (ptr == end) {
+                return JsonToken.VALUE_NUMBER_FLOAT;
+            }
+        }
+        if (c != 'e' && c != 'E') {
+            return null;
+        }
+        if (++ptr < end) {
+            c = buf[ptr];
+            if (c == '-' || c == '+') {
+                ++ptr;
+            }
+        }
+        if (ptr == end) {
+            return null;
+        }
+        for (; ptr < end; ++ptr) {
+            c = buf[ptr];
+            if (c > '9' || c < '0') {
+                return null;
+            }
+        }
+        return JsonToken.VALUE_NUMBER_FLOAT;
+    }
+
+    /**
+     * Helper method for checking whether given content is one of literals
+     * "null", "true" or "false"; and if so, returning matching token.
+     *
+     * @return Matching literal token, if any; null if not
+     */
+    protected static JsonToken _literalToken(char[] buf, int start, int end,
+            boolean caseInsensitive)
+    {
+        final int len = end - start;
+        if (len == 4) {
+            if (_matches(buf, start, "null", caseInsensitive)) {
+                return JsonToken.VALUE_NULL;
+            }
+            if (_matches(buf, start, "true", caseInsensitive)) {
+                return JsonToken.VALUE_TRUE;
+            }
+        } else if (len == 5) {
+            if (_matches(buf, start, "false", caseInsensitive)) {
+                return JsonToken.VALUE_FALSE;
+            }
+        }
+        return null;
+    }
+
+    private static boolean _matches(char[] buf, int offset, String literal,
+            boolean caseInsensitive)
+    {
+        for (int i = 0, len = literal.length(); i < len; ++i) {
+            char c = buf[offset+i];
+            if (caseInsensitive) {
+                c = Character.toLowerCase(c);
+            }
+            if (c != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /*
     /**********************************************************************
     /* Actual parsing, private helper methods
     /**********************************************************************
      */
     
-    protected String _nextUnquotedString(char[] outBuf, int outPtr) throws IOException
+    /**
+     * Helper method called to expose value contained within current input buffer
+     * (between given start and end offsets) via text buffer, without copying.
+     * Contents remain valid until more input is loaded.
+     *
+     * @since 2.9
+     */
+    protected final void _resetWithShared(int start, int end)
+    {
+        if (_trimSpaces) {
+            final char[] inputBuffer = _inputBuffer;
+            while (end > start && inputBuffer[end-1] <= INT_SPACE) {
+                --end;
+            }
+        }
+        _textBuffer.resetWithShared(_inputBuffer, start, end-start);
+    }
+
+    protected void _nextUnquotedString(char[] outBuf, int outPtr) throws IOException
     {
         int c;
         final char[] inputBuffer = _inputBuffer;
@@ -715,6 +1170,16 @@ public class CsvDecoder
             }
             final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
             while (ptr < max) {
+                // copy run of plain characters as is
+                int i = SpecialCharScanner.find(inputBuffer, ptr, max, _separatorChar, _escapeChar);
+                if (i > ptr) {
+                    System.arraycopy(inputBuffer, ptr, outBuf, outPtr, i - ptr);
+                    outPtr += (i - ptr);
+                    ptr = i;
+                    if (ptr >= max) {
+                        break;
+                    }
+                }
                 c = inputBuffer[ptr++];
                 if (c <= _maxSpecialChar) {
                     if (c == _separatorChar) { // end of value, yay!
@@ -737,10 +1202,10 @@ public class CsvDecoder
             }
             _inputPtr = ptr;
         }
-        return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
+        _textBuffer.finish(outPtr, _trimSpaces);
     }
     
-    protected String _nextQuotedString() throws IOException
+    protected void _nextQuotedString() throws IOException
     {
         char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
         int outPtr = 0;
@@ -771,6 +1236,17 @@ public class CsvDecoder
 
             inner_loop:
             while (true) {
+                // copy run of plain characters as is
+                int i = SpecialCharScanner.find(inputBuffer, ptr, max, _quoteChar, _escapeChar);
+                if (i > ptr) {
+                    System.arraycopy(inputBuffer, ptr, outBuf, outPtr, i - ptr);
+                    outPtr += (i - ptr);
+                    ptr = i;
+                    if (ptr >= max) {
+                        _inputPtr = ptr;
+                        continue main_loop;
+                    }
+                }
                 char c = inputBuffer[ptr++];
                 if (c <= _maxSpecialChar) {
                     if (c == _quoteChar) {
@@ -819,10 +1295,19 @@ public class CsvDecoder
             break;
         }
         // note: do NOT trim from within quoted Strings
-        String result = _textBuffer.finishAndReturn(outPtr, false);
+        _textBuffer.finish(outPtr, false);
+        _skipTrailingSpaceAndSeparator();
+    }
 
-        // good, but we also need to locate and skip trailing space, separator
-        // (note: space outside quotes never included, but must be skipped)
+    /**
+     * Helper method called after closing quote of a quoted value has been
+     * matched: need to locate and skip trailing space and separator
+     * (note: space outside quotes never included, but must be skipped)
+     *
+     * @since 2.9
+     */
+    protected void _skipTrailingSpaceAndSeparator() throws IOException
+    {
         while (_inputPtr < _inputEnd || loadMore()) { // end-of-input is fine
             int ch = _inputBuffer[_inputPtr++];
             if (ch == _separatorChar) { // common case, separator between columns
@@ -838,10 +1323,107 @@ public class CsvDecoder
             _owner._reportUnexpectedCsvChar(ch, String.format(
                     "Expected separator (%s) or end-of-line", _getCharDesc(_quoteChar)));
         }
-        return result;
     }
     
-    protected final void _handleLF() throws IOException
+    /**
+     * Helper method for skipping unquoted value (after first character) without
+     * copying or unescaping contents.
+     *
+     * @since 2.9
+     */
+    protected void _skipUnquotedValue() throws IOException
+    {
+        final char[] inputBuffer = _inputBuffer;
+
+        main_loop:
+        while ((_inputPtr < _inputEnd) || loadMore()) {
+            int ptr = _inputPtr;
+            final int end = _inputEnd;
+            while (ptr < end) {
+                char c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c == _separatorChar) { // end of value
+                        _inputPtr = ptr;
+                        return;
+                    }
+                    if (c == '\r' || c == '\n') { // end of line is end of value as well
+                        _inputPtr = ptr;
+                        _pendingLF = c;
+                        return;
+                    }
+                    if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        _unescape();
+                        // May have passed input boundary, need to re-set
+                        continue main_loop;
+                    }
+                }
+            }
+            _inputPtr = ptr;
+        }
+    }
+
+    /**
+     * Helper method for skipping quoted value (after opening quote) without
+     * copying or unescaping contents; linefeeds within value are still
+     * tracked to keep location information correct.
+     *
+     * @since 2.9
+     */
+    protected void _skipQuotedValue() throws IOException
+    {
+        final char[] inputBuffer = _inputBuffer;
+        boolean afterCR = false; // to avoid double-counting CR+LF
+
+        main_loop:
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportParsingError("Missing closing quote for value");
+                }
+            }
+            int ptr = _inputPtr;
+            final int end = _inputEnd;
+            while (ptr < end) {
+                char c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c == _quoteChar) {
+                        _inputPtr = ptr;
+                        // doubled-up quote is part of value; otherwise end of value
+                        if ((_inputPtr < _inputEnd || loadMore())
+                                && (_inputBuffer[_inputPtr] == _quoteChar)) {
+                            ++_inputPtr;
+                            afterCR = false;
+                            continue main_loop;
+                        }
+                        break main_loop;
+                    }
+                    if (c == '\r') {
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                        afterCR = true;
+                        continue;
+                    }
+                    if (c == '\n') {
+                        if (!afterCR) {
+                            ++_currInputRow;
+                        }
+                        _currInputRowStart = ptr;
+                    } else if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        _unescape();
+                        afterCR = false;
+                        continue main_loop;
+                    }
+                }
+                afterCR = false;
+            }
+            _inputPtr = ptr;
+        }
+        _skipTrailingSpaceAndSeparator();
+    }
+
+    protected void _handleLF() throws IOException
     {
         // already skipped past first part; but may get \r\n so skip the other char too?
         if (_pendingLF == INT_CR) {
@@ -879,7 +1461,7 @@ public class CsvDecoder
         return c;
     }
     
-    protected final int _nextChar() throws IOException
+    protected int _nextChar() throws IOException
     {
         if (_inputPtr >= _inputEnd) {
             if (!loadMore()) {
@@ -889,7 +1471,7 @@ public class CsvDecoder
         return _inputBuffer[_inputPtr++];
     }
 
-    protected final int _skipLeadingSpace() throws IOException
+    protected int _skipLeadingSpace() throws IOException
     {
         final int sep = _separatorChar;
         while (true) {
@@ -916,20 +1498,42 @@ public class CsvDecoder
     /**********************************************************************
      */
 
-    public Number getNumberValue() throws IOException
+    /**
+     * Accessor for the current value as the most accurate {@link Number}
+     * type, with integral or floating-point type determined by the value
+     * itself.
+     */
+    public Number getNumberValue() throws IOException {
+        return getNumberValue(_textBuffer.looksLikeInt());
+    }
+
+    /**
+     * Accessor for the current value as the most accurate {@link Number}
+     * type.
+     *
+     * @param integral Whether current value is integral (token
+     *   {@link JsonToken#VALUE_NUMBER_INT}) or not: needed since value
+     *   may also have been converted to other numeric types
+     *
+     * @since 2.9
+     */
+    public Number getNumberValue(boolean integral) throws IOException
     {
         if (_numTypesValid == NR_UNKNOWN) {
             _parseNumericValue(NR_UNKNOWN); // will also check event type
         }
-        // Separate types for int types
-        if ((_numTypesValid & NR_INT) != 0) {
-            return Integer.valueOf(_numberInt);
-        }
-        if ((_numTypesValid & NR_LONG) != 0) {
-            return Long.valueOf(_numberLong);
-        }
-        if ((_numTypesValid & NR_BIGINT) != 0) {
-            return _numberBigInt;
+        // Separate types for int types; but floating-point values may have
+        // been converted to ints, so only check for integral values
+        if (integral || (_numTypesValid & (NR_DOUBLE | NR_BIGDECIMAL)) == 0) {
+            if ((_numTypesValid & NR_INT) != 0) {
+                return Integer.valueOf(_numberInt);
+            }
+            if ((_numTypesValid & NR_LONG) != 0) {
+                return Long.valueOf(_numberLong);
+            }
+            if ((_numTypesValid & NR_BIGINT) != 0) {
+                return _numberBigInt;
+            }
         }
         // And then floating point types. But here optimal type
         // needs to be big decimal, to avoid losing any data?
@@ -941,20 +1545,39 @@ public class CsvDecoder
         }
         return Double.valueOf(_numberDouble);
     }
-    
-    public NumberType getNumberType() throws IOException
+
+    /**
+     * Accessor for the type of current numeric value, with integral or
+     * floating-point type determined by the value itself.
+     */
+    public NumberType getNumberType() throws IOException {
+        return getNumberType(_textBuffer.looksLikeInt());
+    }
+
+    /**
+     * Accessor for the type of current numeric value.
+     *
+     * @param integral Whether current value is integral (token
+     *   {@link JsonToken#VALUE_NUMBER_INT}) or not: needed since value
+     *   may also have been converted to other numeric types
+     *
+     * @since 2.9
+     */
+    public NumberType getNumberType(boolean integral) throws IOException
     {
         if (_numTypesValid == NR_UNKNOWN) {
             _parseNumericValue(NR_UNKNOWN); // will also check event type
         }
-        if ((_numTypesValid & NR_INT) != 0) {
-            return NumberType.INT;
-        }
-        if ((_numTypesValid & NR_LONG) != 0) {
-            return NumberType.LONG;
-        }
-        if ((_numTypesValid & NR_BIGINT) != 0) {
-            return NumberType.BIG_INTEGER;
+        if (integral || (_numTypesValid & (NR_DOUBLE | NR_BIGDECIMAL)) == 0) {
+            if ((_numTypesValid & NR_INT) != 0) {
+                return NumberType.INT;
+            }
+            if ((_numTypesValid & NR_LONG) != 0) {
+                return NumberType.LONG;
+            }
+            if ((_numTypesValid & NR_BIGINT) != 0) {
+                return NumberType.BIG_INTEGER;
+            }
         }
     
         // And then floating point types. Here optimal type
@@ -1008,6 +1631,14 @@ public class CsvDecoder
     
     public float getFloatValue() throws IOException
     {
+        // if not yet parsed, parse directly, to avoid double rounding
+        if ((_numTypesValid == NR_UNKNOWN) && !_textBuffer.looksLikeInt()) {
+            try {
+                return _textBuffer.contentsAsFloat();
+            } catch (NumberFormatException nex) {
+                throw constructError("Malformed numeric value '"+_textBuffer.contentsAsString()+"'", nex);
+            }
+        }
         double value = getDoubleValue();
         // Bounds/range checks would be tricky here, so let's not bother...
         return (float) value;
@@ -1061,19 +1692,21 @@ public class CsvDecoder
         if (_textBuffer.looksLikeInt()) {
             char[] buf = _textBuffer.getTextBuffer();
             int offset = _textBuffer.getTextOffset();
+            int len = _textBuffer.size();
             char c = buf[offset];
             boolean neg;
             
             if (c == '-') {
                 neg = true;
                 ++offset;
+                --len;
             } else {
                 neg = false;
                 if (c == '+') {
                     ++offset;
+                    --len;
                 }
             }
-            int len = buf.length - offset;
             if (len <= 9) { // definitely fits in int
                 int i = NumberInput.parseInt(buf, offset, len);
                 _numberInt = neg ? -i : i;
@@ -1181,7 +1814,10 @@ public class CsvDecoder
             }
             _numberInt = result;
         } else if ((_numTypesValid & NR_BIGINT) != 0) {
-            // !!! Should check for range...
+            if (BI_MIN_INT.compareTo(_numberBigInt) > 0 
+                || BI_MAX_INT.compareTo(_numberBigInt) < 0) {
+                reportOverflowInt();
+            }
             _numberInt = _numberBigInt.intValue();
         } else if ((_numTypesValid & NR_DOUBLE) != 0) {
             // Need to check boundaries
@@ -1207,7 +1843,10 @@ public class CsvDecoder
         if ((_numTypesValid & NR_INT) != 0) {
             _numberLong = _numberInt;
         } else if ((_numTypesValid & NR_BIGINT) != 0) {
-            // !!! Should check for range...
+            if (BI_MIN_LONG.compareTo(_numberBigInt) > 0 
+                || BI_MAX_LONG.compareTo(_numberBigInt) < 0) {
+                reportOverflowLong();
+            }
             _numberLong = _numberBigInt.longValue();
         } else if ((_numTypesValid & NR_DOUBLE) != 0) {
             // Need to check boundaries
@@ -1263,6 +1902,11 @@ public class CsvDecoder
             _numberDouble = _numberLong;
         } else if ((_numTypesValid & NR_INT) != 0) {
             _numberDouble = _numberInt;
+            // "-0" is parsed as int zero, but sign does matter for doubles
+            if ((_numberInt == 0) && (_textBuffer.size() > 0)
+                    && (_textBuffer.getTextBuffer()[_textBuffer.getTextOffset()] == '-')) {
+                _numberDouble = -0.0;
+            }
         } else {
             _throwInternal(); // should never get here
         }
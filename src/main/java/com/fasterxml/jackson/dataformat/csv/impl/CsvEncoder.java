@@ -2,7 +2,6 @@ package com.fasterxml.jackson.dataformat.csv.impl;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Arrays;
 
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
@@ -25,8 +24,6 @@ public class CsvEncoder
      */
     final protected static int MAX_QUOTE_CHECK = 24;
     
-    final protected BufferedValue[] NO_BUFFERED = new BufferedValue[0];
-
     private final static char[] TRUE_CHARS = "true".toCharArray();
     private final static char[] FALSE_CHARS = "false".toCharArray();
     
@@ -41,7 +38,7 @@ public class CsvEncoder
     /**
      * Underlying {@link Writer} used for output.
      */
-    final protected Writer _out;
+    protected Writer _out;
     
     final protected char _cfgColumnSeparator;
 
@@ -109,14 +106,12 @@ public class CsvEncoder
 
     /**
      * And if output comes in shuffled order we will need to do 
-     * bit of ordering.
-     */
-    protected BufferedValue[] _buffered = NO_BUFFERED;
-
-    /**
-     * Index of the last buffered value
+     * bit of ordering; buffer constructed when first needed, and
+     * reused for following rows.
+     *
+     * @since 2.9 (replaced earlier array of <code>BufferedValue</code>s)
      */
-    protected int _lastBuffered = -1;
+    protected BufferedRow _bufferedRow;
     
     /*
     /**********************************************************
@@ -145,7 +140,7 @@ public class CsvEncoder
      * Offset to index after the last valid index in {@link #_outputBuffer}.
      * Typically same as length of the buffer.
      */
-    protected final int _outputEnd;
+    protected int _outputEnd;
     
     /**
      * Let's keep track of how many bytes have been output, may prove useful
@@ -162,6 +157,19 @@ public class CsvEncoder
      */
 
     public CsvEncoder(IOContext ctxt, int csvFeatures, Writer out, CsvSchema schema)
+    {
+        this(ctxt, csvFeatures, out, ctxt.allocConcatBuffer(), schema);
+    }
+
+    /**
+     * Constructor used by sub-classes that use an output buffer of their own
+     * instead of <code>char[]</code> one (in which case <code>outputBuffer</code>
+     * is passed as null, and sub-class is to set {@link #_outputEnd}).
+     *
+     * @since 2.9
+     */
+    protected CsvEncoder(IOContext ctxt, int csvFeatures, Writer out, char[] outputBuffer,
+            CsvSchema schema)
     {
         _ioContext = ctxt;
         _csvFeatures = csvFeatures;
@@ -170,9 +178,9 @@ public class CsvEncoder
         _cfgAlwaysQuoteStrings = CsvGenerator.Feature.ALWAYS_QUOTE_STRINGS.enabledIn(csvFeatures);
         _cfgAlwaysQuoteEmptyStrings = CsvGenerator.Feature.ALWAYS_QUOTE_EMPTY_STRINGS.enabledIn(csvFeatures);
 
-        _outputBuffer = ctxt.allocConcatBuffer();
+        _outputBuffer = outputBuffer;
         _bufferRecyclable = true;
-        _outputEnd = _outputBuffer.length;
+        _outputEnd = (outputBuffer == null) ? 0 : outputBuffer.length;
         _out = out;
 
         _cfgColumnSeparator = schema.getColumnSeparator();
@@ -230,6 +238,40 @@ public class CsvEncoder
         return new CsvEncoder(this, schema);
     }
 
+    /**
+     * Method for resetting encoder to write content to given {@link Writer},
+     * with the same configuration, after previous output has been closed.
+     * Output buffer is re-allocated using the I/O context (which typically
+     * gives back the buffer released on close), and all output state is reset.
+     *
+     * @since 2.9
+     */
+    public void reset(Writer out)
+    {
+        _out = out;
+        if (_outputBuffer == null) {
+            _outputBuffer = _ioContext.allocConcatBuffer();
+            _outputEnd = _outputBuffer.length;
+        }
+        _resetOutput();
+    }
+
+    /**
+     * Helper method for resetting output state (but not output target or buffer)
+     * when encoder is reset to write new output.
+     *
+     * @since 2.9
+     */
+    protected void _resetOutput()
+    {
+        _outputTail = 0;
+        _charsWritten = 0;
+        _nextColumnToWrite = 0;
+        if (_bufferedRow != null) {
+            _bufferedRow.clear();
+        }
+    }
+
     public CsvEncoder overrideFormatFeatures(int feat) {
         if (feat != _csvFeatures) {
             _csvFeatures = feat;
@@ -294,7 +336,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).buffer(columnIndex, value);
     }
 
     public final void write(int columnIndex, char[] ch, int offset, int len) throws IOException
@@ -303,13 +345,13 @@ public class CsvEncoder
         write(columnIndex, new String(ch, offset, len));
     }
 
-    public final void write(int columnIndex, int value) throws IOException
+    public void write(int columnIndex, int value) throws IOException
     {
         // easy case: all in order
         if (columnIndex == _nextColumnToWrite) {
             // inlined 'appendValue(int)'
             // up to 10 digits and possible minus sign, leading comma
-            if ((_outputTail + 12) > _outputTail) {
+            if ((_outputTail + 12) > _outputEnd) {
                 _flushBuffer();
             }
             if (_nextColumnToWrite > 0) {
@@ -319,16 +361,16 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).buffer(columnIndex, value);
     }
 
-    public final void write(int columnIndex, long value) throws IOException
+    public void write(int columnIndex, long value) throws IOException
     {
         // easy case: all in order
         if (columnIndex == _nextColumnToWrite) {
             // inlined 'appendValue(int)'
             // up to 20 digits, minus sign, leading comma
-            if ((_outputTail + 22) > _outputTail) {
+            if ((_outputTail + 22) > _outputEnd) {
                 _flushBuffer();
             }
             if (_nextColumnToWrite > 0) {
@@ -338,7 +380,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).buffer(columnIndex, value);
     }
 
     public final void write(int columnIndex, float value) throws IOException
@@ -349,7 +391,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).buffer(columnIndex, value);
     }
 
     public final void write(int columnIndex, double value) throws IOException
@@ -360,7 +402,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).buffer(columnIndex, value);
     }
 
     public final void write(int columnIndex, boolean value) throws IOException
@@ -371,7 +413,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffer(columnIndex).buffer(columnIndex, value);
     }
 
     /**
@@ -384,7 +426,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.bufferedRaw(rawValue));
+        _buffer(columnIndex).bufferRaw(columnIndex, rawValue);
     }
         
     public final void writeNull(int columnIndex) throws IOException
@@ -394,7 +436,7 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.bufferedNull());
+        _buffer(columnIndex).bufferNull(columnIndex);
     }
 
     public final void writeColumnName(String name) throws IOException
@@ -406,19 +448,16 @@ public class CsvEncoder
     public void endRow() throws IOException
     {
         // First things first; any buffered?
-        if (_lastBuffered >= 0) {
-            final int last = _lastBuffered;
-            _lastBuffered = -1;
+        if ((_bufferedRow != null) && (_bufferedRow.lastIndex() >= 0)) {
+            final BufferedRow row = _bufferedRow;
+            final int last = row.lastIndex();
+            row.endRow();
             for (; _nextColumnToWrite <= last; ++_nextColumnToWrite) {
-                BufferedValue value = _buffered[_nextColumnToWrite];
-                if (value != null) {
-                    _buffered[_nextColumnToWrite] = null;
-                    value.write(this);
-                } else if (_nextColumnToWrite > 0) { // ) {
-                    // note: write method triggers prepending of separator; but for missing
-                    // values we need to do it explicitly.
+                // note: write method triggers prepending of separator; but for missing
+                // values we need to do it explicitly.
+                if (!row.write(_nextColumnToWrite, this) && (_nextColumnToWrite > 0)) {
                     appendColumnSeparator();
-                } 
+                }
             }
         } else if (_nextColumnToWrite <= 0) { // empty line; do nothing
             return;
@@ -433,11 +472,7 @@ public class CsvEncoder
         }
         // write line separator
         _nextColumnToWrite = 0;
-        if ((_outputTail + _cfgLineSeparatorLength) > _outputEnd) {
-            _flushBuffer();
-        }
-        System.arraycopy(_cfgLineSeparator, 0, _outputBuffer, _outputTail, _cfgLineSeparatorLength);
-        _outputTail += _cfgLineSeparatorLength;
+        _writeLineSeparator();
     }
     
     /*
@@ -506,28 +541,26 @@ public class CsvEncoder
 
     protected void appendValue(float value) throws IOException
     {
-        String str = NumberOutput.toString(value);
-        final int len = str.length();
-        if ((_outputTail + len) >= _outputEnd) { // >= to include possible comma too
+        // shortest representation, plus leading comma
+        if ((_outputTail + NumberOutput.MAX_FLOAT_CLEN + 1) > _outputEnd) {
             _flushBuffer();
         }
         if (_nextColumnToWrite > 0) {
             _outputBuffer[_outputTail++] = _cfgColumnSeparator;
         }
-        writeRaw(str);
+        _outputTail = NumberOutput.outputFloat(value, _outputBuffer, _outputTail);
     }
 
     protected void appendValue(double value) throws IOException
     {
-        String str = NumberOutput.toString(value);
-        final int len = str.length();
-        if ((_outputTail + len) >= _outputEnd) { // >= to include possible comma too
+        // shortest representation, plus leading comma
+        if ((_outputTail + NumberOutput.MAX_DOUBLE_CLEN + 1) > _outputEnd) {
             _flushBuffer();
         }
         if (_nextColumnToWrite > 0) {
             _outputBuffer[_outputTail++] = _cfgColumnSeparator;
         }
-        writeRaw(str);
+        _outputTail = NumberOutput.outputDouble(value, _outputBuffer, _outputTail);
     }
 
     protected void appendValue(boolean value) throws IOException {
@@ -552,6 +585,17 @@ public class CsvEncoder
         _outputTail += len;
     }
     
+    /**
+     * @since 2.9
+     */
+    protected void _writeLineSeparator() throws IOException {
+        if ((_outputTail + _cfgLineSeparatorLength) > _outputEnd) {
+            _flushBuffer();
+        }
+        System.arraycopy(_cfgLineSeparator, 0, _outputBuffer, _outputTail, _cfgLineSeparatorLength);
+        _outputTail += _cfgLineSeparatorLength;
+    }
+
     protected void appendColumnSeparator() throws IOException {
         if (_outputTail >= _outputEnd) {
             _flushBuffer();
@@ -951,13 +995,19 @@ public class CsvEncoder
         return false;
     }
     
-    protected void _buffer(int index, BufferedValue v)
+    /**
+     * Accessor for buffer to use for value of given column that is written
+     * before preceding columns.
+     *
+     * @since 2.9
+     */
+    protected BufferedRow _buffer(int index)
     {
-        _lastBuffered = Math.max(_lastBuffered, index);
-        if (index >= _buffered.length) {
-            _buffered = Arrays.copyOf(_buffered, Math.max(index+1, _columnCount));
+        BufferedRow row = _bufferedRow;
+        if (row == null) {
+            _bufferedRow = row = new BufferedRow(Math.max(index+1, _columnCount));
         }
-        _buffered[index] = v;
+        return row;
     }
 
     protected void _flushBuffer() throws IOException
@@ -976,5 +1026,9 @@ public class CsvEncoder
             _outputBuffer = null;
             _ioContext.releaseConcatBuffer(buf);
         }
+        // and if recycler came from a pool, return it as well (since 2.9)
+        if (_ioContext instanceof CsvIOContext) {
+            ((CsvIOContext) _ioContext).releaseBufferRecycler();
+        }
     }
 }
@@ -5,11 +5,264 @@ import com.fasterxml.jackson.core.util.BufferRecycler;
 
 public class CsvIOContext extends IOContext
 {
+    /**
+     * Whether buffer recycler is only used by this context (and thereby by
+     * a single parser or generator), as opposed to one shared by all parsers
+     * and generators constructed on the same thread.
+     *
+     * @since 2.9
+     */
+    protected final boolean _privateRecycler;
+
+    /**
+     * Pool from which buffer recycler is acquired (when first needed) and
+     * to which it is released by {@link #releaseBufferRecycler}, if any;
+     * null if recycler was given at construction.
+     *
+     * @since 2.9
+     */
+    protected final BufferRecyclerPool _recyclerPool;
+
+    /**
+     * Buffer recycler currently used for allocating buffers: either one
+     * given at construction, or one acquired from {@link #_recyclerPool}
+     * (in which case it is null when not acquired).
+     *
+     * @since 2.9
+     */
+    protected BufferRecycler _recycler;
+
     public CsvIOContext(BufferRecycler br, Object sourceRef, boolean managedResource) {
+        this(br, sourceRef, managedResource, false);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public CsvIOContext(BufferRecycler br, Object sourceRef, boolean managedResource,
+            boolean privateRecycler) {
         super(br, sourceRef, managedResource);
+        _privateRecycler = privateRecycler;
+        _recyclerPool = null;
+        _recycler = br;
+    }
+
+    /**
+     * Constructor for context that acquires its buffer recycler from given pool
+     * when first needed, and releases it back when {@link #releaseBufferRecycler}
+     * is called (once parser or generator is closed).
+     *
+     * @since 2.9
+     */
+    public CsvIOContext(BufferRecyclerPool pool, Object sourceRef, boolean managedResource) {
+        super(null, sourceRef, managedResource);
+        _privateRecycler = true;
+        _recyclerPool = pool;
+        _recycler = null;
     }
 
     public TextBuffer csvTextBuffer() {
-        return new TextBuffer(_bufferRecycler);
+        return new TextBuffer(this);
+    }
+
+    /**
+     * Accessor for checking whether buffer recycler of this context is only used
+     * by it: if so, parser or generator that uses this context may be used from
+     * different threads (one at a time), as is the case with pooled instances.
+     *
+     * @since 2.9
+     */
+    public boolean usesPrivateRecycler() {
+        return _privateRecycler;
+    }
+
+    /*
+    /**********************************************************
+    /* Recycler handling (2.9)
+    /**********************************************************
+     */
+
+    /**
+     * Accessor for buffer recycler to use for allocations; acquired from the
+     * pool if necessary.
+     *
+     * @since 2.9
+     */
+    public BufferRecycler bufferRecycler()
+    {
+        BufferRecycler br = _recycler;
+        if (br == null) {
+            _recycler = br = _recyclerPool.acquireBufferRecycler();
+        }
+        return br;
+    }
+
+    /**
+     * Method called by parser or generator after it has released its buffers,
+     * to return buffer recycler to the pool it was acquired from (if any).
+     * Context may still be used after this call: a recycler is acquired again
+     * if any more buffers are allocated; buffers released after this call are
+     * simply dropped.
+     *
+     * @since 2.9
+     */
+    public void releaseBufferRecycler()
+    {
+        BufferRecycler br = _recycler;
+        if ((br != null) && (_recyclerPool != null)) {
+            _recycler = null;
+            _recyclerPool.releaseBufferRecycler(br);
+        }
+    }
+
+    /**
+     * Method used by {@link TextBuffer} for allocating its segments.
+     *
+     * @since 2.9
+     */
+    public char[] allocTextBuffer(int minSize) {
+        return bufferRecycler().allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, minSize);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public void releaseTextBuffer(char[] buf) {
+        if (_recycler != null) {
+            _recycler.releaseCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, buf);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Overridden buffer allocation, to use current recycler (2.9)
+    /**********************************************************
+     */
+
+    @Override
+    public com.fasterxml.jackson.core.util.TextBuffer constructTextBuffer() {
+        return new com.fasterxml.jackson.core.util.TextBuffer(bufferRecycler());
+    }
+
+    @Override
+    public byte[] allocReadIOBuffer() {
+        return allocReadIOBuffer(0);
+    }
+
+    @Override
+    public byte[] allocReadIOBuffer(int minSize) {
+        _verifyAlloc(_readIOBuffer);
+        return (_readIOBuffer = bufferRecycler().allocByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER, minSize));
+    }
+
+    @Override
+    public byte[] allocWriteEncodingBuffer() {
+        return allocWriteEncodingBuffer(0);
+    }
+
+    @Override
+    public byte[] allocWriteEncodingBuffer(int minSize) {
+        _verifyAlloc(_writeEncodingBuffer);
+        return (_writeEncodingBuffer = bufferRecycler().allocByteBuffer(BufferRecycler.BYTE_WRITE_ENCODING_BUFFER, minSize));
+    }
+
+    @Override
+    public byte[] allocBase64Buffer() {
+        return allocBase64Buffer(0);
+    }
+
+    @Override
+    public byte[] allocBase64Buffer(int minSize) {
+        _verifyAlloc(_base64Buffer);
+        return (_base64Buffer = bufferRecycler().allocByteBuffer(BufferRecycler.BYTE_BASE64_CODEC_BUFFER, minSize));
+    }
+
+    @Override
+    public char[] allocTokenBuffer() {
+        return allocTokenBuffer(0);
+    }
+
+    @Override
+    public char[] allocTokenBuffer(int minSize) {
+        _verifyAlloc(_tokenCBuffer);
+        return (_tokenCBuffer = bufferRecycler().allocCharBuffer(BufferRecycler.CHAR_TOKEN_BUFFER, minSize));
+    }
+
+    @Override
+    public char[] allocConcatBuffer() {
+        _verifyAlloc(_concatCBuffer);
+        return (_concatCBuffer = bufferRecycler().allocCharBuffer(BufferRecycler.CHAR_CONCAT_BUFFER, 0));
+    }
+
+    @Override
+    public char[] allocNameCopyBuffer(int minSize) {
+        _verifyAlloc(_nameCopyBuffer);
+        return (_nameCopyBuffer = bufferRecycler().allocCharBuffer(BufferRecycler.CHAR_NAME_COPY_BUFFER, minSize));
+    }
+
+    @Override
+    public void releaseReadIOBuffer(byte[] buf) {
+        if (buf != null) {
+            _verifyRelease(buf, _readIOBuffer);
+            _readIOBuffer = null;
+            if (_recycler != null) {
+                _recycler.releaseByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER, buf);
+            }
+        }
+    }
+
+    @Override
+    public void releaseWriteEncodingBuffer(byte[] buf) {
+        if (buf != null) {
+            _verifyRelease(buf, _writeEncodingBuffer);
+            _writeEncodingBuffer = null;
+            if (_recycler != null) {
+                _recycler.releaseByteBuffer(BufferRecycler.BYTE_WRITE_ENCODING_BUFFER, buf);
+            }
+        }
+    }
+
+    @Override
+    public void releaseBase64Buffer(byte[] buf) {
+        if (buf != null) {
+            _verifyRelease(buf, _base64Buffer);
+            _base64Buffer = null;
+            if (_recycler != null) {
+                _recycler.releaseByteBuffer(BufferRecycler.BYTE_BASE64_CODEC_BUFFER, buf);
+            }
+        }
+    }
+
+    @Override
+    public void releaseTokenBuffer(char[] buf) {
+        if (buf != null) {
+            _verifyRelease(buf, _tokenCBuffer);
+            _tokenCBuffer = null;
+            if (_recycler != null) {
+                _recycler.releaseCharBuffer(BufferRecycler.CHAR_TOKEN_BUFFER, buf);
+            }
+        }
+    }
+
+    @Override
+    public void releaseConcatBuffer(char[] buf) {
+        if (buf != null) {
+            _verifyRelease(buf, _concatCBuffer);
+            _concatCBuffer = null;
+            if (_recycler != null) {
+                _recycler.releaseCharBuffer(BufferRecycler.CHAR_CONCAT_BUFFER, buf);
+            }
+        }
+    }
+
+    @Override
+    public void releaseNameCopyBuffer(char[] buf) {
+        if (buf != null) {
+            _verifyRelease(buf, _nameCopyBuffer);
+            _nameCopyBuffer = null;
+            if (_recycler != null) {
+                _recycler.releaseCharBuffer(BufferRecycler.CHAR_NAME_COPY_BUFFER, buf);
+            }
+        }
     }
 }
@@ -156,6 +156,12 @@ public final class CsvParserBootstrapper
             throw new RuntimeException("Internal error"); // should never get here
         }
         _context.setEncoding(enc);
+        // UTF-8 can be tokenized directly from bytes, no need for a Reader
+        if (enc == JsonEncoding.UTF8) {
+            // Important: buffer only recyclable if we allocated it (i.e. have stream)
+            return new CsvParser((CsvIOContext) _context, baseFeatures, csvFeatures, _codec,
+                    _in, _inputBuffer, _inputPtr, _inputEnd, (_in != null));
+        }
         return new CsvParser((CsvIOContext) _context, baseFeatures, csvFeatures, _codec,
                 _createReader(enc));
     }
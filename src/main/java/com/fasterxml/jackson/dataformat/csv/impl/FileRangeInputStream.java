@@ -0,0 +1,95 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Simple {@link InputStream} implementation used for reading a contiguous
+ * range of bytes of a {@link File} (or {@link FileChannel}), as if it was
+ * a complete document. Positional reads are used so that position of the
+ * channel is not modified, and a single channel may be shared by multiple streams.
+ *
+ * @since 2.9
+ */
+public class FileRangeInputStream extends InputStream
+{
+    protected final FileChannel _channel;
+
+    /**
+     * Whether channel is to be closed when stream is closed
+     */
+    protected final boolean _closeChannel;
+
+    /**
+     * Offset of the next byte to read
+     */
+    protected long _position;
+
+    /**
+     * Offset after the last byte of the range
+     */
+    protected final long _end;
+
+    public FileRangeInputStream(File f, long start, long end) throws IOException {
+        this(new FileInputStream(f).getChannel(), start, end, true);
+    }
+
+    public FileRangeInputStream(FileChannel ch, long start, long end, boolean closeChannel)
+    {
+        if (start < 0L || end < start) {
+            throw new IllegalArgumentException("Invalid range ["+start+", "+end+")");
+        }
+        _channel = ch;
+        _closeChannel = closeChannel;
+        _position = start;
+        _end = end;
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        byte[] b = new byte[1];
+        return (read(b, 0, 1) < 1) ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException
+    {
+        final long left = _end - _position;
+        if (left <= 0L) {
+            return (len == 0) ? 0 : -1;
+        }
+        if (len > left) {
+            len = (int) left;
+        }
+        int count = _channel.read(ByteBuffer.wrap(b, off, len), _position);
+        if (count > 0) {
+            _position += count;
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        if (n <= 0L) {
+            return 0L;
+        }
+        n = Math.min(n, _end - _position);
+        _position += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, _end - _position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_closeChannel) {
+            _channel.close();
+        }
+    }
+}
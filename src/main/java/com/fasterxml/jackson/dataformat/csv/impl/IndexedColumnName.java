@@ -0,0 +1,55 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * {@link SerializedString} used as the name of POJO properties written using
+ * {@link com.fasterxml.jackson.dataformat.csv.CsvMapper}, which remembers index
+ * of the matching column for the schema most recently used, so that
+ * {@link com.fasterxml.jackson.dataformat.csv.CsvGenerator} need not look it
+ * up by name for every value written. Behaves like a regular name with other
+ * generators.
+ *
+ * @since 2.9
+ */
+public class IndexedColumnName extends SerializedString
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Immutable pair of schema and index of the column in it (or -1 if
+     * schema has no such column), replaced as a whole when schema changes
+     */
+    private final static class Resolution
+    {
+        final CsvSchema schema;
+        final int index;
+
+        Resolution(CsvSchema s, int ix) {
+            schema = s;
+            index = ix;
+        }
+    }
+
+    private transient volatile Resolution _resolution;
+
+    public IndexedColumnName(String name) {
+        super(name);
+    }
+
+    /**
+     * @return Index of the column with this name in given schema, if any;
+     *    -1 if none
+     */
+    public int columnIndex(CsvSchema schema)
+    {
+        Resolution r = _resolution;
+        if ((r == null) || (r.schema != schema)) {
+            CsvSchema.Column col = schema.column(_value);
+            r = new Resolution(schema, (col == null) ? -1 : col.getIndex());
+            _resolution = r;
+        }
+        return r.index;
+    }
+}
@@ -0,0 +1,63 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simple thread-safe (lock-free) pool of reusable instances, bounded by
+ * maximum number of instances retained: instances released when pool is
+ * full are simply dropped.
+ * Used by {@link com.fasterxml.jackson.dataformat.csv.CsvFactory} for pooling
+ * parser and generator instances.
+ *
+ * @since 2.9
+ */
+public final class InstancePool<T>
+{
+    private final ConcurrentLinkedQueue<T> _instances = new ConcurrentLinkedQueue<T>();
+
+    /**
+     * Number of instances in pool; tracked separately since size of
+     * the queue is not constant-time to calculate
+     */
+    private final AtomicInteger _size = new AtomicInteger();
+
+    private final int _maxSize;
+
+    public InstancePool(int maxSize) {
+        _maxSize = maxSize;
+    }
+
+    /**
+     * @return Pooled instance, if any; null if pool is empty
+     */
+    public T acquire()
+    {
+        T instance = _instances.poll();
+        if (instance != null) {
+            _size.decrementAndGet();
+        }
+        return instance;
+    }
+
+    /**
+     * @return True if instance was added to the pool; false if pool was full
+     */
+    public boolean release(T instance)
+    {
+        if (_size.incrementAndGet() > _maxSize) {
+            _size.decrementAndGet();
+            return false;
+        }
+        _instances.offer(instance);
+        return true;
+    }
+
+    public int size() {
+        return _size.get();
+    }
+
+    public int maxSize() {
+        return _maxSize;
+    }
+}
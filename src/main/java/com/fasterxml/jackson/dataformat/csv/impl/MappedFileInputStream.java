@@ -0,0 +1,141 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link InputStream} implementation that reads contents of a file using
+ * memory-mapping: content is mapped in windows (to support files bigger than
+ * 2 gigabytes, and to limit use of address space), and copied from mapped buffer
+ * directly into buffer of the caller (usually decoder), without intermediate
+ * buffering or system calls for reads.
+ *
+ * @since 2.9
+ */
+public class MappedFileInputStream extends InputStream
+{
+    /**
+     * Default size of windows to map: large enough to make mapping
+     * overhead negligible.
+     */
+    public final static int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    protected final FileChannel _channel;
+
+    protected final boolean _closeChannel;
+
+    protected final int _windowSize;
+
+    /**
+     * Offset after the last byte to read
+     */
+    protected final long _end;
+
+    /**
+     * Offset of the start of the next window to map
+     */
+    protected long _nextWindowStart;
+
+    /**
+     * Currently mapped window, if any
+     */
+    protected MappedByteBuffer _window;
+
+    public MappedFileInputStream(File f) throws IOException {
+        this(new FileInputStream(f).getChannel(), true);
+    }
+
+    public MappedFileInputStream(FileChannel ch, boolean closeChannel) throws IOException {
+        this(ch, 0L, ch.size(), DEFAULT_WINDOW_SIZE, closeChannel);
+    }
+
+    public MappedFileInputStream(FileChannel ch, long start, long end, int windowSize,
+            boolean closeChannel)
+    {
+        if (start < 0L || end < start) {
+            throw new IllegalArgumentException("Invalid range ["+start+", "+end+")");
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Invalid window size ("+windowSize+")");
+        }
+        _channel = ch;
+        _closeChannel = closeChannel;
+        _nextWindowStart = start;
+        _end = end;
+        _windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        if (!_hasRemaining()) {
+            return -1;
+        }
+        return _window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException
+    {
+        if (len == 0) {
+            return 0;
+        }
+        if (!_hasRemaining()) {
+            return -1;
+        }
+        len = Math.min(len, _window.remaining());
+        _window.get(b, off, len);
+        return len;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        if (n <= 0L) {
+            return 0L;
+        }
+        long left = (_window == null) ? 0L : _window.remaining();
+        if (n <= left) {
+            _window.position(_window.position() + (int) n);
+            return n;
+        }
+        // skip rest of current window, and then windows that need not be mapped
+        long skipped = Math.min(n, left + (_end - _nextWindowStart));
+        _nextWindowStart += (skipped - left);
+        _window = null;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (_window == null) ? 0 : _window.remaining();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        // Can not explicitly unmap, but can at least release reference
+        _window = null;
+        _nextWindowStart = _end;
+        if (_closeChannel) {
+            _channel.close();
+        }
+    }
+
+    private boolean _hasRemaining() throws IOException
+    {
+        if (_window != null && _window.hasRemaining()) {
+            return true;
+        }
+        final long start = _nextWindowStart;
+        if (start >= _end) {
+            _window = null;
+            return false;
+        }
+        long size = Math.min(_windowSize, _end - start);
+        _window = _channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        _nextWindowStart = start + size;
+        return true;
+    }
+}
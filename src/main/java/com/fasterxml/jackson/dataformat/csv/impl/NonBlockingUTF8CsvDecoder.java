@@ -0,0 +1,373 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Variant of {@link UTF8CsvDecoder} used by non-blocking parsers: instead of
+ * reading content from an input stream, content is fed by caller, and
+ * buffered until at least one complete row is available.
+ *<p>
+ * Decoding itself works exactly as with blocking decoder: parser is only
+ * allowed to start decoding a row once all of its content has been buffered
+ * (or end of input has been indicated), as determined by a light-weight scan
+ * over fed content, which keeps track of quoting and escaping to find row
+ * boundaries. As a result, decoding never runs out of input mid-value.
+ *<p>
+ * Note that scanning requires column separator, quote and escape characters
+ * to be 7-bit ASCII; if not, all content is buffered until end of input.
+ *
+ * @since 2.9
+ */
+public class NonBlockingUTF8CsvDecoder extends UTF8CsvDecoder
+{
+    // States of row boundary scanning
+
+    private final static int SCAN_ROW_START = 0;
+    private final static int SCAN_VALUE_START = 1;
+    private final static int SCAN_UNQUOTED = 2;
+    private final static int SCAN_QUOTED = 3;
+    private final static int SCAN_QUOTE_IN_QUOTED = 4;
+    private final static int SCAN_AFTER_QUOTED = 5;
+    private final static int SCAN_COMMENT = 6;
+    private final static int SCAN_AFTER_CR = 7;
+
+    /**
+     * Flag set when caller has indicated that no more content will be fed.
+     */
+    protected boolean _endOfInputFed;
+
+    /**
+     * Flag set once possible UTF-8 BOM at the beginning of content has been
+     * checked for (and skipped)
+     */
+    protected boolean _bomChecked;
+
+    /**
+     * Whether startNewLine() has been called but not yet completed, due to
+     * next row not yet being available.
+     */
+    protected boolean _newLineDeferred;
+
+    /*
+    /**********************************************************************
+    /* Row boundary scanning state
+    /**********************************************************************
+     */
+
+    /**
+     * Offset within input buffer of the next byte to scan
+     */
+    protected int _scanPtr;
+
+    protected int _scanState = SCAN_ROW_START;
+
+    protected boolean _scanEscaped;
+
+    /**
+     * Whether the line being scanned is a comment line (which is not
+     * considered a row)
+     */
+    protected boolean _scanComment;
+
+    /**
+     * Offset within input buffer right after the end of the last complete row
+     * found so far (or -1 if none)
+     */
+    protected int _completeRowsEnd = -1;
+
+    /**
+     * Number of complete rows found so far, not including comment lines
+     */
+    protected int _completeRows;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public NonBlockingUTF8CsvDecoder(CsvParser owner, IOContext ctxt,
+            CsvSchema schema, TextBuffer textBuffer, int stdFeatures, int csvFeatures)
+    {
+        super(owner, ctxt, null, ctxt.allocReadIOBuffer(), 0, 0, true,
+                schema, textBuffer, stdFeatures, csvFeatures);
+    }
+
+    @Override
+    public void reset(InputStream in) throws IOException {
+        throw new IllegalStateException("Can not reset non-blocking decoder to read from an InputStream");
+    }
+
+    @Override
+    public void reset(byte[] data, int offset, int len) throws IOException {
+        throw new IllegalStateException("Can not reset non-blocking decoder to read from a byte array");
+    }
+
+    /*
+    /**********************************************************************
+    /* Input feeding
+    /**********************************************************************
+     */
+
+    public void feedInput(byte[] buf, int start, int end) throws IOException
+    {
+        if (_endOfInputFed) {
+            throw new IllegalStateException("Already closed, can not feed more input");
+        }
+        if (end < start) {
+            _owner._reportParsingError(String.format("Input end (%d) may not be before start (%d)", end, start));
+        }
+        final int len = end - start;
+        if ((_inputEnd + len) > _inputBytes.length) {
+            // first, get rid of content already processed
+            final int shift = _inputPtr;
+            final int left = _inputEnd - shift;
+            byte[] dst = _inputBytes;
+            if ((left + len) > dst.length) {
+                dst = new byte[Math.max(left + len, dst.length + (dst.length >> 1))];
+            }
+            System.arraycopy(_inputBytes, shift, dst, 0, left);
+            _inputBytes = dst;
+            _inputPtr = 0;
+            _inputEnd = left;
+            _currInputProcessed += shift;
+            _currInputRowStart -= shift;
+            _scanPtr -= shift;
+            _completeRowsEnd -= shift;
+        }
+        System.arraycopy(buf, start, _inputBytes, _inputEnd, len);
+        _inputEnd += len;
+    }
+
+    public void endOfInput() {
+        _endOfInputFed = true;
+    }
+
+    /**
+     * Method for checking whether contents needed for processing the beginning of
+     * document (header line, skipped first data row, first data row) are available.
+     *
+     * @param rows Number of rows needed
+     */
+    public boolean isStartAvailable(int rows)
+    {
+        if (!_bomChecked) {
+            if ((_inputEnd - _inputPtr) < 3 && !_endOfInputFed) {
+                return false;
+            }
+            _bomChecked = true;
+            if (((_inputEnd - _inputPtr) >= 3) && (_inputBytes[_inputPtr] == (byte) 0xEF)
+                    && (_inputBytes[_inputPtr+1] == (byte) 0xBB)
+                    && (_inputBytes[_inputPtr+2] == (byte) 0xBF)) {
+                _inputPtr += 3;
+                _currInputRowStart = _inputPtr;
+                _scanPtr = _inputPtr;
+            }
+        }
+        if (_endOfInputFed) {
+            return true;
+        }
+        _scan();
+        return (_completeRows >= rows);
+    }
+
+    /**
+     * Method for checking whether the next row is available for decoding: either
+     * because its contents have been fully buffered, or end of input has been indicated.
+     */
+    public boolean isRowAvailable()
+    {
+        if (_endOfInputFed) {
+            return true;
+        }
+        _scan();
+        int ptr = _inputPtr;
+        if (_pendingLF == '\r') { // may need to skip LF of CR+LF
+            if (ptr >= _inputEnd) {
+                return false;
+            }
+            if (_inputBytes[ptr] == '\n') {
+                ++ptr;
+            }
+        }
+        return (ptr < _completeRowsEnd);
+    }
+
+    /**
+     * Method for checking whether all content fed so far has been consumed.
+     */
+    public boolean needMoreInput() {
+        return !_endOfInputFed && (_inputPtr >= _inputEnd);
+    }
+
+    public boolean isEndOfInputFed() {
+        return _endOfInputFed;
+    }
+
+    public boolean isNewLineDeferred() {
+        return _newLineDeferred;
+    }
+
+    /**
+     * Method called to complete deferred {@link #startNewLine}, once the next
+     * row is available.
+     */
+    public boolean completeNewLine() throws IOException
+    {
+        _newLineDeferred = false;
+        return super.startNewLine();
+    }
+
+    /*
+    /**********************************************************************
+    /* Overridden input handling
+    /**********************************************************************
+     */
+
+    @Override
+    protected boolean loadMore() throws IOException
+    {
+        // Until end-of-input is fed, running out of content is not end of content
+        if (!_endOfInputFed) {
+            return false;
+        }
+        return super.loadMore();
+    }
+
+    @Override
+    protected boolean _loadToHaveAtLeast(int minAvailable) throws IOException {
+        return (_inputEnd - _inputPtr) >= minAvailable;
+    }
+
+    @Override
+    public boolean startNewLine() throws IOException
+    {
+        // Can only move to the next row once it has been fully buffered
+        if (!isRowAvailable()) {
+            _newLineDeferred = true;
+            return true;
+        }
+        return super.startNewLine();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, row boundary scanning
+    /**********************************************************************
+     */
+
+    /**
+     * Method that scans content fed since the last call, to find boundaries of
+     * complete rows.
+     */
+    protected void _scan()
+    {
+        final int sep = _separatorChar;
+        final int q = _quoteChar;
+        final int esc = _escapeChar;
+        // Non-ASCII special characters not supported: need to wait for end-of-input
+        if ((sep >= 0x80) || (q >= 0x80) || (esc >= 0x80)) {
+            return;
+        }
+        final byte[] buf = _inputBytes;
+        final int end = _inputEnd;
+        int state = _scanState;
+        boolean escaped = _scanEscaped;
+        int ptr = _scanPtr;
+
+        for (; ptr < end; ++ptr) {
+            final int c = buf[ptr] & 0xFF;
+            if (escaped) {
+                escaped = false;
+                continue;
+            }
+            if (state == SCAN_AFTER_CR) { // row ended with CR, may be followed by LF
+                if (c == '\n') {
+                    _rowEnd(ptr+1);
+                    state = SCAN_ROW_START;
+                    continue;
+                }
+                _rowEnd(ptr);
+                state = SCAN_ROW_START;
+            }
+            if (state == SCAN_COMMENT) {
+                if (c == '\n') {
+                    _rowEnd(ptr+1);
+                    state = SCAN_ROW_START;
+                } else if (c == '\r') {
+                    state = SCAN_AFTER_CR;
+                }
+                continue;
+            }
+            if (state == SCAN_QUOTED) {
+                if (c == q) {
+                    state = SCAN_QUOTE_IN_QUOTED;
+                } else if (c == esc) {
+                    escaped = true;
+                }
+                continue;
+            }
+            if (state == SCAN_QUOTE_IN_QUOTED) {
+                if (c == q) { // doubled quote
+                    state = SCAN_QUOTED;
+                    continue;
+                }
+                state = SCAN_AFTER_QUOTED;
+            }
+            // Otherwise we are outside of quoted value
+            if (c == '\n') {
+                _rowEnd(ptr+1);
+                state = SCAN_ROW_START;
+                continue;
+            }
+            if (c == '\r') {
+                state = SCAN_AFTER_CR;
+                continue;
+            }
+            if (c == sep) {
+                state = SCAN_VALUE_START;
+                continue;
+            }
+            if (state == SCAN_ROW_START) {
+                if (_allowComments && (c == '#')) {
+                    _scanComment = true;
+                    state = SCAN_COMMENT;
+                    continue;
+                }
+                state = SCAN_VALUE_START;
+            }
+            if (state == SCAN_VALUE_START) {
+                // quote only starts quoted value at the beginning (after leading space if trimmed)
+                if (c == q) {
+                    state = SCAN_QUOTED;
+                    continue;
+                }
+                if (_trimSpaces && (c <= ' ')) {
+                    continue;
+                }
+                state = SCAN_UNQUOTED;
+            }
+            if (c == esc) {
+                escaped = true;
+            }
+        }
+        _scanPtr = ptr;
+        _scanState = state;
+        _scanEscaped = escaped;
+    }
+
+    private void _rowEnd(int end)
+    {
+        if (_scanComment) {
+            _scanComment = false;
+        } else {
+            _completeRowsEnd = end;
+            ++_completeRows;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.fasterxml.jackson.dataformat.csv.impl;
 
+import java.math.BigInteger;
+
 /* NOTE: copied from Jackson core, to reduce coupling
  */
 public final class NumberInput
@@ -99,4 +101,354 @@ public final class NumberInput
         }
         return Double.parseDouble(numStr);
     }
+
+    /*
+    /**********************************************************************
+    /* Fast floating-point parsing
+    /**********************************************************************
+     */
+
+    /**
+     * Largest significand that can be represented exactly as a double
+     */
+    private final static long MAX_EXACT_DOUBLE_SIGNIFICAND = 1L << 53;
+
+    /**
+     * Exact double values of powers of ten up to 10^22 (all of which are exactly
+     * representable)
+     */
+    private final static double[] EXACT_DOUBLE_POWERS_OF_TEN = new double[] {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+        1e21, 1e22
+    };
+
+    /**
+     * Value returned by internal parsing methods to indicate that given content
+     * could not be parsed using the fast path; slow path needs to be used.
+     */
+    private final static double NOT_PARSED = Double.NaN;
+
+    /**
+     * Method for parsing given textual representation of a double value,
+     * producing the same (correctly rounded) result as {@link Double#parseDouble},
+     * without constructing a {@link String}, for the usual case of a plain decimal
+     * number with at most 19 significant digits: uses the "Eisel-Lemire" algorithm.
+     * All other cases (as well as ones where the algorithm can not determine
+     * correct rounding) are delegated to {@link #parseDouble(String)}.
+     *
+     * @since 2.9
+     */
+    public final static double parseDouble(char[] buf, int offset, int len)
+        throws NumberFormatException
+    {
+        double d = _parseFloatingPoint(buf, offset, len, false);
+        if (Double.isNaN(d)) { // not parsed (may be "NaN" too, but that's rare)
+            return parseDouble(new String(buf, offset, len));
+        }
+        return d;
+    }
+
+    /**
+     * Method for parsing given textual representation of a float value,
+     * producing the same (correctly rounded) result as {@link Float#parseFloat};
+     * see {@link #parseDouble(char[], int, int)} for details.
+     *
+     * @since 2.9
+     */
+    public final static float parseFloat(char[] buf, int offset, int len)
+        throws NumberFormatException
+    {
+        // float values are all exactly representable as doubles
+        double d = _parseFloatingPoint(buf, offset, len, true);
+        if (Double.isNaN(d)) {
+            return Float.parseFloat(new String(buf, offset, len));
+        }
+        return (float) d;
+    }
+
+    private static double _parseFloatingPoint(char[] buf, int ptr, int len, boolean isFloat)
+    {
+        final int end = ptr + len;
+        if ((len == NASTY_SMALL_DOUBLE.length()) && _matches(buf, ptr, NASTY_SMALL_DOUBLE)) {
+            return NOT_PARSED;
+        }
+        if (ptr >= end) {
+            return NOT_PARSED;
+        }
+        boolean neg = false;
+        char c = buf[ptr];
+        if (c == '-' || c == '+') {
+            neg = (c == '-');
+            if (++ptr >= end) {
+                return NOT_PARSED;
+            }
+        }
+        // First: significand (at most 19 digits, sans leading zeroes), and scale
+        long w = 0L;
+        int digits = 0;
+        int exp10 = 0;
+        boolean gotDigits = false;
+        boolean fraction = false;
+
+        for (; ptr < end; ++ptr) {
+            c = buf[ptr];
+            if (c > '9' || c < '0') {
+                if (c == '.' && !fraction) {
+                    fraction = true;
+                    continue;
+                }
+                break;
+            }
+            gotDigits = true;
+            if (fraction) {
+                --exp10;
+            }
+            if (w == 0L && c == '0') { // leading zero, not significant
+                continue;
+            }
+            if (digits == 19) { // would need truncation; let slow path deal with it
+                return NOT_PARSED;
+            }
+            w = (w * 10) + (c - '0');
+            ++digits;
+        }
+        if (!gotDigits) {
+            return NOT_PARSED;
+        }
+        // Then optional exponent
+        if (ptr < end) {
+            c = buf[ptr];
+            if (c != 'e' && c != 'E') {
+                return NOT_PARSED;
+            }
+            if (++ptr >= end) {
+                return NOT_PARSED;
+            }
+            boolean negExp = false;
+            c = buf[ptr];
+            if (c == '-' || c == '+') {
+                negExp = (c == '-');
+                if (++ptr >= end) {
+                    return NOT_PARSED;
+                }
+            }
+            int exp = 0;
+            for (; ptr < end; ++ptr) {
+                c = buf[ptr];
+                if (c > '9' || c < '0') {
+                    return NOT_PARSED;
+                }
+                // no need to keep track of huge exponents, as long as they remain huge
+                if (exp < 100000) {
+                    exp = (exp * 10) + (c - '0');
+                }
+            }
+            exp10 += negExp ? -exp : exp;
+        }
+        if (w == 0L) {
+            return neg ? -0.0 : 0.0;
+        }
+        return isFloat ? _computeFloat(neg, w, exp10) : _computeDouble(neg, w, exp10);
+    }
+
+    private static boolean _matches(char[] buf, int ptr, String str)
+    {
+        for (int i = 0, len = str.length(); i < len; ++i) {
+            if (buf[ptr+i] != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method for calculating correctly rounded double value of <code>w * 10^q</code>,
+     * if possible.
+     *
+     * @return Value calculated, if possible; {@link #NOT_PARSED} if not
+     */
+    private static double _computeDouble(boolean neg, long w, int q)
+    {
+        // Fast path: both significand and power of ten exact, so single operation
+        // gives correctly rounded result
+        if ((q >= -22) && (q <= 22) && (w >= 0L) && (w <= MAX_EXACT_DOUBLE_SIGNIFICAND)) {
+            double d = (double) w;
+            d = (q < 0) ? (d / EXACT_DOUBLE_POWERS_OF_TEN[-q]) : (d * EXACT_DOUBLE_POWERS_OF_TEN[q]);
+            return neg ? -d : d;
+        }
+        if (q < -342) { // less than half of the smallest subnormal value
+            return neg ? -0.0 : 0.0;
+        }
+        if (q > 308) {
+            return neg ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        final int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        // Product of significand and (truncated) 128-bit power of five; 52 + 3 bits
+        // needed, and second half of power only if lower bits of first product
+        // indicate that result could be affected by it
+        final int index = q - PowersOfFive.MIN_EXP;
+        long high = _multiplyHigh(w, PowersOfFive.HIGH[index]);
+        long low = w * PowersOfFive.HIGH[index];
+        if ((high & 0x1FFL) == 0x1FFL) {
+            final long high2 = _multiplyHigh(w, PowersOfFive.LOW[index]);
+            low += high2;
+            if ((high2 ^ Long.MIN_VALUE) > (low ^ Long.MIN_VALUE)) { // unsigned overflow
+                ++high;
+            }
+            if ((low == -1L) && ((q < -27) || (q > 55))) { // can not be sure of rounding
+                return NOT_PARSED;
+            }
+        }
+        final int upperbit = (int) (high >>> 63);
+        final int shift = upperbit + 9;
+        long mantissa = high >>> shift;
+        int power2 = _power(q) + upperbit - lz + 1023;
+        if (power2 <= 0) { // subnormal values: let slow path deal with them
+            return NOT_PARSED;
+        }
+        // If exactly half-way between two values, round to even
+        if (((low == 0L) || (low == 1L)) && (q >= -4) && (q <= 23) && ((mantissa & 3) == 1)
+                && ((mantissa << shift) == high)) {
+            mantissa &= ~1L;
+        }
+        mantissa += (mantissa & 1);
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = (1L << 52);
+            ++power2;
+        }
+        mantissa &= ~(1L << 52);
+        if (power2 >= 0x7FF) {
+            return neg ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        long bits = mantissa | ((long) power2 << 52);
+        if (neg) {
+            bits |= Long.MIN_VALUE;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Method for calculating correctly rounded float value of <code>w * 10^q</code>,
+     * if possible.
+     *
+     * @return Value calculated, if possible; {@link #NOT_PARSED} if not
+     */
+    private static double _computeFloat(boolean neg, long w, int q)
+    {
+        if (q < -65) { // less than half of the smallest subnormal value
+            return neg ? -0.0 : 0.0;
+        }
+        if (q > 38) {
+            return neg ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        final int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        // as with doubles, but only 23 + 3 bits needed
+        final long precisionMask = -1L >>> 26;
+        final int index = q - PowersOfFive.MIN_EXP;
+        long high = _multiplyHigh(w, PowersOfFive.HIGH[index]);
+        long low = w * PowersOfFive.HIGH[index];
+        if ((high & precisionMask) == precisionMask) {
+            final long high2 = _multiplyHigh(w, PowersOfFive.LOW[index]);
+            low += high2;
+            if ((high2 ^ Long.MIN_VALUE) > (low ^ Long.MIN_VALUE)) {
+                ++high;
+            }
+            if ((low == -1L) && ((q < -27) || (q > 55))) {
+                return NOT_PARSED;
+            }
+        }
+        final int upperbit = (int) (high >>> 63);
+        final int shift = upperbit + 38;
+        long mantissa = high >>> shift;
+        int power2 = _power(q) + upperbit - lz + 127;
+        if (power2 <= 0) {
+            return NOT_PARSED;
+        }
+        if (((low == 0L) || (low == 1L)) && (q >= -17) && (q <= 10) && ((mantissa & 3) == 1)
+                && ((mantissa << shift) == high)) {
+            mantissa &= ~1L;
+        }
+        mantissa += (mantissa & 1);
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 23)) {
+            mantissa = (1L << 23);
+            ++power2;
+        }
+        mantissa &= ~(1L << 23);
+        if (power2 >= 0xFF) {
+            return neg ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        int bits = (int) mantissa | (power2 << 23);
+        if (neg) {
+            bits |= Integer.MIN_VALUE;
+        }
+        return Float.intBitsToFloat(bits);
+    }
+
+    /**
+     * Helper method for calculating <code>floor(log2(10^q)) + 63</code>
+     */
+    private static int _power(int q) {
+        return (((152170 + 65536) * q) >> 16) + 63;
+    }
+
+    /**
+     * Helper method for calculating high 64 bits of the unsigned 128-bit product
+     * of given unsigned 64-bit values.
+     */
+    private static long _multiplyHigh(long x, long y)
+    {
+        final long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+        final long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+        final long p01 = x0 * y1;
+        final long middle = (x1 * y0) + ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL);
+        return (x1 * y1) + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    /**
+     * Holder for 128-bit approximations of powers of five (5^-342 - 5^308),
+     * normalized so that the highest bit is set: truncated for positive exponents,
+     * rounded up for negative ones. Calculated lazily, as only needed for
+     * floating-point values.
+     */
+    private final static class PowersOfFive
+    {
+        final static int MIN_EXP = -342;
+        final static int MAX_EXP = 308;
+
+        final static long[] HIGH = new long[MAX_EXP - MIN_EXP + 1];
+        final static long[] LOW = new long[MAX_EXP - MIN_EXP + 1];
+
+        static {
+            final BigInteger five = BigInteger.valueOf(5);
+            final BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+            for (int q = MIN_EXP; q <= MAX_EXP; ++q) {
+                BigInteger value;
+                if (q < 0) {
+                    BigInteger pow = five.pow(-q);
+                    int z = pow.bitLength();
+                    if (q >= -27) {
+                        value = BigInteger.ONE.shiftLeft(z + 127).divide(pow).add(BigInteger.ONE);
+                    } else {
+                        value = BigInteger.ONE.shiftLeft(2 * z + 128).divide(pow).add(BigInteger.ONE);
+                        while (value.compareTo(two128) >= 0) {
+                            value = value.shiftRight(1);
+                        }
+                    }
+                } else {
+                    value = five.pow(q);
+                    int bits = value.bitLength();
+                    value = (bits <= 128) ? value.shiftLeft(128 - bits) : value.shiftRight(bits - 128);
+                }
+                HIGH[q - MIN_EXP] = value.shiftRight(64).longValue();
+                LOW[q - MIN_EXP] = value.longValue();
+            }
+        }
+    }
 }
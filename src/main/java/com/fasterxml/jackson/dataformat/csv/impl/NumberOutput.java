@@ -1,5 +1,7 @@
 package com.fasterxml.jackson.dataformat.csv.impl;
 
+import java.math.BigInteger;
+
 /**
  * Helper class for efficient writing of numeric values
  *<p>
@@ -19,6 +21,43 @@ public final class NumberOutput
 
     private final static String SMALLEST_LONG = String.valueOf(Long.MIN_VALUE);
 
+    /**
+     * Maximum number of characters {@link #outputDouble} writes: sign,
+     * 17 digits, decimal point, and exponent of up to 3 digits with sign
+     * (like "-2.2250738585072014E-308")
+     *
+     * @since 2.9
+     */
+    public final static int MAX_DOUBLE_CLEN = 24;
+
+    /**
+     * Maximum number of characters {@link #outputFloat} writes
+     * (sign, 9 digits, decimal point and exponent like "E-38")
+     *
+     * @since 2.9
+     */
+    public final static int MAX_FLOAT_CLEN = 15;
+
+    // Constants for decoding double and float values: (negated) exponent of
+    // the smallest subnormal value, and the implicit highest bit of significand
+    private final static int DOUBLE_MIN_EXP = 1074;
+    private final static long DOUBLE_C_MIN = 1L << 52;
+    private final static int FLOAT_MIN_EXP = 149;
+    private final static int FLOAT_C_MIN = 1 << 23;
+
+    private final static long MASK_63 = (1L << 63) - 1;
+    private final static long MASK_32 = (1L << 32) - 1;
+    private final static int MASK_28 = (1 << 28) - 1;
+
+    private final static long[] POWERS_OF_TEN = new long[18];
+    static {
+        long pow = 1L;
+        for (int i = 0; i < POWERS_OF_TEN.length; ++i) {
+            POWERS_OF_TEN[i] = pow;
+            pow *= 10L;
+        }
+    }
+
     private final static char[] LEADING_TRIPLETS = new char[4000];
     private final static char[] FULL_TRIPLETS = new char[4000];
     static {
@@ -181,6 +220,201 @@ public final class NumberOutput
         return offset;
     }
     
+    /**
+     * @return Offset within buffer after outputting int
+     *
+     * @since 2.9
+     */
+    public static int outputInt(int value, byte[] buffer, int offset)
+    {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                return outputLong(value, buffer, offset);
+            }
+            buffer[offset++] = '-';
+            value = -value;
+        }
+
+        if (value < MILLION) { // at most 2 triplets...
+            if (value < 1000) {
+                if (value < 10) {
+                    buffer[offset++] = (byte) ('0' + value);
+                } else {
+                    offset = outputLeadingTriplet(value, buffer, offset);
+                }
+            } else {
+                int thousands = value / 1000;
+                value -= (thousands * 1000); // == value % 1000
+                offset = outputLeadingTriplet(thousands, buffer, offset);
+                offset = outputFullTriplet(value, buffer, offset);
+            }
+            return offset;
+        }
+
+        boolean hasBillions = (value >= BILLION);
+        if (hasBillions) {
+            value -= BILLION;
+            if (value >= BILLION) {
+                value -= BILLION;
+                buffer[offset++] = '2';
+            } else {
+                buffer[offset++] = '1';
+            }
+        }
+        int newValue = value / 1000;
+        int ones = (value - (newValue * 1000)); // == value % 1000
+        value = newValue;
+        newValue /= 1000;
+        int thousands = (value - (newValue * 1000));
+
+        if (hasBillions) {
+            offset = outputFullTriplet(newValue, buffer, offset);
+        } else {
+            offset = outputLeadingTriplet(newValue, buffer, offset);
+        }
+        offset = outputFullTriplet(thousands, buffer, offset);
+        offset = outputFullTriplet(ones, buffer, offset);
+        return offset;
+    }
+
+    /**
+     * @return Offset within buffer after outputting long
+     *
+     * @since 2.9
+     */
+    public static int outputLong(long value, byte[] buffer, int offset)
+    {
+        if (value < 0L) {
+            if (value > MIN_INT_AS_LONG) {
+                return outputInt((int) value, buffer, offset);
+            }
+            if (value == Long.MIN_VALUE) {
+                // Special case: no matching positive value within range
+                final int len = SMALLEST_LONG.length();
+                for (int i = 0; i < len; ++i) {
+                    buffer[offset++] = (byte) SMALLEST_LONG.charAt(i);
+                }
+                return offset;
+            }
+            buffer[offset++] = '-';
+            value = -value;
+        } else {
+            if (value <= MAX_INT_AS_LONG) {
+                return outputInt((int) value, buffer, offset);
+            }
+        }
+        int origOffset = offset;
+        offset += calcLongStrLength(value);
+        int ptr = offset;
+
+        // First, with long arithmetics:
+        while (value > MAX_INT_AS_LONG) { // full triplet
+            ptr -= 3;
+            long newValue = value / THOUSAND_L;
+            int triplet = (int) (value - newValue * THOUSAND_L);
+            outputFullTriplet(triplet, buffer, ptr);
+            value = newValue;
+        }
+        // Then with int arithmetics:
+        int ivalue = (int) value;
+        while (ivalue >= 1000) { // still full triplet
+            ptr -= 3;
+            int newValue = ivalue / 1000;
+            int triplet = ivalue - (newValue * 1000);
+            outputFullTriplet(triplet, buffer, ptr);
+            ivalue = newValue;
+        }
+        // And finally, if anything remains, partial triplet
+        outputLeadingTriplet(ivalue, buffer, origOffset);
+
+        return offset;
+    }
+
+    /**
+     * Method for writing the shortest decimal representation of given double
+     * value that rounds back to it, using the "Schubfach" algorithm by Raffaello
+     * Giulietti. Output format is the same as that of {@link Double#toString(double)}
+     * (which, as of JDK 19, also produces the shortest representation); but
+     * no {@link String} is constructed.
+     *<p>
+     * Caller must ensure that buffer has room for {@link #MAX_DOUBLE_CLEN} characters.
+     *
+     * @return Offset following the last character written
+     *
+     * @since 2.9
+     */
+    public static int outputDouble(double value, char[] buffer, int offset)
+    {
+        final long bits = Double.doubleToRawLongBits(value);
+        final long t = bits & ((1L << 52) - 1);
+        final int bq = (int) (bits >>> 52) & 0x7FF;
+        if (bq == 0x7FF) { // NaN or Infinity
+            return _outputSpecial((t != 0L) ? "NaN" : ((bits > 0L) ? "Infinity" : "-Infinity"),
+                    buffer, offset);
+        }
+        if (bits < 0L) {
+            buffer[offset++] = '-';
+        }
+        if (bq != 0) { // normal value
+            final int mq = DOUBLE_MIN_EXP + 1 - bq;
+            final long c = DOUBLE_C_MIN | t;
+            // Integral values are trivial
+            if ((0 < mq) && (mq < 53)) {
+                long f = c >> mq;
+                if ((f << mq) == c) {
+                    return _outputDecimal(f, 0, buffer, offset);
+                }
+            }
+            return _outputDouble(-mq, c, 0, buffer, offset);
+        }
+        if (t != 0L) { // subnormal value
+            return (t < 3L) ? _outputDouble(-DOUBLE_MIN_EXP, 10L * t, -1, buffer, offset)
+                    : _outputDouble(-DOUBLE_MIN_EXP, t, 0, buffer, offset);
+        }
+        return _outputZero(buffer, offset);
+    }
+
+    /**
+     * Method for writing the shortest decimal representation of given float
+     * value that rounds back to it; output format is the same as that of
+     * {@link Float#toString(float)}. See {@link #outputDouble} for details.
+     *<p>
+     * Caller must ensure that buffer has room for {@link #MAX_FLOAT_CLEN} characters.
+     *
+     * @return Offset following the last character written
+     *
+     * @since 2.9
+     */
+    public static int outputFloat(float value, char[] buffer, int offset)
+    {
+        final int bits = Float.floatToRawIntBits(value);
+        final int t = bits & ((1 << 23) - 1);
+        final int bq = (bits >>> 23) & 0xFF;
+        if (bq == 0xFF) {
+            return _outputSpecial((t != 0) ? "NaN" : ((bits > 0) ? "Infinity" : "-Infinity"),
+                    buffer, offset);
+        }
+        if (bits < 0) {
+            buffer[offset++] = '-';
+        }
+        if (bq != 0) {
+            final int mq = FLOAT_MIN_EXP + 1 - bq;
+            final int c = FLOAT_C_MIN | t;
+            if ((0 < mq) && (mq < 24)) {
+                int f = c >> mq;
+                if ((f << mq) == c) {
+                    return _outputDecimal(f, 0, buffer, offset);
+                }
+            }
+            return _outputFloat(-mq, c, 0, buffer, offset);
+        }
+        if (t != 0) {
+            return (t < 8) ? _outputFloat(-FLOAT_MIN_EXP, 10 * t, -1, buffer, offset)
+                    : _outputFloat(-FLOAT_MIN_EXP, t, 0, buffer, offset);
+        }
+        return _outputZero(buffer, offset);
+    }
+
     /*
     /**********************************************************
     /* Secondary convenience serialization methods
@@ -222,12 +456,14 @@ public final class NumberOutput
 
     public static String toString(double value)
     {
-        return Double.toString(value);
+        char[] buffer = new char[MAX_DOUBLE_CLEN];
+        return new String(buffer, 0, outputDouble(value, buffer, 0));
     }
 
     public static String toString(float value)
     {
-        return Float.toString(value);
+        char[] buffer = new char[MAX_FLOAT_CLEN];
+        return new String(buffer, 0, outputFloat(value, buffer, 0));
     }
 
     /*
@@ -261,6 +497,348 @@ public final class NumberOutput
         return offset;
     }
     
+    private static int outputLeadingTriplet(int triplet, byte[] buffer, int offset)
+    {
+        int digitOffset = (triplet << 2);
+        char c = LEADING_TRIPLETS[digitOffset++];
+        if (c != NULL_CHAR) {
+            buffer[offset++] = (byte) c;
+        }
+        c = LEADING_TRIPLETS[digitOffset++];
+        if (c != NULL_CHAR) {
+            buffer[offset++] = (byte) c;
+        }
+        // Last is required to be non-empty
+        buffer[offset++] = (byte) LEADING_TRIPLETS[digitOffset];
+        return offset;
+    }
+
+    private static int outputFullTriplet(int triplet, byte[] buffer, int offset)
+    {
+        int digitOffset = (triplet << 2);
+        buffer[offset++] = FULL_TRIPLETS_B[digitOffset++];
+        buffer[offset++] = FULL_TRIPLETS_B[digitOffset++];
+        buffer[offset++] = FULL_TRIPLETS_B[digitOffset];
+        return offset;
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, floating-point values
+    /**********************************************************
+     */
+
+    /**
+     * Method that finds the shortest decimal <code>f * 10^e</code> that rounds
+     * to double value <code>c * 2^q</code> (closest one, if there are multiple),
+     * and writes it out. Parameter <code>dk</code> is used for scaling of tiny
+     * subnormal values.
+     */
+    private static int _outputDouble(int q, long c, int dk, char[] buffer, int offset)
+    {
+        final int out = (int) c & 0x1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        // Interval of values rounding to c is asymmetric at powers of two
+        if ((c != DOUBLE_C_MIN) || (q == -DOUBLE_MIN_EXP)) {
+            cbl = cb - 2;
+            k = _flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = _flog10threeQuartersPow2(q);
+        }
+        final int h = q + _flog2pow10(-k) + 2;
+        final long g1 = PowersOfTen.g1(k);
+        final long g0 = PowersOfTen.g0(k);
+
+        final long vb = _rop(g1, g0, cb << h);
+        final long vbl = _rop(g1, g0, cbl << h);
+        final long vbr = _rop(g1, g0, cbr << h);
+
+        final long s = vb >> 2;
+        if (s >= 100) { // first, check if one digit shorter one would do
+            final long sp10 = 10L * _multiplyHigh(s, 115292150460684698L << 4);
+            final long tp10 = sp10 + 10L;
+            final boolean upin = (vbl + out) <= (sp10 << 2);
+            final boolean wpin = ((tp10 << 2) + out) <= vbr;
+            if (upin != wpin) {
+                return _outputDecimal(upin ? sp10 : tp10, k, buffer, offset);
+            }
+        }
+        final long t = s + 1;
+        final boolean uin = (vbl + out) <= (s << 2);
+        final boolean win = ((t << 2) + out) <= vbr;
+        if (uin != win) {
+            return _outputDecimal(uin ? s : t, k + dk, buffer, offset);
+        }
+        // both candidates within interval: choose closer one, or even one if tie
+        final long cmp = vb - ((s + t) << 1);
+        return _outputDecimal(((cmp < 0L) || ((cmp == 0L) && ((s & 0x1) == 0))) ? s : t,
+                k + dk, buffer, offset);
+    }
+
+    /**
+     * Float-variant of {@link #_outputDouble}
+     */
+    private static int _outputFloat(int q, int c, int dk, char[] buffer, int offset)
+    {
+        final int out = c & 0x1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        if ((c != FLOAT_C_MIN) || (q == -FLOAT_MIN_EXP)) {
+            cbl = cb - 2;
+            k = _flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = _flog10threeQuartersPow2(q);
+        }
+        final int h = q + _flog2pow10(-k) + 33;
+        final long g = PowersOfTen.g1(k) + 1;
+
+        final int vb = _rop(g, cb << h);
+        final int vbl = _rop(g, cbl << h);
+        final int vbr = _rop(g, cbr << h);
+
+        final int s = vb >> 2;
+        if (s >= 100) {
+            final int sp10 = 10 * (int) ((s * 1717986919L) >>> 34);
+            final int tp10 = sp10 + 10;
+            final boolean upin = (vbl + out) <= (sp10 << 2);
+            final boolean wpin = ((tp10 << 2) + out) <= vbr;
+            if (upin != wpin) {
+                return _outputDecimal(upin ? sp10 : tp10, k, buffer, offset);
+            }
+        }
+        final int t = s + 1;
+        final boolean uin = (vbl + out) <= (s << 2);
+        final boolean win = ((t << 2) + out) <= vbr;
+        if (uin != win) {
+            return _outputDecimal(uin ? s : t, k + dk, buffer, offset);
+        }
+        final int cmp = vb - ((s + t) << 1);
+        return _outputDecimal(((cmp < 0) || ((cmp == 0) && ((s & 0x1) == 0))) ? s : t,
+                k + dk, buffer, offset);
+    }
+
+    /**
+     * Method for writing out decimal <code>f * 10^e</code> (where <code>f</code>
+     * has at most 17 digits) in format used by {@link Double#toString(double)}:
+     * plain notation for values between 10^-3 (inclusive) and 10^7 (exclusive),
+     * otherwise computerized scientific notation.
+     */
+    private static int _outputDecimal(long f, int e, char[] buffer, int offset)
+    {
+        // First normalize to exactly 17 digits, 0.f * 10^e
+        int len = _flog10pow2(64 - Long.numberOfLeadingZeros(f));
+        if (f >= POWERS_OF_TEN[len]) {
+            ++len;
+        }
+        f *= POWERS_OF_TEN[17 - len];
+        e += len;
+        // and then split into the first digit, and two 8-digit parts
+        final long hm = _multiplyHigh(f, 193428131138340668L) >>> 20;
+        final int l = (int) (f - 100000000L * hm);
+        final int h = (int) ((hm * 1441151881L) >>> 57);
+        final int m = (int) (hm - 100000000 * h);
+
+        if ((0 < e) && (e <= 7)) { // plain, no leading zeroes
+            buffer[offset++] = (char) ('0' + h);
+            int y = _y(m);
+            int i = 1;
+            for (; i < e; ++i) {
+                int t = 10 * y;
+                buffer[offset++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            buffer[offset++] = '.';
+            for (; i <= 8; ++i) {
+                int t = 10 * y;
+                buffer[offset++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            return _outputLowDigits(l, buffer, offset);
+        }
+        if ((-3 < e) && (e <= 0)) { // plain, with leading zeroes
+            buffer[offset++] = '0';
+            buffer[offset++] = '.';
+            for (; e < 0; ++e) {
+                buffer[offset++] = '0';
+            }
+            buffer[offset++] = (char) ('0' + h);
+            offset = _output8Digits(m, buffer, offset);
+            return _outputLowDigits(l, buffer, offset);
+        }
+        // scientific notation
+        buffer[offset++] = (char) ('0' + h);
+        buffer[offset++] = '.';
+        offset = _output8Digits(m, buffer, offset);
+        offset = _outputLowDigits(l, buffer, offset);
+        e -= 1;
+        buffer[offset++] = 'E';
+        if (e < 0) {
+            buffer[offset++] = '-';
+            e = -e;
+        }
+        if (e >= 100) {
+            int d = (e * 1311) >>> 17; // e / 100
+            buffer[offset++] = (char) ('0' + d);
+            e -= 100 * d;
+            d = (e * 103) >>> 10; // e / 10
+            buffer[offset++] = (char) ('0' + d);
+            e -= 10 * d;
+        } else if (e >= 10) {
+            int d = (e * 103) >>> 10;
+            buffer[offset++] = (char) ('0' + d);
+            e -= 10 * d;
+        }
+        buffer[offset++] = (char) ('0' + e);
+        return offset;
+    }
+
+    private static int _outputLowDigits(int l, char[] buffer, int offset)
+    {
+        if (l != 0) {
+            offset = _output8Digits(l, buffer, offset);
+        }
+        // remove trailing zeroes, but leave one right after decimal point
+        while (buffer[offset-1] == '0') {
+            --offset;
+        }
+        if (buffer[offset-1] == '.') {
+            ++offset;
+        }
+        return offset;
+    }
+
+    private static int _output8Digits(int m, char[] buffer, int offset)
+    {
+        // left-to-right digit extraction, using fixed-point arithmetics
+        int y = _y(m);
+        for (int i = 0; i < 8; ++i) {
+            int t = 10 * y;
+            buffer[offset++] = (char) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+        return offset;
+    }
+
+    /**
+     * Helper method for calculating <code>floor((a + 1) * 2^28 / 10^8) - 1</code>
+     */
+    private static int _y(int a) {
+        return (int) (_multiplyHigh((long) (a + 1) << 28, 193428131138340668L) >>> 20) - 1;
+    }
+
+    private static int _outputZero(char[] buffer, int offset)
+    {
+        buffer[offset++] = '0';
+        buffer[offset++] = '.';
+        buffer[offset++] = '0';
+        return offset;
+    }
+
+    private static int _outputSpecial(String str, char[] buffer, int offset)
+    {
+        final int len = str.length();
+        str.getChars(0, len, buffer, offset);
+        return offset + len;
+    }
+
+    /**
+     * Helper method for calculating (rounded-to-odd) product of 126-bit
+     * value <code>g1 * 2^63 + g0</code> with <code>cp</code>, divided by 2^127
+     */
+    private static long _rop(long g1, long g0, long cp)
+    {
+        final long x1 = _multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = _multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+    }
+
+    /**
+     * Helper method for calculating (rounded-to-odd) product of 63-bit
+     * value <code>g</code> with <code>cp</code>, divided by 2^95
+     */
+    private static int _rop(long g, long cp)
+    {
+        final long x1 = _multiplyHigh(g, cp);
+        final long vbp = x1 >>> 31;
+        return (int) (vbp | (((x1 & MASK_32) + MASK_32) >>> 32));
+    }
+
+    // floor(log10(2^e))
+    private static int _flog10pow2(int e) {
+        return (int) ((e * 661971961083L) >> 41);
+    }
+
+    // floor(log10(3/4 * 2^e))
+    private static int _flog10threeQuartersPow2(int e) {
+        return (int) ((e * 661971961083L - 274743187321L) >> 41);
+    }
+
+    // floor(log2(10^e))
+    private static int _flog2pow10(int e) {
+        return (int) ((e * 913124641741L) >> 38);
+    }
+
+    /**
+     * Helper method for calculating high 64 bits of the 128-bit product
+     * of given non-negative values.
+     */
+    private static long _multiplyHigh(long x, long y)
+    {
+        final long x0 = x & MASK_32, x1 = x >>> 32;
+        final long y0 = y & MASK_32, y1 = y >>> 32;
+        final long p01 = x0 * y1;
+        final long middle = (x1 * y0) + ((x0 * y0) >>> 32) + (p01 & MASK_32);
+        return (x1 * y1) + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    /**
+     * Holder for 126-bit approximations of powers of ten (10^-292 - 10^324):
+     * for <code>10^-k = b * 2^r</code>, where <code>2^125 &lt;= b &lt; 2^126</code>,
+     * value is <code>g = floor(b) + 1</code>, split into high and low 63 bits.
+     * Calculated lazily, as only needed for floating-point values.
+     */
+    private final static class PowersOfTen
+    {
+        private final static int K_MIN = -324;
+        private final static int K_MAX = 292;
+
+        private final static long[] G = new long[(K_MAX - K_MIN + 1) << 1];
+        static {
+            for (int k = K_MIN; k <= K_MAX; ++k) {
+                BigInteger g;
+                if (k <= 0) {
+                    BigInteger pow = BigInteger.TEN.pow(-k);
+                    int shift = 126 - pow.bitLength();
+                    g = (shift >= 0) ? pow.shiftLeft(shift) : pow.shiftRight(-shift);
+                } else {
+                    BigInteger pow = BigInteger.TEN.pow(k);
+                    g = BigInteger.ONE.shiftLeft(125 + pow.bitLength()).divide(pow);
+                }
+                g = g.add(BigInteger.ONE);
+                G[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+                G[((k - K_MIN) << 1) | 1] = g.longValue() & MASK_63;
+            }
+        }
+
+        public static long g1(int k) {
+            return G[(k - K_MIN) << 1];
+        }
+
+        public static long g0(int k) {
+            return G[((k - K_MIN) << 1) | 1];
+        }
+    }
+
     /**
      *<p>
      * Pre-conditions: posValue is positive, and larger than
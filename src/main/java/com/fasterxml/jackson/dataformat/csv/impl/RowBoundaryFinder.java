@@ -0,0 +1,618 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Helper class used for locating row boundaries within byte-based
+ * (ASCII-compatible, usually UTF-8) content accessed through a {@link FileChannel},
+ * so that content may be split into ranges that can be parsed independently.
+ *<p>
+ * The main complication is that linefeeds within quoted values do not end rows:
+ * to know whether a linefeed is within quoted value one needs to know the number of
+ * quote characters preceding it. Finder offers two approaches: an exact sequential
+ * scan ({@link #findRowStarts}), and a two-phase approach in which number of quote
+ * characters is first counted for each range ({@link #countQuotes}), possibly
+ * concurrently, after which scanning from the start of a range only requires
+ * knowing parity of quotes preceding it ({@link #findRowStart}).
+ * Latter approach can only be used if no escape character is used, and comments
+ * are not allowed (see {@link #canCountQuotes}).
+ * In addition, when nothing is known about preceding content, whether an offset
+ * is within quoted value may be determined heuristically ({@link #resyncRowStart}).
+ *<p>
+ * Note that quote characters are assumed to only occur as part of quoted values
+ * (with doubled-up quotes within values), as per RFC-4180.
+ *
+ * @since 2.9
+ */
+public class RowBoundaryFinder
+{
+    private final static int BUFFER_SIZE = 64000;
+
+    private final static int NO_CHAR = -1;
+
+    /**
+     * Maximum number of row start offsets to find using {@link StructuralIndexer}
+     * at a time.
+     */
+    private final static int INDEX_SIZE = 1024;
+
+    /**
+     * Maximum number of bytes to check when trying to determine whether an
+     * offset is within a quoted value or not.
+     */
+    private final static int MAX_QUOTE_LOOKAHEAD = 256 * 1024;
+
+    protected final int _separatorChar;
+
+    protected final int _quoteChar;
+
+    protected final int _escapeChar;
+
+    protected final boolean _allowComments;
+
+    public RowBoundaryFinder(CsvSchema schema, boolean allowComments)
+    {
+        _separatorChar = schema.getColumnSeparator();
+        _quoteChar = schema.getQuoteChar();
+        _escapeChar = schema.getEscapeChar();
+        _allowComments = allowComments || schema.allowsComments();
+    }
+
+    /**
+     * Method for checking whether content can be split at all: not possible if
+     * any of special characters is outside of 7-bit ASCII range.
+     */
+    public boolean canSplit() {
+        return (_separatorChar < 0x80) && (_quoteChar < 0x80) && (_escapeChar < 0x80);
+    }
+
+    /**
+     * Method for checking whether two-phase approach (counting quotes of ranges
+     * separately) is usable.
+     */
+    public boolean canCountQuotes() {
+        return (_escapeChar == NO_CHAR) && !_allowComments;
+    }
+
+    /*
+    /**********************************************************************
+    /* Two-phase scanning
+    /**********************************************************************
+     */
+
+    /**
+     * Method for counting number of quote characters in given range
+     * of content.
+     */
+    public long countQuotes(FileChannel ch, long start, long end) throws IOException
+    {
+        final int q = _quoteChar;
+        if (q == NO_CHAR) {
+            return 0L;
+        }
+        final ByteBuffer bb = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] buf = bb.array();
+        long count = 0L;
+        long pos = start;
+
+        while (pos < end) {
+            int len = _read(ch, bb, pos, end);
+            if (len <= 0) {
+                break;
+            }
+            for (int i = 0; i < len; ++i) {
+                if (buf[i] == q) {
+                    ++count;
+                }
+            }
+            pos += len;
+        }
+        return count;
+    }
+
+    /**
+     * Method for finding offset of the first row start at or after given offset,
+     * given knowledge of whether offset is within a quoted value or not
+     * (that is, whether number of quote characters preceding it is odd).
+     *
+     * @return Offset of the first row start found; or <code>end</code> if none
+     */
+    public long findRowStart(FileChannel ch, long start, boolean inQuotes, long end)
+        throws IOException
+    {
+        return _findRowStart(ch, start, inQuotes, end, _quoteChar);
+    }
+
+    /*
+    /**********************************************************************
+    /* Resynchronization from arbitrary offsets
+    /**********************************************************************
+     */
+
+    /**
+     * Method for finding offset of the first row start at or after given offset,
+     * without knowing anything about content preceding offset.
+     * If quoted values may contain linefeeds, need to determine whether offset
+     * is within quoted value heuristically (see {@link #startsInQuotes}); otherwise
+     * the first linefeed ends the row.
+     *<p>
+     * Note that result only depends on given offset and content following it,
+     * so that ranges of content may be resynchronized independently, and consistently.
+     *
+     * @param multiLineValues Whether quoted values may contain linefeeds
+     */
+    public long resyncRowStart(FileChannel ch, long start, long end, boolean multiLineValues)
+        throws IOException
+    {
+        if (start <= 0L) {
+            return 0L;
+        }
+        if (!multiLineValues) {
+            return _findRowStart(ch, start, false, end, NO_CHAR);
+        }
+        return findRowStart(ch, start, startsInQuotes(ch, start, end), end);
+    }
+
+    /**
+     * Method that tries to determine whether given offset is within a quoted value,
+     * when content preceding it is not known, by checking which of two possibilities
+     * is consistent with content following it: when not within quoted value, quote
+     * characters may only occur at the start of a value; and when within quoted value,
+     * closing quote may only be followed by spaces, column separator, linefeed or end
+     * of content. Up to {@link #MAX_QUOTE_LOOKAHEAD} bytes are checked.
+     *
+     * @return True if offset is within quoted value; false if not, or if both possibilities
+     *    are consistent with content
+     */
+    public boolean startsInQuotes(FileChannel ch, long start, long end) throws IOException
+    {
+        if (_quoteChar == NO_CHAR) {
+            return false;
+        }
+        QuoteState outside = new QuoteState(false);
+        QuoteState inside = new QuoteState(true);
+        if (start > 0L) {
+            final int escapes = _escapesBefore(ch, start);
+            if ((escapes & 1) != 0) {
+                outside.escaped = true;
+                inside.escaped = true;
+            } else if ((escapes == 0) && ((_escapesBefore(ch, start-1) & 1) == 0)) {
+                // (escaped preceding character is just part of a value)
+                int prev = _peek(ch, start-1, start);
+                if (prev == _quoteChar) {
+                    // even number of quotes, preceded by one: either just after closing quote,
+                    // or between doubled quotes, which is same as pending quote within value
+                    outside.inQuotes = true;
+                    outside.pendingQuote = true;
+                } else {
+                    // outside quotes, quote is only valid at the start of a value
+                    outside.valueStart = (prev == _separatorChar) || (prev == '\n') || (prev == '\r');
+                }
+            }
+        }
+        final ByteBuffer bb = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] buf = bb.array();
+        final long limit = Math.min(end, start + MAX_QUOTE_LOOKAHEAD);
+        long pos = start;
+
+        while (pos < limit) {
+            int len = _read(ch, bb, pos, limit);
+            if (len <= 0) {
+                break;
+            }
+            for (int i = 0; i < len; ++i) {
+                int b = buf[i] & 0xFF;
+                if (!outside.feed(b)) {
+                    return inside.feed(b);
+                }
+                if (!inside.feed(b)) {
+                    return false;
+                }
+            }
+            pos += len;
+        }
+        // At end of content, unclosed quoted value is not valid
+        if (pos >= end) {
+            return inside.endOfContent() && !outside.endOfContent();
+        }
+        return false;
+    }
+
+    /*
+    /**********************************************************************
+    /* Sequential scanning
+    /**********************************************************************
+     */
+
+    /**
+     * Method for finding, for each of given (ascending) target offsets, offset
+     * of the first row start at or after it, using a single sequential scan
+     * from <code>start</code>, which must be a row start itself.
+     * Comment lines do not produce row starts, but are otherwise skipped.
+     *
+     * @return Offsets of row starts found, one for each target; <code>end</code> for
+     *    targets for which none was found
+     */
+    public long[] findRowStarts(FileChannel ch, long start, long end, long[] targets)
+        throws IOException
+    {
+        if (_canIndex(_quoteChar) && !_allowComments) {
+            return _findRowStartsIndexed(ch, start, end, targets);
+        }
+        final long[] result = new long[targets.length];
+        int targetIx = 0;
+
+        final int q = _quoteChar;
+        final int esc = _escapeChar;
+        final ByteBuffer bb = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] buf = bb.array();
+
+        boolean inQuotes = false, escaped = false, afterCR = false;
+        boolean lineStart = true, inComment = false;
+        long pos = start;
+
+        main_loop:
+        while (pos < end) {
+            int len = _read(ch, bb, pos, end);
+            if (len <= 0) {
+                break;
+            }
+            for (int i = 0; i < len; ++i) {
+                int b = buf[i] & 0xFF;
+                if (afterCR) {
+                    afterCR = false;
+                    if (b == '\n') { // CR+LF; LF is part of same linefeed
+                        continue;
+                    }
+                }
+                if (escaped) {
+                    escaped = false;
+                    lineStart = false;
+                    continue;
+                }
+                if (inComment) {
+                    if (b == '\n' || b == '\r') {
+                        inComment = false;
+                        lineStart = true;
+                        afterCR = (b == '\r');
+                    }
+                    continue;
+                }
+                if (b == esc) {
+                    escaped = true;
+                } else if (b == q) {
+                    inQuotes = !inQuotes;
+                } else if (!inQuotes) {
+                    if (b == '\n' || b == '\r') {
+                        afterCR = (b == '\r');
+                        lineStart = true;
+                        // Row start is after linefeed; for CR that may still be followed by LF
+                        long rowStart = pos + i + 1;
+                        if (afterCR) {
+                            if ((i + 1) < len) {
+                                if (buf[i+1] == '\n') {
+                                    ++rowStart;
+                                }
+                            } else if (_peek(ch, rowStart, end) == '\n') {
+                                ++rowStart;
+                            }
+                        }
+                        while (targets[targetIx] <= rowStart) {
+                            result[targetIx] = rowStart;
+                            if (++targetIx == targets.length) {
+                                break main_loop;
+                            }
+                        }
+                        continue;
+                    }
+                    if (lineStart && _allowComments && (b == '#')) {
+                        inComment = true;
+                        continue;
+                    }
+                }
+                lineStart = false;
+            }
+            pos += len;
+        }
+        for (; targetIx < targets.length; ++targetIx) {
+            result[targetIx] = end;
+        }
+        return result;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * Whether content can be scanned using {@link StructuralIndexer}: only if
+     * no escape character is used, and quote character is 7-bit ASCII.
+     */
+    private boolean _canIndex(int q) {
+        return (_escapeChar == NO_CHAR) && (q < 0x80);
+    }
+
+    private long[] _findRowStartsIndexed(FileChannel ch, long start, long end, long[] targets)
+        throws IOException
+    {
+        final long[] result = new long[targets.length];
+        int targetIx = 0;
+
+        final StructuralIndexer indexer = new StructuralIndexer(NO_CHAR, _quoteChar);
+        final int[] offsets = new int[INDEX_SIZE];
+        final ByteBuffer bb = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] buf = bb.array();
+        long pos = start;
+
+        main_loop:
+        while (pos < end) {
+            int len = _read(ch, bb, pos, end);
+            if (len <= 0) {
+                break;
+            }
+            int ptr = 0;
+            while (ptr < len) {
+                int count = indexer.index(buf, ptr, len, offsets);
+                for (int i = 0; i < count; ++i) {
+                    final int ix = offsets[i];
+                    // for CR+LF, row start only after LF, which is indexed as well
+                    if (buf[ix] == '\r' && _isFollowedByLF(ch, buf, ix, len, pos, end)) {
+                        continue;
+                    }
+                    final long rowStart = pos + ix + 1;
+                    while (targets[targetIx] <= rowStart) {
+                        result[targetIx] = rowStart;
+                        if (++targetIx == targets.length) {
+                            break main_loop;
+                        }
+                    }
+                }
+                ptr = indexer.getIndexedEnd();
+            }
+            pos += len;
+        }
+        for (; targetIx < targets.length; ++targetIx) {
+            result[targetIx] = end;
+        }
+        return result;
+    }
+
+    private long _findRowStart(FileChannel ch, long start, boolean inQuotes, long end,
+            final int q)
+        throws IOException
+    {
+        final int esc = _escapeChar;
+        boolean afterCR = false, escaped = false;
+
+        // Offset itself may be a row start, depending on preceding (unescaped) linefeed
+        if (start > 0L) {
+            final int escapes = _escapesBefore(ch, start);
+            escaped = (escapes & 1) != 0;
+            if (!inQuotes && (escapes == 0) && ((_escapesBefore(ch, start-1) & 1) == 0)) {
+                int prev = _peek(ch, start-1, start);
+                if (prev == '\n') {
+                    return start;
+                }
+                afterCR = (prev == '\r');
+            }
+        }
+        if (afterCR) { // lone CR ends row too, but need to check for CR+LF
+            return (_peek(ch, start, end) == '\n') ? (start + 1) : start;
+        }
+        if (_canIndex(q)) {
+            return _findRowStartIndexed(ch, start, inQuotes, end, q);
+        }
+        final ByteBuffer bb = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] buf = bb.array();
+        long pos = start;
+
+        while (pos < end) {
+            int len = _read(ch, bb, pos, end);
+            if (len <= 0) {
+                break;
+            }
+            for (int i = 0; i < len; ++i) {
+                int b = buf[i] & 0xFF;
+                if (afterCR) { // lone CR ends row too, but need to check for CR+LF
+                    return (b == '\n') ? (pos + i + 1) : (pos + i);
+                }
+                if (escaped) {
+                    escaped = false;
+                } else if (b == esc) {
+                    escaped = true;
+                } else if (b == q) {
+                    inQuotes = !inQuotes;
+                } else if (!inQuotes) {
+                    if (b == '\n') {
+                        return pos + i + 1;
+                    }
+                    if (b == '\r') {
+                        afterCR = true;
+                    }
+                }
+            }
+            pos += len;
+        }
+        return end;
+    }
+
+    private long _findRowStartIndexed(FileChannel ch, long start, boolean inQuotes, long end,
+            final int q)
+        throws IOException
+    {
+        final StructuralIndexer indexer = new StructuralIndexer(NO_CHAR, q);
+        indexer.reset(inQuotes);
+        final int[] offsets = new int[INDEX_SIZE];
+        final ByteBuffer bb = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] buf = bb.array();
+        long pos = start;
+
+        while (pos < end) {
+            int len = _read(ch, bb, pos, end);
+            if (len <= 0) {
+                break;
+            }
+            int ptr = 0;
+            while (ptr < len) {
+                if (indexer.index(buf, ptr, len, offsets) > 0) {
+                    final int ix = offsets[0];
+                    if (buf[ix] == '\r' && _isFollowedByLF(ch, buf, ix, len, pos, end)) {
+                        return pos + ix + 2;
+                    }
+                    return pos + ix + 1;
+                }
+                ptr = indexer.getIndexedEnd();
+            }
+            pos += len;
+        }
+        return end;
+    }
+
+    private boolean _isFollowedByLF(FileChannel ch, byte[] buf, int ix, int len,
+            long pos, long end)
+        throws IOException
+    {
+        if ((ix + 1) < len) {
+            return (buf[ix+1] == '\n');
+        }
+        return _peek(ch, pos + ix + 1, end) == '\n';
+    }
+
+    private int _read(FileChannel ch, ByteBuffer bb, long pos, long end) throws IOException
+    {
+        bb.clear();
+        long max = end - pos;
+        if (max < bb.capacity()) {
+            bb.limit((int) max);
+        }
+        int total = 0;
+        while (bb.hasRemaining()) {
+            int count = ch.read(bb, pos + total);
+            if (count < 0) {
+                break;
+            }
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Helper method for counting escape characters immediately preceding given
+     * offset: if there is an odd number of them, character at offset is escaped
+     * (since escape characters themselves may be escaped).
+     */
+    private int _escapesBefore(FileChannel ch, long offset) throws IOException
+    {
+        int count = 0;
+        if (_escapeChar != NO_CHAR) {
+            while ((offset > 0L) && (_peek(ch, offset-1, offset) == _escapeChar)) {
+                ++count;
+                --offset;
+            }
+        }
+        return count;
+    }
+
+    private int _peek(FileChannel ch, long pos, long end) throws IOException
+    {
+        if (pos >= end) {
+            return NO_CHAR;
+        }
+        ByteBuffer bb = ByteBuffer.allocate(1);
+        if (ch.read(bb, pos) < 1) {
+            return NO_CHAR;
+        }
+        return bb.get(0) & 0xFF;
+    }
+
+    /**
+     * Helper class used for tracking state of a single possibility of
+     * {@link RowBoundaryFinder#startsInQuotes}.
+     */
+    private final class QuoteState
+    {
+        public boolean inQuotes;
+
+        public boolean valueStart;
+
+        /**
+         * Whether quote was seen within quoted value (either closing quote
+         * or the first of doubled quotes)
+         */
+        public boolean pendingQuote;
+
+        /**
+         * Whether a quoted value has been closed, so that only spaces may
+         * precede column separator or linefeed
+         */
+        public boolean afterClose;
+
+        public boolean escaped;
+
+        public QuoteState(boolean inQuotes) {
+            this.inQuotes = inQuotes;
+        }
+
+        /**
+         * @return True if content is consistent with this possibility so far;
+         *    false if not
+         */
+        public boolean feed(int b)
+        {
+            if (escaped) {
+                escaped = false;
+                valueStart = false;
+                return true;
+            }
+            if (inQuotes) {
+                if (!pendingQuote) {
+                    if (b == _quoteChar) {
+                        pendingQuote = true;
+                    } else if (b == _escapeChar) {
+                        escaped = true;
+                    }
+                    return true;
+                }
+                pendingQuote = false;
+                if (b == _quoteChar) { // doubled quote
+                    return true;
+                }
+                inQuotes = false;
+                afterClose = true;
+            }
+            if ((b == _separatorChar) || (b == '\n') || (b == '\r')) {
+                valueStart = true;
+                afterClose = false;
+                return true;
+            }
+            if (afterClose) {
+                return (b == ' ') || (b == '\t');
+            }
+            if (b == _quoteChar) {
+                if (!valueStart) {
+                    return false;
+                }
+                inQuotes = true;
+                valueStart = false;
+            } else if (b == _escapeChar) {
+                escaped = true;
+            } else if ((b != ' ') && (b != '\t')) { // leading spaces allowed before quote
+                valueStart = false;
+            }
+            return true;
+        }
+
+        /**
+         * @return True if end of content is valid for this possibility
+         */
+        public boolean endOfContent() {
+            return !inQuotes || pendingQuote;
+        }
+    }
+}
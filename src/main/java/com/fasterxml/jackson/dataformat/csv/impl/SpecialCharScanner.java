@@ -0,0 +1,137 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+/**
+ * Helper class used by decoders for locating the next character that may need
+ * special handling (separator, quote, escape, linefeed; non-ASCII byte for
+ * byte-based input) within a run of input, checking multiple characters
+ * at a time by packing them into a <code>long</code> ("SIMD within a register").
+ * Runs of plain characters in between may then be copied in bulk.
+ *<p>
+ * Scanning is conservative: besides the two specified characters, all
+ * control characters below <code>0x0E</code> (including CR and LF) are also
+ * reported, so caller must still verify the actual character at returned
+ * offset; but no character that needs handling is ever skipped.
+ *
+ * @since 2.9
+ */
+public final class SpecialCharScanner
+{
+    private final static long BYTES_LOW = 0x0101010101010101L;
+    private final static long BYTES_HIGH = 0x8080808080808080L;
+
+    private final static long CHARS_LOW = 0x0001000100010001L;
+    private final static long CHARS_HIGH = 0x8000800080008000L;
+
+    /**
+     * All characters below this value are reported as special: covers
+     * CR and LF with a single check.
+     */
+    private final static int MIN_PLAIN_CHAR = 0x0E;
+
+    private SpecialCharScanner() { }
+
+    /**
+     * Method for finding offset of the first byte within given range that is
+     * either one of given characters, a control character below <code>0x0E</code>
+     * (including CR and LF), or part of a multi-byte UTF-8 character.
+     *
+     * @param c1 Character to look for; ignored if negative
+     * @param c2 Character to look for; ignored if negative
+     *
+     * @return Offset of the first matching byte, if any; <code>end</code> if none
+     */
+    public static int find(byte[] buf, int ptr, final int end, int c1, int c2)
+    {
+        // non-ASCII characters found by their leading byte, so no need to check
+        if (c1 < 0 || c1 > 0x7F) {
+            c1 = '\n';
+        }
+        if (c2 < 0 || c2 > 0x7F) {
+            c2 = '\n';
+        }
+        final long pattern1 = BYTES_LOW * c1;
+        final long pattern2 = BYTES_LOW * c2;
+        final long minPattern = BYTES_LOW * MIN_PLAIN_CHAR;
+        final int last = end - 8;
+
+        while (ptr <= last) {
+            long word = (buf[ptr] & 0xFFL)
+                    | ((buf[ptr+1] & 0xFFL) << 8)
+                    | ((buf[ptr+2] & 0xFFL) << 16)
+                    | ((buf[ptr+3] & 0xFFL) << 24)
+                    | ((buf[ptr+4] & 0xFFL) << 32)
+                    | ((buf[ptr+5] & 0xFFL) << 40)
+                    | ((buf[ptr+6] & 0xFFL) << 48)
+                    | ((buf[ptr+7] & 0xFFL) << 56);
+            // high bit of a byte is set for non-ASCII bytes, bytes below minimum,
+            // and bytes matching either pattern. Borrows may only produce false
+            // matches in bytes following a real match; lowest byte is the first one
+            long x1 = word ^ pattern1;
+            long x2 = word ^ pattern2;
+            long matches = (((word - minPattern) & ~word)
+                    | ((x1 - BYTES_LOW) & ~x1)
+                    | ((x2 - BYTES_LOW) & ~x2)
+                    | word) & BYTES_HIGH;
+            if (matches != 0L) {
+                return ptr + (Long.numberOfTrailingZeros(matches) >> 3);
+            }
+            ptr += 8;
+        }
+        while (ptr < end) {
+            int c = buf[ptr];
+            if (c < MIN_PLAIN_CHAR || c == c1 || c == c2) { // non-ASCII bytes are negative
+                return ptr;
+            }
+            ++ptr;
+        }
+        return end;
+    }
+
+    /**
+     * Method for finding offset of the first character within given range that is
+     * either one of given characters, or a control character below <code>0x0E</code>
+     * (including CR and LF).
+     *
+     * @param c1 Character to look for; ignored if negative
+     * @param c2 Character to look for; ignored if negative
+     *
+     * @return Offset of the first matching character, if any; <code>end</code> if none
+     */
+    public static int find(char[] buf, int ptr, final int end, int c1, int c2)
+    {
+        if (c1 < 0) {
+            c1 = '\n';
+        }
+        if (c2 < 0) {
+            c2 = '\n';
+        }
+        final long pattern1 = CHARS_LOW * c1;
+        final long pattern2 = CHARS_LOW * c2;
+        final long minPattern = CHARS_LOW * MIN_PLAIN_CHAR;
+        final int last = end - 4;
+
+        while (ptr <= last) {
+            long word = buf[ptr]
+                    | ((long) buf[ptr+1] << 16)
+                    | ((long) buf[ptr+2] << 32)
+                    | ((long) buf[ptr+3] << 48);
+            long x1 = word ^ pattern1;
+            long x2 = word ^ pattern2;
+            long matches = (((word - minPattern) & ~word)
+                    | ((x1 - CHARS_LOW) & ~x1)
+                    | ((x2 - CHARS_LOW) & ~x2)) & CHARS_HIGH;
+            if (matches != 0L) {
+                return ptr + (Long.numberOfTrailingZeros(matches) >> 4);
+            }
+            ptr += 4;
+        }
+        while (ptr < end) {
+            char c = buf[ptr];
+            if (c < MIN_PLAIN_CHAR || c == c1 || c == c2) {
+                return ptr;
+            }
+            ++ptr;
+        }
+        return end;
+    }
+}
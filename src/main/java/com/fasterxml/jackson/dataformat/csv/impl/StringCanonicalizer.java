@@ -0,0 +1,170 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+/**
+ * Helper class used for canonicalizing values of low-cardinality columns
+ * (like country codes or status values): Strings are looked up, by character
+ * content, from a bounded open-addressing hash table before constructing new
+ * instances, so that all occurrences of a value share a single String.
+ *<p>
+ * Table is bounded both by number of entries and by length of values: once
+ * {@link #MAX_ENTRIES} distinct values have been added, or for values longer
+ * than {@link #MAX_VALUE_LENGTH} characters, new Strings are constructed
+ * as usual. Counts of hits and misses are kept to allow verifying
+ * effectiveness for a column.
+ *<p>
+ * Instances are not thread-safe, and are only used by a single parser.
+ *
+ * @since 2.9
+ */
+public final class StringCanonicalizer
+{
+    /**
+     * Maximum number of distinct values added to table.
+     */
+    public final static int MAX_ENTRIES = 4096;
+
+    /**
+     * Maximum length of values to canonicalize: longer values are unlikely
+     * to repeat, and would be expensive to hash and compare.
+     */
+    public final static int MAX_VALUE_LENGTH = 64;
+
+    private final static int INITIAL_TABLE_SIZE = 64;
+
+    /**
+     * Canonical values, by slot; null for empty slots
+     */
+    private String[] _values;
+
+    /**
+     * Hash codes of values, by slot
+     */
+    private int[] _hashes;
+
+    private int _size;
+
+    private long _hits;
+
+    private long _misses;
+
+    public StringCanonicalizer() {
+        _values = new String[INITIAL_TABLE_SIZE];
+        _hashes = new int[INITIAL_TABLE_SIZE];
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for finding canonical String instance with given contents, adding
+     * one if table does not yet contain it (and is not full).
+     */
+    public String canonicalize(char[] buf, int start, int len)
+    {
+        if (len > MAX_VALUE_LENGTH) {
+            ++_misses;
+            return new String(buf, start, len);
+        }
+        int hash = 0;
+        for (int i = 0; i < len; ++i) {
+            hash = (hash * 31) + buf[start+i];
+        }
+        final String[] values = _values;
+        final int mask = values.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String str;
+        while ((str = values[slot]) != null) {
+            if ((_hashes[slot] == hash) && _matches(str, buf, start, len)) {
+                ++_hits;
+                return str;
+            }
+            slot = (slot + 1) & mask;
+        }
+        ++_misses;
+        str = new String(buf, start, len);
+        if (_size < MAX_ENTRIES) {
+            values[slot] = str;
+            _hashes[slot] = hash;
+            // keep load factor at most 50%
+            if ((++_size << 1) > values.length) {
+                _rehash();
+            }
+        }
+        return str;
+    }
+
+    /**
+     * @return Number of distinct values in table
+     */
+    public int size() { return _size; }
+
+    /**
+     * @return Number of values found from table
+     */
+    public long getHitCount() { return _hits; }
+
+    /**
+     * @return Number of values for which new String was constructed
+     */
+    public long getMissCount() { return _misses; }
+
+    /**
+     * @return Ratio of hits to all values canonicalized; 0.0 if none
+     */
+    public double getHitRate() {
+        final long total = _hits + _misses;
+        return (total == 0L) ? 0.0 : ((double) _hits) / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[StringCanonicalizer: %d values, %d hits, %d misses]",
+                _size, _hits, _misses);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private void _rehash()
+    {
+        final String[] oldValues = _values;
+        final int[] oldHashes = _hashes;
+        final int newSize = oldValues.length << 1;
+        final String[] values = new String[newSize];
+        final int[] hashes = new int[newSize];
+        final int mask = newSize - 1;
+
+        for (int i = 0; i < oldValues.length; ++i) {
+            if (oldValues[i] != null) {
+                final int hash = oldHashes[i];
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                values[slot] = oldValues[i];
+                hashes[slot] = hash;
+            }
+        }
+        _values = values;
+        _hashes = hashes;
+    }
+
+    private static boolean _matches(String str, char[] buf, int start, int len)
+    {
+        if (str.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; ++i) {
+            if (str.charAt(i) != buf[start+i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
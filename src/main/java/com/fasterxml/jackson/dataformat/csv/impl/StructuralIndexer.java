@@ -0,0 +1,201 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+/**
+ * Helper class for locating "structural" characters -- column separators and
+ * linefeeds (CR, LF) outside of quoted values -- within byte-based
+ * (ASCII-compatible, usually UTF-8) content, in two stages:
+ *<ol>
+ * <li>For each block of 64 bytes, bitmasks of quote characters, separators and
+ *   linefeeds are constructed, checking 8 bytes at a time; and positions within
+ *   quoted values are resolved by calculating the prefix XOR of the quote mask
+ *  </li>
+ * <li>Bitmask of structural characters outside quoted values is walked to
+ *   produce their offsets
+ *  </li>
+ *</ol>
+ * Quoted-value state is carried from one block (and call) to the next, so
+ * content may be indexed in arbitrary chunks.
+ *<p>
+ * Indexing only works for content where quote characters only occur as part of
+ * quoted values (with doubled-up quotes within values), as per RFC-4180: escape
+ * characters and comments are not recognized. All characters indexed must be
+ * 7-bit ASCII.
+ *
+ * @since 2.9
+ */
+public final class StructuralIndexer
+{
+    private final static int NO_CHAR = -1;
+
+    private final static int BLOCK_SIZE = 64;
+
+    private final static long BYTES_LOW = 0x0101010101010101L;
+    private final static long BYTES_LOW7 = 0x7F7F7F7F7F7F7F7FL;
+
+    /**
+     * Multiplier used for gathering high bits of 8 bytes into the highest byte.
+     */
+    private final static long GATHER_HIGH_BITS = 0x0002040810204081L;
+
+    private final static long PATTERN_LF = BYTES_LOW * '\n';
+    private final static long PATTERN_CR = BYTES_LOW * '\r';
+
+    private final int _separatorChar;
+
+    private final int _quoteChar;
+
+    private final long _separatorPattern;
+
+    private final long _quotePattern;
+
+    /**
+     * Whether the last indexed byte was within quoted value: either all ones
+     * (if it was) or zero, to allow use as a mask.
+     */
+    private long _inQuotes;
+
+    /**
+     * Offset following the last byte indexed by the latest call to
+     * {@link #index}.
+     */
+    private int _indexedEnd;
+
+    /**
+     * @param separatorChar Column separator to index, if any; <code>-1</code>
+     *   if only linefeeds are to be indexed
+     * @param quoteChar Quote character used, if any; <code>-1</code> if none
+     */
+    public StructuralIndexer(int separatorChar, int quoteChar)
+    {
+        if ((separatorChar > 0x7F) || (quoteChar > 0x7F)) {
+            throw new IllegalArgumentException("Only 7-bit ASCII separator and quote characters may be indexed");
+        }
+        _separatorChar = separatorChar;
+        _quoteChar = quoteChar;
+        _separatorPattern = BYTES_LOW * Math.max(separatorChar, 0);
+        _quotePattern = BYTES_LOW * Math.max(quoteChar, 0);
+    }
+
+    /**
+     * Method to call to indicate whether content indexed next starts within
+     * quoted value or not.
+     */
+    public void reset(boolean inQuotes) {
+        _inQuotes = inQuotes ? -1L : 0L;
+    }
+
+    /**
+     * @return Whether content indexed so far ended within quoted value
+     */
+    public boolean inQuotes() {
+        return (_inQuotes != 0L);
+    }
+
+    /**
+     * @return Offset following the last byte indexed by the latest call to
+     *    {@link #index}
+     */
+    public int getIndexedEnd() {
+        return _indexedEnd;
+    }
+
+    /**
+     * Method for indexing given content, starting at <code>ptr</code>:
+     * offsets of structural characters are stored in given array in ascending
+     * order. Indexing continues until either <code>end</code> is reached, or array
+     * has room for fewer than 64 more offsets; in latter case caller is to call
+     * method again, starting at offset returned by {@link #getIndexedEnd}.
+     *
+     * @param offsets Array for storing offsets; must have room for at least 64
+     *
+     * @return Number of offsets stored
+     */
+    public int index(byte[] buf, int ptr, final int end, int[] offsets)
+    {
+        if (offsets.length < BLOCK_SIZE) {
+            throw new IllegalArgumentException("Offset array must have room for at least "
+                    +BLOCK_SIZE+" entries, got "+offsets.length);
+        }
+        final int maxCount = offsets.length - BLOCK_SIZE;
+        int count = 0;
+
+        while ((ptr < end) && (count <= maxCount)) {
+            final int len = Math.min(BLOCK_SIZE, end - ptr);
+            // Stage 1: masks of quotes and potential structural characters
+            long quotes = 0L, structural = 0L;
+            for (int i = 0; i < len; i += 8) {
+                final long word = (len - i >= 8) ? _load(buf, ptr + i) : _loadPartial(buf, ptr + i, len - i);
+                long lfs = _matches(word, PATTERN_LF) | _matches(word, PATTERN_CR);
+                if (_separatorChar != NO_CHAR) {
+                    lfs |= _matches(word, _separatorPattern);
+                }
+                structural |= ((lfs * GATHER_HIGH_BITS) >>> 56) << i;
+                if (_quoteChar != NO_CHAR) {
+                    quotes |= ((_matches(word, _quotePattern) * GATHER_HIGH_BITS) >>> 56) << i;
+                }
+            }
+            if (len < BLOCK_SIZE) { // partial blocks padded with zero bytes: must not match
+                long valid = (1L << len) - 1;
+                quotes &= valid;
+                structural &= valid;
+            }
+            // prefix XOR: bit set for all positions after an odd number of quotes
+            long inQuotes = quotes;
+            inQuotes ^= (inQuotes << 1);
+            inQuotes ^= (inQuotes << 2);
+            inQuotes ^= (inQuotes << 4);
+            inQuotes ^= (inQuotes << 8);
+            inQuotes ^= (inQuotes << 16);
+            inQuotes ^= (inQuotes << 32);
+            inQuotes ^= _inQuotes;
+            // Stage 2: offsets of structural characters outside quoted values
+            structural &= ~inQuotes;
+            while (structural != 0L) {
+                offsets[count++] = ptr + Long.numberOfTrailingZeros(structural);
+                structural &= (structural - 1);
+            }
+            _inQuotes = (inQuotes >> 63); // all ones, or zero
+            ptr += len;
+        }
+        _indexedEnd = ptr;
+        return count;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method for finding bytes that equal the byte of given pattern:
+     * high bit is set for such bytes (and only for them), others are cleared.
+     */
+    private static long _matches(long word, long pattern)
+    {
+        final long v = word ^ pattern;
+        // high bit of a byte gets set, without carry, if any of lower 7 bits is set
+        return ~(((v & BYTES_LOW7) + BYTES_LOW7) | v | BYTES_LOW7);
+    }
+
+    private static long _load(byte[] buf, int ptr)
+    {
+        return (buf[ptr] & 0xFFL)
+                | ((buf[ptr+1] & 0xFFL) << 8)
+                | ((buf[ptr+2] & 0xFFL) << 16)
+                | ((buf[ptr+3] & 0xFFL) << 24)
+                | ((buf[ptr+4] & 0xFFL) << 32)
+                | ((buf[ptr+5] & 0xFFL) << 40)
+                | ((buf[ptr+6] & 0xFFL) << 48)
+                | ((buf[ptr+7] & 0xFFL) << 56);
+    }
+
+    private static long _loadPartial(byte[] buf, int ptr, int len)
+    {
+        long word = 0L;
+        for (int i = 0; i < len; ++i) {
+            word |= (buf[ptr+i] & 0xFFL) << (i << 3);
+        }
+        return word;
+    }
+}
@@ -1,5 +1,7 @@
 package com.fasterxml.jackson.dataformat.csv.impl;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.LinkedList;
 
@@ -28,6 +30,9 @@ public final class TextBuffer
     // thing we can borrow char array from, return...
     private final BufferRecycler _allocator;
 
+    // or context through which to do that (since 2.9)
+    private final CsvIOContext _ioContext;
+
     /*
     /**********************************************************
     /* Shared input buffers
@@ -101,11 +106,24 @@ public final class TextBuffer
     public TextBuffer(BufferRecycler allocator)
     {
         _allocator = allocator;
+        _ioContext = null;
+    }
+
+    /**
+     * Constructor for buffer that allocates segments using buffer recycler
+     * that given context currently uses.
+     *
+     * @since 2.9
+     */
+    public TextBuffer(CsvIOContext ctxt)
+    {
+        _allocator = null;
+        _ioContext = ctxt;
     }
 
     public void releaseBuffers()
     {
-        if (_allocator == null) {
+        if ((_allocator == null) && (_ioContext == null)) {
             reset();
         } else {
             if (_currentSegment != null) {
@@ -114,7 +132,11 @@ public final class TextBuffer
                 // And then return that array
                 char[] buf = _currentSegment;
                 _currentSegment = null;
-                _allocator.releaseCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, buf);
+                if (_ioContext != null) {
+                    _ioContext.releaseTextBuffer(buf);
+                } else {
+                    _allocator.releaseCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, buf);
+                }
             }
         }
     }
@@ -135,6 +157,54 @@ public final class TextBuffer
         }
     }
 
+    /**
+     * Method called to clear out any content text buffer may have, and
+     * indicate that it contains an empty String.
+     *
+     * @since 2.9
+     */
+    public void resetWithEmpty()
+    {
+        _inputStart = -1; // indicates shared buffer not used
+        _currentSize = 0;
+        _inputLen = 0;
+
+        _inputBuffer = null;
+        _resultString = null;
+        _resultArray = null;
+
+        // And then reset internal input buffers, if necessary:
+        if (_hasSegments) {
+            clearSegments();
+        }
+    }
+
+    /**
+     * Method called to initialize the buffer with a shared copy of data;
+     * this means that buffer will just have pointers to actual data. It
+     * also means that if anything is to be appended to the buffer, it
+     * will first have to unshare it (make a local copy).
+     *
+     * @since 2.9
+     */
+    public void resetWithShared(char[] buf, int start, int len)
+    {
+        // First, let's clear intermediate values, if any:
+        _resultString = null;
+        _resultArray = null;
+
+        // Then let's mark things we need about input buffer
+        _inputBuffer = buf;
+        _inputStart = start;
+        _inputLen = len;
+
+        // And then reset internal input buffers, if necessary:
+        if (_hasSegments) {
+            clearSegments();
+        }
+        _currentSize = 0;
+    }
+
     public void resetWithString(String value)
     {
         _inputBuffer = null;
@@ -156,6 +226,9 @@ public final class TextBuffer
      */
     private final char[] findBuffer(int needed)
     {
+        if (_ioContext != null) {
+            return _ioContext.allocTextBuffer(needed);
+        }
         if (_allocator != null) {
             return _allocator.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, needed);
         }
@@ -227,7 +300,8 @@ public final class TextBuffer
         }
         // Nope; but does it fit in just one segment?
         if (!_hasSegments) {
-            return _currentSegment;
+            // may not have been allocated, if value is empty
+            return (_currentSegment == null) ? NO_CHARS : _currentSegment;
         }
         // Nope, need to have/create a non-segmented array and return it
         return contentsAsArray();
@@ -277,6 +351,92 @@ public final class TextBuffer
         return _resultString;
     }
  
+    /**
+     * Method for writing contents of the buffer using given {@link Writer},
+     * without constructing an intermediate {@link String} or aggregated
+     * <code>char[]</code>.
+     *
+     * @return Number of characters written
+     *
+     * @since 2.9
+     */
+    public int contentsToWriter(Writer w) throws IOException
+    {
+        if (_resultArray != null) {
+            w.write(_resultArray);
+            return _resultArray.length;
+        }
+        if (_resultString != null) {
+            w.write(_resultString);
+            return _resultString.length();
+        }
+        if (_inputStart >= 0) { // shared copy from input buf
+            final int len = _inputLen;
+            if (len > 0) {
+                w.write(_inputBuffer, _inputStart, len);
+            }
+            return len;
+        }
+        int total = 0;
+        if (_segments != null) {
+            for (char[] curr : _segments) {
+                int currLen = curr.length;
+                w.write(curr, 0, currLen);
+                total += currLen;
+            }
+        }
+        int len = _currentSize;
+        if (len > 0) {
+            w.write(_currentSegment, 0, len);
+            total += len;
+        }
+        return total;
+    }
+
+    /**
+     * Method for copying contents of the buffer into given array, which
+     * must have room for {@link #size()} characters starting at given offset.
+     * Unlike {@link #contentsAsArray()}, does not construct a new array
+     * for segmented contents.
+     *
+     * @return Number of characters copied
+     *
+     * @since 2.9
+     */
+    public int contentsToArray(char[] dst, int offset)
+    {
+        if (_resultArray != null) {
+            System.arraycopy(_resultArray, 0, dst, offset, _resultArray.length);
+            return _resultArray.length;
+        }
+        if (_resultString != null) {
+            final int len = _resultString.length();
+            _resultString.getChars(0, len, dst, offset);
+            return len;
+        }
+        if (_inputStart >= 0) { // shared copy from input buf
+            final int len = _inputLen;
+            if (len > 0) {
+                System.arraycopy(_inputBuffer, _inputStart, dst, offset, len);
+            }
+            return len;
+        }
+        int total = 0;
+        if (_segments != null) {
+            for (char[] curr : _segments) {
+                int currLen = curr.length;
+                System.arraycopy(curr, 0, dst, offset + total, currLen);
+                total += currLen;
+            }
+        }
+        int len = _currentSize;
+        if (len > 0) {
+            System.arraycopy(_currentSegment, 0, dst, offset + total, len);
+            total += len;
+        }
+        return total;
+    }
+
     public char[] contentsAsArray()
     {
         char[] result = _resultArray;
@@ -316,26 +476,39 @@ public final class TextBuffer
     public double contentsAsDouble()
         throws NumberFormatException
     {
-        return NumberInput.parseDouble(contentsAsString());
+        return NumberInput.parseDouble(getTextBuffer(), getTextOffset(), size());
+    }
+
+    /**
+     * Convenience method for converting contents of the buffer
+     * into a Float value.
+     *
+     * @since 2.9
+     */
+    public float contentsAsFloat()
+        throws NumberFormatException
+    {
+        return NumberInput.parseFloat(getTextBuffer(), getTextOffset(), size());
     }
 
     public boolean looksLikeInt() {
-        final char[] ch = contentsAsArray();
-        final int len = ch.length;
+        // avoid building aggregated array for the common case of single segment
+        final char[] ch = getTextBuffer();
+        final int len = size();
 
         if (len == 0) {
             return false;
         }
-        
-        int i = 0;
-        char c = ch[0];
+        int i = getTextOffset();
+        final int end = i + len;
+        char c = ch[i];
         if (c == '-' || c == '+') {
             if (len == 1) {
                 return false;
             }
             ++i;
         }
-        for (; i < len; ++i) {
+        for (; i < end; ++i) {
             c = ch[i];
             if (c > '9' || c < '0') {
                 return false;
@@ -344,6 +517,36 @@ public final class TextBuffer
         return true;
     }
 
+    /**
+     * Helper method for checking whether contents of this buffer are
+     * equal to given String; done without constructing a String from
+     * contents (unless one has already been constructed).
+     *
+     * @since 2.9
+     */
+    public boolean contentsEqual(String str)
+    {
+        if (_resultString != null) {
+            return _resultString.equals(str);
+        }
+        final int len = str.length();
+        if (size() != len) {
+            return false;
+        }
+        if (_hasSegments) { // rare, not worth optimizing
+            return contentsAsString().equals(str);
+        }
+        final char[] buf = (_inputStart >= 0) ? _inputBuffer
+                : ((_resultArray != null) ? _resultArray : _currentSegment);
+        final int offset = getTextOffset();
+        for (int i = 0; i < len; ++i) {
+            if (buf[offset+i] != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /*
     /**********************************************************
     /* Public mutators:
@@ -417,26 +620,44 @@ public final class TextBuffer
      * @param trimTrailingSpaces Whether trailing spaces should be trimmed or not
      */
     public String finishAndReturn(int lastSegmentEnd, boolean trimTrailingSpaces)
+    {
+        finish(lastSegmentEnd, trimTrailingSpaces);
+        return contentsAsString();
+    }
+
+    /**
+     * Method similar to {@link #finishAndReturn}, but one that does not
+     * construct a {@link String} out of contents; String (or char array)
+     * may be constructed later on as needed.
+     *
+     * @param lastSegmentEnd End offset in the currently active segment,
+     *    could be 0 in the case of first character is
+     *    delimiter or end-of-line
+     * @param trimTrailingSpaces Whether trailing spaces should be trimmed or not
+     *
+     * @since 2.9
+     */
+    public void finish(int lastSegmentEnd, boolean trimTrailingSpaces)
     {
         if (trimTrailingSpaces) {
             // First, see if it's enough to trim end of current segment:
             int ptr = lastSegmentEnd - 1;
             if (ptr < 0 || _currentSegment[ptr] <= 0x0020) {
-                return _doTrim(ptr);
+                _doTrim(ptr+1);
+                return;
             }
         }
         _currentSize = lastSegmentEnd;
-        return contentsAsString();
     }
 
-    private String _doTrim(int ptr)
+    private void _doTrim(int ptr)
     {
         while (true) {
             final char[] curr = _currentSegment;
             while (--ptr >= 0) {
                 if (curr[ptr] > 0x0020) { // found the ending non-space char, all done:
                     _currentSize = ptr+1;
-                    return contentsAsString();
+                    return;
                 }
             }
             // nope: need to handle previous segment; if there is one:
@@ -445,22 +666,55 @@ public final class TextBuffer
             }
             _currentSegment = _segments.removeLast();
             ptr = _currentSegment.length;
+            _segmentSize -= ptr;
+            _hasSegments = !_segments.isEmpty();
         }
         // we get here if everything was trimmed, so:
         _currentSize = 0;
         _hasSegments = false;
-        return contentsAsString();
     }
-    
-    /*
-    public void finish(int lastSegmentEnd, boolean trimTrailingSpaces)
+
+    /**
+     * Method that will remove leading and trailing white space (characters
+     * at or below 0x0020) from contents of the buffer, if any.
+     *
+     * @since 2.9
+     */
+    public void trim()
     {
-        _currentSize = lastSegmentEnd;
-        if (trimTrailingSpaces) {
-            // !!! TODO
+        final int len = size();
+        if (len == 0) {
+            return;
+        }
+        final char[] buf = getTextBuffer();
+        final int start = getTextOffset();
+        int first = start;
+        int last = start + len - 1;
+        if (buf[first] > 0x0020 && buf[last] > 0x0020) { // common case, nothing to trim
+            return;
+        }
+        while (first <= last && buf[first] <= 0x0020) {
+            ++first;
+        }
+        while (last > first && buf[last] <= 0x0020) {
+            --last;
+        }
+        final int newLen = last - first + 1;
+        if (_inputStart >= 0) { // shared buffer: just adjust bounds
+            _inputStart = first;
+            _inputLen = newLen;
+            _resultString = null;
+            return;
+        }
+        if (_resultString != null || _resultArray != null || _hasSegments) {
+            resetWithString(new String(buf, first, newLen));
+            return;
+        }
+        if (first > 0) {
+            System.arraycopy(buf, first, buf, 0, newLen);
         }
+        _currentSize = newLen;
     }
-    */
     
     public char[] finishCurrentSegment()
     {
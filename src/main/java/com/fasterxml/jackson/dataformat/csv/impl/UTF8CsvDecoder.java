@@ -0,0 +1,1091 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.*;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Variant of {@link CsvDecoder} that reads UTF-8 encoded content directly
+ * from a byte buffer, instead of first decoding all content into characters
+ * using a {@link UTF8Reader}. Separators, quotes, escapes and linefeeds are
+ * located by scanning the raw bytes, and only bytes that are included in
+ * values are decoded.
+ *<p>
+ * Location information (offsets, columns) is byte-based for content
+ * read using this decoder.
+ *
+ * @since 2.9
+ */
+public class UTF8CsvDecoder extends CsvDecoder
+{
+    /*
+    /**********************************************************************
+    /* Input handling, configuration, state
+    /**********************************************************************
+     */
+
+    /**
+     * Input stream that can be used for reading more content, if one
+     * in use. May be null, if input comes just as a full buffer,
+     * or if the stream has been closed.
+     */
+    protected InputStream _inputStream;
+
+    /**
+     * Current buffer from which data is read; generally data is read into
+     * buffer from input source, but in some cases pre-loaded buffer
+     * is handed to the parser.
+     */
+    protected byte[] _inputBytes;
+
+    /**
+     * Flag set once end of input has been reached (or input closed);
+     * equivalent of <code>_inputSource</code> being null for
+     * {@link Reader}-backed decoder.
+     */
+    protected boolean _endOfInput;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public UTF8CsvDecoder(CsvParser owner, IOContext ctxt, InputStream in,
+            byte[] inputBuffer, int start, int end, boolean bufferRecyclable,
+            CsvSchema schema, TextBuffer textBuffer,
+            int stdFeatures, int csvFeatures)
+    {
+        super(owner, ctxt, null, null, schema, textBuffer, stdFeatures, csvFeatures);
+        _inputStream = in;
+        _inputBytes = inputBuffer;
+        _inputPtr = start;
+        _inputEnd = end;
+        _bufferRecyclable = bufferRecyclable;
+        // Need to offset this for correct location info
+        _currInputProcessed = -start;
+        _currInputRowStart = start;
+    }
+
+    /**
+     * Method for resetting decoder to read UTF-8 encoded content from given
+     * {@link InputStream}, with the same configuration; current input (if any)
+     * is closed first. Possible UTF-8 BOM at the beginning of content is skipped.
+     *
+     * @since 2.9
+     */
+    public void reset(InputStream in) throws IOException
+    {
+        close();
+        _inputStream = in;
+        _inputBytes = _ioContext.allocReadIOBuffer();
+        _bufferRecyclable = true;
+        _resetInput(0, 0);
+        _loadToHaveAtLeast(3);
+        _skipUTF8BOM();
+    }
+
+    /**
+     * Method for resetting decoder to read UTF-8 encoded content from given
+     * byte array, with the same configuration; current input (if any)
+     * is closed first. Possible UTF-8 BOM at the beginning of content is skipped.
+     *
+     * @since 2.9
+     */
+    public void reset(byte[] data, int offset, int len) throws IOException
+    {
+        close();
+        _inputStream = null;
+        _inputBytes = data;
+        _bufferRecyclable = false;
+        _resetInput(offset, offset+len);
+        _skipUTF8BOM();
+    }
+
+    @Override
+    public void reset(Reader r) throws IOException {
+        throw new IllegalStateException("Can not reset decoder of UTF-8 encoded bytes to read from a Reader");
+    }
+
+    @Override
+    protected void _resetInput(int start, int end)
+    {
+        super._resetInput(start, end);
+        _endOfInput = false;
+    }
+
+    /**
+     * Method that may be called before any content has been decoded, to skip
+     * possible UTF-8 BOM at the beginning of input. Unlike with
+     * {@link #reset(InputStream)}, byte offsets of locations still include
+     * the BOM.
+     *
+     * @since 2.9
+     */
+    public void skipUTF8BOM() throws IOException
+    {
+        if ((_inputEnd - _inputPtr) < 3) {
+            _loadToHaveAtLeast(3);
+        }
+        final int ptr = _inputPtr;
+        if (((_inputEnd - ptr) >= 3) && (_inputBytes[ptr] == (byte) 0xEF)
+                && (_inputBytes[ptr+1] == (byte) 0xBB)
+                && (_inputBytes[ptr+2] == (byte) 0xBF)) {
+            _inputPtr = _currInputRowStart = ptr+3;
+        }
+    }
+
+    private void _skipUTF8BOM()
+    {
+        final int ptr = _inputPtr;
+        if (((_inputEnd - ptr) >= 3) && (_inputBytes[ptr] == (byte) 0xEF)
+                && (_inputBytes[ptr+1] == (byte) 0xBB)
+                && (_inputBytes[ptr+2] == (byte) 0xBF)) {
+            _inputPtr = _currInputRowStart = ptr+3;
+            _currInputProcessed -= 3;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* JsonParser implementations passed-through by CsvParser
+    /**********************************************************************
+     */
+
+    @Override
+    public Object getInputSource() {
+        return _inputStream;
+    }
+
+    @Override
+    public int releaseBuffered(Writer out) throws IOException {
+        // not char-based, can not release
+        return -1;
+    }
+
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException
+    {
+        int count = _inputEnd - _inputPtr;
+        if (count < 1) {
+            return 0;
+        }
+        out.write(_inputBytes, _inputPtr, count);
+        return count;
+    }
+
+    @Override
+    public JsonLocation getTokenLocation()
+    {
+        return new JsonLocation(_ioContext.getSourceReference(),
+                getTokenCharacterOffset(), -1L,
+                getTokenLineNr(), getTokenColumnNr());
+    }
+
+    @Override
+    public JsonLocation getCurrentLocation()
+    {
+        int ptr = _inputPtr;
+        // One twist: when dealing with a "pending LF", need to
+        // go back one position when calculating location
+        if (_pendingLF > 1) { // 1 is used as marker for end-of-input
+            --ptr;
+        }
+        int col = ptr - _currInputRowStart + 1; // 1-based
+        return new JsonLocation(_ioContext.getSourceReference(),
+                _currInputProcessed + ptr - 1, -1L, _currInputRow, col);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods, input handling
+    /**********************************************************************
+     */
+
+    @Override
+    protected void releaseBuffers() throws IOException
+    {
+        // release our buffer first, as super-class may release recycler as well
+        if (_bufferRecyclable) {
+            byte[] buf = _inputBytes;
+            if (buf != null) {
+                _inputBytes = null;
+                _ioContext.releaseReadIOBuffer(buf);
+            }
+        }
+        super.releaseBuffers();
+    }
+
+    @Override
+    protected void _closeInput() throws IOException
+    {
+        _pendingLF = 1; // just to ensure we'll also check _closed flag later on
+        _endOfInput = true;
+        if (_inputStream != null) {
+            if (_autoCloseInput || _ioContext.isResourceManaged()) {
+                _inputStream.close();
+            }
+            _inputStream = null;
+        }
+    }
+
+    @Override
+    protected boolean loadMore() throws IOException
+    {
+        _currInputProcessed += _inputEnd;
+        _currInputRowStart -= _inputEnd;
+
+        if (_inputStream != null) {
+            int count = _inputStream.read(_inputBytes, 0, _inputBytes.length);
+            if (count > 0) {
+                _inputPtr = 0;
+                _inputEnd = count;
+                return true;
+            }
+            _inputPtr = _inputEnd = 0;
+            // End of input; close here -- but note, do NOT yet call releaseBuffers()
+            // as there may be buffered input to handle
+            _closeInput();
+            // Should never return 0, so let's fail
+            if (count == 0) {
+                throw new IOException("InputStream.read() returned 0 characters when trying to read "+_inputBytes.length+" bytes");
+            }
+            return false;
+        }
+        _inputPtr = _inputEnd = 0;
+        // Either all content was given as a single buffer, or stream already exhausted
+        if (!_endOfInput) {
+            _closeInput();
+        }
+        return false;
+    }
+
+    /**
+     * Helper method that will try to ensure that at least given number of bytes
+     * are available in the input buffer, without discarding content not yet
+     * processed. Needed to check for multi-byte quote characters.
+     */
+    protected boolean _loadToHaveAtLeast(int minAvailable) throws IOException
+    {
+        // Need a stream, and a buffer we own to be able to compact contents
+        if (_inputStream == null || !_bufferRecyclable) {
+            return false;
+        }
+        int amount = _inputEnd - _inputPtr;
+        if (amount > 0 && _inputPtr > 0) {
+            System.arraycopy(_inputBytes, _inputPtr, _inputBytes, 0, amount);
+        }
+        _currInputProcessed += _inputPtr;
+        _currInputRowStart -= _inputPtr;
+        _inputPtr = 0;
+        _inputEnd = amount;
+        while (_inputEnd < minAvailable) {
+            int count = _inputStream.read(_inputBytes, _inputEnd, _inputBytes.length - _inputEnd);
+            if (count < 1) {
+                // End of input; only close the stream, rest of EOF handling
+                // occurs when buffered content has been processed
+                if (_autoCloseInput || _ioContext.isResourceManaged()) {
+                    _inputStream.close();
+                }
+                _inputStream = null;
+                if (count == 0) {
+                    throw new IOException("InputStream.read() returned 0 characters when trying to read "+amount+" bytes");
+                }
+                return false;
+            }
+            _inputEnd += count;
+        }
+        return true;
+    }
+
+    /*
+    /**********************************************************************
+    /* Actual parsing, access methods
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean startNewLine() throws IOException
+    {
+        // first: if pending LF, skip it
+        if (_pendingLF != 0) {
+            if (_endOfInput) {
+                return false;
+            }
+            _handleLF();
+        }
+        if ((_inputPtr >= _inputEnd) && !loadMore()) {
+            return false;
+        }
+        if (_allowComments && _inputBytes[_inputPtr] == '#') {
+            int i = _skipCommentLines();
+            // end-of-input?
+            if (i < 0) {
+                return false;
+            }
+            // otherwise push last read byte back
+            --_inputPtr;
+        }
+        return true;
+    }
+
+    @Override
+    public void skipLeadingComments() throws IOException
+    {
+        if (_allowComments) {
+            if ((_inputPtr < _inputEnd) || loadMore()) {
+                if (_inputBytes[_inputPtr] == '#') {
+                    // push last read character back, unless at end-of-input
+                    if (_skipCommentLines() >= 0) {
+                        --_inputPtr;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    protected int _skipCommentLines() throws IOException
+    {
+        while ((_inputPtr < _inputEnd) || loadMore()) {
+            // note: no need to decode, multi-byte sequences never contain linefeeds
+            int ch = _inputBytes[_inputPtr++];
+            if (ch != '\r' && ch != '\n') {
+                continue;
+            }
+            _pendingLF = ch;
+            _handleLF();
+
+            // Ok, skipped the end of the line. Check next one...
+            int i = _nextChar();
+            if (i != '#') {
+                return i;
+            }
+        }
+        return -1; // end of input
+    }
+
+    @Override
+    public boolean skipLine() throws IOException
+    {
+        if (_pendingLF != 0) {
+            if (_endOfInput) {
+                return false;
+            }
+            _handleLF();
+        }
+        while (_inputPtr < _inputEnd || loadMore()) {
+            int c = _inputBytes[_inputPtr++];
+            if (c == '\r' || c == '\n') {
+                // important: handle trailing linefeed now, so caller need not bother
+                _pendingLF = c;
+                _handleLF();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean nextValue() throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (!_endOfInput) { // if closed, we just need to return false
+                _handleLF();
+            }
+            return false; // end of line without new value
+        }
+        int i;
+
+        if (_trimSpaces) {
+            i = _skipLeadingSpace();
+        } else {
+            i = _nextChar();
+        }
+        // First, need to ensure we know the starting location of token
+        _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+        _tokenInputRow = _currInputRow;
+        _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+
+        if (i < 0) { // EOF at this point signifies empty value
+            _textBuffer.resetWithEmpty();
+            return true;
+        }
+        if (i == '\r' || i == '\n') { // end-of-line means end of record; but also need to handle LF later on
+            _pendingLF = i;
+            _textBuffer.resetWithEmpty();
+            return true;
+        }
+        if (i >= 0x80) { // only now need to decode multi-byte character
+            i = _decodeUTF8(i);
+        }
+        // two modes: quoted, unquoted
+        if (i == _quoteChar) { // offline quoted case (longer)
+            _nextQuotedString();
+            return true;
+        }
+        if (i == _separatorChar) {
+            _textBuffer.resetWithEmpty();
+            return true;
+        }
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+
+        if (i == _escapeChar) {
+            i = _unescapeUTF8();
+            if (i > 0xFFFF) { // segment always has room for a surrogate pair at this point
+                i -= 0x10000;
+                outBuf[outPtr++] = (char) (0xD800 | (i >> 10));
+                i = 0xDC00 | (i & 0x3FF);
+            }
+            outBuf[outPtr++] = (char) i;
+            _nextUnquotedString(outBuf, outPtr);
+            return true;
+        }
+        if (i > 0xFFFF) {
+            i -= 0x10000;
+            outBuf[outPtr++] = (char) (0xD800 | (i >> 10));
+            i = 0xDC00 | (i & 0x3FF);
+        }
+        outBuf[outPtr++] = (char) i;
+
+        int ptr = _inputPtr;
+        if (ptr >= _inputEnd) {
+            if (!loadMore()) { // ok to have end-of-input but...
+                _textBuffer.finish(outPtr, _trimSpaces);
+                return true;
+            }
+            ptr = _inputPtr;
+        }
+        final int end;
+        {
+            int max = Math.min(_inputEnd - ptr, outBuf.length - outPtr);
+            end = ptr + max;
+        }
+
+        // handle unquoted ASCII case locally if it can be handled without
+        // crossing buffer boundary...
+        final byte[] inputBuffer = _inputBytes;
+
+        while (ptr < end) {
+            // copy run of plain ASCII characters
+            int stop = SpecialCharScanner.find(inputBuffer, ptr, end, _separatorChar, _escapeChar);
+            while (ptr < stop) {
+                outBuf[outPtr++] = (char) inputBuffer[ptr++];
+            }
+            if (ptr >= end) {
+                break;
+            }
+            int c = inputBuffer[ptr++];
+            if (c <= _maxSpecialChar) {
+                if (c == _separatorChar) { // end of value, yay!
+                    _inputPtr = ptr;
+                    _textBuffer.finish(outPtr, _trimSpaces);
+                    return true;
+                }
+                if (c == '\r' || c == '\n') {
+                    _pendingLF = c;
+                    _inputPtr = ptr;
+                    _textBuffer.finish(outPtr, _trimSpaces);
+                    return true;
+                }
+                // non-ASCII (negative) or escape: handle offline
+                if (c < 0 || c == _escapeChar) {
+                    --ptr;
+                    break;
+                }
+            }
+            outBuf[outPtr++] = (char) c;
+        }
+        // ok, either input or output across buffer boundary, offline
+        _inputPtr = ptr;
+        _nextUnquotedString(outBuf, outPtr);
+        return true;
+    }
+
+    @Override
+    public boolean skipValue() throws IOException
+    {
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (!_endOfInput) { // if closed, we just need to return false
+                _handleLF();
+            }
+            return false; // end of line without new value
+        }
+        int i = _trimSpaces ? _skipLeadingSpace() : _nextChar();
+        if (i < 0) { // EOF at this point signifies empty value
+            return true;
+        }
+        if (i == '\r' || i == '\n') {
+            _pendingLF = i;
+            return true;
+        }
+        if (i >= 0x80) {
+            i = _decodeUTF8(i);
+        }
+        if (i == _quoteChar) {
+            _skipQuotedValue();
+        } else if (i != _separatorChar) {
+            if (i == _escapeChar) {
+                _unescapeUTF8();
+            }
+            _skipUnquotedValue();
+        }
+        return true;
+    }
+
+    /*
+    /**********************************************************************
+    /* Actual parsing, private helper methods
+    /**********************************************************************
+     */
+
+    @Override
+    protected void _nextUnquotedString(char[] outBuf, int outPtr) throws IOException
+    {
+        int c;
+        final byte[] inputBuffer = _inputBytes;
+
+        main_loop:
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) { // ok to have end-of-input, are done
+                    break main_loop;
+                }
+                ptr = _inputPtr;
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            while (ptr < max) {
+                // copy run of plain ASCII characters
+                int i = SpecialCharScanner.find(inputBuffer, ptr, max, _separatorChar, _escapeChar);
+                while (ptr < i) {
+                    outBuf[outPtr++] = (char) inputBuffer[ptr++];
+                }
+                if (ptr >= max) {
+                    break;
+                }
+                c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c == _separatorChar) { // end of value, yay!
+                        _inputPtr = ptr;
+                        break main_loop;
+                    }
+                    if (c == '\r' || c == '\n') { // end of line is end of value as well
+                        _inputPtr = ptr;
+                        _pendingLF = c;
+                        break main_loop;
+                    }
+                    if (c < 0) { // multi-byte character; may cross input boundary
+                        _inputPtr = ptr;
+                        c = _decodeUTF8(c);
+                        if (c == _separatorChar) { // non-ASCII separator
+                            break main_loop;
+                        }
+                        if (c == _escapeChar) {
+                            c = _unescapeUTF8();
+                        }
+                    } else if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        c = _unescapeUTF8();
+                    } else {
+                        outBuf[outPtr++] = (char) c;
+                        continue;
+                    }
+                    if (c > 0xFFFF) { // need surrogate pair
+                        c -= 0x10000;
+                        outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                        if (outPtr >= outBuf.length) {
+                            outBuf = _textBuffer.finishCurrentSegment();
+                            outPtr = 0;
+                        }
+                        c = 0xDC00 | (c & 0x3FF);
+                    }
+                    outBuf[outPtr++] = (char) c;
+                    // May have passed input boundary, need to re-set
+                    continue main_loop;
+                }
+                outBuf[outPtr++] = (char) c;
+            }
+            _inputPtr = ptr;
+        }
+        _textBuffer.finish(outPtr, _trimSpaces);
+    }
+
+    @Override
+    protected void _nextQuotedString() throws IOException
+    {
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+
+        final byte[] inputBuffer = _inputBytes;
+        boolean checkLF = false; // marker for split CR+LF
+
+        main_loop:
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportParsingError("Missing closing quote for value"); // should indicate start position?
+                }
+                ptr = _inputPtr;
+                if (checkLF && inputBuffer[ptr] == '\n') {
+                    // undo earlier advancement, to keep line number correct
+                    --_currInputRow;
+                }
+            }
+            checkLF = false;
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+
+            while (ptr < max) {
+                // copy run of plain ASCII characters
+                int i = SpecialCharScanner.find(inputBuffer, ptr, max, _quoteChar, _escapeChar);
+                while (ptr < i) {
+                    outBuf[outPtr++] = (char) inputBuffer[ptr++];
+                }
+                if (ptr >= max) {
+                    break;
+                }
+                int c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c == _quoteChar) {
+                        _inputPtr = ptr;
+                        if (_matchQuote()) { // doubled up, append
+                            // note: should have enough room, is safe
+                            outBuf[outPtr++] = (char) _quoteChar;
+                            continue main_loop;
+                        }
+                        break main_loop;
+                    }
+                    // Embedded linefeeds are fine
+                    if (c == '\r') {
+                        if (ptr >= _inputEnd) {
+                            checkLF = true; // will need to be checked in beginning of next loop
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                        } else if (inputBuffer[ptr] != '\n') {
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                        }
+                    } else if (c == '\n') {
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                    } else if (c < 0) { // multi-byte character; may cross input boundary
+                        _inputPtr = ptr;
+                        c = _decodeUTF8(c);
+                        if (c == _quoteChar) { // non-ASCII quote
+                            if (_matchQuote()) {
+                                outBuf[outPtr++] = (char) c;
+                                continue main_loop;
+                            }
+                            break main_loop;
+                        }
+                        if (c == _escapeChar) {
+                            c = _unescapeUTF8();
+                        }
+                        if (c > 0xFFFF) { // need surrogate pair
+                            c -= 0x10000;
+                            outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                            if (outPtr >= outBuf.length) {
+                                outBuf = _textBuffer.finishCurrentSegment();
+                                outPtr = 0;
+                            }
+                            c = 0xDC00 | (c & 0x3FF);
+                        }
+                        outBuf[outPtr++] = (char) c;
+                        continue main_loop;
+                    } else if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        c = _unescapeUTF8();
+                        if (c > 0xFFFF) {
+                            c -= 0x10000;
+                            outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                            if (outPtr >= outBuf.length) {
+                                outBuf = _textBuffer.finishCurrentSegment();
+                                outPtr = 0;
+                            }
+                            c = 0xDC00 | (c & 0x3FF);
+                        }
+                        outBuf[outPtr++] = (char) c;
+                        // May have passed input boundary, need to re-set
+                        continue main_loop;
+                    }
+                }
+                outBuf[outPtr++] = (char) c;
+            }
+            _inputPtr = ptr;
+        }
+        // note: do NOT trim from within quoted Strings
+        _textBuffer.finish(outPtr, false);
+        _skipTrailingSpaceAndSeparator();
+    }
+
+    @Override
+    protected void _skipTrailingSpaceAndSeparator() throws IOException
+    {
+        while (_inputPtr < _inputEnd || loadMore()) { // end-of-input is fine
+            int ch = _inputBytes[_inputPtr++];
+            if (ch == _separatorChar) { // common case, separator between columns
+                break;
+            }
+            if (ch < 0) {
+                ch = _decodeUTF8(ch);
+                if (ch == _separatorChar) {
+                    break;
+                }
+            } else if (ch <= ' ') { // extra space, fine as well
+                if (ch == '\r' || ch == '\n') { // but end-of-line can't be yet skipped
+                    _pendingLF = ch;
+                    break;
+                }
+                continue;
+            }
+            _owner._reportUnexpectedCsvChar(ch, String.format(
+                    "Expected separator (%s) or end-of-line", _getCharDesc(_quoteChar)));
+        }
+    }
+
+    @Override
+    protected void _skipUnquotedValue() throws IOException
+    {
+        final byte[] inputBuffer = _inputBytes;
+        // Bytes of multi-byte characters can never match ASCII separator or escape,
+        // so need not be decoded unless either one is non-ASCII
+        final boolean decode = (_separatorChar >= 0x80) || (_escapeChar >= 0x80);
+
+        main_loop:
+        while ((_inputPtr < _inputEnd) || loadMore()) {
+            int ptr = _inputPtr;
+            final int end = _inputEnd;
+            while (ptr < end) {
+                int c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c == _separatorChar) { // end of value
+                        _inputPtr = ptr;
+                        return;
+                    }
+                    if (c == '\r' || c == '\n') { // end of line is end of value as well
+                        _inputPtr = ptr;
+                        _pendingLF = c;
+                        return;
+                    }
+                    if (c < 0) {
+                        if (!decode) {
+                            continue;
+                        }
+                        _inputPtr = ptr;
+                        c = _decodeUTF8(c);
+                        if (c == _separatorChar) { // non-ASCII separator
+                            return;
+                        }
+                        if (c == _escapeChar) {
+                            _unescapeUTF8();
+                        }
+                        // May have passed input boundary, need to re-set
+                        continue main_loop;
+                    }
+                    if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        _unescapeUTF8();
+                        continue main_loop;
+                    }
+                }
+            }
+            _inputPtr = ptr;
+        }
+    }
+
+    @Override
+    protected void _skipQuotedValue() throws IOException
+    {
+        final byte[] inputBuffer = _inputBytes;
+        final boolean decode = (_quoteChar >= 0x80) || (_escapeChar >= 0x80);
+        boolean afterCR = false; // to avoid double-counting CR+LF
+
+        main_loop:
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportParsingError("Missing closing quote for value");
+                }
+            }
+            int ptr = _inputPtr;
+            final int end = _inputEnd;
+            while (ptr < end) {
+                int c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c < 0) {
+                        afterCR = false;
+                        if (!decode) {
+                            continue;
+                        }
+                        _inputPtr = ptr;
+                        c = _decodeUTF8(c);
+                        if (c == _quoteChar) { // non-ASCII quote
+                            if (_matchQuote()) {
+                                continue main_loop;
+                            }
+                            break main_loop;
+                        }
+                        if (c == _escapeChar) {
+                            _unescapeUTF8();
+                        }
+                        continue main_loop;
+                    }
+                    if (c == _quoteChar) {
+                        _inputPtr = ptr;
+                        if (_matchQuote()) { // doubled up, part of value
+                            afterCR = false;
+                            continue main_loop;
+                        }
+                        break main_loop;
+                    }
+                    if (c == '\r') {
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                        afterCR = true;
+                        continue;
+                    }
+                    if (c == '\n') {
+                        if (!afterCR) {
+                            ++_currInputRow;
+                        }
+                        _currInputRowStart = ptr;
+                    } else if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        _unescapeUTF8();
+                        afterCR = false;
+                        continue main_loop;
+                    }
+                }
+                afterCR = false;
+            }
+            _inputPtr = ptr;
+        }
+        _skipTrailingSpaceAndSeparator();
+    }
+
+    /**
+     * Helper method called after encountering a quote character within
+     * quoted value, to see if it is followed by another quote character
+     * (which is then skipped).
+     */
+    protected boolean _matchQuote() throws IOException
+    {
+        final int q = _quoteChar;
+        if (q < 0x80) {
+            if (_inputPtr < _inputEnd || loadMore()) {
+                if (_inputBytes[_inputPtr] == q) {
+                    ++_inputPtr;
+                    return true;
+                }
+            }
+            return false;
+        }
+        // Multi-byte quote char, need to compare all bytes without consuming
+        final int len = (q < 0x800) ? 2 : 3;
+        if ((_inputEnd - _inputPtr) < len) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    return false;
+                }
+            }
+            if ((_inputEnd - _inputPtr) < len) {
+                if (!_loadToHaveAtLeast(len)) {
+                    return false;
+                }
+            }
+        }
+        final byte[] buf = _inputBytes;
+        final int ptr = _inputPtr;
+        if (len == 2) {
+            if (buf[ptr] != (byte) (0xC0 | (q >> 6))
+                    || buf[ptr+1] != (byte) (0x80 | (q & 0x3F))) {
+                return false;
+            }
+        } else {
+            if (buf[ptr] != (byte) (0xE0 | (q >> 12))
+                    || buf[ptr+1] != (byte) (0x80 | ((q >> 6) & 0x3F))
+                    || buf[ptr+2] != (byte) (0x80 | (q & 0x3F))) {
+                return false;
+            }
+        }
+        _inputPtr += len;
+        return true;
+    }
+
+    @Override
+    protected void _handleLF() throws IOException
+    {
+        // already skipped past first part; but may get \r\n so skip the other char too?
+        if (_pendingLF == '\r') {
+            if (_inputPtr < _inputEnd || loadMore()) {
+                if (_inputBytes[_inputPtr] == '\n') {
+                    ++_inputPtr;
+                }
+            }
+        }
+        _pendingLF = 0;
+        ++_currInputRow;
+        _currInputRowStart = _inputPtr;
+    }
+
+    @Override
+    protected char _unescape() throws IOException {
+        // Only used by Reader-backed decoder; can not express surrogate pairs
+        return (char) _unescapeUTF8();
+    }
+
+    /**
+     * Method for decoding escaped character, which may be a multi-byte one:
+     * returns full Unicode code point.
+     */
+    protected int _unescapeUTF8() throws IOException
+    {
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                _reportError("Unexpected EOF in escaped character");
+            }
+        }
+        // Some characters are more special than others, so:
+        int c = _inputBytes[_inputPtr++];
+        switch (c) {
+        case '0':
+            return '\0';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        }
+        if (c < 0) {
+            return _decodeUTF8(c);
+        }
+        // others, return as is...
+        return c;
+    }
+
+    /**
+     * Note: returns next byte as-is, without decoding multi-byte characters;
+     * callers need to call {@link #_decodeUTF8} for values of 0x80 and above.
+     */
+    @Override
+    protected int _nextChar() throws IOException
+    {
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                return -1;
+            }
+        }
+        return _inputBytes[_inputPtr++] & 0xFF;
+    }
+
+    /**
+     * Note: as with {@link #_nextChar}, returns the first byte of a
+     * multi-byte character.
+     */
+    @Override
+    protected int _skipLeadingSpace() throws IOException
+    {
+        final int sep = _separatorChar;
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    return -1;
+                }
+            }
+            int ch = _inputBytes[_inputPtr++] & 0xFF;
+            if ((ch > ' ') || (ch == sep)) {
+                return ch;
+            }
+            switch (ch) {
+            case '\r':
+            case '\n':
+                return ch;
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* UTF-8 decoding
+    /**********************************************************************
+     */
+
+    /**
+     * Method called to decode a multi-byte UTF-8 character, first byte
+     * of which has been read (and is passed as argument).
+     *
+     * @return Unicode code point of the character; may be above 0xFFFF
+     *   in which case caller needs to output a surrogate pair
+     */
+    protected int _decodeUTF8(int c) throws IOException
+    {
+        c &= 0xFF;
+        int needed;
+        if ((c & 0xE0) == 0xC0) { // 2 bytes (0x0080 - 0x07FF), from 110xxxxx
+            c = (c & 0x1F);
+            needed = 1;
+        } else if ((c & 0xF0) == 0xE0) { // 3 bytes (0x0800 - 0xFFFF), from 1110xxxx
+            c = (c & 0x0F);
+            needed = 2;
+        } else if ((c & 0xF8) == 0xF0) { // 4 bytes from 11110xxx (double-char w/ surrogates and all)
+            c = (c & 0x07);
+            needed = 3;
+        } else {
+            _reportInvalidInitial(c);
+            return -1; // never gets here
+        }
+        for (int i = 0; i < needed; ++i) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    _reportUnexpectedEOF(i+1, needed+1);
+                }
+            }
+            int d = _inputBytes[_inputPtr++];
+            if ((d & 0xC0) != 0x080) {
+                _reportInvalidOther(d & 0xFF);
+            }
+            c = (c << 6) | (d & 0x3F);
+        }
+        return c;
+    }
+
+    protected void _reportInvalidInitial(int mask) throws IOException
+    {
+        // input (byte) ptr has been advanced by one, by now:
+        long bytePos = _currInputProcessed + _inputPtr - 1;
+        throw new CharConversionException(String.format(
+                "Invalid UTF-8 start byte 0x%s (at byte #%d, line #%d): check content encoding, does not look like UTF-8",
+                Integer.toHexString(mask), bytePos, _currInputRow));
+    }
+
+    protected void _reportInvalidOther(int mask) throws IOException
+    {
+        long bytePos = _currInputProcessed + _inputPtr - 1;
+        throw new CharConversionException(String.format(
+                "Invalid UTF-8 middle byte 0x%s (at byte #%d, line #%d): check content encoding, does not look like UTF-8",
+                Integer.toHexString(mask), bytePos, _currInputRow));
+    }
+
+    protected void _reportUnexpectedEOF(int gotBytes, int needed) throws IOException
+    {
+        throw new CharConversionException(String.format(
+                "Unexpected EOF in the middle of a multi-byte UTF-8 character: got %d, needed %d, at byte #%d)",
+                gotBytes, needed, _currInputProcessed + _inputPtr));
+    }
+}
@@ -0,0 +1,617 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Variant of {@link CsvEncoder} that writes UTF-8 encoded content directly
+ * into a byte buffer, and from there to an {@link OutputStream}, instead of
+ * buffering chars to be encoded by a {@link java.io.Writer}.
+ * Separators, quotes, line separators and numbers are output as bytes
+ * as is; and only non-ASCII characters of textual values need encoding.
+ *
+ * @since 2.9
+ */
+public class UTF8CsvEncoder extends CsvEncoder
+{
+    final private static Charset UTF8 = Charset.forName("UTF-8");
+
+    final private static int SURR1_FIRST = 0xD800;
+    final private static int SURR1_LAST = 0xDBFF;
+    final private static int SURR2_FIRST = 0xDC00;
+    final private static int SURR2_LAST = 0xDFFF;
+
+    /**
+     * Number of bytes needed to output a single char in the worst case:
+     * non-ASCII char that is doubled (quote or escape char).
+     */
+    final private static int MAX_BYTES_PER_CHAR = 6;
+
+    /**
+     * Underlying {@link OutputStream} used for output.
+     */
+    protected OutputStream _outputStream;
+
+    /**
+     * Intermediate buffer in which encoded contents are buffered before
+     * being written using {@link #_outputStream}; {@link #_outputTail}
+     * and {@link #_outputEnd} refer to this buffer.
+     */
+    protected byte[] _outputBytes;
+
+    final protected byte[] _cfgLineSeparatorBytes;
+
+    /**
+     * When outputting chars from BMP, surrogate pairs need to be coalesced.
+     * Since it is possible pairs are split across raw writes, need
+     * temporary storage for the first half.
+     */
+    protected int _surrogate;
+
+    /**
+     * Scratch buffer for formatting floating-point values, which
+     * {@link NumberOutput} only writes as chars; allocated when needed.
+     */
+    protected char[] _numberBuffer;
+
+    /*
+    /**********************************************************
+    /* Construction, (re)configuration
+    /**********************************************************
+     */
+
+    public UTF8CsvEncoder(IOContext ctxt, int csvFeatures, OutputStream out, CsvSchema schema)
+    {
+        super(ctxt, csvFeatures, null, null, schema);
+        _outputStream = out;
+        _outputBytes = ctxt.allocWriteEncodingBuffer();
+        _outputEnd = _outputBytes.length;
+        _cfgLineSeparatorBytes = _utf8(_cfgLineSeparator);
+    }
+
+    public UTF8CsvEncoder(UTF8CsvEncoder base, CsvSchema newSchema)
+    {
+        super(base, newSchema);
+        _outputStream = base._outputStream;
+        _outputBytes = base._outputBytes;
+        _cfgLineSeparatorBytes = _utf8(_cfgLineSeparator);
+    }
+
+    private static byte[] _utf8(char[] ch) {
+        return (ch == null) ? new byte[0] : new String(ch).getBytes(UTF8);
+    }
+
+    @Override
+    public CsvEncoder withSchema(CsvSchema schema) {
+        return new UTF8CsvEncoder(this, schema);
+    }
+
+    /**
+     * Method for resetting encoder to write UTF-8 encoded content to given
+     * {@link OutputStream}, with the same configuration, after previous
+     * output has been closed.
+     *
+     * @since 2.9
+     */
+    public void reset(OutputStream out)
+    {
+        _outputStream = out;
+        if (_outputBytes == null) {
+            _outputBytes = _ioContext.allocWriteEncodingBuffer();
+            _outputEnd = _outputBytes.length;
+        }
+        _surrogate = 0;
+        _resetOutput();
+    }
+
+    @Override
+    public void reset(Writer out) {
+        throw new IllegalStateException("Can not reset encoder of UTF-8 encoded bytes to write to a Writer");
+    }
+
+    @Override
+    public Object getOutputTarget() {
+        return _outputStream;
+    }
+
+    /*
+    /**********************************************************
+    /* Writer API, writes from generator
+    /**********************************************************
+     */
+
+    @Override
+    public void write(int columnIndex, int value) throws IOException
+    {
+        if (columnIndex == _nextColumnToWrite) {
+            appendValue(value);
+            ++_nextColumnToWrite;
+            return;
+        }
+        _buffer(columnIndex).buffer(columnIndex, value);
+    }
+
+    @Override
+    public void write(int columnIndex, long value) throws IOException
+    {
+        if (columnIndex == _nextColumnToWrite) {
+            appendValue(value);
+            ++_nextColumnToWrite;
+            return;
+        }
+        _buffer(columnIndex).buffer(columnIndex, value);
+    }
+
+    /*
+    /**********************************************************
+    /* Writer API, writes via buffered values
+    /**********************************************************
+     */
+
+    @Override
+    protected void appendValue(int value) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        } else if (_surrogate != 0) {
+            _throwUnmatchedSurrogate();
+        }
+        // up to 10 digits and possible minus sign
+        if ((_outputTail + 11) > _outputEnd) {
+            _flushBuffer();
+        }
+        _outputTail = NumberOutput.outputInt(value, _outputBytes, _outputTail);
+    }
+
+    @Override
+    protected void appendValue(long value) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        } else if (_surrogate != 0) {
+            _throwUnmatchedSurrogate();
+        }
+        // up to 19 digits and possible minus sign
+        if ((_outputTail + 20) > _outputEnd) {
+            _flushBuffer();
+        }
+        _outputTail = NumberOutput.outputLong(value, _outputBytes, _outputTail);
+    }
+
+    @Override
+    protected void appendValue(float value) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        } else if (_surrogate != 0) {
+            _throwUnmatchedSurrogate();
+        }
+        if ((_outputTail + NumberOutput.MAX_FLOAT_CLEN) > _outputEnd) {
+            _flushBuffer();
+        }
+        _appendNumberChars(NumberOutput.outputFloat(value, _numberChars(), 0));
+    }
+
+    @Override
+    protected void appendValue(double value) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        } else if (_surrogate != 0) {
+            _throwUnmatchedSurrogate();
+        }
+        if ((_outputTail + NumberOutput.MAX_DOUBLE_CLEN) > _outputEnd) {
+            _flushBuffer();
+        }
+        _appendNumberChars(NumberOutput.outputDouble(value, _numberChars(), 0));
+    }
+
+    private char[] _numberChars()
+    {
+        if (_numberBuffer == null) {
+            _numberBuffer = new char[NumberOutput.MAX_DOUBLE_CLEN];
+        }
+        return _numberBuffer;
+    }
+
+    // Floating-point values are all ASCII: no need to encode
+    private void _appendNumberChars(int len)
+    {
+        final char[] src = _numberBuffer;
+        final byte[] dst = _outputBytes;
+        int ptr = _outputTail;
+        for (int i = 0; i < len; ++i) {
+            dst[ptr++] = (byte) src[i];
+        }
+        _outputTail = ptr;
+    }
+
+    @Override
+    protected void _append(char[] ch) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        _writeEncoded(ch, 0, ch.length);
+    }
+
+    @Override
+    protected void appendColumnSeparator() throws IOException {
+        _writeChar(_cfgColumnSeparator);
+    }
+
+    @Override
+    protected void _writeLineSeparator() throws IOException
+    {
+        if (_surrogate != 0) {
+            _throwUnmatchedSurrogate();
+        }
+        final byte[] sep = _cfgLineSeparatorBytes;
+        final int len = sep.length;
+        if ((_outputTail + len) > _outputEnd) {
+            _flushBuffer();
+        }
+        System.arraycopy(sep, 0, _outputBytes, _outputTail, len);
+        _outputTail += len;
+    }
+
+    /*
+    /**********************************************************
+    /* Output methods, unprocessed ("raw")
+    /**********************************************************
+     */
+
+    @Override
+    public void writeRaw(String text) throws IOException {
+        _writeEncoded(text, 0, text.length(), -1, -1);
+    }
+
+    @Override
+    public void writeRaw(String text, int start, int len) throws IOException {
+        _writeEncoded(text, start, start+len, -1, -1);
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws IOException {
+        _writeEncoded(text, offset, offset+len);
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        _writeChar(c);
+    }
+
+    /*
+    /**********************************************************
+    /* Output methods, with quoting and escaping
+    /**********************************************************
+     */
+
+    @Override
+    public void _writeQuoted(String text) throws IOException
+    {
+        // NOTE: caller should guarantee quote char is valid (not -1) at this point:
+        final char q = (char) _cfgQuoteCharacter;
+        _writeChar(q);
+        _writeQuoted(text, q, 0);
+    }
+
+    /**
+     * Note: unlike with base class, the first <code>i</code> characters (which
+     * do not need quoting) must have been output by caller, as well as
+     * the opening quote.
+     */
+    @Override
+    protected void _writeQuoted(String text, char q, int i) throws IOException
+    {
+        _writeEncoded(text, i, text.length(), q, -1);
+        _writeChar(q);
+    }
+
+    @Override
+    public void _writeQuotedAndEscaped(String text, char esc) throws IOException
+    {
+        // NOTE: caller should guarantee quote char is valid (not -1) at this point:
+        final char q = (char) _cfgQuoteCharacter;
+        _writeChar(q);
+        _writeQuotedAndEscaped(text, q, esc, 0);
+    }
+
+    /**
+     * Note: unlike with base class, the first <code>i</code> characters (which
+     * do not need quoting) must have been output by caller, as well as
+     * the opening quote.
+     */
+    @Override
+    protected void _writeQuotedAndEscaped(String text, char q, char esc, int i) throws IOException
+    {
+        _writeEncoded(text, i, text.length(), q, esc);
+        _writeChar(q);
+    }
+
+    /*
+    /**********************************************************
+    /* Writer API, state changes
+    /**********************************************************
+     */
+
+    @Override
+    public void flush(boolean flushStream) throws IOException
+    {
+        _flushBuffer();
+        if (flushStream) {
+            _outputStream.flush();
+        }
+    }
+
+    @Override
+    public void close(boolean autoClose) throws IOException
+    {
+        _flushBuffer();
+        if (autoClose) {
+            _outputStream.close();
+        } else {
+            // If we can't close it, we should at least flush
+            _outputStream.flush();
+        }
+        // Internal buffer(s) generator has can now be released as well
+        _releaseBuffers();
+        if (_surrogate != 0) {
+            _throwUnmatchedSurrogate();
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, encoding
+    /**********************************************************
+     */
+
+    /**
+     * Method for outputting given part of a String, encoding non-ASCII characters;
+     * and doubling up characters that equal to given quote and escape
+     * characters (either of which may be -1 to indicate none).
+     */
+    protected final void _writeEncoded(String text, int i, final int end,
+            final int q, final int esc) throws IOException
+    {
+        if (_surrogate != 0) { // first half of a surrogate pair pending?
+            if (i >= end) {
+                return;
+            }
+            _writeCharSlow(text.charAt(i++));
+        }
+        final byte[] buf = _outputBytes;
+        final int bufEnd = _outputEnd;
+        int ptr = _outputTail;
+
+        while (i < end) {
+            int room = bufEnd - ptr;
+            if (room < (MAX_BYTES_PER_CHAR + 2)) {
+                _outputTail = ptr;
+                _flushBuffer();
+                ptr = _outputTail;
+                room = bufEnd - ptr;
+            }
+            // Fast loop for ASCII chars that need no doubling; leave room for one special one
+            final int max = Math.min(end, i + room - MAX_BYTES_PER_CHAR);
+            int c;
+            while (true) {
+                if (i >= max) {
+                    c = -1;
+                    break;
+                }
+                c = text.charAt(i);
+                if ((c >= 0x80) || (c == q) || (c == esc)) {
+                    break;
+                }
+                buf[ptr++] = (byte) c;
+                ++i;
+            }
+            if (c < 0) { // either done, or need more room
+                continue;
+            }
+            ++i;
+            if ((c == q) || (c == esc)) { // double up, either way
+                ptr = _appendBMP(c, buf, ptr);
+                ptr = _appendBMP(c, buf, ptr);
+                continue;
+            }
+            if ((c < SURR1_FIRST) || (c > SURR2_LAST)) {
+                ptr = _appendBMP(c, buf, ptr);
+                continue;
+            }
+            // Surrogate pair: need both halves
+            if ((c <= SURR1_LAST) && (i < end)) {
+                int c2 = text.charAt(i++);
+                if ((c2 < SURR2_FIRST) || (c2 > SURR2_LAST)) {
+                    _outputTail = ptr;
+                    _throwBrokenSurrogate(c, c2);
+                }
+                ptr = _appendCodePoint(c, c2, buf, ptr);
+                continue;
+            }
+            // Either unmatched second half, or first half at the end (to be completed later)
+            _outputTail = ptr;
+            _writeCharSlow(c);
+            ptr = _outputTail;
+        }
+        _outputTail = ptr;
+    }
+
+    /**
+     * Method for outputting given part of a char array, encoding non-ASCII characters.
+     */
+    protected final void _writeEncoded(char[] text, int i, final int end) throws IOException
+    {
+        if (_surrogate != 0) { // first half of a surrogate pair pending?
+            if (i >= end) {
+                return;
+            }
+            _writeCharSlow(text[i++]);
+        }
+        final byte[] buf = _outputBytes;
+        final int bufEnd = _outputEnd;
+        int ptr = _outputTail;
+
+        while (i < end) {
+            int room = bufEnd - ptr;
+            if (room < (MAX_BYTES_PER_CHAR + 2)) {
+                _outputTail = ptr;
+                _flushBuffer();
+                ptr = _outputTail;
+                room = bufEnd - ptr;
+            }
+            final int max = Math.min(end, i + room - MAX_BYTES_PER_CHAR);
+            int c;
+            while (true) {
+                if (i >= max) {
+                    c = -1;
+                    break;
+                }
+                c = text[i];
+                if (c >= 0x80) {
+                    break;
+                }
+                buf[ptr++] = (byte) c;
+                ++i;
+            }
+            if (c < 0) {
+                continue;
+            }
+            ++i;
+            if ((c < SURR1_FIRST) || (c > SURR2_LAST)) {
+                ptr = _appendBMP(c, buf, ptr);
+                continue;
+            }
+            if ((c <= SURR1_LAST) && (i < end)) {
+                int c2 = text[i++];
+                if ((c2 < SURR2_FIRST) || (c2 > SURR2_LAST)) {
+                    _outputTail = ptr;
+                    _throwBrokenSurrogate(c, c2);
+                }
+                ptr = _appendCodePoint(c, c2, buf, ptr);
+                continue;
+            }
+            _outputTail = ptr;
+            _writeCharSlow(c);
+            ptr = _outputTail;
+        }
+        _outputTail = ptr;
+    }
+
+    /**
+     * Method for outputting a single character; fast for ASCII characters,
+     * which are used as separators and quotes.
+     */
+    protected final void _writeChar(int c) throws IOException
+    {
+        if ((c < 0x80) && (_surrogate == 0)) {
+            if (_outputTail >= _outputEnd) {
+                _flushBuffer();
+            }
+            _outputBytes[_outputTail++] = (byte) c;
+            return;
+        }
+        _writeCharSlow(c);
+    }
+
+    private void _writeCharSlow(int c) throws IOException
+    {
+        if ((_outputTail + 4) > _outputEnd) {
+            _flushBuffer();
+        }
+        if (_surrogate != 0) {
+            final int first = _surrogate;
+            _surrogate = 0;
+            if ((c < SURR2_FIRST) || (c > SURR2_LAST)) {
+                _throwBrokenSurrogate(first, c);
+            }
+            _outputTail = _appendCodePoint(first, c, _outputBytes, _outputTail);
+            return;
+        }
+        if ((c >= SURR1_FIRST) && (c <= SURR2_LAST)) {
+            if (c > SURR1_LAST) {
+                throw new IOException("Unmatched second part of surrogate pair (0x"+Integer.toHexString(c)+")");
+            }
+            _surrogate = c;
+            return;
+        }
+        _outputTail = _appendBMP(c, _outputBytes, _outputTail);
+    }
+
+    /**
+     * Helper method for encoding a character from BMP (but not a surrogate),
+     * using 1 to 3 bytes.
+     */
+    private static int _appendBMP(int c, byte[] buf, int ptr)
+    {
+        if (c < 0x80) {
+            buf[ptr++] = (byte) c;
+        } else if (c < 0x800) {
+            buf[ptr++] = (byte) (0xc0 | (c >> 6));
+            buf[ptr++] = (byte) (0x80 | (c & 0x3f));
+        } else {
+            buf[ptr++] = (byte) (0xe0 | (c >> 12));
+            buf[ptr++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buf[ptr++] = (byte) (0x80 | (c & 0x3f));
+        }
+        return ptr;
+    }
+
+    private static int _appendCodePoint(int first, int second, byte[] buf, int ptr)
+    {
+        final int c = 0x10000 + ((first - SURR1_FIRST) << 10) + (second - SURR2_FIRST);
+        buf[ptr++] = (byte) (0xf0 | (c >> 18));
+        buf[ptr++] = (byte) (0x80 | ((c >> 12) & 0x3f));
+        buf[ptr++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        buf[ptr++] = (byte) (0x80 | (c & 0x3f));
+        return ptr;
+    }
+
+    private void _throwBrokenSurrogate(int first, int second) throws IOException
+    {
+        throw new IOException("Broken surrogate pair: first char 0x"+Integer.toHexString(first)
+                +", second 0x"+Integer.toHexString(second)+"; illegal combination");
+    }
+
+    private void _throwUnmatchedSurrogate() throws IOException
+    {
+        final int code = _surrogate;
+        _surrogate = 0;
+        throw new IOException("Unmatched first part of surrogate pair (0x"+Integer.toHexString(code)+")");
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, buffer handling
+    /**********************************************************
+     */
+
+    @Override
+    protected void _flushBuffer() throws IOException
+    {
+        if (_outputTail > 0) {
+            _charsWritten += _outputTail;
+            _outputStream.write(_outputBytes, 0, _outputTail);
+            _outputTail = 0;
+        }
+    }
+
+    @Override
+    public void _releaseBuffers()
+    {
+        // release our buffer first, as super-class may release recycler as well
+        byte[] buf = _outputBytes;
+        if (buf != null && _bufferRecyclable) {
+            _outputBytes = null;
+            _ioContext.releaseWriteEncodingBuffer(buf);
+        }
+        super._releaseBuffers();
+    }
+}
@@ -0,0 +1,133 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.*;
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.dataformat.csv.impl.BufferRecyclerPool;
+
+public class BufferRecyclerPoolTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name" })
+    static class Entry {
+        public int id;
+        public String name;
+
+        public Entry() { }
+        public Entry(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    // Pool that keeps track of recyclers handed out
+    static class TrackingPool extends BufferRecyclerPool.SharedPool
+    {
+        final Set<BufferRecycler> seen = Collections.synchronizedSet(
+                Collections.newSetFromMap(new IdentityHashMap<BufferRecycler,Boolean>()));
+        int acquired, released;
+
+        @Override
+        public synchronized BufferRecycler acquireBufferRecycler() {
+            ++acquired;
+            BufferRecycler br = super.acquireBufferRecycler();
+            seen.add(br);
+            return br;
+        }
+
+        @Override
+        public synchronized void releaseBufferRecycler(BufferRecycler br) {
+            ++released;
+            super.releaseBufferRecycler(br);
+        }
+    }
+
+    public void testRecyclerReleasedOnClose() throws Exception
+    {
+        TrackingPool pool = new TrackingPool();
+        CsvMapper mapper = new CsvMapper(new CsvFactory().setBufferRecyclerPool(pool));
+        assertSame(pool, mapper.getFactory().getBufferRecyclerPool());
+        final CsvSchema schema = mapper.schemaFor(Entry.class).withHeader();
+
+        // long enough value to require use of text buffer
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; ++i) {
+            sb.append((char) ('a' + (i % 26)));
+        }
+        final String longName = sb.toString();
+
+        String csv = mapper.writer(schema).writeValueAsString(new Entry(1, longName));
+        assertEquals(1, pool.acquired);
+        assertEquals(1, pool.released);
+        byte[] bytes = mapper.writer(schema).writeValueAsBytes(new Entry(2, "\"b\""));
+        assertEquals(2, pool.acquired);
+        assertEquals(2, pool.released);
+
+        Entry e = mapper.readerFor(Entry.class).with(schema).readValue(csv);
+        assertEquals(longName, e.name);
+        e = mapper.readerFor(Entry.class).with(schema).readValue(bytes);
+        assertEquals("\"b\"", e.name);
+        assertEquals(4, pool.acquired);
+        assertEquals(4, pool.released);
+
+        // all sequential, so single recycler should suffice
+        assertEquals(1, pool.seen.size());
+        assertEquals(1, pool.size());
+    }
+
+    public void testResetAfterRelease() throws Exception
+    {
+        TrackingPool pool = new TrackingPool();
+        CsvFactory f = new CsvFactory().setBufferRecyclerPool(pool);
+        CsvParser p = f.createParser(new ByteArrayInputStream("a,b\n".getBytes("UTF-8")));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        p.close();
+        assertEquals(1, pool.acquired);
+        assertEquals(1, pool.released);
+
+        // buffers (and recycler) must be re-acquired
+        p.resetInput(new ByteArrayInputStream("c,d\n".getBytes("UTF-8")));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("c", p.getText());
+        p.close();
+        assertEquals(2, pool.acquired);
+        assertEquals(2, pool.released);
+    }
+
+    public void testReuseAcrossThreads() throws Exception
+    {
+        final TrackingPool pool = new TrackingPool();
+        final CsvMapper mapper = new CsvMapper(new CsvFactory().setBufferRecyclerPool(pool));
+        final CsvSchema schema = mapper.schemaFor(Entry.class);
+        final List<Throwable> problems = Collections.synchronizedList(new ArrayList<Throwable>());
+
+        // new thread for each round-trip, as with thread-per-task executors
+        for (int i = 0; i < 20; ++i) {
+            final int id = i;
+            Thread t = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        String csv = mapper.writer(schema).writeValueAsString(new Entry(id, "x"));
+                        Entry e = mapper.readerFor(Entry.class).with(schema).readValue(csv);
+                        if (e.id != id) {
+                            problems.add(new IllegalStateException("Wrong id: "+e.id));
+                        }
+                    } catch (Throwable t) {
+                        problems.add(t);
+                    }
+                }
+            });
+            t.start();
+            t.join();
+        }
+        assertEquals(Collections.emptyList(), problems);
+        assertEquals(40, pool.acquired);
+        assertEquals(40, pool.released);
+        assertEquals(1, pool.seen.size());
+        assertEquals(1, pool.size());
+    }
+}
@@ -0,0 +1,230 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.CsvColumnBatch.Vector;
+import com.fasterxml.jackson.dataformat.csv.CsvColumnBatch.VectorType;
+
+public class BatchReaderTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("value", CsvSchema.ColumnType.NUMBER)
+            .addColumn("flag", CsvSchema.ColumnType.BOOLEAN)
+            .addColumn("name", CsvSchema.ColumnType.STRING)
+            .build();
+
+    public void testSimple() throws Exception
+    {
+        final String DOC = "1,10,true,abc\n"
+                +"2, -3 ,FALSE,\"d,ef\"\n"
+                +"3,,,abc\n"
+                +"4,null,true,\n"
+                +"5,2.5,false,d\n";
+        for (int i = 0; i < 2; ++i) {
+            CsvBatchReader reader = (i == 0)
+                    ? MAPPER.getFactory().createBatchReader(new StringReader(DOC), SCHEMA)
+                    : MAPPER.getFactory().createBatchReader(new ByteArrayInputStream(DOC.getBytes("UTF-8")), SCHEMA);
+            CsvColumnBatch batch = reader.createBatch(4);
+            assertEquals(4, reader.readBatch(batch));
+            assertEquals(4, batch.size());
+
+            Vector ids = batch.getVector("id");
+            assertEquals(VectorType.INT, ids.getType());
+            assertEquals(3, ids.getInts()[2]);
+
+            Vector values = batch.getVector(1);
+            assertEquals(VectorType.INT, values.getType());
+            assertEquals(10, values.getInt(0));
+            assertEquals(-3, values.getInt(1));
+            assertFalse(values.isNull(1));
+            assertTrue(values.isNull(2));
+            assertTrue(values.isNull(3));
+            assertEquals(0x0CL, values.getNulls()[0]);
+
+            Vector flags = batch.getVector("flag");
+            assertEquals(VectorType.BOOLEAN, flags.getType());
+            assertTrue(flags.getBoolean(0));
+            assertFalse(flags.getBoolean(1));
+            assertTrue(flags.isNull(2));
+            assertTrue(flags.getBooleans()[3]);
+
+            Vector names = batch.getVector("name");
+            assertEquals(VectorType.STRING, names.getType());
+            assertEquals(3, names.getDictionarySize());
+            assertEquals("abc", names.getString(0));
+            assertEquals("d,ef", names.getString(1));
+            assertEquals(names.getInts()[0], names.getInts()[2]);
+            assertEquals("", names.getString(3));
+            assertFalse(names.isNull(3));
+
+            // second batch: values widened to double, dictionary reset
+            assertEquals(1, reader.readBatch(batch));
+            assertEquals(VectorType.DOUBLE, values.getType());
+            assertEquals(2.5, values.getDoubles()[0]);
+            assertEquals(VectorType.INT, ids.getType());
+            assertEquals(5L, ids.getLong(0));
+            assertFalse(flags.isNull(0));
+            assertEquals(1, names.getDictionarySize());
+            assertEquals("d", names.getDictionary()[0]);
+
+            assertEquals(0, reader.readBatch(batch));
+            assertEquals(0, batch.size());
+            reader.close();
+        }
+    }
+
+    public void testWidening() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a", CsvSchema.ColumnType.NUMBER)
+                .addColumn("b", CsvSchema.ColumnType.NUMBER)
+                .build();
+        CsvBatchReader reader = MAPPER.getFactory().createBatchReader(new StringReader(
+                "1,1\n,-2147483649\n-9223372036854775808,1e3\n9223372036854775807,\n"), schema);
+        CsvColumnBatch batch = reader.createBatch(10);
+        assertEquals(4, reader.readBatch(batch));
+
+        Vector a = batch.getVector(0);
+        assertEquals(VectorType.LONG, a.getType());
+        assertEquals(1L, a.getLongs()[0]);
+        assertTrue(a.isNull(1));
+        assertEquals(Long.MIN_VALUE, a.getLong(2));
+        assertEquals(Long.MAX_VALUE, a.getLong(3));
+
+        Vector b = batch.getVector(1);
+        assertEquals(VectorType.DOUBLE, b.getType());
+        assertEquals(1.0, b.getDouble(0));
+        assertEquals(-2147483649.0, b.getDouble(1));
+        assertEquals(1000.0, b.getDouble(2));
+        assertTrue(b.isNull(3));
+        reader.close();
+
+        // and out of long range: double
+        reader = MAPPER.getFactory().createBatchReader(new StringReader("9223372036854775808,0\n"), schema);
+        assertEquals(1, reader.readBatch(batch));
+        assertEquals(VectorType.DOUBLE, batch.getVector(0).getType());
+        assertEquals(9223372036854775808.0, batch.getVector(0).getDouble(0));
+        reader.close();
+    }
+
+    public void testHeaderAndProjection() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("x", CsvSchema.ColumnType.NUMBER)
+                .addColumn("name")
+                .build()
+                .withHeader()
+                .withColumnReordering(true)
+                .withNullValue("-");
+        CsvBatchReader reader = MAPPER.getFactory().createBatchReader(new StringReader(
+                "name,skip,x\nabc,\"x,y\",1\n-,z,-\n"), schema);
+        CsvSchema actual = reader.getSchema();
+        assertEquals("name", actual.columnName(0));
+        assertEquals(CsvSchema.ColumnType.NUMBER, actual.column("x").getType());
+        CsvColumnBatch batch = reader.createBatch(10);
+        assertEquals(2, reader.readBatch(batch));
+        assertEquals("abc", batch.getVector("name").getString(0));
+        assertNull(batch.getVector("name").getString(1));
+        assertEquals(1, batch.getVector("x").getInt(0));
+        assertTrue(batch.getVector("x").isNull(1));
+        reader.close();
+
+        reader = MAPPER.getFactory().createBatchReader(new StringReader("1,2,true,abc\n2,3,false,def\n"),
+                SCHEMA.withIncludedColumns("name"));
+        batch = reader.createBatch(10);
+        assertEquals(2, reader.readBatch(batch));
+        assertNull(batch.getVector("id"));
+        assertEquals("def", batch.getVector("name").getString(1));
+        reader.close();
+    }
+
+    public void testMissingAndExtraColumns() throws Exception
+    {
+        CsvBatchReader reader = MAPPER.getFactory().createBatchReader(new StringReader(
+                "1,2\n3,4,true,x,\n"), SCHEMA);
+        CsvColumnBatch batch = reader.createBatch(10);
+        assertEquals(2, reader.readBatch(batch));
+        assertEquals(2, batch.getVector("value").getInt(0));
+        assertTrue(batch.getVector("flag").isNull(0));
+        assertTrue(batch.getVector("name").isNull(0));
+        assertEquals("x", batch.getVector("name").getString(1));
+        reader.close();
+
+        reader = MAPPER.getFactory().createBatchReader(new StringReader(
+                "1,2,true,x,extra\n2,3,false,y\n"), SCHEMA);
+        try {
+            reader.readBatch(batch);
+            fail("Should not pass");
+        } catch (CsvMappingException e) {
+            verifyException(e, "Too many entries");
+        }
+        // should be able to continue with the next row
+        assertEquals(1, reader.readBatch(batch));
+        assertEquals("y", batch.getVector("name").getString(0));
+        reader.close();
+
+        CsvParser p = MAPPER.getFactory().createParser("1,2\n");
+        p.enable(CsvParser.Feature.FAIL_ON_MISSING_COLUMNS);
+        p.setSchema(SCHEMA);
+        reader = p.batchReader();
+        try {
+            reader.readBatch(reader.createBatch(10));
+            fail("Should not pass");
+        } catch (CsvMappingException e) {
+            verifyException(e, "Not enough column values");
+        }
+        reader.close();
+    }
+
+    public void testInvalidValues() throws Exception
+    {
+        CsvBatchReader reader = MAPPER.getFactory().createBatchReader(new StringReader(
+                "abc,1,true,x\n1,1,yes,x\n"), SCHEMA);
+        CsvColumnBatch batch = reader.createBatch(10);
+        try {
+            reader.readBatch(batch);
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "(\"abc\") not a valid number");
+        }
+        reader.close();
+
+        try {
+            MAPPER.getFactory().createBatchReader(new StringReader("a,b\n"), CsvSchema.emptySchema());
+            fail("Should not pass");
+        } catch (CsvMappingException e) {
+            verifyException(e, "Schema must define columns");
+        }
+    }
+
+    public void testLargeDictionary() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; ++i) {
+            sb.append(i).append(",0,true,v").append(i % 700).append('\n');
+        }
+        CsvBatchReader reader = MAPPER.getFactory().createBatchReader(
+                new ByteArrayInputStream(sb.toString().getBytes("UTF-8")), SCHEMA);
+        CsvColumnBatch batch = reader.createBatch(1000);
+        int total = 0;
+        int count;
+        while ((count = reader.readBatch(batch)) > 0) {
+            Vector names = batch.getVector("name");
+            assertEquals(700, names.getDictionarySize());
+            for (int row = 0; row < count; ++row) {
+                int id = batch.getVector("id").getInt(row);
+                assertEquals(total + row, id);
+                assertEquals("v" + (id % 700), names.getString(row));
+            }
+            total += count;
+        }
+        assertEquals(3000, total);
+        reader.close();
+    }
+}
@@ -0,0 +1,242 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for reading byte ranges of a file, using
+ * {@link CsvFactory#createParser(File, long, long, CsvSchema)} and
+ * {@link CsvFactory#createParser(FileChannel, long, long, CsvSchema)}.
+ */
+public class ByteRangeReadTest extends ModuleTestBase
+{
+    private final CsvFactory FACTORY = new CsvFactory();
+
+    private final CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("name")
+            .addColumn("desc")
+            .build();
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    public void testRangesWithMultiLineValues() throws Exception
+    {
+        final String doc = _document(300, true, "\n");
+        File f = _file(doc);
+        try {
+            final List<String> exp = _rows(FACTORY.createParser(doc), SCHEMA);
+            for (int size : new int[] { 1, 7, 100, 999, 4000, 100000 }) {
+                assertEquals("(range size "+size+")", exp, _rowsByRange(f, size, SCHEMA, true));
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testRangesWithCRLF() throws Exception
+    {
+        final String doc = _document(200, true, "\r\n");
+        File f = _file(doc);
+        try {
+            final List<String> exp = _rows(FACTORY.createParser(doc), SCHEMA);
+            for (int size : new int[] { 3, 50, 777 }) {
+                assertEquals("(range size "+size+")", exp, _rowsByRange(f, size, SCHEMA, true));
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    // escaped quotes, separators and linefeeds must not confuse resync
+    public void testRangesWithEscapes() throws Exception
+    {
+        final CsvSchema schema = SCHEMA.withEscapeChar('\\');
+        for (String lf : new String[] { "\n", "\r", "\r\n" }) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 40; ++i) {
+                sb.append(i).append(",a\\,b\\\\,\"x\\\"").append(lf).append("y\"").append(lf);
+                sb.append("\"\\\\\",c\\").append(lf).append("d,\"\"\"\\\"").append(lf).append("\"").append(lf);
+                sb.append("e\\\"f,\"g\\").append(lf).append("\",\\\\").append(lf);
+            }
+            final String doc = sb.toString();
+            File f = _file(doc);
+            try {
+                final List<String> exp = _rows(FACTORY.createParser(doc), schema);
+                // (with CRLF, only CR gets escaped so LF still ends the row)
+                assertEquals("\r\n".equals(lf) ? 160 : 120, exp.size());
+                for (int size = 1; size <= 12; ++size) {
+                    assertEquals("(range size "+size+")", exp, _rowsByRange(f, size, schema, true));
+                }
+            } finally {
+                f.delete();
+            }
+        }
+    }
+
+    public void testRangesWithoutMultiLineValues() throws Exception
+    {
+        final String doc = _document(300, false, "\n");
+        File f = _file(doc);
+        try {
+            final List<String> exp = _rows(FACTORY.createParser(doc), SCHEMA);
+            for (int size : new int[] { 5, 64, 1000 }) {
+                assertEquals(exp, _rowsByRange(f, size, SCHEMA, false));
+                assertEquals(exp, _rowsByRange(f, size, SCHEMA, true));
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testRangesWithHeader() throws Exception
+    {
+        final String doc = "id,name,desc\n" + _document(100, true, "\n");
+        File f = _file(doc);
+        try {
+            final CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            final List<String> exp = _rows(FACTORY.createParser(doc), schema);
+            assertEquals(100, exp.size());
+            for (int size : new int[] { 5, 300, 2000 }) {
+                assertEquals(exp, _rowsByRange(f, size, schema, true));
+            }
+            // and header columns should be used for all ranges
+            CsvParser p = FACTORY.createParser(f, doc.length() / 2, doc.length(), schema);
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("id", p.getCurrentName());
+            p.close();
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testLocations() throws Exception
+    {
+        final String doc = "abc,def\n\"x\ny\",z\nlast,row\n";
+        File f = _file(doc);
+        try {
+            CsvParser p = FACTORY.createParser(f, 3, 10, CsvSchema.emptySchema());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("x\ny", p.getText());
+            JsonLocation loc = p.getTokenLocation();
+            assertEquals(doc.indexOf('"'), loc.getByteOffset());
+            assertEquals(f, loc.getSourceRef());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("z", p.getText());
+            assertEquals(doc.indexOf('z'), p.getTokenLocation().getByteOffset());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            // second row starts past end of range so not included
+            assertNull(p.nextToken());
+            p.close();
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testSharedChannel() throws Exception
+    {
+        final String doc = _document(100, true, "\n");
+        File f = _file(doc);
+        FileInputStream in = new FileInputStream(f);
+        try {
+            FileChannel ch = in.getChannel();
+            final long mid = f.length() / 2;
+            CsvParser p1 = FACTORY.createParser(ch, 0L, mid, SCHEMA);
+            CsvParser p2 = FACTORY.createParser(ch, mid, f.length(), SCHEMA);
+            List<String> rows = _rows(p1, SCHEMA);
+            rows.addAll(_rows(p2, SCHEMA));
+            assertEquals(_rows(FACTORY.createParser(doc), SCHEMA), rows);
+            // channel not closed by parsers
+            assertTrue(ch.isOpen());
+        } finally {
+            in.close();
+            f.delete();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private String _document(int rows, boolean multiLine, String lf)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; ++i) {
+            sb.append(i).append(',');
+            switch (i % 4) {
+            case 0:
+                sb.append("\"name \"\"").append(i).append("\"\"\"");
+                break;
+            case 1:
+                sb.append("\"\"");
+                break;
+            case 2:
+                sb.append("\"a,b\"  ");
+                break;
+            default:
+                sb.append("name").append(i);
+            }
+            sb.append(",\"");
+            for (int j = 0; j < (i % 5); ++j) {
+                sb.append("línea ").append(j).append(multiLine ? lf : ", ");
+            }
+            sb.append('"').append(lf);
+        }
+        return sb.toString();
+    }
+
+    private File _file(String doc) throws IOException
+    {
+        File f = File.createTempFile("csv-range", ".csv");
+        OutputStream out = new FileOutputStream(f);
+        out.write(doc.getBytes("UTF-8"));
+        out.close();
+        return f;
+    }
+
+    private List<String> _rowsByRange(File f, int rangeSize, CsvSchema schema,
+            boolean multiLineValues) throws IOException
+    {
+        List<String> rows = new ArrayList<String>();
+        for (long start = 0L; start < f.length(); start += rangeSize) {
+            rows.addAll(_rows(FACTORY.createParser(f, start, start + rangeSize, schema, multiLineValues),
+                    schema));
+        }
+        return rows;
+    }
+
+    private List<String> _rows(CsvParser p, CsvSchema schema) throws IOException
+    {
+        if (p.getSchema().size() == 0) {
+            p.setSchema(schema);
+        }
+        List<String> rows = new ArrayList<String>();
+        StringBuilder sb = null;
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            if (t.isStructStart()) {
+                sb = new StringBuilder();
+            } else if (t.isStructEnd()) {
+                rows.add(sb.toString());
+            } else if (t == JsonToken.VALUE_STRING) {
+                sb.append('[').append(p.getText()).append(']');
+            }
+        }
+        p.close();
+        return rows;
+    }
+}
@@ -0,0 +1,301 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for column projection ("include only these columns") defined
+ * using {@link CsvSchema#withIncludedColumns(String...)} and
+ * {@link CsvSchema#withIncludedColumnIndexes(int...)}.
+ */
+public class ColumnProjectionTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name", "desc", "value" })
+    static class Entry {
+        public String id, name, desc;
+        public int value;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final CsvSchema ABCD_SCHEMA = CsvSchema.builder()
+            .addColumn("a")
+            .addColumn("b")
+            .addColumn("c")
+            .addColumn("d")
+            .build();
+
+    // values of excluded columns include quoting, escapes and linefeeds
+    private final static String ABCD_DOC = "1,\"skip, \"\"me\"\"\nplease\",x\\,y,2\n"
+            +"é€,3,\"\",4\r\n"
+            +"\"multi\r\nline\",5,\"z\"  ,6\n";
+
+    /*
+    /**********************************************************************
+    /* Test methods, schema
+    /**********************************************************************
+     */
+
+    public void testSchemaProjection() throws Exception
+    {
+        assertFalse(ABCD_SCHEMA.hasColumnProjection());
+        assertTrue(ABCD_SCHEMA.isColumnIncluded(1));
+
+        CsvSchema schema = ABCD_SCHEMA.withIncludedColumns("b", "x");
+        assertTrue(schema.hasColumnProjection());
+        assertFalse(schema.isColumnIncluded(0));
+        assertTrue(schema.isColumnIncluded(1));
+        assertFalse(schema.isColumnIncluded(2));
+
+        // combination of names, indexes
+        schema = schema.withIncludedColumnIndexes(3);
+        assertTrue(schema.isColumnIncluded(1));
+        assertTrue(schema.isColumnIncluded(3));
+
+        // retained by other mutant factories, builder
+        schema = schema.withColumnSeparator(';').withNullValue("N/A");
+        assertTrue(schema.isColumnIncluded(1));
+        assertFalse(schema.isColumnIncluded(2));
+        schema = schema.rebuild().renameColumn(1, "foo").build();
+        assertFalse(schema.isColumnIncluded(1));
+        assertTrue(schema.isColumnIncluded(3));
+
+        schema = schema.withoutColumnProjection();
+        assertFalse(schema.hasColumnProjection());
+        assertTrue(schema.isColumnIncluded(2));
+    }
+
+    public void testProjectionWithReplacedColumns() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .build()
+                .withIncludedColumns("a");
+        CsvSchema empty = schema.withoutColumns();
+        assertEquals(0, empty.size());
+        assertNull(empty.column("a"));
+        assertTrue(empty.hasColumnProjection());
+
+        // projection resolved against new columns
+        CsvSchema other = CsvSchema.builder()
+                .addColumn("b")
+                .addColumn("a")
+                .build();
+        schema = empty.withColumnsFrom(other);
+        assertEquals(2, schema.size());
+        assertFalse(schema.isColumnIncluded(0));
+        assertTrue(schema.isColumnIncluded(1));
+
+        // including when appending to existing ones
+        schema = ABCD_SCHEMA.withIncludedColumns("e").withColumnsFrom(CsvSchema.builder()
+                .addColumn("e")
+                .build());
+        assertEquals(5, schema.size());
+        assertFalse(schema.isColumnIncluded(0));
+        assertTrue(schema.isColumnIncluded(4));
+    }
+
+    /*
+    /**********************************************************************
+    /* Test methods, streaming
+    /**********************************************************************
+     */
+
+    public void testProjectionByName() throws Exception
+    {
+        _testProjection(false, ABCD_SCHEMA.withIncludedColumns("b", "d"));
+        _testProjection(true, ABCD_SCHEMA.withIncludedColumns("d", "b"));
+    }
+
+    public void testProjectionByIndex() throws Exception
+    {
+        _testProjection(false, ABCD_SCHEMA.withIncludedColumnIndexes(1, 3));
+        _testProjection(true, ABCD_SCHEMA.withIncludedColumnIndexes(3, 1));
+    }
+
+    private void _testProjection(boolean useBytes, CsvSchema schema) throws Exception
+    {
+        // need escape char for "x\,y"
+        schema = schema.withEscapeChar('\\');
+        JsonParser p = _parser(ABCD_DOC, useBytes, schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("b", p.getCurrentName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("skip, \"me\"\nplease", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("d", p.getCurrentName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("2", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("b", p.getCurrentName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("3", p.getText());
+        assertEquals(3, p.getTokenLocation().getLineNr());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("4", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("5", p.getText());
+        // linefeeds within skipped value must still be counted
+        assertEquals(5, p.getTokenLocation().getLineNr());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("6", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testProjectionWithHeader() throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withIncludedColumns("value", "name");
+        for (boolean useBytes : new boolean[] { false, true }) {
+            JsonParser p = _parser("id,name,desc,value\n1,foo,\"bar\",12\n", useBytes, schema);
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("name", p.getCurrentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("foo", p.getText());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("value", p.getCurrentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("12", p.getText());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+            p.close();
+        }
+    }
+
+    public void testProjectionWithMissingColumns() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        mapper.enable(CsvParser.Feature.INSERT_NULLS_FOR_MISSING_COLUMNS);
+        JsonParser p = mapper.getFactory().createParser("1,2\n");
+        p.setSchema(ABCD_SCHEMA.withIncludedColumns("a", "d"));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("a", p.getCurrentName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("d", p.getCurrentName());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testSkipChildren() throws Exception
+    {
+        for (boolean useBytes : new boolean[] { false, true }) {
+            // first, Object rows
+            JsonParser p = _parser(ABCD_DOC, useBytes, ABCD_SCHEMA.withEscapeChar('\\'));
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_OBJECT, p.getCurrentToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("é€", p.getText());
+            // no-op for scalar values
+            p.skipChildren();
+            assertToken(JsonToken.VALUE_STRING, p.getCurrentToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("b", p.getCurrentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("4", p.getText());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_OBJECT, p.getCurrentToken());
+            assertNull(p.nextToken());
+            p.close();
+
+            // then Array rows, wrapped in an Array
+            CsvMapper mapper = mapperForCsv();
+            mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+            final String doc = "a,\"b\nc\",d\ne,f\n";
+            if (useBytes) {
+                p = mapper.getFactory().createParser(doc.getBytes("UTF-8"));
+            } else {
+                p = mapper.getFactory().createParser(doc);
+            }
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_ARRAY, p.getCurrentToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("e", p.getText());
+            assertEquals(3, p.getTokenLocation().getLineNr());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+            p.close();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Test methods, data-binding
+    /**********************************************************************
+     */
+
+    public void testProjectionDataBinding() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(Entry.class)
+                .withIncludedColumns("id", "value");
+        MappingIterator<Entry> it = MAPPER.readerFor(Entry.class).with(schema)
+                .readValues("a,\"Bob\",\"long, long\ndescription\",3\nb,Jill,,-4\n");
+        Entry e = it.nextValue();
+        assertEquals("a", e.id);
+        assertNull(e.name);
+        assertNull(e.desc);
+        assertEquals(3, e.value);
+        e = it.nextValue();
+        assertEquals("b", e.id);
+        assertNull(e.name);
+        assertEquals(-4, e.value);
+        assertFalse(it.hasNextValue());
+        it.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private JsonParser _parser(String csv, boolean useBytes, CsvSchema schema)
+        throws IOException
+    {
+        JsonParser p;
+        if (useBytes) {
+            p = MAPPER.getFactory().createParser(new ByteArrayInputStream(csv.getBytes("UTF-8")));
+        } else {
+            p = MAPPER.getFactory().createParser(csv);
+        }
+        p.setSchema(schema);
+        return p;
+    }
+}
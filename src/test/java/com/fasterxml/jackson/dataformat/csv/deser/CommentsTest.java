@@ -1,8 +1,11 @@
 package com.fasterxml.jackson.dataformat.csv.deser;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.dataformat.csv.*;
 
@@ -137,4 +140,34 @@ public class CommentsTest extends ModuleTestBase
         assertFalse(it.hasNext());
         it.close();
     }
+
+    // Documents with nothing but comments should have no rows, regardless of source
+    public void testCommentsOnly() throws Exception
+    {
+        final CsvFactory f = new CsvFactory();
+        final CsvSchema schema = CsvSchema.emptySchema().withComments();
+        for (String doc : new String[] { "#\n", "#", "#x\r", "#x\r\n", "#x\n#y\n", "#x\r#y" }) {
+            byte[] bytes = doc.getBytes("UTF-8");
+            _verifyNoRows(doc, f.createParser(new StringReader(doc)), schema);
+            _verifyNoRows(doc, f.createParser(bytes), schema);
+            _verifyNoRows(doc, f.createParser(new ByteArrayInputStream(bytes)), schema);
+        }
+        // but content after CR-terminated comment must be retained
+        JsonParser p = f.createParser("#x\ra\r".getBytes("UTF-8"));
+        ((CsvParser) p).setSchema(schema);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("a", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    private void _verifyNoRows(String doc, CsvParser p, CsvSchema schema) throws Exception
+    {
+        p.setSchema(schema);
+        JsonToken t = p.nextToken();
+        assertNull("Unexpected token "+t+" for document '"+doc+"'", t);
+        p.close();
+    }
 }
@@ -0,0 +1,125 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+public class CsvRowReadTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testWithHeader() throws Exception
+    {
+        MappingIterator<CsvRow> it = MAPPER.readerFor(CsvRow.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues("id,name,country\n1,Bob,FI\n2,\"Smith, Joe\"\n");
+        CsvRow row = it.nextValue();
+        assertEquals(3, row.size());
+        assertEquals("1", row.get("id"));
+        assertEquals("Bob", row.get(1));
+        assertEquals("FI", row.get("country"));
+        assertNull(row.get("unknown"));
+        assertNull(row.get(3));
+        assertEquals(Arrays.asList("id", "name", "country"), new ArrayList<String>(row.keySet()));
+        assertEquals(Arrays.asList("1", "Bob", "FI"), new ArrayList<String>(row.values()));
+
+        // should be equal to any other Map with same entries
+        Map<String,String> exp = new LinkedHashMap<String,String>();
+        exp.put("id", "1");
+        exp.put("name", "Bob");
+        exp.put("country", "FI");
+        assertEquals(exp, row);
+        assertEquals(row, exp);
+        assertEquals(exp.hashCode(), row.hashCode());
+
+        // missing column not included
+        row = it.nextValue();
+        assertEquals(2, row.size());
+        assertEquals("Smith, Joe", row.get("name"));
+        assertFalse(row.containsKey("country"));
+        assertFalse(row.hasValue(2));
+        assertNull(row.get("country"));
+        assertFalse(it.hasNextValue());
+        it.close();
+
+        try {
+            row.put("x", "y");
+            fail("Should not pass");
+        } catch (UnsupportedOperationException e) { }
+    }
+
+    public void testNullsProjectionAndExtra() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addNumberColumn("b")
+                .addColumn("c")
+                .build()
+                .withNullValue("N/A")
+                .withIncludedColumns("a", "b")
+                .withAnyPropertyName("extra");
+        List<CsvRow> rows = MAPPER.readerFor(CsvRow.class)
+                .with(schema)
+                .<CsvRow>readValues("x,12,skipped\nN/A,3,skipped,more\n")
+                .readAll();
+        assertEquals(2, rows.size());
+        CsvRow row = rows.get(0);
+        assertEquals(2, row.size());
+        assertEquals("12", row.get("b"));
+        assertFalse(row.containsKey("c"));
+
+        row = rows.get(1);
+        assertEquals(3, row.size());
+        assertTrue(row.containsKey("a"));
+        assertNull(row.get("a"));
+        assertEquals("more", row.get("extra"));
+        List<String> keys = new ArrayList<String>(row.keySet());
+        assertEquals(Arrays.asList("a", "b", "extra"), keys);
+    }
+
+    public void testAsMaps() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv().useCsvRowForMaps();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("x")
+                .addColumn("y")
+                .build();
+        MappingIterator<Map<String,String>> it = mapper.readerFor(Map.class)
+                .with(schema)
+                .readValues("1,2\n3,4\n");
+        Map<String,String> map = it.nextValue();
+        assertEquals(CsvRow.class, map.getClass());
+        assertEquals("2", map.get("y"));
+        it.close();
+
+        List<Map<String,String>> rows = mapper.readerFor(new TypeReference<Map<String,String>>() { })
+                .with(schema)
+                .<Map<String,String>>readValues("1,2\n3,4\n")
+                .readAll();
+        assertEquals(2, rows.size());
+        assertEquals(CsvRow.class, rows.get(1).getClass());
+        assertEquals("3", rows.get(1).get("x"));
+
+        // and serializes like any other Map
+        assertEquals("1,2\n", mapper.writer(schema).writeValueAsString(map));
+
+        // but regular mapper still uses regular Maps
+        map = MAPPER.readerFor(Map.class).with(schema).readValue("1,2\n");
+        assertEquals(LinkedHashMap.class, map.getClass());
+
+        // as well as Maps with other value types, or concrete Map types
+        Map<String,Integer> ints = mapper.readerFor(new TypeReference<Map<String,Integer>>() { })
+                .with(schema)
+                .readValue("1,2\n");
+        assertEquals(LinkedHashMap.class, ints.getClass());
+        assertEquals(Integer.valueOf(2), ints.get("y"));
+        Map<String,Object> objs = mapper.readerFor(new TypeReference<Map<String,Object>>() { })
+                .with(schema)
+                .readValue("1,2\n");
+        assertEquals(CsvRow.class, objs.getClass());
+        map = mapper.readerFor(HashMap.class).with(schema).readValue("1,2\n");
+        assertEquals(HashMap.class, map.getClass());
+    }
+}
@@ -0,0 +1,380 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for {@link CsvSplitter}, used for splitting a file into ranges
+ * that can be read independently.
+ */
+public class CsvSplitterTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name", "desc" })
+    static class Entry {
+        public int id;
+        public String name, desc;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private ExecutorService _executor;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        _executor = Executors.newFixedThreadPool(3);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        _executor.shutdownNow();
+        super.tearDown();
+    }
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    public void testSimpleSplits() throws Exception
+    {
+        final String doc = _document(500, false, "\n");
+        File f = _file(doc);
+        try {
+            final CsvSchema schema = MAPPER.schemaFor(Entry.class);
+            final List<String> exp = _ids(MAPPER.readerFor(Entry.class).with(schema)
+                    .<Entry>readValues(doc).readAll());
+            CsvSplitter splitter = new CsvSplitter(MAPPER, f, schema);
+            for (int count : new int[] { 1, 2, 3, 7, 32 }) {
+                _verifySplits(f, splitter.split(count), count);
+                _verifySplits(f, splitter.split(count, _executor), count);
+                assertEquals(splitter.split(count).toString(), splitter.split(count, _executor).toString());
+                assertEquals(exp, _ids(_readSequentially(splitter, splitter.split(count, _executor))));
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testSplitsWithCRLF() throws Exception
+    {
+        final String doc = _document(300, false, "\r\n");
+        File f = _file(doc);
+        try {
+            CsvSplitter splitter = new CsvSplitter(MAPPER, f, MAPPER.schemaFor(Entry.class));
+            for (int count : new int[] { 5, 50 }) {
+                List<CsvSplitter.Split> splits = splitter.split(count, _executor);
+                _verifySplits(f, splits, count);
+                assertEquals(300, _readSequentially(splitter, splits).size());
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testSplitsWithHeader() throws Exception
+    {
+        final String doc = _document(200, true, "\n");
+        File f = _file(doc);
+        try {
+            CsvSplitter splitter = new CsvSplitter(MAPPER, f, CsvSchema.emptySchema().withHeader());
+            List<CsvSplitter.Split> splits = splitter.split(4, _executor);
+            assertTrue(splits.size() > 1);
+            CsvSchema schema = splits.get(0).getSchema();
+            assertFalse(schema.usesHeader());
+            assertEquals(3, schema.size());
+            assertEquals("desc", schema.columnName(2));
+            assertEquals(doc.indexOf('\n') + 1, splits.get(0).getStart());
+
+            // also verify streaming access
+            CsvParser p = splitter.createParser(splits.get(1));
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("id", p.getCurrentName());
+            p.close();
+
+            List<Entry> entries = _readSequentially(splitter, splits);
+            assertEquals(200, entries.size());
+            assertEquals(0, entries.get(0).id);
+            assertEquals(199, entries.get(199).id);
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testSplitsWithEscapesAndComments() throws Exception
+    {
+        StringBuilder sb = new StringBuilder("# leading comment, with \"quote\n");
+        for (int i = 0; i < 200; ++i) {
+            sb.append(i).append(",\"esc\\\"aped\nvalue\",x\\,y\n");
+            if ((i % 10) == 0) {
+                sb.append("# comment with \"unbalanced quote\n");
+            }
+        }
+        File f = _file(sb.toString());
+        try {
+            CsvMapper mapper = mapperForCsv();
+            mapper.enable(JsonParser.Feature.ALLOW_YAML_COMMENTS);
+            CsvSchema schema = mapper.schemaFor(Entry.class).withEscapeChar('\\');
+            CsvSplitter splitter = new CsvSplitter(mapper, f, schema);
+            List<CsvSplitter.Split> splits = splitter.split(9, _executor);
+            _verifySplits(f, splits, 9);
+            ObjectReader r = mapper.readerFor(Entry.class);
+            List<Entry> entries = splitter.readAllValues(r, splits, _executor, true);
+            assertEquals(200, entries.size());
+            for (int i = 0; i < 200; ++i) {
+                Entry e = entries.get(i);
+                assertEquals(i, e.id);
+                assertEquals("esc\"aped\nvalue", e.name);
+                assertEquals("x,y", e.desc);
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testConcurrentReads() throws Exception
+    {
+        final String doc = _document(1000, false, "\n");
+        File f = _file(doc);
+        try {
+            final CsvSchema schema = MAPPER.schemaFor(Entry.class);
+            final ObjectReader r = MAPPER.readerFor(Entry.class);
+            final List<String> exp = _ids(r.with(schema).<Entry>readValues(doc).readAll());
+            CsvSplitter splitter = new CsvSplitter(MAPPER, f, schema);
+            List<CsvSplitter.Split> splits = splitter.split(8, _executor);
+            assertEquals(exp, _ids(splitter.<Entry>readAllValues(r, splits, _executor, true)));
+
+            List<String> unordered = _ids(splitter.<Entry>readAllValues(r, splits, _executor, false));
+            assertEquals(exp.size(), unordered.size());
+            assertEquals(new HashSet<String>(exp), new HashSet<String>(unordered));
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testSequentialReads() throws Exception
+    {
+        // with BOM, which is to be skipped for the first split
+        final String doc = "\uFEFF"+_document(100, false, "\r\n");
+        File f = _file(doc);
+        try {
+            final CsvSchema schema = MAPPER.schemaFor(Entry.class);
+            final ObjectReader r = MAPPER.readerFor(Entry.class);
+            final List<String> exp = _ids(r.with(schema).<Entry>readValues(doc.substring(1)).readAll());
+            CsvSplitter splitter = new CsvSplitter(MAPPER, f, schema);
+            List<CsvSplitter.Split> splits = splitter.split(4);
+            assertEquals(exp, _ids(splitter.<Entry>readAllValues(r, splits, null, true)));
+            assertEquals(exp, _ids(splitter.<Entry>readAllValues(r, splits, null, false)));
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testReadWithHandler() throws Exception
+    {
+        final String doc = _document(500, false, "\n");
+        File f = _file(doc);
+        try {
+            final CsvSchema schema = MAPPER.schemaFor(Entry.class);
+            final ObjectReader r = MAPPER.readerFor(Entry.class);
+            final List<String> exp = _ids(r.with(schema).<Entry>readValues(doc).readAll());
+            CsvSplitter splitter = new CsvSplitter(MAPPER, f, schema);
+            final List<CsvSplitter.Split> splits = splitter.split(6, _executor);
+            for (ExecutorService executor : new ExecutorService[] { _executor, null }) {
+                // values of each split collected separately, to verify ordering
+                final List<List<Entry>> values = new ArrayList<List<Entry>>();
+                for (int i = 0; i < splits.size(); ++i) {
+                    values.add(new ArrayList<Entry>());
+                }
+                long count = splitter.readValues(r, splits, executor, new CsvSplitter.ValueHandler<Entry>() {
+                    @Override
+                    public void handleValue(CsvSplitter.Split split, Entry value) {
+                        values.get(split.getIndex()).add(value);
+                    }
+                });
+                assertEquals(exp.size(), count);
+                List<Entry> all = new ArrayList<Entry>();
+                for (List<Entry> v : values) {
+                    all.addAll(v);
+                }
+                assertEquals(exp, _ids(all));
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testFailedReadWithHandler() throws Exception
+    {
+        File f = _file(_document(100, false, "\n"));
+        try {
+            CsvSplitter splitter = new CsvSplitter(MAPPER, f, MAPPER.schemaFor(Entry.class));
+            try {
+                splitter.readValues(MAPPER.readerFor(Entry.class), splitter.split(4), _executor,
+                        new CsvSplitter.ValueHandler<Entry>() {
+                    @Override
+                    public void handleValue(CsvSplitter.Split split, Entry value) throws IOException {
+                        if (value.id == 42) {
+                            throw new IOException("Bad entry 42");
+                        }
+                    }
+                });
+                fail("Should not pass");
+            } catch (IOException e) {
+                verifyException(e, "Bad entry 42");
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testReadWrappedAsArray() throws Exception
+    {
+        final String doc = _document(100, true, "\n");
+        File f = _file(doc);
+        try {
+            // feature may be enabled for either factory or reader
+            CsvMapper wrappingMapper = mapperForCsv();
+            wrappingMapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+            for (CsvMapper mapper : new CsvMapper[] { MAPPER, wrappingMapper }) {
+                final CsvSchema schema = CsvSchema.emptySchema().withHeader();
+                final ObjectReader r = mapper.readerFor(Entry.class).with(CsvParser.Feature.WRAP_AS_ARRAY);
+                final List<String> exp = _ids(r.with(schema).<Entry>readValues(f).readAll());
+                assertEquals(100, exp.size());
+                CsvSplitter splitter = new CsvSplitter(mapper, f, schema);
+                List<CsvSplitter.Split> splits = splitter.split(3);
+                List<Entry> entries = new ArrayList<Entry>();
+                for (CsvSplitter.Split split : splits) {
+                    entries.addAll(splitter.<Entry>readValues(r, split).readAll());
+                }
+                assertEquals(exp, _ids(entries));
+                assertEquals(exp, _ids(splitter.<Entry>readAllValues(r, splits, _executor, true)));
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testSplitParserLocations() throws Exception
+    {
+        File f = _file(_document(50, true, "\n"));
+        try {
+            CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader();
+            CsvSplitter splitter = new CsvSplitter(MAPPER, f, schema);
+            List<CsvSplitter.Split> splits = splitter.split(3);
+            assertTrue(splits.size() > 1);
+            for (CsvSplitter.Split split : splits) {
+                JsonParser p = splitter.createParser(split);
+                assertToken(JsonToken.START_OBJECT, p.nextToken());
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                // offsets relative to the start of file
+                assertEquals(split.getStart(), p.getTokenLocation().getByteOffset());
+                assertEquals(1, p.getTokenLocation().getLineNr());
+                p.close();
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testFailedRead() throws Exception
+    {
+        File f = _file("1,a,b\nfoo,c,d\n");
+        try {
+            CsvSplitter splitter = new CsvSplitter(MAPPER, f, MAPPER.schemaFor(Entry.class));
+            try {
+                splitter.readAllValues(MAPPER.readerFor(Entry.class), splitter.split(2),
+                        _executor, true);
+                fail("Should not pass");
+            } catch (IOException e) {
+                verifyException(e, "foo");
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private String _document(int rows, boolean header, String lf)
+    {
+        StringBuilder sb = new StringBuilder();
+        if (header) {
+            sb.append("id,name,desc").append(lf);
+        }
+        for (int i = 0; i < rows; ++i) {
+            sb.append(i).append(',');
+            // mix of quoted values, with linefeeds and doubled quotes, and unquoted ones
+            if ((i % 3) == 0) {
+                sb.append("\"name \"\"").append(i).append("\"\"\"");
+            } else {
+                sb.append("name").append(i);
+            }
+            sb.append(",\"");
+            for (int j = 0; j < (i % 7); ++j) {
+                sb.append("line, ").append(j).append(lf);
+            }
+            sb.append("é\"").append(lf);
+        }
+        return sb.toString();
+    }
+
+    private File _file(String doc) throws IOException
+    {
+        File f = File.createTempFile("csv-split", ".csv");
+        OutputStream out = new FileOutputStream(f);
+        out.write(doc.getBytes("UTF-8"));
+        out.close();
+        return f;
+    }
+
+    private void _verifySplits(File f, List<CsvSplitter.Split> splits, int maxCount)
+    {
+        assertTrue(splits.size() > 0);
+        assertTrue(splits.size() <= maxCount);
+        long prev = splits.get(0).getStart();
+        for (int i = 0; i < splits.size(); ++i) {
+            CsvSplitter.Split split = splits.get(i);
+            assertEquals(i, split.getIndex());
+            assertEquals(prev, split.getStart());
+            assertTrue(split.getLength() > 0L);
+            prev = split.getEnd();
+        }
+        assertEquals(f.length(), prev);
+    }
+
+    private List<Entry> _readSequentially(CsvSplitter splitter, List<CsvSplitter.Split> splits)
+        throws IOException
+    {
+        List<Entry> result = new ArrayList<Entry>();
+        ObjectReader r = MAPPER.readerFor(Entry.class);
+        for (CsvSplitter.Split split : splits) {
+            result.addAll(splitter.<Entry>readValues(r, split).readAll());
+        }
+        return result;
+    }
+
+    private List<String> _ids(List<Entry> entries)
+    {
+        List<String> result = new ArrayList<String>(entries.size());
+        for (Entry e : entries) {
+            result.add(e.id+"/"+e.name+"/"+e.desc);
+        }
+        return result;
+    }
+}
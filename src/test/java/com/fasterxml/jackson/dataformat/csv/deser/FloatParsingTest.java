@@ -0,0 +1,112 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.Random;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.NumberInput;
+
+/**
+ * Tests to verify that floating-point values are parsed exactly as
+ * JDK parses them, whether using the fast path or not.
+ */
+public class FloatParsingTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "d", "f" })
+    static class Point {
+        public double d;
+        public float f;
+    }
+
+    private final static String[] VALUES = new String[] {
+        "0", "-0", "0.0", "1.", ".5", "-.25", "1e5", "1E+5", "1e-5", "0.1", "-123.456",
+        "9007199254740993", "1234567890123456789", "0.30000000000000004",
+        "1.7976931348623157e308", "1.7976931348623159e308", "4.9e-324", "2.5e-324",
+        "1e-400", "1e400", "3.4028235e38", "3.4028236e38", "1.4e-45", "1.17549435E-38",
+        "12345678901234567890.5", "0000000000000000000000001.5", "1.0000000000000000000",
+        "1.00000000000000011102230246251565404236316680908203125",
+        "NaN", "-Infinity", "1.5d", "0x1p3", " 2.5"
+    };
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testNumberInput() throws Exception
+    {
+        for (String value : VALUES) {
+            _verify(value);
+        }
+        Random rnd = new Random(1);
+        for (int i = 0; i < 20000; ++i) {
+            double d = Double.longBitsToDouble(rnd.nextLong());
+            if (!Double.isNaN(d)) {
+                _verify(String.valueOf(d));
+                _verify(String.valueOf((float) d));
+            }
+            _verify(String.valueOf(rnd.nextInt(1000000) / 1000.0));
+        }
+    }
+
+    public void testInvalid() throws Exception
+    {
+        for (String value : new String[] { "", "-", ".", "1e", "1e+", "1.2.3", "abc", "1-2" }) {
+            char[] ch = value.toCharArray();
+            try {
+                NumberInput.parseDouble(ch, 0, ch.length);
+                fail("Should not pass for '"+value+"'");
+            } catch (NumberFormatException e) { }
+            try {
+                NumberInput.parseFloat(ch, 0, ch.length);
+                fail("Should not pass for '"+value+"'");
+            } catch (NumberFormatException e) { }
+        }
+    }
+
+    public void testParserAccessors() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("d", CsvSchema.ColumnType.NUMBER)
+                .addColumn("f", CsvSchema.ColumnType.NUMBER)
+                .build();
+        CsvParser p = MAPPER.getFactory().createParser("0.1,16777217.5\n-2.5e-3,1.00000017881393432617187499\n");
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(0.1, p.getDoubleValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(Float.parseFloat("16777217.5"), p.getFloatValue());
+        assertEquals(16777217.5, p.getDoubleValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(-0.0025, p.getDoubleValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        // would round differently if parsed as double first
+        assertEquals(Float.parseFloat("1.00000017881393432617187499"), p.getFloatValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+    }
+
+    public void testDataBinding() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(Point.class);
+        Point point = MAPPER.readerFor(Point.class).with(schema)
+                .readValue("-1.2345678901234567e-89,3.14159274\n".getBytes("UTF-8"));
+        assertEquals(-1.2345678901234567e-89, point.d);
+        assertEquals(3.14159274f, point.f);
+    }
+
+    private void _verify(String value)
+    {
+        char[] ch = ("[" + value + "]").toCharArray();
+        assertEquals(value, Double.doubleToLongBits(Double.parseDouble(value)),
+                Double.doubleToLongBits(NumberInput.parseDouble(ch, 1, value.length())));
+        assertEquals(value, Float.floatToIntBits(Float.parseFloat(value)),
+                Float.floatToIntBits(NumberInput.parseFloat(ch, 1, value.length())));
+    }
+}
@@ -0,0 +1,150 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.MappedFileInputStream;
+
+/**
+ * Tests for reading files using memory-mapping
+ * (see {@link CsvParser.Feature#USE_MAPPED_FILE_INPUT}).
+ */
+public class MappedFileReadTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name", "desc" })
+    static class Entry {
+        public int id;
+        public String name, desc;
+    }
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    public void testMappedFile() throws Exception
+    {
+        final String doc = _document(500);
+        File f = _file(doc);
+        try {
+            CsvMapper mapper = mapperForCsv();
+            mapper.enable(CsvParser.Feature.USE_MAPPED_FILE_INPUT);
+            CsvFactory factory = mapper.getFactory();
+            final String exp = _tokens(factory.createParser(doc));
+            assertEquals(exp, _tokens(factory.createParser(f)));
+            assertEquals(exp, _tokens(factory.createParser(f.toPath())));
+
+            // and via databinding
+            CsvSchema schema = mapper.schemaFor(Entry.class);
+            List<Entry> entries = mapper.readerFor(Entry.class).with(schema)
+                    .<Entry>readValues(f).readAll();
+            assertEquals(500, entries.size());
+            assertEquals(499, entries.get(499).id);
+            assertEquals("é 499", entries.get(499).name);
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testPathWithoutMapping() throws Exception
+    {
+        final String doc = _document(20);
+        File f = _file(doc);
+        try {
+            CsvFactory factory = new CsvFactory();
+            JsonParser p = factory.createParser(f.toPath());
+            assertEquals(f.toPath(), p.getCurrentLocation().getSourceRef());
+            assertEquals(_tokens(factory.createParser(doc)), _tokens(p));
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testSmallWindows() throws Exception
+    {
+        final String doc = _document(100);
+        File f = _file(doc);
+        FileInputStream in = new FileInputStream(f);
+        try {
+            CsvFactory factory = new CsvFactory();
+            final String exp = _tokens(factory.createParser(doc));
+            FileChannel ch = in.getChannel();
+            // windows smaller than values and multi-byte characters
+            for (int size : new int[] { 1, 2, 3, 17, 1000 }) {
+                InputStream mapped = new MappedFileInputStream(ch, 0L, ch.size(), size, false);
+                assertEquals("(window size "+size+")", exp, _tokens(factory.createParser(mapped)));
+            }
+            assertTrue(ch.isOpen());
+        } finally {
+            in.close();
+            f.delete();
+        }
+    }
+
+    public void testSkip() throws Exception
+    {
+        File f = _file("0123456789");
+        FileInputStream in = new FileInputStream(f);
+        try {
+            FileChannel ch = in.getChannel();
+            InputStream mapped = new MappedFileInputStream(ch, 1L, 9L, 3, false);
+            assertEquals('1', mapped.read());
+            assertEquals(1L, mapped.skip(1L));
+            assertEquals('3', mapped.read());
+            assertEquals(4L, mapped.skip(4L));
+            assertEquals('8', mapped.read());
+            assertEquals(-1, mapped.read());
+            assertEquals(0L, mapped.skip(1L));
+            mapped.close();
+        } finally {
+            in.close();
+            f.delete();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private String _document(int rows)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; ++i) {
+            sb.append(i).append(",é ").append(i).append(",\"€ multi\nline, ")
+                .append(i).append("\"\n");
+        }
+        return sb.toString();
+    }
+
+    private File _file(String doc) throws IOException
+    {
+        File f = File.createTempFile("csv-mapped", ".csv");
+        OutputStream out = new FileOutputStream(f);
+        out.write(doc.getBytes("UTF-8"));
+        out.close();
+        return f;
+    }
+
+    private String _tokens(JsonParser p) throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            sb.append(t);
+            if (t == JsonToken.VALUE_STRING) {
+                sb.append('[').append(p.getText()).append(']');
+            }
+            sb.append('\n');
+        }
+        p.close();
+        return sb.toString();
+    }
+}
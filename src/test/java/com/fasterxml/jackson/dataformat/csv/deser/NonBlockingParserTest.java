@@ -0,0 +1,233 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for non-blocking parsing, using parsers constructed with
+ * {@link CsvFactory#createNonBlockingByteArrayParser()}.
+ */
+public class NonBlockingParserTest extends ModuleTestBase
+{
+    private final CsvFactory FACTORY = new CsvFactory();
+
+    private final CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("name")
+            .addColumn("desc")
+            .build();
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    public void testBasicChunks() throws Exception
+    {
+        final String doc = _document(40, "\n");
+        final String exp = _tokens(FACTORY.createParser(doc), SCHEMA);
+        for (int chunk : new int[] { 1, 2, 3, 5, 16, 100, 100000 }) {
+            assertEquals("(chunk size "+chunk+")", exp, _asyncTokens(doc, chunk, SCHEMA));
+        }
+    }
+
+    public void testCRLF() throws Exception
+    {
+        final String doc = _document(30, "\r\n");
+        final String exp = _tokens(FACTORY.createParser(doc), SCHEMA);
+        for (int chunk : new int[] { 1, 4, 33 }) {
+            assertEquals("(chunk size "+chunk+")", exp, _asyncTokens(doc, chunk, SCHEMA));
+        }
+        // as well as plain CRs
+        final String doc2 = _document(30, "\r");
+        final String exp2 = _tokens(FACTORY.createParser(doc2), SCHEMA);
+        for (int chunk : new int[] { 1, 7 }) {
+            assertEquals("(chunk size "+chunk+")", exp2, _asyncTokens(doc2, chunk, SCHEMA));
+        }
+    }
+
+    public void testHeaderAndComments() throws Exception
+    {
+        final String doc = "﻿# comment\nid,name,desc\n# another\n"+_document(20, "\n")
+                +"# trailing, \"comment\n";
+        final CsvSchema schema = CsvSchema.emptySchema().withHeader().withComments();
+        final String exp = _tokens(FACTORY.createParser(doc.getBytes("UTF-8")), schema);
+        for (int chunk : new int[] { 1, 3, 50 }) {
+            assertEquals("(chunk size "+chunk+")", exp, _asyncTokens(doc, chunk, schema));
+        }
+    }
+
+    public void testUntypedArrays() throws Exception
+    {
+        final String doc = _document(10, "\n") + "a,b";
+        final String exp = _tokens(FACTORY.createParser(doc), CsvSchema.emptySchema());
+        for (int chunk : new int[] { 1, 9 }) {
+            assertEquals(exp, _asyncTokens(doc, chunk, CsvSchema.emptySchema()));
+        }
+    }
+
+    public void testIncompleteRow() throws Exception
+    {
+        CsvParser p = FACTORY.createNonBlockingByteArrayParser();
+        assertTrue(p.canParseAsync());
+        p.setSchema(SCHEMA);
+        ByteArrayFeeder feeder = (ByteArrayFeeder) p.getNonBlockingInputFeeder();
+        assertTrue(feeder.needMoreInput());
+        _feed(feeder, "1,\"multi\nline");
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        assertTrue(feeder.needMoreInput());
+        _feed(feeder, "\",x\n2,");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("1", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("multi\nline", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("x", p.getText());
+        // end of row known without more content
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        assertTrue(feeder.needMoreInput());
+        _feed(feeder, "b,c");
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        feeder.endOfInput();
+        assertFalse(feeder.needMoreInput());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("2", p.getText());
+        assertEquals("1,\"multi\nline\",x\n".length(), p.getTokenLocation().getByteOffset());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("b", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("c", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testFeedAfterEnd() throws Exception
+    {
+        CsvParser p = FACTORY.createNonBlockingByteArrayParser();
+        ByteArrayFeeder feeder = (ByteArrayFeeder) p.getNonBlockingInputFeeder();
+        feeder.endOfInput();
+        try {
+            _feed(feeder, "a");
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "can not feed");
+        }
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    public void testCommentsOnly() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema().withComments();
+        for (String doc : new String[] { "#\n", "#", "#x\r", "#x\r\n", "#x\n#y\n" }) {
+            for (int chunk : new int[] { 1, 2, 100 }) {
+                assertEquals("", _asyncTokens(doc, chunk, schema));
+            }
+        }
+    }
+
+    private String _document(int rows, String lf)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; ++i) {
+            sb.append(i).append(',');
+            switch (i % 4) {
+            case 0:
+                sb.append("\"name \"\"").append(i).append("\"\"\"");
+                break;
+            case 1:
+                sb.append("\"\"");
+                break;
+            case 2:
+                sb.append("\"a,b\"");
+                break;
+            default:
+                sb.append("näme #").append(i);
+            }
+            sb.append(",\"");
+            for (int j = 0; j < (i % 3); ++j) {
+                sb.append("€ ").append(j).append(lf);
+            }
+            sb.append('"').append(lf);
+        }
+        return sb.toString();
+    }
+
+    private void _feed(ByteArrayFeeder feeder, String str) throws IOException
+    {
+        byte[] b = str.getBytes("UTF-8");
+        feeder.feedInput(b, 0, b.length);
+    }
+
+    private String _asyncTokens(String doc, int chunkSize, CsvSchema schema) throws IOException
+    {
+        CsvParser p = FACTORY.createNonBlockingByteArrayParser();
+        p.setSchema(schema);
+        ByteArrayFeeder feeder = (ByteArrayFeeder) p.getNonBlockingInputFeeder();
+        final byte[] data = doc.getBytes("UTF-8");
+        StringBuilder sb = new StringBuilder();
+        int offset = 0;
+        while (true) {
+            JsonToken t = p.nextToken();
+            if (t == JsonToken.NOT_AVAILABLE) {
+                assertTrue(feeder.needMoreInput());
+                if (offset < data.length) {
+                    int end = Math.min(offset + chunkSize, data.length);
+                    feeder.feedInput(data, offset, end);
+                    offset = end;
+                } else {
+                    feeder.endOfInput();
+                }
+                continue;
+            }
+            if (t == null) {
+                break;
+            }
+            _append(sb, p, t);
+        }
+        p.close();
+        return sb.toString();
+    }
+
+    private String _tokens(JsonParser p, CsvSchema schema) throws IOException
+    {
+        p.setSchema(schema);
+        StringBuilder sb = new StringBuilder();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            _append(sb, p, t);
+        }
+        p.close();
+        return sb.toString();
+    }
+
+    private void _append(StringBuilder sb, JsonParser p, JsonToken t) throws IOException
+    {
+        sb.append(t);
+        if (t == JsonToken.VALUE_STRING || t == JsonToken.FIELD_NAME) {
+            sb.append('[').append(p.getText()).append(']');
+        }
+        sb.append('\n');
+    }
+}
@@ -0,0 +1,243 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+public class PooledParserTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name" })
+    static class Entry {
+        public int id;
+        public String name;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testResetInput() throws Exception
+    {
+        CsvParser p = MAPPER.getFactory().createParser(utf8("a,b\nc,d\n"));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("a", p.getText());
+        // reset in the middle of content
+        p.resetInput(utf8("\uFEFFx\ny,z\n"));
+        assertFalse(p.isClosed());
+        assertNull(p.getCurrentToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("x", p.getText());
+        assertEquals(1, p.getCurrentLocation().getLineNr());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("y", p.getText());
+        assertEquals(2, p.getCurrentLocation().getLineNr());
+        p.close();
+
+        // and after closing, from byte array
+        byte[] doc = utf8("--1,2\n");
+        p.resetInput(doc, 2, doc.length-2);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("1", p.getText());
+        p.close();
+
+        try {
+            p.resetInput(new StringReader("a"));
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "Can not reset");
+        }
+        p = MAPPER.getFactory().createParser(new StringReader("a"));
+        try {
+            p.resetInput(utf8("a"));
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "Can not reset");
+        }
+        p.resetInput(new StringReader("b\n"));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("b", p.getText());
+        p.close();
+    }
+
+    public void testResetWithHeader() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        CsvParser p = MAPPER.getFactory().createParser(new StringReader("id,name\n1,a\n"));
+        p.setSchema(schema);
+        List<Entry> entries = _readAll(p);
+        assertEquals(1, entries.size());
+        CsvSchema resolved = p.getSchema();
+        assertEquals(2, resolved.size());
+
+        // same header: resolved schema should be reused
+        p.resetInput(new StringReader("id,name\n2,b\n3,c\n"));
+        assertSame(schema, p.getSchema());
+        entries = _readAll(p);
+        assertEquals(2, entries.size());
+        assertEquals(3, entries.get(1).id);
+        assertSame(resolved, p.getSchema());
+
+        // but not if header differs
+        p.resetInput(new StringReader("name,id\nd,4\n"));
+        entries = _readAll(p);
+        assertEquals(4, entries.get(0).id);
+        assertEquals("d", entries.get(0).name);
+        assertNotSame(resolved, p.getSchema());
+        assertEquals("name", p.getSchema().columnName(0));
+
+        p.resetInput(new StringReader("id,name,extra\n5,e,x\n"));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals(3, p.getSchema().size());
+        assertEquals("extra", p.getSchema().columnName(2));
+        p.close();
+    }
+
+    public void testPooledParsers() throws Exception
+    {
+        final CsvFactory f = MAPPER.getFactory();
+        final CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader();
+        CsvParser p = f.acquireParser(utf8("id,name\n1,a\n"), schema);
+        List<Entry> entries = _readAll(p);
+        assertEquals("a", entries.get(0).name);
+        f.releaseParser(p);
+        assertTrue(p.isClosed());
+
+        CsvParser p2 = f.acquireParser(new ByteArrayInputStream(utf8("id,name\n2,b\n")), schema);
+        assertSame(p, p2);
+        entries = _readAll(p2);
+        assertEquals(2, entries.get(0).id);
+        assertEquals("b", entries.get(0).name);
+
+        // in use, so need another one
+        CsvParser p3 = f.acquireParser(utf8("3,c"), null);
+        assertNotSame(p2, p3);
+        assertEquals(0, p3.getSchema().size());
+        f.releaseParser(p3);
+        f.releaseParser(p2);
+
+        // char-based parsers are pooled separately
+        CsvParser p4 = f.acquireParser(new StringReader("id,name\n4,d\n"), schema);
+        assertNotSame(p, p4);
+        assertEquals(4, _readAll(p4).get(0).id);
+        f.releaseParser(p4);
+        assertSame(p4, f.acquireParser(new StringReader(""), schema));
+
+        // parsers not acquired from pool are just closed
+        CsvParser p5 = f.createParser(utf8("x"));
+        f.releaseParser(p5);
+        assertTrue(p5.isClosed());
+        assertNotSame(p5, f.acquireParser(utf8("x"), null));
+        assertNotSame(p5, f.acquireParser(utf8("x"), null));
+    }
+
+    public void testDoubleRelease() throws Exception
+    {
+        final CsvFactory f = new CsvFactory();
+        CsvParser p = f.acquireParser(utf8("a\n"), null);
+        f.releaseParser(p);
+        // second release must not add instance to pool again
+        f.releaseParser(p);
+        CsvParser p2 = f.acquireParser(utf8("b\n"), null);
+        assertSame(p, p2);
+        CsvParser p3 = f.acquireParser(utf8("c\n"), null);
+        assertNotSame(p2, p3);
+        assertEquals(1, _countRows(p2));
+        assertEquals(1, _countRows(p3));
+        // and once acquired again, may be released again
+        f.releaseParser(p2);
+        assertSame(p2, f.acquireParser(utf8("d\n"), null));
+        f.releaseParser(p3);
+    }
+
+    public void testPooledParserFeatures() throws Exception
+    {
+        final CsvFactory f = new CsvFactory();
+        CsvParser p = f.acquireParser(utf8("a, b\n"), null);
+        p.overrideFormatFeatures(CsvParser.Feature.TRIM_SPACES.getMask(),
+                CsvParser.Feature.TRIM_SPACES.getMask());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("b", p.getText());
+        f.releaseParser(p);
+
+        // features changed by previous user not retained
+        p = f.acquireParser(utf8("a, b\n"), null);
+        assertFalse(p.isEnabled(CsvParser.Feature.TRIM_SPACES));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(" b", p.getText());
+        f.releaseParser(p);
+    }
+
+    public void testPooledParserComments() throws Exception
+    {
+        final CsvFactory f = new CsvFactory();
+        final CsvSchema plain = CsvSchema.emptySchema();
+        final CsvSchema comments = plain.withComments();
+        final String doc = "#x\n1\n";
+        for (int i = 0; i < 3; ++i) {
+            CsvParser p = f.acquireParser(utf8(doc), comments);
+            assertEquals(1, _countRows(p));
+            f.releaseParser(p);
+
+            // comments must not be skipped with schema that does not allow them
+            p = f.acquireParser(utf8(doc), plain);
+            assertEquals(2, _countRows(p));
+            f.releaseParser(p);
+
+            p = f.acquireParser(new StringReader(doc), comments);
+            assertEquals(1, _countRows(p));
+            f.releaseParser(p);
+            p = f.acquireParser(new StringReader(doc), plain);
+            assertEquals(2, _countRows(p));
+            f.releaseParser(p);
+        }
+
+        // nor if enabled using feature by previous user
+        CsvParser p = f.acquireParser(utf8(doc), plain);
+        p.overrideStdFeatures(JsonParser.Feature.ALLOW_YAML_COMMENTS.getMask(),
+                JsonParser.Feature.ALLOW_YAML_COMMENTS.getMask());
+        assertEquals(1, _countRows(p));
+        f.releaseParser(p);
+        p = f.acquireParser(utf8(doc), plain);
+        assertEquals(2, _countRows(p));
+        f.releaseParser(p);
+    }
+
+    private static int _countRows(CsvParser p) throws IOException
+    {
+        int rows = 0;
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            if (t == JsonToken.START_ARRAY) {
+                ++rows;
+            }
+        }
+        return rows;
+    }
+
+    private static byte[] utf8(String str) throws IOException {
+        return str.getBytes("UTF-8");
+    }
+
+    private List<Entry> _readAll(CsvParser p) throws IOException
+    {
+        MappingIterator<Entry> it = MAPPER.readerFor(Entry.class).readValues(p);
+        List<Entry> result = new ArrayList<Entry>();
+        while (it.hasNextValue()) {
+            result.add(it.nextValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,207 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+public class RowCursorTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testSimple() throws Exception
+    {
+        final String DOC = "id,price,name\n"
+                +"1,1.25,abc\n"
+                +"-2147483648, -0.5e-3 ,\"quoted, \"\"value\"\"\"\r\n"
+                +"9223372036854775807,NaN,\"multi\nline\"\n";
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        for (int i = 0; i < 2; ++i) {
+            CsvRowCursor cursor = (i == 0)
+                    ? MAPPER.getFactory().createRowCursor(new StringReader(DOC), schema)
+                    : MAPPER.getFactory().createRowCursor(new ByteArrayInputStream(DOC.getBytes("UTF-8")), schema);
+            assertEquals(3, cursor.getSchema().size());
+            assertEquals(1, cursor.getSchema().column("price").getIndex());
+
+            assertTrue(cursor.advance());
+            assertEquals(3, cursor.columnCount());
+            assertEquals(1, cursor.getInt(0));
+            assertEquals(1L, cursor.getLong(0));
+            assertEquals(1.25, cursor.getDouble(1));
+            CharSequence name = cursor.getCharSequence(2);
+            assertEquals("abc", name.toString());
+            assertEquals(3, name.length());
+            assertEquals('b', name.charAt(1));
+            assertFalse(cursor.isNull(2));
+
+            assertTrue(cursor.advance());
+            assertEquals(Integer.MIN_VALUE, cursor.getInt(0));
+            assertEquals(-0.0005, cursor.getDouble(1));
+            // same instance, new contents
+            assertSame(name, cursor.getCharSequence(2));
+            assertEquals("quoted, \"value\"", name.toString());
+
+            assertTrue(cursor.advance());
+            assertEquals(Long.MAX_VALUE, cursor.getLong(0));
+            assertTrue(Double.isNaN(cursor.getDouble(1)));
+            assertEquals("multi\nline", cursor.getString(2));
+
+            assertFalse(cursor.advance());
+            assertFalse(cursor.advance());
+            assertEquals(0, cursor.columnCount());
+            cursor.close();
+            assertTrue(cursor.getParser().isClosed());
+        }
+    }
+
+    public void testNullsAndMissing() throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withNullValue("N/A");
+        CsvRowCursor cursor = MAPPER.getFactory().createRowCursor(
+                new StringReader("a,N/A,\nb\n\nlast"), schema);
+        assertTrue(cursor.advance());
+        assertEquals(3, cursor.columnCount());
+        assertFalse(cursor.isNull(0));
+        assertTrue(cursor.isNull(1));
+        assertFalse(cursor.isNull(2));
+        assertEquals("", cursor.getString(2));
+        assertTrue(cursor.isNull(3));
+        assertNull(cursor.getCharSequence(3));
+
+        assertTrue(cursor.advance());
+        assertEquals(1, cursor.columnCount());
+        assertEquals("b", cursor.getString(0));
+        assertTrue(cursor.isNull(1));
+        try {
+            cursor.getInt(1);
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "No value for column #1");
+        }
+
+        assertTrue(cursor.advance());
+        assertEquals(1, cursor.columnCount());
+        assertEquals("", cursor.getString(0));
+
+        assertTrue(cursor.advance());
+        assertEquals("last", cursor.getString(0));
+        assertFalse(cursor.advance());
+        cursor.close();
+    }
+
+    public void testInvalidNumbers() throws Exception
+    {
+        CsvRowCursor cursor = MAPPER.getFactory().createRowCursor(
+                new StringReader("abc,2147483648,9223372036854775808,1.2.3,-\n"), null);
+        assertTrue(cursor.advance());
+        _verifyFail(cursor, 0, "not a valid long");
+        _verifyFail(cursor, 1, "out of range of int");
+        assertEquals(2147483648L, cursor.getLong(1));
+        _verifyFail(cursor, 2, "out of range of long");
+        try {
+            cursor.getDouble(3);
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "not a valid double");
+        }
+        _verifyFail(cursor, 4, "not a valid long");
+        cursor.close();
+    }
+
+    public void testProjection() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a").addColumn("b").addColumn("c")
+                .build()
+                .withIncludedColumns("a", "c");
+        CsvRowCursor cursor = MAPPER.getFactory().createRowCursor(
+                new StringReader("1,\"skip, me\",3,4\n"), schema);
+        assertTrue(cursor.advance());
+        assertEquals(4, cursor.columnCount());
+        assertEquals(1, cursor.getInt(0));
+        assertTrue(cursor.isNull(1));
+        assertNull(cursor.getString(1));
+        assertEquals(3, cursor.getInt(2));
+        // not part of schema, so not included either
+        assertTrue(cursor.isNull(3));
+        assertFalse(cursor.advance());
+        cursor.close();
+    }
+
+    public void testLongValuesAndManyColumns() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            value.append((char) ('a' + (i % 26)));
+        }
+        for (int row = 0; row < 3; ++row) {
+            for (int col = 0; col < 100; ++col) {
+                if (col > 0) {
+                    sb.append(',');
+                }
+                if (col == 50) {
+                    sb.append('"').append(value).append('"');
+                } else {
+                    sb.append(row * col);
+                }
+            }
+            sb.append('\n');
+        }
+        CsvRowCursor cursor = MAPPER.getFactory().createRowCursor(
+                new ByteArrayInputStream(sb.toString().getBytes("UTF-8")), null);
+        for (int row = 0; row < 3; ++row) {
+            assertTrue(cursor.advance());
+            assertEquals(100, cursor.columnCount());
+            assertEquals(row * 99, cursor.getInt(99));
+            assertEquals(value.toString(), cursor.getString(50));
+            assertEquals(value.length(), cursor.getCharSequence(50).length());
+        }
+        assertFalse(cursor.advance());
+        cursor.close();
+    }
+
+    public void testCursorFromParser() throws Exception
+    {
+        CsvParser p = MAPPER.getFactory().createParser("a,b\nc,d\ne,f\n");
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        // not allowed in the middle of row
+        try {
+            p.rowCursor();
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "start of a row");
+        }
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+
+        CsvRowCursor cursor = p.rowCursor();
+        assertTrue(cursor.advance());
+        assertEquals("c", cursor.getString(0));
+        assertTrue(cursor.advance());
+        assertEquals("f", cursor.getString(1));
+        assertFalse(cursor.advance());
+        cursor.close();
+
+        // and with empty content
+        cursor = MAPPER.getFactory().createParser("").rowCursor();
+        assertFalse(cursor.advance());
+        cursor.close();
+    }
+
+    private void _verifyFail(CsvRowCursor cursor, int index, String msg) throws Exception
+    {
+        try {
+            cursor.getLong(index);
+            if (msg.contains("int")) {
+                cursor.getInt(index);
+            }
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, msg);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests to verify that decoders find separators, quotes, escapes and linefeeds
+ * regardless of their position within longer runs of plain characters
+ * (which are scanned multiple characters at a time).
+ */
+public class SpecialCharScanningTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testUnquotedValues() throws Exception
+    {
+        List<String> values = new ArrayList<String>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40; ++i) {
+            String value = _plain(i, "abcdefghij");
+            values.add(value);
+            sb.append(value);
+            sb.append(((i % 3) == 0) ? "\n" : ((i % 3) == 1) ? "\r\n" : ",");
+        }
+        _verify(CsvSchema.emptySchema(), sb.toString(), values);
+    }
+
+    public void testQuotedValues() throws Exception
+    {
+        List<String> values = new ArrayList<String>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40; ++i) {
+            String value = _plain(i, "xyz") + "\"" + _plain(i / 2, "uvw") + "\n"
+                    + _plain(i % 11, "rst") + ",\r\n" + _plain(i % 9, "ÄÖé€") + "😀";
+            values.add(value);
+            sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+            sb.append(((i % 2) == 1) ? "\n" : ",");
+        }
+        _verify(CsvSchema.emptySchema(), sb.toString(), values);
+    }
+
+    public void testEscapedAndNonAscii() throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withEscapeChar('\\');
+        List<String> values = new ArrayList<String>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40; ++i) {
+            String prefix = _plain(i, "0123456");
+            String suffix = _plain(i % 13, "€x");
+            values.add(prefix + "," + suffix);
+            sb.append(prefix).append("\\,").append(suffix);
+            sb.append(((i % 2) == 1) ? "\n" : ",");
+        }
+        _verify(schema, sb.toString(), values);
+    }
+
+    public void testNonAsciiSeparator() throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withColumnSeparator('§');
+        List<String> values = new ArrayList<String>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40; ++i) {
+            String value = _plain(i, "a,b;c");
+            values.add(value);
+            sb.append(value);
+            sb.append(((i % 2) == 1) ? "\n" : "§");
+        }
+        _verify(schema, sb.toString(), values);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private String _plain(int len, String chars)
+    {
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; ++i) {
+            sb.append(chars.charAt(i % chars.length()));
+        }
+        return sb.toString();
+    }
+
+    private void _verify(CsvSchema schema, String doc, List<String> exp) throws Exception
+    {
+        assertEquals(exp, _values(MAPPER.getFactory().createParser(new StringReader(doc)), schema));
+        assertEquals(exp, _values(MAPPER.getFactory().createParser(doc.getBytes("UTF-8")), schema));
+    }
+
+    private List<String> _values(CsvParser p, CsvSchema schema) throws Exception
+    {
+        p.setSchema(schema);
+        List<String> values = new ArrayList<String>();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            if (t == JsonToken.VALUE_STRING) {
+                values.add(p.getText());
+            }
+        }
+        p.close();
+        return values;
+    }
+}
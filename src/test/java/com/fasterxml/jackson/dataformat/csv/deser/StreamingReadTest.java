@@ -2,10 +2,12 @@ package com.fasterxml.jackson.dataformat.csv.deser;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.dataformat.csv.*;
 
 /**
@@ -46,6 +48,133 @@ public class StreamingReadTest extends ModuleTestBase
         _testDoubles(-123451.75, 0.0625, -829.5);
     }
 
+    public void testTextCharacters() throws Exception
+    {
+        _testTextCharacters(false);
+        _testTextCharacters(true);
+    }
+
+    public void testTextCharactersForArrays() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addArrayColumn("values", ";")
+                .build();
+        for (boolean useBytes : new boolean[] { false, true }) {
+            CsvParser parser = _parser("abc,foo;barf;x\n", useBytes, schema);
+            assertToken(JsonToken.START_OBJECT, parser.nextToken());
+            assertToken(JsonToken.FIELD_NAME, parser.nextToken());
+            assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+            _verifyText(parser, "abc");
+            assertToken(JsonToken.FIELD_NAME, parser.nextToken());
+            assertToken(JsonToken.START_ARRAY, parser.nextToken());
+            assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+            _verifyText(parser, "foo");
+            assertFalse(parser.hasTextCharacters());
+            assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+            _verifyText(parser, "barf");
+            assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+            _verifyText(parser, "x");
+            assertToken(JsonToken.END_ARRAY, parser.nextToken());
+            assertToken(JsonToken.END_OBJECT, parser.nextToken());
+            parser.close();
+        }
+    }
+
+    // empty values must also be accessible as characters, as TokenBuffer does
+    public void testEmptyValuesViaTokenBuffer() throws Exception
+    {
+        final String DOC = "a,\n,,\"\"\n";
+        for (boolean useBytes : new boolean[] { false, true }) {
+            CsvParser parser = useBytes
+                    ? CSV_F.createParser(new ByteArrayInputStream(DOC.getBytes("UTF-8")))
+                    : CSV_F.createParser(new StringReader(DOC));
+            parser.setSchema(ABC_SCHEMA);
+            TokenBuffer tb = new TokenBuffer(parser);
+            while (parser.nextToken() != null) {
+                tb.copyCurrentStructure(parser);
+            }
+            parser.close();
+
+            JsonParser p = tb.asParser();
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("a", p.getText());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("", p.getText());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            for (int i = 0; i < 3; ++i) {
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("", p.getText());
+            }
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+            p.close();
+        }
+    }
+
+    private void _testTextCharacters(boolean useBytes) throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            sb.append("value").append(i);
+        }
+        final String LONG = sb.toString();
+        // first row fits in input buffer; second crosses buffer boundary
+        final String DOC = "abc,\"quo\"\"ted\",last\n"
+                +LONG+",,"+LONG+"\n";
+        CsvParser parser = _parser(DOC, useBytes, ABC_SCHEMA);
+        assertToken(JsonToken.START_OBJECT, parser.nextToken());
+        assertToken(JsonToken.FIELD_NAME, parser.nextToken());
+        assertFalse(parser.hasTextCharacters());
+        assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+        assertTrue(parser.hasTextCharacters());
+        _verifyText(parser, "abc");
+        assertToken(JsonToken.FIELD_NAME, parser.nextToken());
+        assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+        _verifyText(parser, "quo\"ted");
+        assertToken(JsonToken.FIELD_NAME, parser.nextToken());
+        assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+        assertTrue(parser.hasTextCharacters());
+        if (!useBytes) { // should be exposed directly from input buffer
+            assertTrue(parser.getTextOffset() > 0);
+        }
+        _verifyText(parser, "last");
+        // and once String has been constructed, should still work the same
+        assertEquals("last", parser.getText());
+        _verifyText(parser, "last");
+        assertToken(JsonToken.END_OBJECT, parser.nextToken());
+
+        assertToken(JsonToken.START_OBJECT, parser.nextToken());
+        assertToken(JsonToken.FIELD_NAME, parser.nextToken());
+        assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+        _verifyText(parser, LONG);
+        assertToken(JsonToken.FIELD_NAME, parser.nextToken());
+        assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+        _verifyText(parser, "");
+        assertToken(JsonToken.FIELD_NAME, parser.nextToken());
+        assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+        _verifyText(parser, LONG);
+        assertToken(JsonToken.END_OBJECT, parser.nextToken());
+        assertNull(parser.nextToken());
+        parser.close();
+    }
+
+    private void _verifyText(JsonParser p, String exp) throws IOException
+    {
+        // verify char-based access first, to avoid String getting constructed
+        StringWriter w = new StringWriter();
+        assertEquals(exp.length(), p.getText(w));
+        assertEquals(exp, w.toString());
+        assertEquals(exp.length(), p.getTextLength());
+        assertEquals(exp, new String(p.getTextCharacters(), p.getTextOffset(), p.getTextLength()));
+        assertEquals(exp, p.getText());
+    }
+
     private void _testInts(int a, int b, int c) throws Exception {
         _testInts(false, a, b, c);
         _testInts(true, a, b, c);
@@ -0,0 +1,118 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.IOException;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+public class StringArrayReadTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String DOC = "a,b,c\n"
+            +"1,\"quoted, \"\"value\"\"\",3\n"
+            +"short\n"
+            +"\n"
+            +"x,y,z,w,\n"
+            +"\"multi\nline\",-\n";
+
+    public void testRows() throws Exception
+    {
+        List<String[]> rows = MAPPER.readerFor(String[].class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .<String[]>readValues(DOC)
+                .readAll();
+        assertEquals(6, rows.size());
+        assertEquals(Arrays.asList("a", "b", "c"), Arrays.asList(rows.get(0)));
+        assertEquals(Arrays.asList("1", "quoted, \"value\"", "3"), Arrays.asList(rows.get(1)));
+        assertEquals(Arrays.asList("short"), Arrays.asList(rows.get(2)));
+        assertEquals(Arrays.asList(""), Arrays.asList(rows.get(3)));
+        assertEquals(Arrays.asList("x", "y", "z", "w", ""), Arrays.asList(rows.get(4)));
+        assertEquals(Arrays.asList("multi\nline", "-"), Arrays.asList(rows.get(5)));
+
+        // should match results of regular, token-based binding
+        ObjectMapper plain = new ObjectMapper(new CsvFactory());
+        for (CsvSchema schema : new CsvSchema[] { CsvSchema.emptySchema(),
+                CsvSchema.emptySchema().withNullValue("-") }) {
+            String[][] exp = plain.readerFor(String[][].class)
+                    .with(schema)
+                    .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                    .readValue(DOC);
+            String[][] act = MAPPER.readerFor(String[][].class)
+                    .with(schema)
+                    .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                    .readValue(DOC);
+            assertEquals(exp.length, act.length);
+            for (int i = 0; i < exp.length; ++i) {
+                assertEquals(Arrays.asList(exp[i]), Arrays.asList(act[i]));
+            }
+        }
+    }
+
+    public void testParserState() throws Exception
+    {
+        CsvParser p = MAPPER.getFactory().createParser("a,b\nc\n");
+        // not at start of a row: nothing read
+        assertNull(p.readRowValues());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        String[] row = p.readRowValues();
+        assertEquals(Arrays.asList("a", "b"), Arrays.asList(row));
+        assertToken(JsonToken.END_ARRAY, p.getCurrentToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertNull(p.readRowValues());
+        assertEquals("c", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        // and with non-blocking parser
+        NonBlockingCsvParser nb = (NonBlockingCsvParser) MAPPER.getFactory().createNonBlockingByteArrayParser();
+        byte[] doc = "1,2\n3,4,5\n".getBytes("UTF-8");
+        nb.feedInput(doc, 0, doc.length);
+        nb.endOfInput();
+        MappingIterator<String[]> it = MAPPER.readerFor(String[].class).readValues(nb);
+        assertEquals(Arrays.asList("1", "2"), Arrays.asList(it.nextValue()));
+        assertEquals(Arrays.asList("3", "4", "5"), Arrays.asList(it.nextValue()));
+        assertFalse(it.hasNextValue());
+        it.close();
+    }
+
+    public void testWithCustomElementDeserializer() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(String.class, new StdScalarDeserializer<String>(String.class) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                return p.getText().toUpperCase();
+            }
+        });
+        mapper.registerModule(module);
+        String[][] rows = mapper.readerFor(String[][].class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .readValue("a,b\nc\n");
+        assertEquals(2, rows.length);
+        assertEquals(Arrays.asList("A", "B"), Arrays.asList(rows[0]));
+        assertEquals(Arrays.asList("C"), Arrays.asList(rows[1]));
+    }
+
+    public void testWithCanonicalization() throws Exception
+    {
+        List<String[]> rows = MAPPER.readerFor(String[].class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .with(CsvParser.Feature.CANONICALIZE_STRING_VALUES)
+                .<String[]>readValues("1,FI\n2,FI\n")
+                .readAll();
+        assertSame(rows.get(0)[1], rows.get(1)[1]);
+    }
+}
@@ -0,0 +1,92 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.*;
+
+import com.fasterxml.jackson.dataformat.csv.ModuleTestBase;
+import com.fasterxml.jackson.dataformat.csv.impl.StructuralIndexer;
+
+/**
+ * Tests for {@link StructuralIndexer}, comparing results with those of
+ * a simple byte-by-byte scan.
+ */
+public class StructuralIndexerTest extends ModuleTestBase
+{
+    public void testSimple() throws Exception
+    {
+        byte[] doc = "a,\"b,\nc\"\"\",d\r\n\"e\",f\n".getBytes("UTF-8");
+        StructuralIndexer indexer = new StructuralIndexer(',', '"');
+        int[] offsets = new int[64];
+        int count = indexer.index(doc, 0, doc.length, offsets);
+        assertEquals(Arrays.asList(1, 10, 12, 13, 17, 19), _asList(offsets, count));
+        assertEquals(doc.length, indexer.getIndexedEnd());
+        assertFalse(indexer.inQuotes());
+
+        // and then with only linefeeds, starting within quotes
+        indexer = new StructuralIndexer(-1, '"');
+        indexer.reset(true);
+        count = indexer.index(doc, 0, doc.length, offsets);
+        assertEquals(Arrays.asList(5), _asList(offsets, count));
+        assertTrue(indexer.inQuotes());
+    }
+
+    public void testRandomContent() throws Exception
+    {
+        final Random rnd = new Random(123);
+        final byte[] chars = "abc,\"\n\r;é ".getBytes("UTF-8");
+        for (int round = 0; round < 300; ++round) {
+            byte[] doc = new byte[rnd.nextInt(1000)];
+            for (int i = 0; i < doc.length; ++i) {
+                doc[i] = chars[rnd.nextInt(chars.length)];
+            }
+            final int sep = rnd.nextBoolean() ? ',' : -1;
+            final int q = ((round % 5) == 0) ? -1 : '"';
+            final boolean startInQuotes = rnd.nextBoolean() && (q >= 0);
+            List<Integer> exp = _scan(doc, sep, q, startInQuotes);
+
+            // index in random-sized chunks, with minimal offset array
+            StructuralIndexer indexer = new StructuralIndexer(sep, q);
+            indexer.reset(startInQuotes);
+            int[] offsets = new int[64 + rnd.nextInt(10)];
+            List<Integer> actual = new ArrayList<Integer>();
+            int ptr = 0;
+            while (ptr < doc.length) {
+                int end = Math.min(doc.length, ptr + 1 + rnd.nextInt(200));
+                while (ptr < end) {
+                    int count = indexer.index(doc, ptr, end, offsets);
+                    actual.addAll(_asList(offsets, count));
+                    ptr = indexer.getIndexedEnd();
+                }
+            }
+            assertEquals(exp, actual);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private List<Integer> _scan(byte[] doc, int sep, int q, boolean inQuotes)
+    {
+        List<Integer> result = new ArrayList<Integer>();
+        for (int i = 0; i < doc.length; ++i) {
+            int c = doc[i];
+            if (c == q) {
+                inQuotes = !inQuotes;
+            } else if (!inQuotes && (c == sep || c == '\r' || c == '\n')) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    private List<Integer> _asList(int[] offsets, int count)
+    {
+        List<Integer> result = new ArrayList<Integer>();
+        for (int i = 0; i < count; ++i) {
+            result.add(offsets[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,379 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests to verify that {@link CsvSchema.ColumnType} of columns is used to
+ * determine type of tokens exposed by {@link CsvParser}.
+ */
+public class TypedColumnsReadTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "score", "ok", "name" })
+    static class Entry {
+        public int id;
+        public Double score;
+        public boolean ok;
+        public String name;
+    }
+
+    enum Agent {
+        @JsonProperty("007")
+        BOND,
+        SMITH;
+    }
+
+    @JsonPropertyOrder({ "agent", "code" })
+    static class Assignment {
+        public Agent agent;
+        public Object code;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("num", CsvSchema.ColumnType.NUMBER)
+            .addColumn("numOrString", CsvSchema.ColumnType.NUMBER_OR_STRING)
+            .addColumn("bool", CsvSchema.ColumnType.BOOLEAN)
+            .addColumn("literal", CsvSchema.ColumnType.STRING_OR_LITERAL)
+            .addColumn("str", CsvSchema.ColumnType.STRING)
+            .build();
+
+    /*
+    /**********************************************************************
+    /* Test methods, streaming
+    /**********************************************************************
+     */
+
+    public void testNumbers() throws Exception
+    {
+        JsonParser p = _parser("123,-4.5e3,true,null,42\n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("num", p.getCurrentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(123, p.getIntValue());
+        assertEquals(JsonParser.NumberType.INT, p.getNumberType());
+        assertEquals("123", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(-4500.0, p.getDoubleValue());
+        assertEquals(new BigDecimal("-4.5e3"), p.getDecimalValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        // and plain String columns are never typed
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("42", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testLongAndBigNumbers() throws Exception
+    {
+        JsonParser p = _parser("12345678901,123456789012345678901234567890,FALSE,false,x\n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.LONG, p.getNumberType());
+        assertEquals(12345678901L, p.getLongValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.BIG_INTEGER, p.getNumberType());
+        assertEquals("123456789012345678901234567890", p.getBigIntegerValue().toString());
+        // booleans case-insensitive
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_FALSE, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_FALSE, p.nextToken());
+        p.close();
+    }
+
+    public void testEmptyAndNonNumeric() throws Exception
+    {
+        JsonParser p = _parser(",,,,\nabc,1x, maybe ,\" \",\n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("abc", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("1x", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        // values exposed as Strings are not trimmed
+        assertEquals(" maybe ", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(" ", p.getText());
+        p.close();
+    }
+
+    public void testTrimming() throws Exception
+    {
+        JsonParser p = _parser("  17 ,\" 0.25\", true , null , x \n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals("17", p.getText());
+        assertEquals(17, p.getIntValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(0.25, p.getDoubleValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        // but regular Strings are not trimmed
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(" x ", p.getText());
+        p.close();
+    }
+
+    public void testQuotedPaddedValues() throws Exception
+    {
+        JsonParser p = _parser("\" 1 \",\" x \",\" yes \",\" nulls \",\" y \"\n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(1, p.getIntValue());
+        // Strings must retain white space, even if checked for numbers, literals
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(" x ", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(" yes ", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(" nulls ", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(" y ", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+    }
+
+    // Only valid JSON numbers are exposed as numbers
+    public void testNonJsonNumbers() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.builder()
+                .addColumn("value", CsvSchema.ColumnType.NUMBER_OR_STRING)
+                .build();
+        for (String value : new String[] { "007", "+5", ".5", "5.", "-.5", "-", "01.5", "1e", "1.5e+", "0x10" }) {
+            JsonParser p = MAPPER.getFactory().createParser(value+"\n");
+            p.setSchema(schema);
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals(value, p.getText());
+            p.close();
+        }
+        JsonParser p = MAPPER.getFactory().createParser("0\n-0\n0.5\n-0.0e0\n1E+3\n");
+        p.setSchema(schema);
+        final JsonToken[] exp = new JsonToken[] { JsonToken.VALUE_NUMBER_INT, JsonToken.VALUE_NUMBER_INT,
+                JsonToken.VALUE_NUMBER_FLOAT, JsonToken.VALUE_NUMBER_FLOAT, JsonToken.VALUE_NUMBER_FLOAT };
+        for (JsonToken t : exp) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(t, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+        }
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testIntegerColumns() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.builder()
+                .addColumn("a", CsvSchema.ColumnType.INTEGER)
+                .addColumn("b", CsvSchema.ColumnType.INTEGER)
+                .addColumn("c", CsvSchema.ColumnType.INTEGER)
+                .build();
+        JsonParser p = MAPPER.getFactory().createParser(" -12 ,1.5,\n");
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(-12, p.getIntValue());
+        // floating-point values are not integers
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("1.5", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+    }
+
+    public void testNumberTypeAfterConversion() throws Exception
+    {
+        JsonParser p = _parser("1.5,7\n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(1, p.getIntValue());
+        assertEquals(JsonParser.NumberType.DOUBLE, p.getNumberType());
+        assertEquals(Double.valueOf(1.5), p.getNumberValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(7.0, p.getDoubleValue());
+        assertEquals(JsonParser.NumberType.INT, p.getNumberType());
+        assertEquals(Integer.valueOf(7), p.getNumberValue());
+        p.close();
+    }
+
+    public void testNumericOverflow() throws Exception
+    {
+        JsonParser p = _parser("-9223372036854775809,9223372036854775808\n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.BIG_INTEGER, p.getNumberType());
+        try {
+            p.getIntValue();
+            fail("Should not pass");
+        } catch (JsonProcessingException e) {
+            verifyException(e, "out of range of int");
+        }
+        try {
+            p.getLongValue();
+            fail("Should not pass");
+        } catch (JsonProcessingException e) {
+            verifyException(e, "out of range of long");
+        }
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        try {
+            p.getLongValue();
+            fail("Should not pass");
+        } catch (JsonProcessingException e) {
+            verifyException(e, "out of range of long");
+        }
+        p.close();
+    }
+
+    public void testNullValue() throws Exception
+    {
+        JsonParser p = MAPPER.getFactory().createParser("N/A,N/A,N/A,N/A,N/A\n");
+        p.setSchema(SCHEMA.withNullValue("N/A"));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        for (int i = 0; i < SCHEMA.size(); ++i) {
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        }
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Test methods, data-binding
+    /**********************************************************************
+     */
+
+    public void testTypedSchemaBinding() throws Exception
+    {
+        CsvSchema schema = MAPPER.typedSchemaFor(Entry.class);
+        MappingIterator<Entry> it = MAPPER.readerFor(Entry.class).with(schema)
+                .readValues("1,0.5,true,abc\n2,,false,\n");
+        Entry e = it.nextValue();
+        assertEquals(1, e.id);
+        assertEquals(Double.valueOf(0.5), e.score);
+        assertTrue(e.ok);
+        assertEquals("abc", e.name);
+        e = it.nextValue();
+        assertEquals(2, e.id);
+        assertNull(e.score);
+        assertFalse(e.ok);
+        assertEquals("", e.name);
+        assertFalse(it.hasNextValue());
+        it.close();
+    }
+
+    public void testFloatForIntBinding() throws Exception
+    {
+        CsvSchema schema = MAPPER.typedSchemaFor(Entry.class);
+        try {
+            MAPPER.readerFor(Entry.class).with(schema)
+                .readValue("1.5,0.5,true,abc\n");
+            fail("Should not pass");
+        } catch (JsonProcessingException e) {
+            verifyException(e, "not a valid Integer value");
+        }
+    }
+
+    public void testNegativeZeroBinding() throws Exception
+    {
+        CsvSchema schema = MAPPER.typedSchemaFor(Entry.class);
+        Entry e = MAPPER.readerFor(Entry.class).with(schema)
+                .readValue("-0,-0,true,abc\n");
+        assertEquals(0, e.id);
+        assertEquals(Double.valueOf(-0.0), e.score);
+    }
+
+    // Values that are not JSON numbers should bind as Strings
+    public void testLeadingZeroBinding() throws Exception
+    {
+        CsvSchema schema = MAPPER.typedSchemaFor(Assignment.class);
+        assertEquals(CsvSchema.ColumnType.NUMBER_OR_STRING, schema.column(0).getType());
+        Assignment a = MAPPER.readerFor(Assignment.class).with(schema)
+                .readValue("007,007\n");
+        assertEquals(Agent.BOND, a.agent);
+        assertEquals("007", a.code);
+        a = MAPPER.readerFor(Assignment.class).with(schema)
+                .readValue("SMITH,7\n");
+        assertEquals(Agent.SMITH, a.agent);
+        assertEquals(Integer.valueOf(7), a.code);
+    }
+
+    public void testOverflowBinding() throws Exception
+    {
+        CsvSchema schema = MAPPER.typedSchemaFor(Entry.class);
+        try {
+            MAPPER.readerFor(Entry.class).with(schema)
+                .readValue("-9223372036854775809,0.5,true,abc\n");
+            fail("Should not pass");
+        } catch (JsonProcessingException e) {
+            verifyException(e, "out of range of int");
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private JsonParser _parser(String doc) throws Exception
+    {
+        JsonParser p = MAPPER.getFactory().createParser(doc);
+        p.setSchema(SCHEMA);
+        return p;
+    }
+}
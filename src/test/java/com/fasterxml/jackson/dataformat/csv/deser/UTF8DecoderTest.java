@@ -0,0 +1,230 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.UTF8CsvDecoder;
+
+/**
+ * Tests to verify that byte-based decoder (used for UTF-8 encoded input)
+ * produces same tokens as the Reader-based one.
+ */
+public class UTF8DecoderTest extends ModuleTestBase
+{
+    /**
+     * Helper stream that only returns a few bytes per read, to force
+     * all kinds of input boundary conditions
+     */
+    static class ThrottledInputStream extends FilterInputStream
+    {
+        private final int _maxBytes;
+
+        public ThrottledInputStream(byte[] data, int maxBytes) {
+            super(new ByteArrayInputStream(data));
+            _maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read(byte[] buf, int offset, int len) throws IOException {
+            return in.read(buf, offset, Math.min(_maxBytes, len));
+        }
+    }
+
+    private final CsvFactory FACTORY = new CsvFactory();
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    public void testDecoderSelection() throws Exception
+    {
+        CsvParser p = FACTORY.createParser(utf8("a,b\n"));
+        assertTrue(_decoder(p) instanceof UTF8CsvDecoder);
+        p.close();
+        p = FACTORY.createParser(new ByteArrayInputStream(utf8("a,b\n")));
+        assertTrue(_decoder(p) instanceof UTF8CsvDecoder);
+        p.close();
+        p = FACTORY.createParser(new StringReader("a,b\n"));
+        assertFalse(_decoder(p) instanceof UTF8CsvDecoder);
+        p.close();
+    }
+
+    public void testSimple() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema(), "abc,def,1\nfoo,,bar\r\nlast,\"quoted\"\n\n");
+        _verifySame(CsvSchema.emptySchema(), "no,trailing,linefeed");
+        _verifySame(CsvSchema.emptySchema(), "trailing,separator,");
+    }
+
+    public void testQuoted() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema(),
+                "\"a\"\"b\",\"multi\nline\r\nvalue\" , \"x,y\"\r\n\"\",\"\"\"\"\n");
+    }
+
+    public void testNonAscii() throws Exception
+    {
+        final String DOC = "été,€100,\"😀 smile\"\n"
+                +"über𝄞clef,\"café\"\"s\",中文\n";
+        _verifySame(CsvSchema.emptySchema(), DOC);
+        // and then verify actual values
+        CsvParser p = FACTORY.createParser(utf8(DOC));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("été", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("€100", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("😀 smile", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+    }
+
+    public void testEscapes() throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withEscapeChar('\\');
+        _verifySame(schema, "a\\,b,c\\nd,\"\\\"q\\\"\",\\éx,\\😀\n");
+    }
+
+    public void testNonAsciiSeparators() throws Exception
+    {
+        // e.g. Concordance "DAT" files use thorn as quote, pilcrow as separator
+        CsvSchema schema = CsvSchema.emptySchema()
+                .withColumnSeparator('¶')
+                .withQuoteChar('þ');
+        final String DOC = "þaþ¶þbþþcþ¶d\n"
+                +"e¶þf¶gþ¶\n";
+        _verifySame(schema, DOC);
+        CsvParser p = FACTORY.createParser(utf8(DOC));
+        p.setSchema(schema);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("a", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("bþc", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("d", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+
+        // and 3-byte separator too
+        _verifySame(CsvSchema.emptySchema().withColumnSeparator('│'),
+                "a│\"b│\"│€\n");
+    }
+
+    public void testCommentsAndTrimming() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema().withComments(),
+                "# comment\n#éé\na,b\n# another\né,c\n");
+        CsvMapper mapper = mapperForCsv();
+        mapper.enable(CsvParser.Feature.TRIM_SPACES);
+        final String DOC = "  a  ,  é ,\"  q  \"  \n éé,x\n";
+        assertEquals(_tokens(mapper.getFactory().createParser(new StringReader(DOC)), CsvSchema.emptySchema()),
+                _tokens(mapper.getFactory().createParser(utf8(DOC)), CsvSchema.emptySchema()));
+    }
+
+    public void testLongValues() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 300; ++i) {
+            sb.append("valueé").append(i).append(",\"quoted ");
+            for (int j = 0; j < (i % 50); ++j) {
+                sb.append("€😀x");
+            }
+            sb.append(" \"\"end\"\"\",");
+            for (int j = 0; j < i; ++j) {
+                sb.append("abcdefgh");
+            }
+            sb.append('\n');
+        }
+        _verifySame(CsvSchema.emptySchema(), sb.toString());
+    }
+
+    public void testLocation() throws Exception
+    {
+        CsvParser p = FACTORY.createParser(utf8("abc,éf\ng,h\n"));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(4L, p.getTokenLocation().getByteOffset());
+        assertEquals(1, p.getTokenLocation().getLineNr());
+        assertEquals(5, p.getTokenLocation().getColumnNr());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(8L, p.getTokenLocation().getByteOffset());
+        assertEquals(2, p.getTokenLocation().getLineNr());
+        assertEquals(1, p.getTokenLocation().getColumnNr());
+        p.close();
+    }
+
+    public void testInvalidEncodingInQuoted() throws Exception
+    {
+        byte[] doc = new byte[] { '"', 'a', (byte) 0xFF, '"', '\n' };
+        CsvParser p = FACTORY.createParser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        try {
+            p.nextToken();
+            fail("Should trigger exception for invalid UTF-8 char");
+        } catch (CharConversionException e) {
+            verifyException(e, "Invalid UTF-8 start byte");
+            verifyException(e, "0xff");
+        }
+        p.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private byte[] utf8(String str) throws IOException {
+        return str.getBytes("UTF-8");
+    }
+
+    private Object _decoder(CsvParser p) throws Exception {
+        java.lang.reflect.Field f = CsvParser.class.getDeclaredField("_reader");
+        f.setAccessible(true);
+        return f.get(p);
+    }
+
+    private void _verifySame(CsvSchema schema, String doc) throws Exception
+    {
+        final String exp = _tokens(FACTORY.createParser(new StringReader(doc)), schema);
+        final byte[] bytes = utf8(doc);
+        assertEquals(exp, _tokens(FACTORY.createParser(bytes), schema));
+        for (int chunk = 1; chunk <= 5; ++chunk) {
+            assertEquals("(chunk size "+chunk+")", exp,
+                    _tokens(FACTORY.createParser(new ThrottledInputStream(bytes, chunk)), schema));
+        }
+        // also with UTF-8 BOM
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        b.write(0xEF);
+        b.write(0xBB);
+        b.write(0xBF);
+        b.write(bytes);
+        assertEquals(exp, _tokens(FACTORY.createParser(b.toByteArray()), schema));
+    }
+
+    private String _tokens(JsonParser p, CsvSchema schema) throws IOException
+    {
+        p.setSchema(schema);
+        StringBuilder sb = new StringBuilder();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            sb.append(t);
+            if (t == JsonToken.VALUE_STRING) {
+                sb.append('[').append(p.getText()).append(']');
+            }
+            sb.append(' ').append(p.getCurrentLocation().getLineNr());
+            sb.append('\n');
+        }
+        p.close();
+        return sb.toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.StringReader;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.StringCanonicalizer;
+
+public class ValueCanonicalizationTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String DOC = "1,FI,active\n"
+            +"2,SE,closed\n"
+            +"3,FI,active\n"
+            +"4,\"FI\",active\n";
+
+    public void testWithFeature() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("country")
+                .addColumn("status")
+                .build();
+        MappingIterator<Map<String,String>> it = MAPPER.readerFor(Map.class)
+                .with(schema)
+                .with(CsvParser.Feature.CANONICALIZE_STRING_VALUES)
+                .readValues(DOC);
+        List<Map<String,String>> rows = it.readAll();
+        assertEquals(4, rows.size());
+        assertEquals("FI", rows.get(0).get("country"));
+        assertSame(rows.get(0).get("country"), rows.get(2).get("country"));
+        assertSame(rows.get(0).get("country"), rows.get(3).get("country"));
+        assertSame(rows.get(0).get("status"), rows.get(3).get("status"));
+
+        CsvParser p = (CsvParser) it.getParser();
+        StringCanonicalizer c = p.getValueCanonicalizer(1);
+        assertNotNull(c);
+        assertEquals(2, c.size());
+        assertEquals(2L, c.getHitCount());
+        assertEquals(2L, c.getMissCount());
+        assertEquals(0.5, c.getHitRate());
+        assertEquals(4L, p.getValueCanonicalizer(0).getMissCount());
+        assertNull(p.getValueCanonicalizer(3));
+        it.close();
+    }
+
+    public void testWithColumnsAndNoSchema() throws Exception
+    {
+        // only for the "country" column
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("country")
+                .addColumn("status")
+                .setValueCanonicalization(1, true)
+                .build();
+        assertTrue(schema.column("country").usesValueCanonicalization());
+        assertFalse(schema.column("status").usesValueCanonicalization());
+        // should survive other changes to column as well
+        assertTrue(schema.column(1).withName("x").withType(CsvSchema.ColumnType.STRING_OR_LITERAL)
+                .usesValueCanonicalization());
+
+        List<Map<String,String>> rows = MAPPER.readerFor(Map.class)
+                .with(schema)
+                .<Map<String,String>>readValues(DOC).readAll();
+        assertSame(rows.get(0).get("country"), rows.get(2).get("country"));
+        assertNotSame(rows.get(0).get("status"), rows.get(2).get("status"));
+
+        // and without schema, via feature
+        CsvParser p = MAPPER.getFactory().createParser(DOC);
+        p.enable(CsvParser.Feature.CANONICALIZE_STRING_VALUES);
+        List<String> countries = new ArrayList<String>();
+        while (p.nextToken() == JsonToken.START_ARRAY) {
+            p.nextToken();
+            countries.add(p.nextTextValue());
+            p.nextToken();
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+        }
+        assertSame(countries.get(0), countries.get(3));
+        assertEquals(2, p.getValueCanonicalizer(1).getHitCount());
+        p.close();
+    }
+
+    public void testWithHeaderAndCursor() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("country")
+                .setValueCanonicalization(1, true)
+                .build()
+                .withHeader()
+                .withColumnReordering(true);
+        CsvRowCursor cursor = MAPPER.getFactory().createRowCursor(new StringReader(
+                "country,id\nFI,1\nFI,2\n"), schema);
+        assertTrue(cursor.getSchema().column("country").usesValueCanonicalization());
+        assertTrue(cursor.advance());
+        String first = cursor.getString(0);
+        assertTrue(cursor.advance());
+        assertSame(first, cursor.getString(0));
+        assertNotSame(cursor.getString(1), cursor.getString(1));
+        assertEquals(1L, cursor.getParser().getValueCanonicalizer(0).getHitCount());
+        cursor.close();
+    }
+
+    public void testCanonicalizerLimits() throws Exception
+    {
+        StringCanonicalizer c = new StringCanonicalizer();
+        char[] buf = new char[StringCanonicalizer.MAX_VALUE_LENGTH + 1];
+        Arrays.fill(buf, 'x');
+        // too long values are not retained
+        assertNotSame(c.canonicalize(buf, 0, buf.length), c.canonicalize(buf, 0, buf.length));
+        assertSame(c.canonicalize(buf, 1, buf.length-1), c.canonicalize(buf, 1, buf.length-1));
+        assertEquals(1, c.size());
+
+        // nor more than maximum number of entries
+        c = new StringCanonicalizer();
+        for (int i = 0; i < StringCanonicalizer.MAX_ENTRIES + 100; ++i) {
+            char[] value = String.valueOf(i).toCharArray();
+            assertEquals(String.valueOf(i), c.canonicalize(value, 0, value.length));
+        }
+        assertEquals(StringCanonicalizer.MAX_ENTRIES, c.size());
+        for (int i = 0; i < StringCanonicalizer.MAX_ENTRIES + 100; ++i) {
+            char[] value = String.valueOf(i).toCharArray();
+            assertEquals(String.valueOf(i), c.canonicalize(value, 0, value.length));
+        }
+        assertEquals(StringCanonicalizer.MAX_ENTRIES, c.getHitCount());
+        assertEquals(StringCanonicalizer.MAX_ENTRIES + 200, c.getMissCount());
+    }
+}
@@ -0,0 +1,145 @@
+package com.fasterxml.jackson.dataformat.csv.schema;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.ClockCache;
+
+public class SchemaCacheTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "a", "b" })
+    static class PointAB {
+        public int a, b;
+    }
+
+    @JsonPropertyOrder({ "x", "y" })
+    static class PointXY {
+        public int x, y;
+    }
+
+    static class CountingCreator implements ClockCache.ValueCreator<Integer,String>
+    {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String createValue(Integer key) {
+            calls.incrementAndGet();
+            return "v"+key;
+        }
+    }
+
+    public void testMapperSchemaCaching() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = mapper.schemaFor(PointAB.class);
+        assertSame(schema, mapper.schemaFor(PointAB.class));
+        assertNotSame(schema, mapper.typedSchemaFor(PointAB.class));
+        mapper.schemaFor(PointXY.class);
+
+        ClockCache<?,?> cache = mapper.getSchemaCache(false);
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, mapper.getSchemaCache(true).size());
+
+        // copies start with empty caches
+        assertEquals(0, mapper.copy().getSchemaCache(false).size());
+    }
+
+    public void testEviction() throws Exception
+    {
+        ClockCache<Integer,String> cache = new ClockCache<Integer,String>(4, 4);
+        CountingCreator creator = new CountingCreator();
+        for (int i = 0; i < 4; ++i) {
+            assertEquals("v"+i, cache.findOrCreate(i, creator));
+        }
+        // access all but #1, so that it is the one evicted
+        assertEquals("v0", cache.get(0));
+        assertEquals("v2", cache.get(2));
+        assertEquals("v3", cache.findOrCreate(3, creator));
+        assertEquals("v4", cache.findOrCreate(4, creator));
+        assertEquals(4, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertNull(cache.get(1));
+        assertEquals("v0", cache.get(0));
+
+        for (int i = 5; i < 100; ++i) {
+            cache.findOrCreate(i, creator);
+        }
+        assertEquals(4, cache.size());
+        assertEquals(96, cache.evictionCount());
+        assertEquals(100, cache.missCount());
+        assertEquals(100, creator.calls.get());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(99));
+    }
+
+    public void testFailedCreation() throws Exception
+    {
+        ClockCache<Integer,String> cache = new ClockCache<Integer,String>(4, 4);
+        ClockCache.ValueCreator<Integer,String> failing = new ClockCache.ValueCreator<Integer,String>() {
+            @Override
+            public String createValue(Integer key) {
+                throw new IllegalArgumentException("No value for "+key);
+            }
+        };
+        try {
+            cache.findOrCreate(1, failing);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "No value for 1");
+        }
+        assertEquals(0, cache.size());
+        assertEquals("v1", cache.findOrCreate(1, new CountingCreator()));
+        assertEquals(1, cache.size());
+    }
+
+    public void testConcurrentCreation() throws Exception
+    {
+        final ClockCache<Integer,String> cache = new ClockCache<Integer,String>(4, 16);
+        final AtomicInteger calls = new AtomicInteger();
+        final ClockCache.ValueCreator<Integer,String> slow = new ClockCache.ValueCreator<Integer,String>() {
+            @Override
+            public String createValue(Integer key) {
+                calls.incrementAndGet();
+                try {
+                    Thread.sleep(50L);
+                } catch (InterruptedException e) { }
+                return "v"+key;
+            }
+        };
+        final int THREADS = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<String> results = Collections.synchronizedList(new ArrayList<String>());
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < THREADS; ++i) {
+            Thread t = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        results.add(cache.findOrCreate(7, slow));
+                    } catch (InterruptedException e) { }
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(THREADS, results.size());
+        for (String result : results) {
+            assertEquals("v7", result);
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.missCount());
+        assertEquals(THREADS-1, cache.hitCount());
+    }
+}
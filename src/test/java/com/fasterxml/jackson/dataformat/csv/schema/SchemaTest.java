@@ -98,7 +98,7 @@ public class SchemaTest extends ModuleTestBase
         assertEquals(CsvSchema.ColumnType.ARRAY, col.getType());
         col = it.next();
         assertEquals("b", col.getName());
-        assertEquals(CsvSchema.ColumnType.NUMBER, col.getType());
+        assertEquals(CsvSchema.ColumnType.INTEGER, col.getType());
         col = it.next();
         assertEquals("c", col.getName());
         // List:
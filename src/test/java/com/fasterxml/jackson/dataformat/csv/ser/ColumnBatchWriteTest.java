@@ -0,0 +1,141 @@
+package com.fasterxml.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import com.fasterxml.jackson.dataformat.csv.*;
+
+public class ColumnBatchWriteTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("value", CsvSchema.ColumnType.NUMBER)
+            .addColumn("flag", CsvSchema.ColumnType.BOOLEAN)
+            .addColumn("name", CsvSchema.ColumnType.STRING)
+            .build();
+
+    public void testSimple() throws Exception
+    {
+        final int[] ids = new int[] { 1, -2, 3 };
+        final double[] values = new double[] { 0.5, 0.0, 1e20 };
+        final long[] valueNulls = new long[] { 0x2L };
+        final boolean[] flags = new boolean[] { true, false, true };
+        final String[] names = new String[] { "abc", "with, comma", null };
+
+        // both Writer- and OutputStream-backed should produce same output
+        StringWriter sw = new StringWriter();
+        _write(MAPPER.getFactory().createColumnBatchWriter(sw, SCHEMA.withHeader()),
+                ids, values, valueNulls, flags, names);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        _write(MAPPER.getFactory().createColumnBatchWriter(bytes, SCHEMA.withHeader()),
+                ids, values, valueNulls, flags, names);
+
+        final String EXP = "id,value,flag,name\n"
+                +"1,0.5,true,abc\n"
+                +"-2,,false,\"with, comma\"\n"
+                +"3,1.0E20,true,\n";
+        assertEquals(EXP, sw.toString());
+        assertEquals(EXP, bytes.toString("UTF-8"));
+    }
+
+    public void testRangesAndUnboundColumns() throws Exception
+    {
+        StringWriter sw = new StringWriter();
+        CsvColumnBatchWriter w = MAPPER.getFactory().createColumnBatchWriter(sw,
+                SCHEMA.withNullValue("N/A"));
+        w.setColumn(0, new long[] { Long.MIN_VALUE, 1L, Long.MAX_VALUE }, null);
+        w.writeRows(1, 2);
+        w.setColumn(3, new int[] { 1, 0, 1 }, new String[] { "x", "y\"z" }, null);
+        w.writeRows(0, 1);
+        w.clearColumn(3);
+        w.writeRows(2, 1);
+        w.close();
+        assertEquals("1,N/A,N/A,N/A\n"
+                +"9223372036854775807,N/A,N/A,N/A\n"
+                +"-9223372036854775808,N/A,N/A,\"y\"\"z\"\n"
+                +"9223372036854775807,N/A,N/A,N/A\n",
+                sw.toString());
+
+        try {
+            w.setColumn(4, new long[1], null);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "Invalid column index 4");
+        }
+    }
+
+    public void testWithoutSchemaColumns() throws Exception
+    {
+        StringWriter sw = new StringWriter();
+        CsvColumnBatchWriter w = MAPPER.getFactory().createColumnBatchWriter(sw, null);
+        w.setColumn(2, new String[] { "c", "f" });
+        w.setColumn(0, new int[] { 1, 2 }, new long[] { 0x1L });
+        w.writeRows(0, 2);
+        w.close();
+        assertEquals(",,c\n2,,f\n", sw.toString());
+    }
+
+    public void testWithGenerator() throws Exception
+    {
+        StringWriter sw = new StringWriter();
+        CsvGenerator gen = MAPPER.getFactory().createGenerator(sw);
+        gen.setSchema(CsvSchema.emptySchema());
+        gen.writeStartArray();
+        gen.writeString("a");
+        try {
+            gen.columnBatchWriter();
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "start of a row");
+        }
+        gen.writeString("b");
+        gen.writeEndArray();
+
+        CsvColumnBatchWriter w = gen.columnBatchWriter();
+        w.setColumn(0, new boolean[] { true }, null)
+            .setColumn(1, new long[] { 42L }, null);
+        w.writeRows(0, 1);
+
+        gen.writeStartArray();
+        gen.writeNumber(3);
+        gen.writeEndArray();
+        gen.close();
+        assertEquals("a,b\ntrue,42\n3\n", sw.toString());
+    }
+
+    public void testBatchRoundTrip() throws Exception
+    {
+        final String DOC = "1,10,true,abc\n"
+                +"2,-3,false,\"d,ef\"\n"
+                +"3,,,abc\n"
+                +"4,2.5,true,\"multi\nline\"\n";
+        CsvBatchReader reader = MAPPER.getFactory().createBatchReader(new StringReader(DOC), SCHEMA);
+        CsvColumnBatch batch = reader.createBatch(10);
+        assertEquals(4, reader.readBatch(batch));
+
+        StringWriter sw = new StringWriter();
+        CsvColumnBatchWriter w = MAPPER.getFactory().createColumnBatchWriter(sw, SCHEMA);
+        w.writeBatch(batch);
+        w.close();
+        reader.close();
+        assertEquals("1,10.0,true,abc\n"
+                +"2,-3.0,false,\"d,ef\"\n"
+                +"3,,,abc\n"
+                +"4,2.5,true,\"multi\nline\"\n",
+                sw.toString());
+    }
+
+    private void _write(CsvColumnBatchWriter w, int[] ids, double[] values, long[] valueNulls,
+            boolean[] flags, String[] names) throws Exception
+    {
+        w.setColumn(0, ids, null)
+            .setColumn(1, values, valueNulls)
+            .setColumn(2, flags, null)
+            .setColumn(3, names);
+        w.writeRows(0, ids.length);
+        w.close();
+    }
+}
@@ -0,0 +1,120 @@
+package com.fasterxml.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+public class ColumnIndexWriteTest extends ModuleTestBase
+{
+    static class Point {
+        public int x, y, z;
+
+        public Point(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testWriteColumn() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .addColumn("c")
+                .build();
+        StringWriter w = new StringWriter();
+        CsvGenerator g = MAPPER.getFactory().createGenerator(w);
+        g.setSchema(schema);
+        g.writeStartObject();
+        g.writeColumn(2);
+        g.writeString("third");
+        g.writeColumn(0);
+        g.writeNumber(1);
+        g.writeFieldName("b");
+        g.writeString("2nd");
+        g.writeEndObject();
+
+        g.writeStartObject();
+        try {
+            g.writeColumn(3);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Invalid column index 3");
+        }
+        g.close();
+        assertEquals("1,2nd,third\n", w.toString());
+    }
+
+    public void testReversedColumnOrder() throws Exception
+    {
+        CsvSchema.Builder b = CsvSchema.builder();
+        for (int i = 0; i < 8; ++i) {
+            b.addColumn("c"+i);
+        }
+        CsvSchema schema = b.build();
+        for (boolean utf8 : new boolean[] { false, true }) {
+            StringWriter w = new StringWriter();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CsvGenerator g = utf8 ? MAPPER.getFactory().createGenerator(bytes)
+                    : MAPPER.getFactory().createGenerator(w);
+            g.setSchema(schema);
+            // two rows to verify buffer is properly reused
+            for (int row = 0; row < 2; ++row) {
+                g.writeStartObject();
+                g.writeColumn(7);
+                g.writeNumber(0.25f);
+                g.writeColumn(6);
+                g.writeNumber(-1.5);
+                g.writeColumn(5);
+                g.writeNumber(Long.MAX_VALUE - row);
+                g.writeColumn(4);
+                g.writeNumber(-17 - row);
+                g.writeColumn(3);
+                g.writeBoolean(row == 0);
+                g.writeColumn(2);
+                g.writeNull();
+                // and leave column #1 as missing
+                g.writeColumn(0);
+                g.writeString((row == 0) ? "a,b" : "c");
+                g.writeEndObject();
+            }
+            g.close();
+            String csv = utf8 ? bytes.toString("UTF-8") : w.toString();
+            assertEquals("\"a,b\",,,true,-17,9223372036854775807,-1.5,0.25\n"
+                    +"c,,,false,-18,9223372036854775806,-1.5,0.25\n",
+                    csv);
+        }
+    }
+
+    public void testPojoWithReorderedSchema() throws Exception
+    {
+        final Point p = new Point(1, 2, 3);
+        CsvSchema schema = MAPPER.schemaFor(Point.class);
+        assertEquals("1,2,3\n", MAPPER.writer(schema).writeValueAsString(p));
+        // column indexes must be resolved for each schema
+        CsvSchema reordered = schema.sortedBy("z", "x").withHeader();
+        assertEquals("z,x,y\n3,1,2\n", MAPPER.writer(reordered).writeValueAsString(p));
+        assertEquals("1,2,3\n", MAPPER.writer(schema).writeValueAsString(p));
+
+        // unknown columns still handled same as before
+        CsvSchema partial = CsvSchema.builder()
+                .addColumn("y")
+                .addColumn("x")
+                .build();
+        try {
+            MAPPER.writer(partial).writeValueAsString(p);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Unrecognized column 'z'");
+        }
+        assertEquals("2,1\n", MAPPER.writer(partial)
+                .with(JsonGenerator.Feature.IGNORE_UNKNOWN)
+                .writeValueAsString(p));
+    }
+}
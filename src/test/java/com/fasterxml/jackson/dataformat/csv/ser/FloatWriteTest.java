@@ -0,0 +1,114 @@
+package com.fasterxml.jackson.dataformat.csv.ser;
+
+import java.util.Random;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.NumberOutput;
+
+/**
+ * Tests to verify that floating-point values are written using the shortest
+ * representation that reads back as the same value.
+ */
+public class FloatWriteTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "d", "f", "values" })
+    static class Point {
+        public double d;
+        public float f;
+
+        @JsonFormat(shape=JsonFormat.Shape.STRING)
+        public double[] values;
+
+        public Point() { }
+        public Point(double d, float f, double... values) {
+            this.d = d;
+            this.f = f;
+            this.values = values;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testDoubleFormat() throws Exception
+    {
+        _verify("0.0", 0.0);
+        _verify("-0.0", -0.0);
+        _verify("NaN", Double.NaN);
+        _verify("Infinity", Double.POSITIVE_INFINITY);
+        _verify("-Infinity", Double.NEGATIVE_INFINITY);
+        _verify("1.0", 1.0);
+        _verify("-123.456", -123.456);
+        _verify("0.001", 0.001);
+        _verify("9.99E-4", 0.000999);
+        _verify("9999999.0", 9999999.0);
+        _verify("1.0E7", 1e7);
+        _verify("0.30000000000000004", 0.1 + 0.2);
+        _verify("1.2345678901234568E17", 123456789012345678.0);
+        // JDK 8 would write these using more digits than needed
+        _verify("2.0E23", 2e23);
+        _verify("1.0E23", 1e23);
+        _verify("4.9E-324", Double.MIN_VALUE);
+        _verify("9.9E-324", 2 * Double.MIN_VALUE);
+        _verify("1.7976931348623157E308", Double.MAX_VALUE);
+        _verify("-2.2250738585072014E-308", -Double.MIN_NORMAL);
+    }
+
+    public void testFloatFormat() throws Exception
+    {
+        _verify("0.0", 0.0f);
+        _verify("-Infinity", Float.NEGATIVE_INFINITY);
+        _verify("0.1", 0.1f);
+        _verify("3.4028235E38", Float.MAX_VALUE);
+        _verify("1.4E-45", Float.MIN_VALUE);
+        _verify("-1.1754944E-38", -Float.MIN_NORMAL);
+        // JDK 8 would write "1.00000003E10"
+        _verify("1.0E10", 1.0E10f);
+    }
+
+    public void testRoundTrip() throws Exception
+    {
+        Random rnd = new Random(3);
+        for (int i = 0; i < 50000; ++i) {
+            double d = Double.longBitsToDouble(rnd.nextLong());
+            if (!Double.isNaN(d)) {
+                String str = NumberOutput.toString(d);
+                assertEquals(str, d, Double.parseDouble(str));
+                assertTrue(str, str.length() <= Double.toString(d).length());
+            }
+            float f = Float.intBitsToFloat(rnd.nextInt());
+            if (!Float.isNaN(f)) {
+                String str = NumberOutput.toString(f);
+                assertEquals(str, f, Float.parseFloat(str));
+                assertTrue(str, str.length() <= Float.toString(f).length());
+            }
+        }
+    }
+
+    public void testDataBinding() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(Point.class).withArrayElementSeparator(";");
+        Point point = new Point(2e23, 0.3f, 1e-5, -0.25);
+        final String exp = "2.0E23,0.3,1.0E-5;-0.25\n";
+        assertEquals(exp, MAPPER.writer(schema).writeValueAsString(point));
+        assertEquals(exp, new String(MAPPER.writer(schema).writeValueAsBytes(point), "UTF-8"));
+    }
+
+    private void _verify(String exp, double value)
+    {
+        assertEquals(exp, NumberOutput.toString(value));
+        // also with preceding content in buffer
+        char[] buffer = new char[NumberOutput.MAX_DOUBLE_CLEN + 3];
+        int end = NumberOutput.outputDouble(value, buffer, 3);
+        assertEquals(exp, new String(buffer, 3, end - 3));
+    }
+
+    private void _verify(String exp, float value)
+    {
+        assertEquals(exp, NumberOutput.toString(value));
+        char[] buffer = new char[NumberOutput.MAX_FLOAT_CLEN + 1];
+        int end = NumberOutput.outputFloat(value, buffer, 1);
+        assertEquals(exp, new String(buffer, 1, end - 1));
+    }
+}
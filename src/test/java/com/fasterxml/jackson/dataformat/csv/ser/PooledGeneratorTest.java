@@ -0,0 +1,137 @@
+package com.fasterxml.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+public class PooledGeneratorTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name" })
+    static class Entry {
+        public int id;
+        public String name;
+
+        public Entry(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testResetOutput() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader();
+        final ObjectWriter w = MAPPER.writer();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CsvGenerator g = MAPPER.getFactory().createGenerator(bytes);
+        g.setSchema(schema);
+        w.writeValue(g, new Entry(1, "a"));
+        // reset without closing: should close previous output first
+        ByteArrayOutputStream bytes2 = new ByteArrayOutputStream();
+        g.resetOutput(bytes2);
+        assertEquals("id,name\n1,a\n", bytes.toString("UTF-8"));
+        w.writeValue(g, new Entry(2, "b,c"));
+        w.writeValue(g, new Entry(3, "d"));
+        g.close();
+        assertEquals("id,name\n2,\"b,c\"\n3,d\n", bytes2.toString("UTF-8"));
+
+        try {
+            g.resetOutput(new StringWriter());
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "Can not reset");
+        }
+
+        StringWriter sw = new StringWriter();
+        g = MAPPER.getFactory().createGenerator(sw);
+        try {
+            g.resetOutput(new ByteArrayOutputStream());
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "Can not reset");
+        }
+        g.setSchema(schema.withoutHeader());
+        w.writeValue(g, new Entry(4, "e"));
+        g.close();
+        StringWriter sw2 = new StringWriter();
+        g.resetOutput(sw2);
+        w.writeValue(g, new Entry(5, "f"));
+        g.close();
+        assertEquals("4,e\n", sw.toString());
+        assertEquals("5,f\n", sw2.toString());
+    }
+
+    public void testPooledGenerators() throws Exception
+    {
+        final CsvFactory f = MAPPER.getFactory();
+        final CsvSchema schema = MAPPER.schemaFor(Entry.class);
+        final ObjectWriter w = MAPPER.writer();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CsvGenerator g = f.acquireGenerator(bytes, schema.withHeader());
+        w.writeValue(g, new Entry(1, "a"));
+        f.releaseGenerator(g);
+        assertEquals("id,name\n1,a\n", bytes.toString("UTF-8"));
+
+        bytes = new ByteArrayOutputStream();
+        CsvGenerator g2 = f.acquireGenerator(bytes, schema);
+        assertSame(g, g2);
+        w.writeValue(g2, new Entry(2, "b"));
+        // in use, so need another one
+        ByteArrayOutputStream bytes3 = new ByteArrayOutputStream();
+        CsvGenerator g3 = f.acquireGenerator(bytes3, schema);
+        assertNotSame(g2, g3);
+        w.writeValue(g3, new Entry(3, "c"));
+        f.releaseGenerator(g3);
+        f.releaseGenerator(g2);
+        assertEquals("2,b\n", bytes.toString("UTF-8"));
+        assertEquals("3,c\n", bytes3.toString("UTF-8"));
+
+        // Writer-backed ones pooled separately
+        StringWriter sw = new StringWriter();
+        CsvGenerator g4 = f.acquireGenerator(sw, schema);
+        assertNotSame(g, g4);
+        assertNotSame(g3, g4);
+        w.writeValue(g4, new Entry(4, "d"));
+        f.releaseGenerator(g4);
+        assertEquals("4,d\n", sw.toString());
+        sw = new StringWriter();
+        assertSame(g4, f.acquireGenerator(sw, null));
+
+        // generators not acquired from pool are just closed
+        CsvGenerator g5 = f.createGenerator(new ByteArrayOutputStream());
+        f.releaseGenerator(g5);
+        assertTrue(g5.isClosed());
+        assertNotSame(g5, f.acquireGenerator(new ByteArrayOutputStream(), null));
+        assertNotSame(g5, f.acquireGenerator(new ByteArrayOutputStream(), null));
+    }
+
+    public void testDoubleRelease() throws Exception
+    {
+        final CsvFactory f = new CsvFactory();
+        CsvGenerator g = f.acquireGenerator(new StringWriter(), null);
+        f.releaseGenerator(g);
+        // second release must not add instance to pool again
+        f.releaseGenerator(g);
+        StringWriter sw = new StringWriter();
+        CsvGenerator g2 = f.acquireGenerator(sw, null);
+        assertSame(g, g2);
+        StringWriter sw3 = new StringWriter();
+        CsvGenerator g3 = f.acquireGenerator(sw3, null);
+        assertNotSame(g2, g3);
+        g2.writeStartArray();
+        g2.writeString("a");
+        g2.writeEndArray();
+        g3.writeStartArray();
+        g3.writeString("b");
+        g3.writeEndArray();
+        f.releaseGenerator(g2);
+        f.releaseGenerator(g3);
+        assertEquals("a\n", sw.toString());
+        assertEquals("b\n", sw3.toString());
+    }
+}
@@ -0,0 +1,150 @@
+package com.fasterxml.jackson.dataformat.csv.ser;
+
+import java.io.*;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for generators that write UTF-8 encoded content directly to an
+ * {@link OutputStream}: output must be identical to that produced by
+ * generators that use a {@link Writer}.
+ */
+public class UTF8GeneratorTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "count", "value", "name", "desc" })
+    static class Entry {
+        public int id;
+        public long count;
+        public double value;
+        public String name, desc;
+
+        public Entry() { }
+        public Entry(int id, long count, double value, String name, String desc) {
+            this.id = id;
+            this.count = count;
+            this.value = value;
+            this.name = name;
+            this.desc = desc;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    public void testSameAsWriterOutput() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader();
+        _verifySame(schema);
+        _verifySame(schema.withNullValue("N/Ä"));
+        _verifySame(schema.withEscapeChar('\\'));
+        _verifySame(schema.withColumnSeparator('§').withLineSeparator(" \r\n"));
+        _verifySame(schema.withoutQuoteChar());
+    }
+
+    public void testLongValues() throws Exception
+    {
+        // values longer than output buffer, with multi-byte chars on boundaries
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 30000; ++i) {
+            sb.append((char) ('a' + (i % 26)));
+            if ((i % 7) == 0) {
+                sb.append("é€😀\"");
+            }
+        }
+        final String str = sb.toString();
+        CsvSchema schema = MAPPER.schemaFor(Entry.class);
+        Entry entry = new Entry(1, 2L, 0.5, str, "\"" + str + "\"");
+        byte[] b = MAPPER.writer(schema).writeValueAsBytes(entry);
+        assertEquals(MAPPER.writer(schema).writeValueAsString(entry), new String(b, "UTF-8"));
+        Entry result = MAPPER.readerFor(Entry.class).with(schema).readValue(b);
+        assertEquals(str, result.name);
+        assertEquals("\"" + str + "\"", result.desc);
+    }
+
+    public void testRawWrites() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonGenerator gen = MAPPER.getFactory().createGenerator(bytes, JsonEncoding.UTF8);
+        assertSame(bytes, gen.getOutputTarget());
+        // surrogate pair split across raw writes
+        gen.writeRaw('\uD83D');
+        gen.writeRaw('\uDE00');
+        gen.writeRaw("é-");
+        gen.writeRaw(new char[] { 'x', '€', '\uD83D' }, 0, 3);
+        gen.writeRaw("\uDE01");
+        gen.close();
+        assertEquals("😀é-x€😁", new String(bytes.toByteArray(), "UTF-8"));
+    }
+
+    public void testInvalidSurrogates() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder().addColumn("a").build();
+        try {
+            MAPPER.writer(schema).writeValueAsBytes(new String[] { "x\uDE00" });
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "Unmatched second part");
+        }
+        try {
+            MAPPER.writer(schema).writeValueAsBytes(new String[] { "x\uD83Dy" });
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "Broken surrogate pair");
+        }
+        try {
+            MAPPER.writer(schema).writeValueAsBytes(new String[] { "x\uD83D" });
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "Unmatched first part");
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private void _verifySame(CsvSchema schema) throws Exception
+    {
+        final String[] texts = new String[] {
+            "", "abc", "a,b", "x\"y\"", "\"", "back\\slash", "#comment", " spaces ",
+            "multi\nline\r\n", "Röck!", "§sep§", " ",
+            "Smile (☺) 😀", "日本語, 中文"
+        };
+        StringWriter sw = new StringWriter();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CsvGenerator gen1 = MAPPER.getFactory().createGenerator(sw);
+        CsvGenerator gen2 = MAPPER.getFactory().createGenerator(bytes);
+        gen1.setSchema(schema);
+        gen2.setSchema(schema);
+        for (int i = 0; i < 200; ++i) {
+            for (CsvGenerator gen : new CsvGenerator[] { gen1, gen2 }) {
+                gen.writeStartObject();
+                gen.writeNumberField("id", (i == 0) ? Integer.MIN_VALUE : i * 7919);
+                gen.writeNumberField("count", (i == 0) ? Long.MIN_VALUE : (i * 1000000007L));
+                gen.writeNumberField("value", i / 3.0);
+                // also, out-of-order and null values
+                if ((i % 3) == 0) {
+                    gen.writeStringField("desc", texts[(i + 1) % texts.length]);
+                    gen.writeNullField("name");
+                } else {
+                    gen.writeStringField("name", texts[i % texts.length]);
+                    gen.writeStringField("desc", texts[(i + 1) % texts.length]);
+                }
+                gen.writeEndObject();
+            }
+        }
+        gen1.close();
+        gen2.close();
+        assertEquals(sw.toString(), new String(bytes.toByteArray(), "UTF-8"));
+    }
+}